@@ -11,4 +11,422 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Availability availability = new Availability();
+
+    private final ReservationIngestion reservationIngestion = new ReservationIngestion();
+
+    public Availability getAvailability() {
+        return availability;
+    }
+
+    private final TokenCounter tokenCounter = new TokenCounter();
+
+    public ReservationIngestion getReservationIngestion() {
+        return reservationIngestion;
+    }
+
+    public TokenCounter getTokenCounter() {
+        return tokenCounter;
+    }
+
+    private final Archival archival = new Archival();
+
+    public Archival getArchival() {
+        return archival;
+    }
+
+    private final RatingRecompute ratingRecompute = new RatingRecompute();
+
+    public RatingRecompute getRatingRecompute() {
+        return ratingRecompute;
+    }
+
+    private final RatingStats ratingStats = new RatingStats();
+
+    public RatingStats getRatingStats() {
+        return ratingStats;
+    }
+
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    private final DoctorAggregate doctorAggregate = new DoctorAggregate();
+
+    private final DoctorNaturalId doctorNaturalId = new DoctorNaturalId();
+
+    public DoctorAggregate getDoctorAggregate() {
+        return doctorAggregate;
+    }
+
+    public DoctorNaturalId getDoctorNaturalId() {
+        return doctorNaturalId;
+    }
+
+    private final DoctorImage doctorImage = new DoctorImage();
+
+    public DoctorImage getDoctorImage() {
+        return doctorImage;
+    }
+
+    private final DoctorOnboarding doctorOnboarding = new DoctorOnboarding();
+
+    public DoctorOnboarding getDoctorOnboarding() {
+        return doctorOnboarding;
+    }
+
+    public static class Availability {
+
+        private int timeToLiveSeconds = 86400;
+
+        private int backupCount = 1;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getBackupCount() {
+            return backupCount;
+        }
+
+        public void setBackupCount(int backupCount) {
+            this.backupCount = backupCount;
+        }
+    }
+
+    public static class ReservationIngestion {
+
+        private boolean enabled = false;
+
+        private String topic = "reservations";
+
+        private String zoneOffset = "+05:30";
+
+        private int batchSize = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public String getZoneOffset() {
+            return zoneOffset;
+        }
+
+        public void setZoneOffset(String zoneOffset) {
+            this.zoneOffset = zoneOffset;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class TokenCounter {
+
+        private long persistIntervalMs = 60000;
+
+        public long getPersistIntervalMs() {
+            return persistIntervalMs;
+        }
+
+        public void setPersistIntervalMs(long persistIntervalMs) {
+            this.persistIntervalMs = persistIntervalMs;
+        }
+    }
+
+    public static class Archival {
+
+        private boolean enabled = false;
+
+        private int horizonDays = 90;
+
+        private int chunkSize = 1000;
+
+        private String cron = "0 30 2 * * ?";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getHorizonDays() {
+            return horizonDays;
+        }
+
+        public void setHorizonDays(int horizonDays) {
+            this.horizonDays = horizonDays;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class RatingRecompute {
+
+        private long windowMs = 2000;
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+    }
+
+    public static class RatingStats {
+
+        private int timeToLiveSeconds = 3600;
+
+        private int backupCount = 1;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getBackupCount() {
+            return backupCount;
+        }
+
+        public void setBackupCount(int backupCount) {
+            this.backupCount = backupCount;
+        }
+    }
+
+    public static class Leaderboard {
+
+        private int size = 100;
+
+        private int trendingWindowDays = 7;
+
+        private int trendingTimeToLiveSeconds = 300;
+
+        private int timeToLiveSeconds = 3600;
+
+        private int backupCount = 1;
+
+        private int maxSize = 1000;
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public int getTrendingWindowDays() {
+            return trendingWindowDays;
+        }
+
+        public void setTrendingWindowDays(int trendingWindowDays) {
+            this.trendingWindowDays = trendingWindowDays;
+        }
+
+        public int getTrendingTimeToLiveSeconds() {
+            return trendingTimeToLiveSeconds;
+        }
+
+        public void setTrendingTimeToLiveSeconds(int trendingTimeToLiveSeconds) {
+            this.trendingTimeToLiveSeconds = trendingTimeToLiveSeconds;
+        }
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getBackupCount() {
+            return backupCount;
+        }
+
+        public void setBackupCount(int backupCount) {
+            this.backupCount = backupCount;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class DoctorAggregate {
+
+        private int timeToLiveSeconds = 86400;
+
+        private int backupCount = 1;
+
+        private int composerPoolSize = 8;
+
+        private int composerQueueCapacity = 256;
+
+        private long partTimeoutMs = 500;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getBackupCount() {
+            return backupCount;
+        }
+
+        public void setBackupCount(int backupCount) {
+            this.backupCount = backupCount;
+        }
+
+        public int getComposerPoolSize() {
+            return composerPoolSize;
+        }
+
+        public void setComposerPoolSize(int composerPoolSize) {
+            this.composerPoolSize = composerPoolSize;
+        }
+
+        public int getComposerQueueCapacity() {
+            return composerQueueCapacity;
+        }
+
+        public void setComposerQueueCapacity(int composerQueueCapacity) {
+            this.composerQueueCapacity = composerQueueCapacity;
+        }
+
+        public long getPartTimeoutMs() {
+            return partTimeoutMs;
+        }
+
+        public void setPartTimeoutMs(long partTimeoutMs) {
+            this.partTimeoutMs = partTimeoutMs;
+        }
+    }
+
+    public static class DoctorNaturalId {
+
+        private int timeToLiveSeconds = 86400;
+
+        private int backupCount = 1;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getBackupCount() {
+            return backupCount;
+        }
+
+        public void setBackupCount(int backupCount) {
+            this.backupCount = backupCount;
+        }
+    }
+
+    public static class DoctorImage {
+
+        private int maxAgeSeconds = 86400;
+
+        private int maxSizeBytes = 5 * 1024 * 1024;
+
+        private int thumbnailMaxAgeSeconds = 31536000;
+
+        private long thumbnailMaxPixels = 40000000;
+
+        public int getMaxAgeSeconds() {
+            return maxAgeSeconds;
+        }
+
+        public void setMaxAgeSeconds(int maxAgeSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+
+        public int getMaxSizeBytes() {
+            return maxSizeBytes;
+        }
+
+        public void setMaxSizeBytes(int maxSizeBytes) {
+            this.maxSizeBytes = maxSizeBytes;
+        }
+
+        public int getThumbnailMaxAgeSeconds() {
+            return thumbnailMaxAgeSeconds;
+        }
+
+        public void setThumbnailMaxAgeSeconds(int thumbnailMaxAgeSeconds) {
+            this.thumbnailMaxAgeSeconds = thumbnailMaxAgeSeconds;
+        }
+
+        public long getThumbnailMaxPixels() {
+            return thumbnailMaxPixels;
+        }
+
+        public void setThumbnailMaxPixels(long thumbnailMaxPixels) {
+            this.thumbnailMaxPixels = thumbnailMaxPixels;
+        }
+    }
+
+    public static class DoctorOnboarding {
+
+        private int maxBatchSize = 1000;
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
 }
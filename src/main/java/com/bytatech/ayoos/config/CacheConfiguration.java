@@ -3,6 +3,12 @@ package com.bytatech.ayoos.config;
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.JHipsterProperties;
 
+import com.bytatech.ayoos.repository.DoctorRepositoryCustom;
+import com.bytatech.ayoos.service.AvailabilityCacheService;
+import com.bytatech.ayoos.service.DoctorAggregateService;
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
+import com.bytatech.ayoos.service.LeaderboardService;
+
 import com.hazelcast.config.*;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.Hazelcast;
@@ -60,7 +66,7 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("doctor");
         if (hazelCastInstance != null) {
@@ -101,6 +107,13 @@ public class CacheConfiguration {
             }
         }
         config.getMapConfigs().put("default", initializeDefaultMapConfig(jHipsterProperties));
+        config.getMapConfigs().put(AvailabilityCacheService.AVAILABILITY_MAP, initializeAvailabilityMapConfig(applicationProperties));
+        config.getMapConfigs().put(AvailabilityCacheService.AVAILABILITY_GENERATION_MAP,
+            initializeAvailabilityGenerationMapConfig(applicationProperties));
+        config.getMapConfigs().put(DoctorRatingSummaryService.RATING_STATS_MAP, initializeRatingStatsMapConfig(applicationProperties));
+        config.getMapConfigs().put(LeaderboardService.LEADERBOARD_MAP, initializeLeaderboardMapConfig(applicationProperties));
+        config.getMapConfigs().put(DoctorAggregateService.DOCTOR_AGGREGATE_MAP, initializeDoctorAggregateMapConfig(applicationProperties));
+        config.getMapConfigs().put(DoctorRepositoryCustom.DOCTOR_NATURAL_ID_MAP, initializeDoctorNaturalIdMapConfig(applicationProperties));
 
         // Full reference is available at: http://docs.hazelcast.org/docs/management-center/3.9/manual/html/Deploying_and_Starting.html
         config.setManagementCenterConfig(initializeDefaultManagementCenterConfig(jHipsterProperties));
@@ -145,6 +158,112 @@ public class CacheConfiguration {
         return mapConfig;
     }
 
+    private MapConfig initializeAvailabilityMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(AvailabilityCacheService.AVAILABILITY_MAP);
+        mapConfig.setBackupCount(applicationProperties.getAvailability().getBackupCount());
+        /*
+        Entries are kept up to date by the reservation and session services,
+        the time to live bounds the memory used by days nobody asks for and by
+        the days of past generations of a doctor.
+        */
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getAvailability().getTimeToLiveSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(0, MaxSizeConfig.MaxSizePolicy.USED_HEAP_SIZE));
+        return mapConfig;
+    }
+
+    private MapConfig initializeAvailabilityGenerationMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(AvailabilityCacheService.AVAILABILITY_GENERATION_MAP);
+        mapConfig.setBackupCount(applicationProperties.getAvailability().getBackupCount());
+        /*
+        One number per doctor that must outlive the days cached under it: a lost
+        generation would bring back days dropped since, so it is never evicted.
+        */
+        mapConfig.setTimeToLiveSeconds(0);
+        mapConfig.setEvictionPolicy(EvictionPolicy.NONE);
+        return mapConfig;
+    }
+
+    private MapConfig initializeRatingStatsMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(DoctorRatingSummaryService.RATING_STATS_MAP);
+        mapConfig.setBackupCount(applicationProperties.getRatingStats().getBackupCount());
+        /*
+        Entries are evicted when a rating of the doctor changes, the time to live
+        bounds how long a breakdown cached concurrently with a rating can be stale.
+        */
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getRatingStats().getTimeToLiveSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(0, MaxSizeConfig.MaxSizePolicy.USED_HEAP_SIZE));
+        return mapConfig;
+    }
+
+    private MapConfig initializeLeaderboardMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(LeaderboardService.LEADERBOARD_MAP);
+        mapConfig.setBackupCount(applicationProperties.getLeaderboard().getBackupCount());
+        /*
+        Top rated lists are kept up to date by rating changes and dropped by profile
+        changes of listed doctors, the time to live is only a safety net.
+        */
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getLeaderboard().getTimeToLiveSeconds());
+        /*
+        There are two lists per specialization, the size only guards against an
+        unexpected number of specializations.
+        */
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(applicationProperties.getLeaderboard().getMaxSize(),
+            MaxSizeConfig.MaxSizePolicy.PER_NODE));
+        /*
+        Leaderboards are read on every app start and change at most once per rating
+        window, so every member keeps a copy, invalidated when a list changes.
+        */
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(LeaderboardService.LEADERBOARD_MAP);
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setCacheLocalEntries(true);
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
+    private MapConfig initializeDoctorAggregateMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(DoctorAggregateService.DOCTOR_AGGREGATE_MAP);
+        mapConfig.setBackupCount(applicationProperties.getDoctorAggregate().getBackupCount());
+        /*
+        Entries are evicted by the services writing any part of a profile, the time
+        to live only bounds the memory used by profiles nobody opens.
+        */
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getDoctorAggregate().getTimeToLiveSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(0, MaxSizeConfig.MaxSizePolicy.USED_HEAP_SIZE));
+        /*
+        Profiles are opened far more often than they change, so every member keeps
+        a copy, invalidated when the entry is evicted.
+        */
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(DoctorAggregateService.DOCTOR_AGGREGATE_MAP);
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setCacheLocalEntries(true);
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
+    private MapConfig initializeDoctorNaturalIdMapConfig(ApplicationProperties applicationProperties) {
+        MapConfig mapConfig = new MapConfig(DoctorRepositoryCustom.DOCTOR_NATURAL_ID_MAP);
+        mapConfig.setBackupCount(applicationProperties.getDoctorNaturalId().getBackupCount());
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getDoctorNaturalId().getTimeToLiveSeconds());
+        mapConfig.setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.setMaxSizeConfig(new MaxSizeConfig(0, MaxSizeConfig.MaxSizePolicy.USED_HEAP_SIZE));
+        /*
+        A doctorId almost never changes, so every member keeps the ids it resolved
+        and only asks the cluster again when an entry is evicted.
+        */
+        NearCacheConfig nearCacheConfig = new NearCacheConfig(DoctorRepositoryCustom.DOCTOR_NATURAL_ID_MAP);
+        nearCacheConfig.setInMemoryFormat(InMemoryFormat.OBJECT);
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setCacheLocalEntries(true);
+        mapConfig.setNearCacheConfig(nearCacheConfig);
+        return mapConfig;
+    }
+
     private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
         MapConfig mapConfig = new MapConfig();
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
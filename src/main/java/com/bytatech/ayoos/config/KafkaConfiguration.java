@@ -0,0 +1,25 @@
+package com.bytatech.ayoos.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.SeekToCurrentBatchErrorHandler;
+
+@Configuration
+public class KafkaConfiguration {
+
+    /**
+     * Listener factory handing whole polls to the listener, so a poll is stored in one transaction.
+     * A failed poll is sought back and redelivered.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> reservationEventListenerFactory(
+            ConsumerFactory<Object, Object> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setBatchErrorHandler(new SeekToCurrentBatchErrorHandler());
+        return factory;
+    }
+}
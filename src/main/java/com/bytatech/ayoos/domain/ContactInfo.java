@@ -22,6 +22,10 @@ public class ContactInfo implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Column(name = "facebook_url")
     private String facebookURL;
 
@@ -37,6 +41,14 @@ public class ContactInfo implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getFacebookURL() {
         return facebookURL;
     }
@@ -2,6 +2,9 @@ package com.bytatech.ayoos.domain;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -16,23 +19,44 @@ import java.util.Objects;
  * A Doctor.
  */
 @Entity
-@Table(name = "doctor")
+@Table(name = "doctor", indexes = {
+    @Index(name = "idx_doctor_total_rating", columnList = "total_rating"),
+    @Index(name = "idx_doctor_specialization_total_rating", columnList = "specialization, total_rating")})
 @Document(indexName = "doctor")
 public class Doctor implements Serializable {
 
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Ids are allocated in blocks from the id_generator table, so doctors onboarded together
+     * are inserted in JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "doctorIdGenerator")
+    @GenericGenerator(name = "doctorIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "doctor"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
-    @Lob
-    @Column(name = "image")
-    private byte[] image;
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 
-    @Column(name = "image_content_type")
-    private String imageContentType;
+    /**
+     * Incremented when a part of the doctor aggregate outside its own row changes, such as
+     * a review or the total rating. Only written by update queries, so it never conflicts
+     * with the optimistic lock of the profile.
+     */
+    @Column(name = "revision", nullable = false, insertable = false, updatable = false)
+    private long revision;
 
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    @NaturalId(mutable = true)
     @Column(name = "doctor_id")
     private String doctorId;
 
@@ -89,30 +113,33 @@ public class Doctor implements Serializable {
         this.id = id;
     }
 
-    public byte[] getImage() {
-        return image;
+    public long getVersion() {
+        return version;
     }
 
-    public Doctor image(byte[] image) {
-        this.image = image;
-        return this;
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getRevision() {
+        return revision;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setRevision(long revision) {
+        this.revision = revision;
     }
 
-    public String getImageContentType() {
-        return imageContentType;
+    public String getImageHash() {
+        return imageHash;
     }
 
-    public Doctor imageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
+    public Doctor imageHash(String imageHash) {
+        this.imageHash = imageHash;
         return this;
     }
 
-    public void setImageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
     public String getDoctorId() {
@@ -408,8 +435,7 @@ public class Doctor implements Serializable {
     public String toString() {
         return "Doctor{" +
             "id=" + getId() +
-            ", image='" + getImage() + "'" +
-            ", imageContentType='" + getImageContentType() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             ", doctorId='" + getDoctorId() + "'" +
             ", specialization='" + getSpecialization() + "'" +
             ", registerNumber='" + getRegisterNumber() + "'" +
@@ -0,0 +1,112 @@
+package com.bytatech.ayoos.domain;
+
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DoctorImage: the profile image of one doctor, kept out of the doctor row and document.
+ */
+@Entity
+@Table(name = "doctor_image")
+public class DoctorImage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Lob
+    @Column(name = "image", nullable = false)
+    private byte[] image;
+
+    @Column(name = "image_content_type", nullable = false)
+    private String imageContentType;
+
+    @Column(name = "image_size", nullable = false)
+    private Long imageSize;
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public DoctorImage doctorId(Long doctorId) {
+        this.doctorId = doctorId;
+        return this;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public byte[] getImage() {
+        return image;
+    }
+
+    public DoctorImage image(byte[] image) {
+        this.image = image;
+        return this;
+    }
+
+    public void setImage(byte[] image) {
+        this.image = image;
+    }
+
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public DoctorImage imageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+        return this;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
+    }
+
+    public DoctorImage imageSize(Long imageSize) {
+        this.imageSize = imageSize;
+        return this;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoctorImage doctorImage = (DoctorImage) o;
+        if (doctorImage.getDoctorId() == null || getDoctorId() == null) {
+            return false;
+        }
+        return Objects.equals(getDoctorId(), doctorImage.getDoctorId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getDoctorId());
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorImage{" +
+            "doctorId=" + getDoctorId() +
+            ", imageContentType='" + getImageContentType() + "'" +
+            ", imageSize=" + getImageSize() +
+            "}";
+    }
+}
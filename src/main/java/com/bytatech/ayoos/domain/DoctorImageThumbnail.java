@@ -0,0 +1,161 @@
+package com.bytatech.ayoos.domain;
+
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DoctorImageThumbnail: a square thumbnail of the image of a doctor, one per size.
+ * The hash names the image it was generated from, so thumbnails of a replaced image are never served.
+ */
+@Entity
+@Table(name = "doctor_image_thumbnail",
+    uniqueConstraints = @UniqueConstraint(name = "ux_doctor_image_thumbnail_doctor_size",
+        columnNames = {"doctor_id", "thumbnail_size"}))
+public class DoctorImageThumbnail implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "thumbnail_size", nullable = false)
+    private Integer size;
+
+    @Column(name = "image_hash", length = 64, nullable = false)
+    private String imageHash;
+
+    @Lob
+    @Column(name = "image", nullable = false)
+    private byte[] image;
+
+    @Column(name = "image_content_type", nullable = false)
+    private String imageContentType;
+
+    @Column(name = "image_size", nullable = false)
+    private Long imageSize;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public DoctorImageThumbnail doctorId(Long doctorId) {
+        this.doctorId = doctorId;
+        return this;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public DoctorImageThumbnail size(Integer size) {
+        this.size = size;
+        return this;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public DoctorImageThumbnail imageHash(String imageHash) {
+        this.imageHash = imageHash;
+        return this;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public byte[] getImage() {
+        return image;
+    }
+
+    public DoctorImageThumbnail image(byte[] image) {
+        this.image = image;
+        return this;
+    }
+
+    public void setImage(byte[] image) {
+        this.image = image;
+    }
+
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public DoctorImageThumbnail imageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+        return this;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
+    }
+
+    public DoctorImageThumbnail imageSize(Long imageSize) {
+        this.imageSize = imageSize;
+        return this;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoctorImageThumbnail doctorImageThumbnail = (DoctorImageThumbnail) o;
+        if (doctorImageThumbnail.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), doctorImageThumbnail.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorImageThumbnail{" +
+            "id=" + getId() +
+            ", doctorId=" + getDoctorId() +
+            ", size=" + getSize() +
+            ", imageHash='" + getImageHash() + "'" +
+            ", imageContentType='" + getImageContentType() + "'" +
+            ", imageSize=" + getImageSize() +
+            "}";
+    }
+}
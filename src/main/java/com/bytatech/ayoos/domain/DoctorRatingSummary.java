@@ -0,0 +1,152 @@
+package com.bytatech.ayoos.domain;
+
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DoctorRatingSummary: the per-star counts and the sum of the ratings of one doctor.
+ */
+@Entity
+@Table(name = "doctor_rating_summary")
+public class DoctorRatingSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private double ratingSum;
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public DoctorRatingSummary doctorId(Long doctorId) {
+        this.doctorId = doctorId;
+        return this;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public long getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(long oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public long getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(long twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public long getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(long threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public long getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(long fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public long getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(long fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public double getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(double ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    /**
+     * @return the average rating, or null if the doctor has no ratings
+     */
+    public Double getAverage() {
+        return ratingCount > 0 ? ratingSum / ratingCount : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoctorRatingSummary doctorRatingSummary = (DoctorRatingSummary) o;
+        if (doctorRatingSummary.getDoctorId() == null || getDoctorId() == null) {
+            return false;
+        }
+        return Objects.equals(getDoctorId(), doctorRatingSummary.getDoctorId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getDoctorId());
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorRatingSummary{" +
+            "doctorId=" + getDoctorId() +
+            ", oneStarCount=" + getOneStarCount() +
+            ", twoStarCount=" + getTwoStarCount() +
+            ", threeStarCount=" + getThreeStarCount() +
+            ", fourStarCount=" + getFourStarCount() +
+            ", fiveStarCount=" + getFiveStarCount() +
+            ", ratingCount=" + getRatingCount() +
+            ", ratingSum=" + getRatingSum() +
+            "}";
+    }
+}
@@ -1,6 +1,8 @@
 package com.bytatech.ayoos.domain;
 
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
@@ -18,10 +20,24 @@ public class PaymentSettings implements Serializable {
 
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Allocated from the id_generator table like the ids of doctors, so default settings
+     * are inserted in batches with them.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "paymentSettingsIdGenerator")
+    @GenericGenerator(name = "paymentSettingsIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "payment_settings"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Column(name = "is_payment_enabled")
     private Boolean isPaymentEnabled;
 
@@ -55,6 +71,14 @@ public class PaymentSettings implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public Boolean isIsPaymentEnabled() {
         return isPaymentEnabled;
     }
@@ -17,7 +17,9 @@ import java.util.Objects;
  * A ReservedSlot.
  */
 @Entity
-@Table(name = "reserved_slot")
+@Table(name = "reserved_slot", uniqueConstraints = @UniqueConstraint(name = "ux_reserved_slot_doctor_date_start",
+    columnNames = {"doctor_id", "jhi_date", "start_time"}),
+    indexes = @Index(name = "idx_reserved_slot_date", columnList = "jhi_date"))
 @Document(indexName = "reservedslot")
 public class ReservedSlot implements Serializable {
 
@@ -2,6 +2,8 @@ package com.bytatech.ayoos.domain;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -15,14 +17,26 @@ import java.util.Objects;
  * A SessionInfo.
  */
 @Entity
-@Table(name = "session_info")
+@Table(name = "session_info", uniqueConstraints = @UniqueConstraint(name = "ux_session_info_work_place_date_from_time",
+    columnNames = {"work_place_id", "jhi_date", "from_time"}),
+    indexes = @Index(name = "idx_session_info_date", columnList = "jhi_date"))
 @Document(indexName = "sessioninfo")
 public class SessionInfo implements Serializable {
 
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Ids are allocated in blocks from the id_generator table rather than by the database on insert,
+     * so that sessions can be inserted in JDBC batches.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "sessionInfoIdGenerator")
+    @GenericGenerator(name = "sessionInfoIdGenerator", strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+        @Parameter(name = "table_name", value = "id_generator"),
+        @Parameter(name = "segment_value", value = "session_info"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     @Column(name = "session_name")
@@ -0,0 +1,238 @@
+package com.bytatech.ayoos.domain;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A SessionRule: a session repeated every week on a week day of a workplace,
+ * between two dates, except on the dates of its exceptions.
+ */
+@Entity
+@Table(name = "session_rule", indexes = @Index(name = "idx_session_rule_week_day", columnList = "week_day, valid_from"))
+public class SessionRule implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_name")
+    private String sessionName;
+
+    @NotNull
+    @Min(value = 1)
+    @Max(value = 7)
+    @Column(name = "week_day", nullable = false)
+    private Integer weekDay;
+
+    @NotNull
+    @DecimalMin(value = "0")
+    @Column(name = "from_time", nullable = false)
+    private Double fromTime;
+
+    @NotNull
+    @DecimalMax(value = "24")
+    @Column(name = "to_time", nullable = false)
+    private Double toTime;
+
+    @NotNull
+    @Column(name = "jhi_interval", nullable = false)
+    private Double interval;
+
+    @NotNull
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    @Column(name = "valid_to")
+    private LocalDate validTo;
+
+    @ManyToOne
+    @JsonIgnoreProperties("sessionRules")
+    private WorkPlace workPlace;
+
+    @OneToMany(mappedBy = "sessionRule", cascade = CascadeType.REMOVE)
+    @JsonIgnore
+    private Set<SessionRuleException> exceptions = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    public SessionRule sessionName(String sessionName) {
+        this.sessionName = sessionName;
+        return this;
+    }
+
+    public void setSessionName(String sessionName) {
+        this.sessionName = sessionName;
+    }
+
+    public Integer getWeekDay() {
+        return weekDay;
+    }
+
+    public SessionRule weekDay(Integer weekDay) {
+        this.weekDay = weekDay;
+        return this;
+    }
+
+    public void setWeekDay(Integer weekDay) {
+        this.weekDay = weekDay;
+    }
+
+    public Double getFromTime() {
+        return fromTime;
+    }
+
+    public SessionRule fromTime(Double fromTime) {
+        this.fromTime = fromTime;
+        return this;
+    }
+
+    public void setFromTime(Double fromTime) {
+        this.fromTime = fromTime;
+    }
+
+    public Double getToTime() {
+        return toTime;
+    }
+
+    public SessionRule toTime(Double toTime) {
+        this.toTime = toTime;
+        return this;
+    }
+
+    public void setToTime(Double toTime) {
+        this.toTime = toTime;
+    }
+
+    public Double getInterval() {
+        return interval;
+    }
+
+    public SessionRule interval(Double interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    public void setInterval(Double interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public SessionRule validFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+        return this;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public SessionRule validTo(LocalDate validTo) {
+        this.validTo = validTo;
+        return this;
+    }
+
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    public WorkPlace getWorkPlace() {
+        return workPlace;
+    }
+
+    public SessionRule workPlace(WorkPlace workPlace) {
+        this.workPlace = workPlace;
+        return this;
+    }
+
+    public void setWorkPlace(WorkPlace workPlace) {
+        this.workPlace = workPlace;
+    }
+
+    public Set<SessionRuleException> getExceptions() {
+        return exceptions;
+    }
+
+    public SessionRule exceptions(Set<SessionRuleException> exceptions) {
+        this.exceptions = exceptions;
+        return this;
+    }
+
+    public SessionRule addException(SessionRuleException exception) {
+        this.exceptions.add(exception);
+        exception.setSessionRule(this);
+        return this;
+    }
+
+    public SessionRule removeException(SessionRuleException exception) {
+        this.exceptions.remove(exception);
+        exception.setSessionRule(null);
+        return this;
+    }
+
+    public void setExceptions(Set<SessionRuleException> exceptions) {
+        this.exceptions = exceptions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SessionRule sessionRule = (SessionRule) o;
+        if (sessionRule.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), sessionRule.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "SessionRule{" +
+            "id=" + getId() +
+            ", sessionName='" + getSessionName() + "'" +
+            ", weekDay=" + getWeekDay() +
+            ", fromTime=" + getFromTime() +
+            ", toTime=" + getToTime() +
+            ", interval=" + getInterval() +
+            ", validFrom='" + getValidFrom() + "'" +
+            ", validTo='" + getValidTo() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,96 @@
+package com.bytatech.ayoos.domain;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import javax.persistence.*;
+import javax.validation.constraints.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A SessionRuleException: a date on which a SessionRule does not hold.
+ */
+@Entity
+@Table(name = "session_rule_exception", uniqueConstraints = @UniqueConstraint(name = "ux_session_rule_exception_rule_date",
+    columnNames = {"session_rule_id", "jhi_date"}))
+public class SessionRuleException implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "jhi_date", nullable = false)
+    private LocalDate date;
+
+    @ManyToOne
+    @JsonIgnoreProperties("exceptions")
+    private SessionRule sessionRule;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public SessionRuleException date(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public SessionRule getSessionRule() {
+        return sessionRule;
+    }
+
+    public SessionRuleException sessionRule(SessionRule sessionRule) {
+        this.sessionRule = sessionRule;
+        return this;
+    }
+
+    public void setSessionRule(SessionRule sessionRule) {
+        this.sessionRule = sessionRule;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SessionRuleException sessionRuleException = (SessionRuleException) o;
+        if (sessionRuleException.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), sessionRuleException.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "SessionRuleException{" +
+            "id=" + getId() +
+            ", date='" + getDate() + "'" +
+            "}";
+    }
+}
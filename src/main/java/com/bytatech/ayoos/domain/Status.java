@@ -13,7 +13,7 @@ import java.util.Objects;
  * A Status.
  */
 @Entity
-@Table(name = "status")
+@Table(name = "status", indexes = @Index(name = "idx_status_reserved_slot_status", columnList = "reserved_slot_id, status"))
 @Document(indexName = "status")
 public class Status implements Serializable {
 
@@ -0,0 +1,109 @@
+package com.bytatech.ayoos.domain;
+
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The last token number handed out to a doctor on a date.
+ */
+@Entity
+@Table(name = "token_counter", uniqueConstraints = @UniqueConstraint(name = "ux_token_counter_doctor_date",
+    columnNames = {"doctor_id", "jhi_date"}))
+public class TokenCounter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "jhi_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "last_token", nullable = false)
+    private Long lastToken;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public TokenCounter doctorId(Long doctorId) {
+        this.doctorId = doctorId;
+        return this;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public TokenCounter date(LocalDate date) {
+        this.date = date;
+        return this;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getLastToken() {
+        return lastToken;
+    }
+
+    public TokenCounter lastToken(Long lastToken) {
+        this.lastToken = lastToken;
+        return this;
+    }
+
+    public void setLastToken(Long lastToken) {
+        this.lastToken = lastToken;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TokenCounter tokenCounter = (TokenCounter) o;
+        if (tokenCounter.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), tokenCounter.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "TokenCounter{" +
+            "id=" + getId() +
+            ", doctorId=" + getDoctorId() +
+            ", date='" + getDate() + "'" +
+            ", lastToken=" + getLastToken() +
+            "}";
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Objects;
  * A UserRating.
  */
 @Entity
-@Table(name = "user_rating")
+@Table(name = "user_rating", indexes = @Index(name = "idx_user_rating_rated_on_doctor", columnList = "rated_on, doctor_id"))
 @Document(indexName = "userrating")
 public class UserRating implements Serializable {
 
@@ -2,8 +2,11 @@ package com.bytatech.ayoos.repository;
 
 import com.bytatech.ayoos.domain.ContactInfo;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 
 /**
  * Spring Data  repository for the ContactInfo entity.
@@ -12,6 +15,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ContactInfoRepository extends JpaRepository<ContactInfo, Long> {
 
-
-
+    @Query("select c.version from ContactInfo c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
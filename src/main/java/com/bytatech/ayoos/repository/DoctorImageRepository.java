@@ -0,0 +1,41 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.DoctorImage;
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+
+/**
+ * Spring Data  repository for the DoctorImage entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface DoctorImageRepository extends JpaRepository<DoctorImage, Long> {
+
+    /**
+     * Read everything about the image of a doctor but its bytes.
+     */
+    @Query("select new com.bytatech.ayoos.service.dto.DoctorImageDTO(i.doctorId, d.imageHash, i.imageContentType,"
+        + " i.imageSize) from DoctorImage i, Doctor d where d.id = i.doctorId and i.doctorId = :doctorId")
+    Optional<DoctorImageDTO> findMetadata(@Param("doctorId") Long doctorId);
+
+    /**
+     * Replace the image of a doctor without reading the previous one.
+     *
+     * @return the number of updated rows, 0 if the doctor has no image yet
+     */
+    @Modifying
+    @Query("update DoctorImage i set i.image = :image, i.imageContentType = :imageContentType,"
+        + " i.imageSize = :imageSize where i.doctorId = :doctorId")
+    int updateImage(@Param("doctorId") Long doctorId, @Param("image") byte[] image,
+        @Param("imageContentType") String imageContentType, @Param("imageSize") Long imageSize);
+
+    @Modifying
+    @Query("delete from DoctorImage i where i.doctorId = :doctorId")
+    int deleteImage(@Param("doctorId") Long doctorId);
+}
@@ -0,0 +1,31 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.DoctorImageThumbnail;
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+
+/**
+ * Spring Data  repository for the DoctorImageThumbnail entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface DoctorImageThumbnailRepository extends JpaRepository<DoctorImageThumbnail, Long> {
+
+    /**
+     * Read everything about a thumbnail but its bytes, if it was generated from the current image of the doctor.
+     */
+    @Query("select new com.bytatech.ayoos.service.dto.DoctorImageDTO(t.doctorId, t.imageHash, t.imageContentType,"
+        + " t.imageSize) from DoctorImageThumbnail t, Doctor d where d.id = t.doctorId and t.imageHash = d.imageHash"
+        + " and t.doctorId = :doctorId and t.size = :size")
+    Optional<DoctorImageDTO> findCurrentMetadata(@Param("doctorId") Long doctorId, @Param("size") Integer size);
+
+    @Modifying
+    @Query("delete from DoctorImageThumbnail t where t.doctorId = :doctorId")
+    int deleteThumbnails(@Param("doctorId") Long doctorId);
+}
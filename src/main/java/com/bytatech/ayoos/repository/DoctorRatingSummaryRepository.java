@@ -0,0 +1,42 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.DoctorRatingSummary;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+
+/**
+ * Spring Data  repository for the DoctorRatingSummary entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface DoctorRatingSummaryRepository extends JpaRepository<DoctorRatingSummary, Long> {
+
+    /**
+     * Add rating deltas to the summary of a doctor in a single statement, so concurrent
+     * ratings of the same doctor never lose an update.
+     *
+     * @return the number of updated rows, 0 if the doctor has no summary yet
+     */
+    @Modifying
+    @Query("update DoctorRatingSummary s set s.oneStarCount = s.oneStarCount + :one,"
+        + " s.twoStarCount = s.twoStarCount + :two, s.threeStarCount = s.threeStarCount + :three,"
+        + " s.fourStarCount = s.fourStarCount + :four, s.fiveStarCount = s.fiveStarCount + :five,"
+        + " s.ratingCount = s.ratingCount + :count, s.ratingSum = s.ratingSum + :sum"
+        + " where s.doctorId = :doctorId")
+    int addRatings(@Param("doctorId") Long doctorId, @Param("one") long one, @Param("two") long two,
+        @Param("three") long three, @Param("four") long four, @Param("five") long five,
+        @Param("count") long count, @Param("sum") double sum);
+
+    /**
+     * Read the average rating of a doctor from the database, bypassing the persistence context
+     * that bulk updates do not refresh.
+     */
+    @Query("select s.ratingSum / s.ratingCount from DoctorRatingSummary s"
+        + " where s.doctorId = :doctorId and s.ratingCount > 0")
+    Optional<Double> findAverageRating(@Param("doctorId") Long doctorId);
+}
@@ -2,24 +2,119 @@ package com.bytatech.ayoos.repository;
 
 import com.bytatech.ayoos.domain.Doctor;
 import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 
 /**
  * Spring Data  repository for the Doctor entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long>, DoctorRepositoryCustom {
+
+	/**
+	 * Read a doctor together with its settings and work places in a single query. Only one
+	 * collection is fetch joined, as joining two multiplies their rows; the qualifications are
+	 * loaded lazily with one more query.
+	 */
+	@EntityGraph(attributePaths = {"contactInfo", "paymentSettings", "doctorSettings", "workPlaces"})
+	Optional<Doctor> findOneWithAggregateByDoctorId(String doctorId);
+
+	/**
+	 * Read a doctor together with its settings, leaving the collections to separate queries.
+	 */
+	@EntityGraph(attributePaths = {"contactInfo", "paymentSettings", "doctorSettings"})
+	Optional<Doctor> findOneWithSettingsById(Long id);
+
+	@Query("select d.doctorId from Doctor d where d.id = :id")
+	Optional<String> findDoctorIdById(@Param("id") Long id);
+
+	@Query("select d.doctorId from Doctor d where d.doctorId in :doctorIds")
+	List<String> findDoctorIdsIn(@Param("doctorIds") Collection<String> doctorIds);
+
+	@Query("select d.version from Doctor d where d.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	/**
+	 * Read the versions of a doctor and its one-to-one parts by primary key.
+	 */
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorVersionDTO(d.id, d.version, d.revision, c.version,"
+		+ " p.version, s.version) from Doctor d left join d.contactInfo c left join d.paymentSettings p"
+		+ " left join d.doctorSettings s where d.id = :id")
+	Optional<DoctorVersionDTO> findVersionsById(@Param("id") Long id);
+
+	/**
+	 * Read the versions of a doctor and its one-to-one parts, walking the doctorId index.
+	 */
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorVersionDTO(d.id, d.version, d.revision, c.version,"
+		+ " p.version, s.version) from Doctor d left join d.contactInfo c left join d.paymentSettings p"
+		+ " left join d.doctorSettings s where d.doctorId = :doctorId")
+	Optional<DoctorVersionDTO> findVersionsByDoctorId(@Param("doctorId") String doctorId);
+
+	/**
+	 * Increment the revision of a doctor whose work places, qualifications or reviews changed,
+	 * leaving its version, and so the optimistic lock of the profile, alone.
+	 *
+	 * @return the number of updated rows
+	 */
+	@Modifying
+	@Query("update Doctor d set d.revision = d.revision + 1 where d.id = :id")
+	int incrementRevision(@Param("id") Long id);
+
+	@Query("select d.imageHash from Doctor d where d.id = :id")
+	Optional<String> findImageHashById(@Param("id") Long id);
+
+	@Query("select d.doctorId from Doctor d where d.contactInfo.id = :contactInfoId")
+	Optional<String> findDoctorIdByContactInfoId(@Param("contactInfoId") Long contactInfoId);
+
+	@Query("select d.doctorId from Doctor d where d.doctorSettings.id = :doctorSettingsId")
+	Optional<String> findDoctorIdByDoctorSettingsId(@Param("doctorSettingsId") Long doctorSettingsId);
+
+	@Query("select d.doctorId from Doctor d where d.paymentSettings.id = :paymentSettingsId")
+	Optional<String> findDoctorIdByPaymentSettingsId(@Param("paymentSettingsId") Long paymentSettingsId);
+
+	/**
+	 * Write the total rating of a doctor without loading or rewriting the rest of the row.
+	 *
+	 * @return the number of updated rows
+	 */
+	@Modifying
+	@Query("update Doctor d set d.totalRating = :totalRating, d.revision = d.revision + 1 where d.id = :id")
+	int updateTotalRating(@Param("id") Long id, @Param("totalRating") Double totalRating);
+
+	boolean existsBySpecialization(String specialization);
+
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO(d.id, d.doctorId, d.firstName,"
+		+ " d.specialization, d.totalRating) from Doctor d where d.id = :id")
+	Optional<DoctorLeaderboardEntryDTO> findLeaderboardEntry(@Param("id") Long id);
+
+	/**
+	 * Read the best rated doctors, walking the total rating index.
+	 */
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO(d.id, d.doctorId, d.firstName,"
+		+ " d.specialization, d.totalRating) from Doctor d where d.totalRating is not null"
+		+ " order by d.totalRating desc, d.id asc")
+	List<DoctorLeaderboardEntryDTO> findTopRated(Pageable pageable);
 
 	/**
-	 * @param doctorId
-	 * @return
+	 * Read the best rated doctors of a specialization, walking the specialization and total rating index.
 	 */
-	Doctor findByDoctorId(String doctorId);
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO(d.id, d.doctorId, d.firstName,"
+		+ " d.specialization, d.totalRating) from Doctor d where d.specialization = :specialization"
+		+ " and d.totalRating is not null order by d.totalRating desc, d.id asc")
+	List<DoctorLeaderboardEntryDTO> findTopRatedBySpecialization(@Param("specialization") String specialization,
+		Pageable pageable);
 
 
 }
@@ -0,0 +1,37 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.Doctor;
+
+import java.util.Optional;
+
+/**
+ * Lookups of the Doctor entity by its natural id, the doctorId.
+ */
+public interface DoctorRepositoryCustom {
+
+    String DOCTOR_NATURAL_ID_MAP = "doctor-natural-ids";
+
+    /**
+     * Resolve the primary key of a doctor from its natural id. Resolved ids are kept in
+     * Hazelcast, so a cache hit does not touch the doctor table.
+     *
+     * @param doctorId the natural id of the doctor
+     * @return the primary key, or empty if there is no such doctor
+     */
+    Optional<Long> findIdByNaturalId(String doctorId);
+
+    /**
+     * Load a doctor by its natural id, resolving the primary key through {@link #findIdByNaturalId(String)}.
+     *
+     * @param doctorId the natural id of the doctor
+     * @return the doctor, or empty if there is no such doctor
+     */
+    Optional<Doctor> findOneByNaturalId(String doctorId);
+
+    /**
+     * Forget the primary key resolved for a natural id, when the doctor is deleted or its natural id changes.
+     *
+     * @param doctorId the natural id of the doctor
+     */
+    void evictNaturalId(String doctorId);
+}
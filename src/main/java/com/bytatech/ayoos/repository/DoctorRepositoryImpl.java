@@ -0,0 +1,97 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+/**
+ * Natural id lookups of the Doctor entity, with the natural id to primary key mapping kept in Hazelcast.
+ * <p>
+ * Mappings are only cached from committed data, i.e. outside of read-write transactions, and
+ * evicted again once a rename or delete commits. A cached primary key is also checked against
+ * the natural id of the doctor it loads, so a mapping that is stale anyway is dropped and
+ * resolved again instead of being served.
+ */
+public class DoctorRepositoryImpl implements DoctorRepositoryCustom {
+
+    private static final String SELECT_ID = "select d.id from Doctor d where d.doctorId = :doctorId";
+
+    private final IMap<String, Long> naturalIdMap;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DoctorRepositoryImpl(HazelcastInstance hazelcastInstance) {
+        this.naturalIdMap = hazelcastInstance.getMap(DOCTOR_NATURAL_ID_MAP);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findIdByNaturalId(String doctorId) {
+        if (doctorId == null) {
+            return Optional.empty();
+        }
+        Long id = naturalIdMap.get(doctorId);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Optional<Long> resolved = entityManager.createQuery(SELECT_ID, Long.class)
+            .setParameter("doctorId", doctorId)
+            .getResultList().stream().findFirst();
+        resolved.ifPresent(resolvedId -> cache(doctorId, resolvedId));
+        return resolved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Doctor> findOneByNaturalId(String doctorId) {
+        if (doctorId == null) {
+            return Optional.empty();
+        }
+        Long id = naturalIdMap.get(doctorId);
+        if (id != null) {
+            Doctor doctor = entityManager.find(Doctor.class, id);
+            if (doctor != null && doctorId.equals(doctor.getDoctorId())) {
+                return Optional.of(doctor);
+            }
+            naturalIdMap.delete(doctorId);
+        }
+        Doctor doctor = entityManager.unwrap(Session.class).bySimpleNaturalId(Doctor.class).load(doctorId);
+        if (doctor != null) {
+            cache(doctorId, doctor.getId());
+        }
+        return Optional.ofNullable(doctor);
+    }
+
+    @Override
+    public void evictNaturalId(String doctorId) {
+        if (doctorId == null) {
+            return;
+        }
+        naturalIdMap.delete(doctorId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent reader may cache the old mapping until this transaction commits
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    naturalIdMap.delete(doctorId);
+                }
+            });
+        }
+    }
+
+    private void cache(String doctorId, Long id) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            naturalIdMap.set(doctorId, id);
+        }
+    }
+}
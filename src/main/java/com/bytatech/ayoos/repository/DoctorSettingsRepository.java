@@ -2,8 +2,11 @@ package com.bytatech.ayoos.repository;
 
 import com.bytatech.ayoos.domain.DoctorSettings;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 
 /**
  * Spring Data  repository for the DoctorSettings entity.
@@ -12,5 +15,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DoctorSettingsRepository extends JpaRepository<DoctorSettings, Long> {
 
-
+    @Query("select s.version from DoctorSettings s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -2,8 +2,11 @@ package com.bytatech.ayoos.repository;
 
 import com.bytatech.ayoos.domain.PaymentSettings;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 
 /**
  * Spring Data  repository for the PaymentSettings entity.
@@ -12,6 +15,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PaymentSettingsRepository extends JpaRepository<PaymentSettings, Long> {
 
-	
-
+    @Query("select p.version from PaymentSettings p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -4,6 +4,7 @@ import com.bytatech.ayoos.domain.Qualification;
 import com.bytatech.ayoos.service.dto.QualificationDTO;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
@@ -17,4 +18,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface QualificationRepository extends JpaRepository<Qualification, Long> {
 	List<Qualification> findByDoctorId(@Param("doctorId")Long doctorId);
+
+	@Query("select q.doctor.id from Qualification q where q.id = :id")
+	Optional<Long> findDoctorIdById(@Param("id") Long id);
 }
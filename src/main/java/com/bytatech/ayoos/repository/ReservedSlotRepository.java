@@ -3,8 +3,11 @@ package com.bytatech.ayoos.repository;
 import com.bytatech.ayoos.domain.ReservedSlot;
 import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,4 +24,56 @@ public interface ReservedSlotRepository extends JpaRepository<ReservedSlot, Long
 	 * @return
 	 */
 	List<ReservedSlot> findByDoctorId(@Param("doctorId")Long doctorId);
+
+	/**
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the reserved slots of the doctor between both dates, inclusive
+	 */
+	List<ReservedSlot> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+	/**
+	 * @param doctorId the id of the doctor
+	 * @param date the date of the slot
+	 * @param startTime the decimal start time of the slot
+	 * @return true if the slot is already reserved
+	 */
+	boolean existsByDoctorIdAndDateAndStartTime(Long doctorId, LocalDate date, Double startTime);
+
+	/**
+	 * @param doctorId the id of the doctor
+	 * @param date the date of the slot
+	 * @param startTime the decimal start time of the slot
+	 * @param id the id of the reservation moving to the slot
+	 * @return true if the slot is already reserved by another reservation
+	 */
+	boolean existsByDoctorIdAndDateAndStartTimeAndIdNot(Long doctorId, LocalDate date, Double startTime, Long id);
+
+	/**
+	 * @param doctorId the id of the doctor
+	 * @param date the date of the reservations
+	 * @return the highest token number handed out for the doctor on that date, or null
+	 */
+	@Query("select max(reservedSlot.tokenNumber) from ReservedSlot reservedSlot"
+			+ " where reservedSlot.doctor.id = :doctorId and reservedSlot.date = :date")
+	Integer findMaxTokenNumber(@Param("doctorId") Long doctorId, @Param("date") LocalDate date);
+
+	/**
+	 * The status is matched in the database through the status(reserved_slot_id, status) index,
+	 * so pages are filled before they are cut.
+	 *
+	 * @param status the status value to match
+	 * @param pageable the pagination information
+	 * @return the page of reserved slots having a status with the given value
+	 */
+	@Query(value = "select new com.bytatech.ayoos.service.dto.ReservedSlotDTO(reservedSlot.id, reservedSlot.date,"
+			+ " reservedSlot.startTime, reservedSlot.endTime, reservedSlot.tokenNumber, doctor.id)"
+			+ " from ReservedSlot reservedSlot left join reservedSlot.doctor doctor"
+			+ " where exists (select status.id from Status status"
+			+ " where status.reservedSlot = reservedSlot and status.status = :status)",
+		countQuery = "select count(reservedSlot) from ReservedSlot reservedSlot"
+			+ " where exists (select status.id from Status status"
+			+ " where status.reservedSlot = reservedSlot and status.status = :status)")
+	Page<ReservedSlotDTO> findAllWithStatus(@Param("status") String status, Pageable pageable);
 }
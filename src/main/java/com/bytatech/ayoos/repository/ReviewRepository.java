@@ -3,8 +3,11 @@ package com.bytatech.ayoos.repository;
 import com.bytatech.ayoos.domain.Review;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -21,6 +24,14 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 	 */
 	List<Review> findByDoctorId(Long doctorId);
 
+	/**
+	 * Read the most recent reviews of a doctor, newest first.
+	 */
+	List<Review> findByDoctorIdOrderByReviewedOnDescIdDesc(Long doctorId, Pageable pageable);
+
+	@Query("select r.doctor.id from Review r where r.id = :id")
+	Optional<Long> findDoctorIdById(@Param("id") Long id);
+
 
 
 }
@@ -4,9 +4,11 @@ import com.bytatech.ayoos.domain.SessionInfo;
 import com.bytatech.ayoos.service.dto.SessionInfoDTO;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -17,4 +19,32 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SessionInfoRepository extends JpaRepository<SessionInfo, Long> {
 	List<SessionInfo> findByDate(LocalDate date);
+
+	/**
+	 * Find the sessions of one doctor's workplaces between two dates, both inclusive.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the sessions ordered by date and start time
+	 */
+	@Query("select sessionInfo from SessionInfo sessionInfo join sessionInfo.workPlace workPlace"
+			+ " where workPlace.doctor.id = :doctorId and sessionInfo.date between :fromDate and :toDate"
+			+ " order by sessionInfo.date, sessionInfo.fromTime")
+	List<SessionInfo> findByDoctorIdAndDateBetween(@Param("doctorId") Long doctorId,
+			@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+	/**
+	 * Find the sessions of the given workplaces between two dates, both inclusive.
+	 *
+	 * @param workPlaceIds the ids of the workplaces
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the sessions
+	 */
+	List<SessionInfo> findByWorkPlaceIdInAndDateBetween(Collection<Long> workPlaceIds, LocalDate fromDate, LocalDate toDate);
+
+	boolean existsByWorkPlaceIdAndDateAndFromTimeAndIdNot(Long workPlaceId, LocalDate date, Double fromTime, Long id);
+
+	boolean existsByWorkPlaceIdAndDateAndFromTime(Long workPlaceId, LocalDate date, Double fromTime);
 }
@@ -0,0 +1,20 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.SessionRuleException;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+
+/**
+ * Spring Data  repository for the SessionRuleException entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface SessionRuleExceptionRepository extends JpaRepository<SessionRuleException, Long> {
+
+    Optional<SessionRuleException> findBySessionRuleIdAndDate(Long sessionRuleId, LocalDate date);
+}
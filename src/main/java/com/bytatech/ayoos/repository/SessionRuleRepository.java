@@ -0,0 +1,50 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.SessionRule;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+
+/**
+ * Spring Data  repository for the SessionRule entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface SessionRuleRepository extends JpaRepository<SessionRule, Long> {
+
+    /**
+     * Find the rules of one doctor's workplaces that hold on some day between two dates, with their exceptions.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @return the rules
+     */
+    @Query("select distinct sessionRule from SessionRule sessionRule join sessionRule.workPlace workPlace"
+        + " left join fetch sessionRule.exceptions"
+        + " where workPlace.doctor.id = :doctorId and sessionRule.validFrom <= :toDate"
+        + " and (sessionRule.validTo is null or sessionRule.validTo >= :fromDate)")
+    List<SessionRule> findByDoctorIdAndValidBetween(@Param("doctorId") Long doctorId,
+        @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Find the rules of a week day that are valid on a date, with their exceptions.
+     *
+     * @param date the date
+     * @param weekDay the week day of the date, Sunday is 1
+     * @return the rules
+     */
+    @Query("select distinct sessionRule from SessionRule sessionRule left join fetch sessionRule.exceptions"
+        + " where sessionRule.weekDay = :weekDay and sessionRule.validFrom <= :date"
+        + " and (sessionRule.validTo is null or sessionRule.validTo >= :date)")
+    List<SessionRule> findActiveOn(@Param("date") LocalDate date, @Param("weekDay") Integer weekDay);
+
+    @Query("select distinct sessionRule from SessionRule sessionRule left join fetch sessionRule.exceptions"
+        + " where sessionRule.id = :id")
+    SessionRule findOneWithExceptions(@Param("id") Long id);
+}
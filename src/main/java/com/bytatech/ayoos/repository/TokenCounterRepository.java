@@ -0,0 +1,25 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.domain.TokenCounter;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+
+/**
+ * Spring Data  repository for the TokenCounter entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface TokenCounterRepository extends JpaRepository<TokenCounter, Long> {
+
+	/**
+	 * @param doctorId the id of the doctor
+	 * @param date the date of the tokens
+	 * @return the persisted counter of the doctor on that date
+	 */
+	Optional<TokenCounter> findByDoctorIdAndDate(Long doctorId, LocalDate date);
+}
@@ -1,10 +1,13 @@
 package com.bytatech.ayoos.repository;
 
 import com.bytatech.ayoos.domain.UserRating;
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
 import com.bytatech.ayoos.service.dto.UserRatingDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,6 +26,21 @@ public interface UserRatingRepository extends JpaRepository<UserRating, Long> {
 	 */
 	List<UserRating> findByDoctorId(Long doctorId);
 
-	@Query("SELECT COUNT(u) FROM UserRating u WHERE u.rating=:rating")
-	public int getCount(@Param("rating")Double rating);
+	/**
+	 * Read the doctors rated most often since a date, walking the rated on index.
+	 */
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO(d.id, d.doctorId, d.firstName,"
+		+ " d.specialization, d.totalRating, count(u)) from UserRating u join u.doctor d where u.ratedOn >= :since"
+		+ " group by d.id, d.doctorId, d.firstName, d.specialization, d.totalRating order by count(u) desc, d.id asc")
+	List<DoctorLeaderboardEntryDTO> findTrending(@Param("since") LocalDate since, Pageable pageable);
+
+	/**
+	 * Read the doctors of a specialization rated most often since a date.
+	 */
+	@Query("select new com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO(d.id, d.doctorId, d.firstName,"
+		+ " d.specialization, d.totalRating, count(u)) from UserRating u join u.doctor d where u.ratedOn >= :since"
+		+ " and d.specialization = :specialization"
+		+ " group by d.id, d.doctorId, d.firstName, d.specialization, d.totalRating order by count(u) desc, d.id asc")
+	List<DoctorLeaderboardEntryDTO> findTrendingBySpecialization(@Param("specialization") String specialization,
+		@Param("since") LocalDate since, Pageable pageable);
 }
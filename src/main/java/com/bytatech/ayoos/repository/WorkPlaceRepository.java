@@ -3,6 +3,7 @@ package com.bytatech.ayoos.repository;
 import com.bytatech.ayoos.domain.WorkPlace;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
@@ -17,4 +18,7 @@ import org.springframework.stereotype.Repository;
 public interface WorkPlaceRepository extends JpaRepository<WorkPlace, Long> {
 
 	List<WorkPlace> findByDoctorId(@Param("doctorId")Long doctorId);
+
+	@Query("select w.doctor.id from WorkPlace w where w.id = :id")
+	Optional<Long> findDoctorIdById(@Param("id") Long id);
 }
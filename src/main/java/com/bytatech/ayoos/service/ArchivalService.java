@@ -0,0 +1,57 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.ArchivalResultDTO;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service Interface moving past sessions and reservations from the hot tables and
+ * search indices to history tables, and reading them back.
+ */
+public interface ArchivalService {
+
+    /**
+     * Archive the rows older than the configured horizon, if archival is enabled
+     * and no other member is archiving.
+     */
+    void archive();
+
+    /**
+     * Move the sessions and reservations dated before a date, with the statuses of
+     * those reservations, to the history tables, and remove them from the search indices.
+     *
+     * @param date the first date to keep
+     * @return the number of archived rows
+     */
+    ArchivalResultDTO archiveBefore(LocalDate date);
+
+    /**
+     * Get an archived reservedSlot.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    Optional<ReservedSlotDTO> findArchivedReservedSlot(Long id);
+
+    /**
+     * Get the archived reservedSlots of a doctor between two dates, both inclusive.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @return the list of entities, ordered by date and start time
+     */
+    List<ReservedSlotDTO> findArchivedReservedSlots(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Get an archived sessionInfo.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    Optional<SessionInfoDTO> findArchivedSessionInfo(Long id);
+}
@@ -0,0 +1,67 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.slot.DayAvailability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service Interface for the cluster-wide availability bitmaps of doctors, one per doctor and day.
+ * <p>
+ * Updates are applied after the surrounding transaction commits.
+ */
+public interface AvailabilityCacheService {
+
+    /**
+     * Name of the Hazelcast map holding the availability bitmaps.
+     */
+    String AVAILABILITY_MAP = "availability";
+
+    /**
+     * Name of the Hazelcast map holding the generation of the cached days of each doctor.
+     */
+    String AVAILABILITY_GENERATION_MAP = "availability-generations";
+
+    /**
+     * Get the availability of a doctor for every day between two dates, building missing days.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @return one availability per day, ordered by date
+     */
+    List<DayAvailability> getRange(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Mark a slot as reserved in the cached availability, if present.
+     *
+     * @param doctorId the id of the doctor
+     * @param date the date of the slot
+     * @param startTime the decimal start time of the slot
+     */
+    void reserve(Long doctorId, LocalDate date, Double startTime);
+
+    /**
+     * Mark a slot as free in the cached availability, if present.
+     *
+     * @param doctorId the id of the doctor
+     * @param date the date of the slot
+     * @param startTime the decimal start time of the slot
+     */
+    void release(Long doctorId, LocalDate date, Double startTime);
+
+    /**
+     * Drop the cached availability of a day, so it is rebuilt from its sessions on next read.
+     *
+     * @param doctorId the id of the doctor
+     * @param date the date to evict
+     */
+    void evict(Long doctorId, LocalDate date);
+
+    /**
+     * Drop every cached day of a doctor, after a change that affects an open-ended range of dates.
+     *
+     * @param doctorId the id of the doctor
+     */
+    void evictDoctor(Long doctorId);
+}
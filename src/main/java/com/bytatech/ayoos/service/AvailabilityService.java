@@ -0,0 +1,36 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.slot.SlotWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service Interface for computing the free slots of a doctor.
+ */
+public interface AvailabilityService {
+
+    /**
+     * Get the free slots of a doctor between two dates, both inclusive.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @return the free slots ordered by date and start time
+     */
+    List<ReservedSlotDTO> findAvailableSlots(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Hand the free slots of a doctor between two dates, both inclusive, to a writer.
+     * Days are loaded a few at a time, so memory use does not grow with the range.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @param writer the writer receiving the free slots ordered by date and start time
+     * @throws IOException if the writer fails
+     */
+    void writeAvailableSlots(Long doctorId, LocalDate fromDate, LocalDate toDate, SlotWriter writer) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+
+/**
+ * Service Interface for booking slots of doctors.
+ */
+public interface BookingService {
+
+    /**
+     * Reserve a slot and hand out the next token number of the doctor's day.
+     *
+     * @param reservedSlotDTO the slot to reserve
+     * @return the persisted reservation
+     * @throws com.bytatech.ayoos.web.rest.errors.SlotAlreadyReservedException if the slot is already reserved
+     */
+    ReservedSlotDTO book(ReservedSlotDTO reservedSlotDTO);
+
+    /**
+     * Update a reservation, checking that the slot it moves to is free. A reservation moved to
+     * another doctor or day gets the next token number of that day, otherwise it keeps its token.
+     *
+     * @param reservedSlotDTO the reservation to update
+     * @return the persisted reservation
+     * @throws com.bytatech.ayoos.web.rest.errors.SlotAlreadyReservedException if the slot is already reserved
+     * @throws com.bytatech.ayoos.web.rest.errors.BadRequestAlertException if there is no such reservation
+     */
+    ReservedSlotDTO update(ReservedSlotDTO reservedSlotDTO);
+}
@@ -0,0 +1,33 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
+
+import java.util.Optional;
+
+/**
+ * Service Interface composing the doctor aggregate from its parts.
+ */
+public interface DoctorAggregateComposer {
+
+    /**
+     * Read a doctor and its parts concurrently. Work places, qualifications and reviews not
+     * read within the part timeout are left empty and the aggregate is marked partial.
+     * <p>
+     * The parts are read in transactions of their own, so changes not yet committed by
+     * the caller are not seen.
+     *
+     * @param doctorId the doctorId of the doctor
+     * @return the aggregate, or empty if there is no such doctor
+     */
+    Optional<DoctorAggregateDTO> compose(String doctorId);
+
+    /**
+     * Compose the aggregate of a doctor loaded with its settings and work places, reading its
+     * qualifications and most recent reviews in the current transaction.
+     *
+     * @param doctor the doctor
+     * @return the aggregate
+     */
+    DoctorAggregateDTO compose(Doctor doctor);
+}
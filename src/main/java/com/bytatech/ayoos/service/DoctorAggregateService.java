@@ -0,0 +1,81 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
+
+import java.util.Optional;
+
+/**
+ * Service Interface for reading a doctor with its details as one aggregate.
+ */
+public interface DoctorAggregateService {
+
+    /**
+     * Name of the Hazelcast map holding the aggregates, keyed by doctorId.
+     */
+    String DOCTOR_AGGREGATE_MAP = "doctor-aggregates";
+
+    /**
+     * The number of reviews returned with the aggregate.
+     */
+    int RECENT_REVIEWS = 10;
+
+    /**
+     * Get a doctor with its settings, work places, qualifications and most recent reviews.
+     *
+     * @param doctorId the doctorId of the doctor
+     * @return the aggregate, or empty if there is no such doctor
+     */
+    Optional<DoctorAggregateDTO> findByDoctorId(String doctorId);
+
+    /**
+     * Get the versions of a doctor and its parts, from the cached aggregate if there is one.
+     *
+     * @param doctorId the doctorId of the doctor
+     * @return the versions, or empty if there is no such doctor
+     */
+    Optional<DoctorVersionDTO> findVersionsByDoctorId(String doctorId);
+
+    /**
+     * Increment the revision of a doctor whose work places, qualifications or reviews changed,
+     * and evict its cached aggregate once the current transaction commits.
+     *
+     * @param id the id of the doctor, ignored if null
+     */
+    void touch(Long id);
+
+    /**
+     * Evict the cached aggregate of a doctor once the current transaction commits.
+     *
+     * @param id the id of the doctor, ignored if null
+     */
+    void evict(Long id);
+
+    /**
+     * Evict the cached aggregate with the given doctorId once the current transaction commits.
+     *
+     * @param doctorId the doctorId of the doctor, ignored if null
+     */
+    void evictByDoctorId(String doctorId);
+
+    /**
+     * Evict the cached aggregate of the doctor owning a contact info once the current transaction commits.
+     *
+     * @param contactInfoId the id of the contact info, ignored if null
+     */
+    void evictByContactInfo(Long contactInfoId);
+
+    /**
+     * Evict the cached aggregate of the doctor owning doctor settings once the current transaction commits.
+     *
+     * @param doctorSettingsId the id of the doctor settings, ignored if null
+     */
+    void evictByDoctorSettings(Long doctorSettingsId);
+
+    /**
+     * Evict the cached aggregate of the doctor owning payment settings once the current transaction commits.
+     *
+     * @param paymentSettingsId the id of the payment settings, ignored if null
+     */
+    void evictByPaymentSettings(Long paymentSettingsId);
+}
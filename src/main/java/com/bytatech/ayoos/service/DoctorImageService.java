@@ -0,0 +1,48 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Service Interface for managing the images of doctors.
+ */
+public interface DoctorImageService {
+
+    /**
+     * Get the description of the image of a doctor, without reading its bytes.
+     *
+     * @param doctorId the id of the doctor
+     * @return the description, or empty if the doctor has no image
+     */
+    Optional<DoctorImageDTO> findMetadata(Long doctorId);
+
+    /**
+     * Copy the bytes of the image of a doctor to a stream, without loading its entity.
+     *
+     * @param doctorId the id of the doctor
+     * @param out the stream receiving the bytes
+     * @return true if the doctor has an image
+     * @throws IOException if the stream cannot be written
+     */
+    boolean copyImage(Long doctorId, OutputStream out) throws IOException;
+
+    /**
+     * Replace the image of a doctor.
+     *
+     * @param doctorId the id of the doctor
+     * @param imageContentType the content type of the image, as sniffed from its bytes
+     * @param image the bytes of the image
+     * @return the description of the stored image, or empty if there is no such doctor
+     */
+    Optional<DoctorImageDTO> save(Long doctorId, String imageContentType, byte[] image);
+
+    /**
+     * Remove the image of a doctor.
+     *
+     * @param doctorId the id of the doctor
+     */
+    void delete(Long doctorId);
+}
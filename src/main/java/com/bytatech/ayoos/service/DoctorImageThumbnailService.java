@@ -0,0 +1,67 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Service Interface for generating and serving the thumbnails of the images of doctors.
+ */
+public interface DoctorImageThumbnailService {
+
+    /**
+     * Replace the thumbnails of a doctor with thumbnails of its current image, in all
+     * {@link DoctorImageDTO#THUMBNAIL_SIZES sizes}. Concurrent calls for one doctor conflict on
+     * the thumbnails they insert, use {@link #generateAsync(Long)} unless the caller serializes them.
+     *
+     * @param doctorId the id of the doctor
+     * @return the number of generated thumbnails, 0 if the doctor has no image or it cannot be decoded
+     */
+    int generate(Long doctorId);
+
+    /**
+     * Run {@link #generate(Long)} on the task executor, one generation per doctor at a time.
+     *
+     * @param doctorId the id of the doctor
+     */
+    void generateAsync(Long doctorId);
+
+    /**
+     * Run {@link #generate(Long)} on the task executor, unless it already ran for that image on this node.
+     * Used when a thumbnail is requested that was never generated, e.g. for images uploaded
+     * before thumbnails existed.
+     *
+     * @param doctorId the id of the doctor
+     * @param imageHash the hash of the current image of the doctor
+     */
+    void generateIfMissing(Long doctorId, String imageHash);
+
+    /**
+     * Get the description of a thumbnail of the current image of a doctor, without reading its bytes.
+     *
+     * @param doctorId the id of the doctor
+     * @param size the size of the thumbnail
+     * @return the description, or empty if the thumbnail was not generated yet
+     */
+    Optional<DoctorImageDTO> findMetadata(Long doctorId, int size);
+
+    /**
+     * Stream the bytes of a thumbnail of a doctor.
+     *
+     * @param doctorId the id of the doctor
+     * @param size the size of the thumbnail
+     * @param out the stream receiving the bytes
+     * @return true if the thumbnail exists
+     * @throws IOException if the stream cannot be written
+     */
+    boolean copyThumbnail(Long doctorId, int size, OutputStream out) throws IOException;
+
+    /**
+     * Remove the thumbnails of a doctor.
+     *
+     * @param doctorId the id of the doctor
+     */
+    void delete(Long doctorId);
+}
@@ -0,0 +1,27 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.DoctorDTO;
+
+import java.util.List;
+
+/**
+ * Service Interface for creating doctors together with their default settings.
+ */
+public interface DoctorOnboardingService {
+
+    /**
+     * Create a doctor with default doctor settings and payment settings.
+     *
+     * @param doctorDTO the doctor to create, without id
+     * @return the persisted entity
+     */
+    DoctorDTO onboard(DoctorDTO doctorDTO);
+
+    /**
+     * Create doctors with default doctor settings and payment settings, all or none of them.
+     *
+     * @param doctorDTOs the doctors to create, without ids and with distinct doctorIds
+     * @return the persisted entities, in the order of the given doctors
+     */
+    List<DoctorDTO> onboardAll(List<DoctorDTO> doctorDTOs);
+}
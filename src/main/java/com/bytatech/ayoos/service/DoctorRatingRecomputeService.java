@@ -0,0 +1,20 @@
+package com.bytatech.ayoos.service;
+
+/**
+ * Service Interface writing the total rating of doctors whose ratings changed,
+ * once per window and doctor however many ratings arrived in the window.
+ */
+public interface DoctorRatingRecomputeService {
+
+    /**
+     * Queue the total rating of a doctor for recomputation once the current transaction commits.
+     *
+     * @param doctorId the id of the doctor
+     */
+    void publish(Long doctorId);
+
+    /**
+     * Write the total rating of every queued doctor to the database and the search index.
+     */
+    void flush();
+}
@@ -0,0 +1,47 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.DoctorRatingStatsDTO;
+
+import java.util.Optional;
+
+/**
+ * Service Interface maintaining the per-doctor rating summaries and the total rating of doctors.
+ */
+public interface DoctorRatingSummaryService {
+
+    /**
+     * Name of the Hazelcast map holding the rating breakdowns of doctors.
+     */
+    String RATING_STATS_MAP = "doctor-rating-stats";
+
+    /**
+     * Add a rating to the summary of a doctor and queue the doctor's total rating for recomputation.
+     *
+     * @param doctorId the id of the rated doctor, ignored if null
+     * @param rating the rating, ignored if null
+     */
+    void addRating(Long doctorId, Double rating);
+
+    /**
+     * Remove a rating from the summary of a doctor and queue the doctor's total rating for recomputation.
+     *
+     * @param doctorId the id of the rated doctor, ignored if null
+     * @param rating the rating, ignored if null
+     */
+    void removeRating(Long doctorId, Double rating);
+
+    /**
+     * Recompute all summaries and total ratings from the stored ratings.
+     *
+     * @return the number of doctors having ratings
+     */
+    int rebuild();
+
+    /**
+     * Get the rating breakdown of a doctor, from the cache if present.
+     *
+     * @param doctorId the id of the doctor
+     * @return the breakdown, or empty if the doctor does not exist
+     */
+    Optional<DoctorRatingStatsDTO> findStats(Long doctorId);
+}
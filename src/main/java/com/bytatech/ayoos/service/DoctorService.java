@@ -1,6 +1,7 @@
 package com.bytatech.ayoos.service;
 
 import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +38,14 @@ public interface DoctorService {
      */
     Optional<DoctorDTO> findOne(Long id);
 
+    /**
+     * Get the versions of the "id" doctor and its parts, without loading it.
+     *
+     * @param id the id of the entity
+     * @return the versions of the entity
+     */
+    Optional<DoctorVersionDTO> findVersions(Long id);
+
     /**
      * Delete the "id" doctor.
      *
@@ -0,0 +1,52 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Service Interface for the leaderboards of top rated and trending doctors.
+ */
+public interface LeaderboardService {
+
+    /**
+     * Name of the Hazelcast map holding the leaderboards.
+     */
+    String LEADERBOARD_MAP = "doctor-leaderboards";
+
+    /**
+     * Get a page of the best rated doctors.
+     *
+     * @param specialization the specialization of the doctors, or null for all doctors
+     * @param pageable the pagination information
+     * @return the page of doctors, best rated first, empty for an unknown specialization
+     */
+    Page<DoctorLeaderboardEntryDTO> findTopRated(String specialization, Pageable pageable);
+
+    /**
+     * Get a page of the doctors rated most often during the trending window.
+     *
+     * @param specialization the specialization of the doctors, or null for all doctors
+     * @param pageable the pagination information
+     * @return the page of doctors, most often rated first, empty for an unknown specialization
+     */
+    Page<DoctorLeaderboardEntryDTO> findTrending(String specialization, Pageable pageable);
+
+    /**
+     * Move a doctor to the rank of its current total rating on the top rated leaderboards.
+     *
+     * @param doctorId the id of the doctor
+     */
+    void updateRating(Long doctorId);
+
+    /**
+     * Drop the leaderboards listing a doctor whose profile changed, and the lists of its new
+     * specialization, once the current transaction commits.
+     *
+     * @param doctorId the id of the doctor
+     * @param previousSpecialization the specialization of the doctor before the change
+     * @param specialization the specialization of the doctor after the change
+     */
+    void evictDoctor(Long doctorId, String previousSpecialization, String specialization);
+}
@@ -0,0 +1,47 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.ReservationEventDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumes the reservations posted by the activity service, one poll at a time.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.reservation-ingestion", name = "enabled", havingValue = "true")
+public class ReservationEventConsumer {
+
+    private final Logger log = LoggerFactory.getLogger(ReservationEventConsumer.class);
+
+    private final ReservationIngestionService reservationIngestionService;
+
+    private final ObjectMapper objectMapper;
+
+    public ReservationEventConsumer(ReservationIngestionService reservationIngestionService, ObjectMapper objectMapper) {
+        this.reservationIngestionService = reservationIngestionService;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "${application.reservation-ingestion.topic}", containerFactory = "reservationEventListenerFactory")
+    public void consume(List<String> messages) {
+        log.debug("Consuming {} reservation events", messages.size());
+        List<ReservationEventDTO> events = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                events.add(objectMapper.readValue(message, ReservationEventDTO.class));
+            } catch (IOException e) {
+                log.error("Skipping unreadable reservation event : {}", message, e);
+            }
+        }
+        reservationIngestionService.ingest(events);
+    }
+}
@@ -0,0 +1,21 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.ReservationEventDTO;
+
+import java.util.List;
+
+/**
+ * Service Interface for storing batches of reservations posted by the activity service.
+ */
+public interface ReservationIngestionService {
+
+    /**
+     * Store a batch of reservations, with their status, in one transaction.
+     * Reservations of slots that are already reserved are skipped, and token numbers
+     * are handed out as for any booking.
+     *
+     * @param events the reservations to store
+     * @return the number of reservations stored
+     */
+    int ingest(List<ReservationEventDTO> events);
+}
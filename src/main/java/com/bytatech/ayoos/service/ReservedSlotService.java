@@ -5,6 +5,7 @@ import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,4 +60,45 @@ public interface ReservedSlotService {
 	 * @param doctorId
 	 */
 	List<ReservedSlotDTO> findByDoctorId(Long doctorId);
+
+	/**
+	 * Get the reservedSlots of a doctor between two dates, both inclusive.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the list of entities
+	 */
+	List<ReservedSlotDTO> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+	/**
+	 * Get the reservedSlots of a doctor between two dates, both inclusive,
+	 * optionally with the archived ones.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @param includeArchived whether to read the history table too
+	 * @return the list of entities, ordered by date and start time
+	 */
+	List<ReservedSlotDTO> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate,
+			boolean includeArchived);
+
+	/**
+	 * Get the "id" reservedSlot, optionally looking it up among the archived ones.
+	 *
+	 * @param id the id of the entity
+	 * @param includeArchived whether to read the history table too
+	 * @return the entity
+	 */
+	Optional<ReservedSlotDTO> findOne(Long id, boolean includeArchived);
+
+	/**
+	 * Get the reservedSlots having a status with the given value.
+	 *
+	 * @param status the status value to match
+	 * @param pageable the pagination information
+	 * @return the list of entities
+	 */
+	Page<ReservedSlotDTO> findAllByStatus(String status, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.bytatech.ayoos.service;
 
 import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.dto.SessionUpsertResultDTO;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -39,6 +40,15 @@ public interface SessionInfoService {
      */
     Optional<SessionInfoDTO> findOne(Long id);
 
+    /**
+     * Get the "id" sessionInfo, optionally looking it up among the archived ones.
+     *
+     * @param id the id of the entity
+     * @param includeArchived whether to read the history table too
+     * @return the entity
+     */
+    Optional<SessionInfoDTO> findOne(Long id, boolean includeArchived);
+
     /**
      * Delete the "id" sessionInfo.
      *
@@ -61,4 +71,33 @@ public interface SessionInfoService {
 	 * @return
 	 */
 	List<SessionInfoDTO> findByDate(LocalDate date);
+
+	/**
+	 * Get the sessions of a doctor between two dates, both inclusive.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the list of entities
+	 */
+	List<SessionInfoDTO> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+	/**
+	 * Create the sessions of the given templates on every date whose week day matches
+	 * the template's week day, skipping those that exist already.
+	 *
+	 * @param templates the sessions to repeat, with a week day and a workplace
+	 * @param dates the dates to create sessions on
+	 * @return the created entities and the number of skipped ones
+	 */
+	SessionUpsertResultDTO generateSessions(List<SessionInfoDTO> templates, List<LocalDate> dates);
+
+	/**
+	 * Insert the given sessions, skipping those whose workplace, date and start time
+	 * match an existing session, so that repeating a call is safe.
+	 *
+	 * @param sessions the sessions to insert
+	 * @return the inserted entities and the number of skipped ones
+	 */
+	SessionUpsertResultDTO upsertSessions(List<SessionInfoDTO> sessions);
 }
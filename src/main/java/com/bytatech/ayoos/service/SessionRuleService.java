@@ -0,0 +1,64 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.SessionRuleDTO;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Service Interface for managing SessionRule.
+ */
+public interface SessionRuleService {
+
+    /**
+     * Save a sessionRule.
+     *
+     * @param sessionRuleDTO the entity to save
+     * @return the persisted entity
+     */
+    SessionRuleDTO save(SessionRuleDTO sessionRuleDTO);
+
+    /**
+     * Get all the sessionRules.
+     *
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    Page<SessionRuleDTO> findAll(Pageable pageable);
+
+    /**
+     * Get the "id" sessionRule.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    Optional<SessionRuleDTO> findOne(Long id);
+
+    /**
+     * Delete the "id" sessionRule.
+     *
+     * @param id the id of the entity
+     */
+    void delete(Long id);
+
+    /**
+     * Stop the "id" sessionRule from holding on a date.
+     *
+     * @param id the id of the entity
+     * @param date the date to skip
+     * @return the updated entity, empty if it does not exist
+     */
+    Optional<SessionRuleDTO> addException(Long id, LocalDate date);
+
+    /**
+     * Let the "id" sessionRule hold again on a skipped date.
+     *
+     * @param id the id of the entity
+     * @param date the date not to skip anymore
+     * @return the updated entity, empty if it does not exist
+     */
+    Optional<SessionRuleDTO> removeException(Long id, LocalDate date);
+}
@@ -0,0 +1,71 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.service.slot.ReservationIndex;
+import com.bytatech.ayoos.service.slot.SlotBuffer;
+
+import java.util.List;
+
+/**
+ * Service Interface for splitting sessions into bookable slots.
+ */
+public interface SlotEngineService {
+
+    /**
+     * Append the slots of the given sessions to a buffer.
+     *
+     * @param sessions the sessions to split
+     * @param buffer the buffer receiving the slots
+     */
+    void generate(List<SessionInfoDTO> sessions, SlotBuffer buffer);
+
+    /**
+     * Append the slots of a single session to a buffer.
+     *
+     * @param session the session to split
+     * @param buffer the buffer receiving the slots
+     */
+    void generate(SessionInfoDTO session, SlotBuffer buffer);
+
+    /**
+     * Split the given sessions into slots for a doctor.
+     *
+     * @param sessions the sessions to split
+     * @param doctorId the id of the doctor owning the slots
+     * @return the list of slots
+     */
+    List<ReservedSlotDTO> generateSlots(List<SessionInfoDTO> sessions, Long doctorId);
+
+    /**
+     * Split the given sessions into the slots of a doctor that are still free.
+     * Each free slot is returned once, even if sessions overlap.
+     *
+     * @param sessions the sessions to split
+     * @param reservations the index of the doctor's reservations
+     * @param doctorId the id of the doctor owning the slots
+     * @return the list of free slots
+     */
+    List<ReservedSlotDTO> generateFreeSlots(List<SessionInfoDTO> sessions, ReservationIndex reservations, Long doctorId);
+
+    /**
+     * Convert one buffered slot into a DTO.
+     *
+     * @param buffer the buffer holding the slot
+     * @param index the index of the slot in the buffer
+     * @param doctorId the id of the doctor owning the slot
+     * @return the slot as DTO
+     */
+    ReservedSlotDTO toDto(SlotBuffer buffer, int index, Long doctorId);
+
+    /**
+     * Convert one slot of a cached day into a DTO.
+     *
+     * @param day the availability holding the slot
+     * @param index the index of the slot in the day
+     * @param doctorId the id of the doctor owning the slot
+     * @return the slot as DTO
+     */
+    ReservedSlotDTO toDto(DayAvailability day, int index, Long doctorId);
+}
@@ -0,0 +1,24 @@
+package com.bytatech.ayoos.service;
+
+import java.time.LocalDate;
+
+/**
+ * Service Interface for handing out the token numbers of doctors, one sequence per doctor and day.
+ */
+public interface TokenService {
+
+    /**
+     * Hand out the next token number of a doctor on a date. Token numbers are unique
+     * across the cluster, but a token handed out to a booking that fails is not reused.
+     *
+     * @param doctorId the id of the doctor
+     * @param date the date of the booking
+     * @return the token number
+     */
+    int nextToken(Long doctorId, LocalDate date);
+
+    /**
+     * Store the counters used on this node, so they survive a restart of the cluster.
+     */
+    void persistCounters();
+}
@@ -0,0 +1,57 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The number of rows an archival run moved to the history tables.
+ */
+public class ArchivalResultDTO implements Serializable {
+
+    private int sessionInfos;
+
+    private int reservedSlots;
+
+    private int statuses;
+
+    public ArchivalResultDTO() {
+    }
+
+    public ArchivalResultDTO(int sessionInfos, int reservedSlots, int statuses) {
+        this.sessionInfos = sessionInfos;
+        this.reservedSlots = reservedSlots;
+        this.statuses = statuses;
+    }
+
+    public int getSessionInfos() {
+        return sessionInfos;
+    }
+
+    public void setSessionInfos(int sessionInfos) {
+        this.sessionInfos = sessionInfos;
+    }
+
+    public int getReservedSlots() {
+        return reservedSlots;
+    }
+
+    public void setReservedSlots(int reservedSlots) {
+        this.reservedSlots = reservedSlots;
+    }
+
+    public int getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(int statuses) {
+        this.statuses = statuses;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivalResultDTO{" +
+            "sessionInfos=" + getSessionInfos() +
+            ", reservedSlots=" + getReservedSlots() +
+            ", statuses=" + getStatuses() +
+            "}";
+    }
+}
@@ -9,6 +9,8 @@ public class ContactInfoDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String facebookURL;
 
     private String twitterURL;
@@ -22,6 +24,14 @@ public class ContactInfoDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getFacebookURL() {
         return facebookURL;
     }
@@ -63,6 +73,7 @@ public class ContactInfoDTO implements Serializable {
     public String toString() {
         return "ContactInfoDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", facebookURL='" + getFacebookURL() + "'" +
             ", twitterURL='" + getTwitterURL() + "'" +
             "}";
@@ -15,12 +15,14 @@
  */
 package com.bytatech.ayoos.service.dto;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.Column;
@@ -46,15 +48,15 @@ import com.bytatech.ayoos.domain.WorkPlace;
  * @author MayaSanjeev
  * mayabytatech, maya.k.k@lxisoft.com
  */
-public class DoctorAggregateDTO {
+public class DoctorAggregateDTO implements Serializable {
 	
 	    private Long id;
 
-	    @Lob
-	    private byte[] image;
+	    private Long version;
 
+	    private Long revision;
 
-	    private String imageContentType;
+	    private String imageHash;
 
 
 	    private String doctorId;
@@ -86,13 +88,15 @@ public class DoctorAggregateDTO {
 	    private DoctorSettings doctorSettings;
 
 	
-	    /*private List<WorkPlace> workPlaces =  new ArrayList<>();
+	    private List<WorkPlaceDTO> workPlaces = new ArrayList<>();
 
-	    private List<Qualification> qualifications = new ArrayList<>();
-	  
-	    private List<Review> reviews =new ArrayList<>();
+	    private List<QualificationDTO> qualifications = new ArrayList<>();
+
+	    private List<ReviewDTO> reviews = new ArrayList<>();
+
+	    private boolean partial;
 
-	    private List<UserRating> userRatings = new ArrayList<>();
+	    /*private List<UserRating> userRatings = new ArrayList<>();
 	  
 	    private List<ReservedSlot> reservedSlots =new ArrayList<>();*/
 		public Long getId() {
@@ -103,20 +107,48 @@ public class DoctorAggregateDTO {
 			this.id = id;
 		}
 
-		public byte[] getImage() {
-			return image;
+		/**
+		 * @return true if some work places, qualifications or reviews could not be read in time
+		 *         and are missing from the aggregate
+		 */
+		public boolean isPartial() {
+			return partial;
+		}
+
+		public void setPartial(boolean partial) {
+			this.partial = partial;
+		}
+
+		public Long getVersion() {
+			return version;
+		}
+
+		public void setVersion(Long version) {
+			this.version = version;
 		}
 
-		public void setImage(byte[] image) {
-			this.image = image;
+		public Long getRevision() {
+			return revision;
 		}
 
-		public String getImageContentType() {
-			return imageContentType;
+		public void setRevision(Long revision) {
+			this.revision = revision;
 		}
 
-		public void setImageContentType(String imageContentType) {
-			this.imageContentType = imageContentType;
+		public String getImageHash() {
+			return imageHash;
+		}
+
+		public void setImageHash(String imageHash) {
+			this.imageHash = imageHash;
+		}
+
+		public String getImageUrl() {
+			return DoctorImageDTO.imageUrl(id, imageHash);
+		}
+
+		public Map<Integer, String> getThumbnailUrls() {
+			return DoctorImageDTO.thumbnailUrls(id, imageHash);
 		}
 
 		public String getDoctorId() {
@@ -182,24 +214,24 @@ public class DoctorAggregateDTO {
 		public void setPhoneNumber(Long phoneNumber) {
 			this.phoneNumber = phoneNumber;
 		}
-/*
-		public List<Qualification> getQualifications() {
+
+		public List<QualificationDTO> getQualifications() {
 			return qualifications;
 		}
 
-		public void setQualifications(List<Qualification> qualifications) {
+		public void setQualifications(List<QualificationDTO> qualifications) {
 			this.qualifications = qualifications;
 		}
 
-		public List<Review> getReviews() {
+		public List<ReviewDTO> getReviews() {
 			return reviews;
 		}
 
-		public void setReviews(List<Review> reviews) {
+		public void setReviews(List<ReviewDTO> reviews) {
 			this.reviews = reviews;
 		}
 
-		public List<UserRating> getUserRatings() {
+		/*public List<UserRating> getUserRatings() {
 			return userRatings;
 		}
 
@@ -239,14 +271,14 @@ public class DoctorAggregateDTO {
 			this.doctorSettings = doctorSettings;
 		}
 
-		/*public List<WorkPlace> getWorkPlaces() {
+		public List<WorkPlaceDTO> getWorkPlaces() {
 			return workPlaces;
 		}
 
-		public void setWorkPlaces(List<WorkPlace> workPlaces) {
+		public void setWorkPlaces(List<WorkPlaceDTO> workPlaces) {
 			this.workPlaces = workPlaces;
 		}
-*/
+
 		
 
 		
@@ -260,8 +292,7 @@ public class DoctorAggregateDTO {
 			result = prime * result + ((email == null) ? 0 : email.hashCode());
 			result = prime * result + ((firstName == null) ? 0 : firstName.hashCode());
 			result = prime * result + ((id == null) ? 0 : id.hashCode());
-			result = prime * result + Arrays.hashCode(image);
-			result = prime * result + ((imageContentType == null) ? 0 : imageContentType.hashCode());
+			result = prime * result + ((imageHash == null) ? 0 : imageHash.hashCode());
 			result = prime * result + ((paymentSettings == null) ? 0 : paymentSettings.hashCode());
 			result = prime * result + ((phoneNumber == null) ? 0 : phoneNumber.hashCode());
 			result = prime * result + ((practiceSince == null) ? 0 : practiceSince.hashCode());
@@ -273,12 +304,11 @@ public class DoctorAggregateDTO {
 
 		@Override
 		public String toString() {
-			return "DoctorAggregateDTO [id=" + id + ", image=" + Arrays.toString(image) + ", imageContentType="
-					+ imageContentType + ", doctorId=" + doctorId + ", specialization=" + specialization
+			return "DoctorAggregateDTO [id=" + id + ", version=" + version + ", revision=" + revision + ", imageHash=" + imageHash + ", doctorId=" + doctorId + ", specialization=" + specialization
 					+ ", registerNumber=" + registerNumber + ", practiceSince=" + practiceSince + ", totalRating="
 					+ totalRating + ", firstName=" + firstName + ", email=" + email + ", phoneNumber=" + phoneNumber
 					+ ", contactInfo=" + contactInfo + ", paymentSettings=" + paymentSettings + ", doctorSettings="
-					+ doctorSettings + "]";
+					+ doctorSettings + ", partial=" + partial + "]";
 		}
 
 		@Override
@@ -320,12 +350,10 @@ public class DoctorAggregateDTO {
 					return false;
 			} else if (!id.equals(other.id))
 				return false;
-			if (!Arrays.equals(image, other.image))
-				return false;
-			if (imageContentType == null) {
-				if (other.imageContentType != null)
+			if (imageHash == null) {
+				if (other.imageHash != null)
 					return false;
-			} else if (!imageContentType.equals(other.imageContentType))
+			} else if (!imageHash.equals(other.imageHash))
 				return false;
 			if (paymentSettings == null) {
 				if (other.paymentSettings != null)
@@ -1,8 +1,8 @@
 package com.bytatech.ayoos.service.dto;
 import java.time.LocalDate;
 import java.io.Serializable;
+import java.util.Map;
 import java.util.Objects;
-import javax.persistence.Lob;
 
 /**
  * A DTO for the Doctor entity.
@@ -11,10 +11,10 @@ public class DoctorDTO implements Serializable {
 
     private Long id;
 
-    @Lob
-    private byte[] image;
+    private Long version;
+
+    private String imageHash;
 
-    private String imageContentType;
     private String doctorId;
 
     private String specialization;
@@ -46,20 +46,34 @@ public class DoctorDTO implements Serializable {
         this.id = id;
     }
 
-    public byte[] getImage() {
-        return image;
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getImageHash() {
+        return imageHash;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
-    public String getImageContentType() {
-        return imageContentType;
+    /**
+     * @return the URL serving the image of the doctor, or null if the doctor has no image
+     */
+    public String getImageUrl() {
+        return DoctorImageDTO.imageUrl(id, imageHash);
     }
 
-    public void setImageContentType(String imageContentType) {
-        this.imageContentType = imageContentType;
+    /**
+     * @return the URLs serving the thumbnails of the image by size, or null if the doctor has no image
+     */
+    public Map<Integer, String> getThumbnailUrls() {
+        return DoctorImageDTO.thumbnailUrls(id, imageHash);
     }
 
     public String getDoctorId() {
@@ -175,7 +189,8 @@ public class DoctorDTO implements Serializable {
     public String toString() {
         return "DoctorDTO{" +
             "id=" + getId() +
-            ", image='" + getImage() + "'" +
+            ", version=" + getVersion() +
+            ", imageHash='" + getImageHash() + "'" +
             ", doctorId='" + getDoctorId() + "'" +
             ", specialization='" + getSpecialization() + "'" +
             ", registerNumber='" + getRegisterNumber() + "'" +
@@ -0,0 +1,135 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A DTO describing the image of a doctor, without its bytes.
+ */
+public class DoctorImageDTO implements Serializable {
+
+    /**
+     * The width and height in pixels of the square thumbnails generated for each image.
+     */
+    public static final List<Integer> THUMBNAIL_SIZES = Collections.unmodifiableList(Arrays.asList(48, 96, 192));
+
+    private Long doctorId;
+
+    private String imageHash;
+
+    private String imageContentType;
+
+    private Long imageSize;
+
+    public DoctorImageDTO() {
+    }
+
+    public DoctorImageDTO(Long doctorId, String imageHash, String imageContentType, Long imageSize) {
+        this.doctorId = doctorId;
+        this.imageHash = imageHash;
+        this.imageContentType = imageContentType;
+        this.imageSize = imageSize;
+    }
+
+    /**
+     * Build the URL of the image of a doctor. The hash is part of the URL, so a changed
+     * image gets a new URL and cached copies of the old one are never served for it.
+     *
+     * @param doctorId the id of the doctor
+     * @param imageHash the hash of the image
+     * @return the URL, or null if the doctor has no image
+     */
+    public static String imageUrl(Long doctorId, String imageHash) {
+        if (doctorId == null || imageHash == null) {
+            return null;
+        }
+        return "/api/doctors/" + doctorId + "/image?v=" + imageHash;
+    }
+
+    /**
+     * Build the URLs of the thumbnails of the image of a doctor, versioned like {@link #imageUrl(Long, String)}.
+     *
+     * @param doctorId the id of the doctor
+     * @param imageHash the hash of the image
+     * @return the URLs by thumbnail size, or null if the doctor has no image
+     */
+    public static Map<Integer, String> thumbnailUrls(Long doctorId, String imageHash) {
+        if (doctorId == null || imageHash == null) {
+            return null;
+        }
+        Map<Integer, String> thumbnailUrls = new LinkedHashMap<>();
+        for (Integer size : THUMBNAIL_SIZES) {
+            thumbnailUrls.put(size, "/api/doctors/" + doctorId + "/image/thumbnails/" + size + "?v=" + imageHash);
+        }
+        return thumbnailUrls;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    public String getImageUrl() {
+        return imageUrl(doctorId, imageHash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoctorImageDTO doctorImageDTO = (DoctorImageDTO) o;
+        return Objects.equals(getDoctorId(), doctorImageDTO.getDoctorId())
+            && Objects.equals(getImageHash(), doctorImageDTO.getImageHash());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getDoctorId(), getImageHash());
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorImageDTO{" +
+            "doctorId=" + getDoctorId() +
+            ", imageHash='" + getImageHash() + "'" +
+            ", imageContentType='" + getImageContentType() + "'" +
+            ", imageSize=" + getImageSize() +
+            "}";
+    }
+}
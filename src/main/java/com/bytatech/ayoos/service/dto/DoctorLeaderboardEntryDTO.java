@@ -0,0 +1,121 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A doctor ranked on a leaderboard, without the profile details a list does not show.
+ */
+public class DoctorLeaderboardEntryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String doctorId;
+
+    private String firstName;
+
+    private String specialization;
+
+    private Double totalRating;
+
+    private Long recentRatingCount;
+
+    public DoctorLeaderboardEntryDTO() {
+    }
+
+    public DoctorLeaderboardEntryDTO(Long id, String doctorId, String firstName, String specialization, Double totalRating) {
+        this.id = id;
+        this.doctorId = doctorId;
+        this.firstName = firstName;
+        this.specialization = specialization;
+        this.totalRating = totalRating;
+    }
+
+    public DoctorLeaderboardEntryDTO(Long id, String doctorId, String firstName, String specialization, Double totalRating,
+            Long recentRatingCount) {
+        this(id, doctorId, firstName, specialization, totalRating);
+        this.recentRatingCount = recentRatingCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+
+    public Double getTotalRating() {
+        return totalRating;
+    }
+
+    public void setTotalRating(Double totalRating) {
+        this.totalRating = totalRating;
+    }
+
+    public Long getRecentRatingCount() {
+        return recentRatingCount;
+    }
+
+    public void setRecentRatingCount(Long recentRatingCount) {
+        this.recentRatingCount = recentRatingCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DoctorLeaderboardEntryDTO doctorLeaderboardEntryDTO = (DoctorLeaderboardEntryDTO) o;
+        if (doctorLeaderboardEntryDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), doctorLeaderboardEntryDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorLeaderboardEntryDTO{" +
+            "id=" + getId() +
+            ", doctorId='" + getDoctorId() + "'" +
+            ", firstName='" + getFirstName() + "'" +
+            ", specialization='" + getSpecialization() + "'" +
+            ", totalRating=" + getTotalRating() +
+            ", recentRatingCount=" + getRecentRatingCount() +
+            "}";
+    }
+}
@@ -0,0 +1,105 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The rating breakdown of a doctor: the number of ratings per star, their count and mean.
+ */
+public class DoctorRatingStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long doctorId;
+
+    private long oneStarCount;
+
+    private long twoStarCount;
+
+    private long threeStarCount;
+
+    private long fourStarCount;
+
+    private long fiveStarCount;
+
+    private long count;
+
+    private Double mean;
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public long getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(long oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public long getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(long twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public long getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(long threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public long getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(long fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public long getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(long fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorRatingStatsDTO{" +
+            "doctorId=" + getDoctorId() +
+            ", oneStarCount=" + getOneStarCount() +
+            ", twoStarCount=" + getTwoStarCount() +
+            ", threeStarCount=" + getThreeStarCount() +
+            ", fourStarCount=" + getFourStarCount() +
+            ", fiveStarCount=" + getFiveStarCount() +
+            ", count=" + getCount() +
+            ", mean=" + getMean() +
+            "}";
+    }
+}
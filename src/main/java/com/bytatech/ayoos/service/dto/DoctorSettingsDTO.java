@@ -9,6 +9,8 @@ public class DoctorSettingsDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private String approvalType;
 
     private Boolean isMailNotificationsEnabled;
@@ -24,6 +26,14 @@ public class DoctorSettingsDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getApprovalType() {
         return approvalType;
     }
@@ -73,6 +83,7 @@ public class DoctorSettingsDTO implements Serializable {
     public String toString() {
         return "DoctorSettingsDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", approvalType='" + getApprovalType() + "'" +
             ", isMailNotificationsEnabled='" + isIsMailNotificationsEnabled() + "'" +
             ", isSMSNotificationsEnabled='" + isIsSMSNotificationsEnabled() + "'" +
@@ -0,0 +1,126 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The versions of a doctor and its one-to-one parts, read to answer conditional requests
+ * without loading the doctor aggregate.
+ */
+public class DoctorVersionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long version;
+
+    private Long revision;
+
+    private Long contactInfoVersion;
+
+    private Long paymentSettingsVersion;
+
+    private Long doctorSettingsVersion;
+
+    public DoctorVersionDTO() {
+    }
+
+    public DoctorVersionDTO(Long id, Long version, Long revision, Long contactInfoVersion,
+            Long paymentSettingsVersion, Long doctorSettingsVersion) {
+        this.id = id;
+        this.version = version;
+        this.revision = revision;
+        this.contactInfoVersion = contactInfoVersion;
+        this.paymentSettingsVersion = paymentSettingsVersion;
+        this.doctorSettingsVersion = doctorSettingsVersion;
+    }
+
+    /**
+     * Read the versions an aggregate was built from.
+     *
+     * @param aggregate the aggregate
+     * @return the versions of the aggregate
+     */
+    public static DoctorVersionDTO of(DoctorAggregateDTO aggregate) {
+        return new DoctorVersionDTO(aggregate.getId(), aggregate.getVersion(), aggregate.getRevision(),
+            aggregate.getContactInfo() == null ? null : aggregate.getContactInfo().getVersion(),
+            aggregate.getPaymentSettings() == null ? null : aggregate.getPaymentSettings().getVersion(),
+            aggregate.getDoctorSettings() == null ? null : aggregate.getDoctorSettings().getVersion());
+    }
+
+    /**
+     * The entity tag of the doctor. Work places, qualifications, reviews and the total rating
+     * have no version of their own, their changes increment the revision of the doctor.
+     *
+     * @return the version and revision of the doctor and the versions of its parts, "-"
+     *         standing for a missing part
+     */
+    public String getETag() {
+        return version + "." + revision + "." + part(contactInfoVersion) + "." + part(paymentSettingsVersion) + "."
+            + part(doctorSettingsVersion);
+    }
+
+    private static String part(Long version) {
+        return version == null ? "-" : version.toString();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public Long getContactInfoVersion() {
+        return contactInfoVersion;
+    }
+
+    public void setContactInfoVersion(Long contactInfoVersion) {
+        this.contactInfoVersion = contactInfoVersion;
+    }
+
+    public Long getPaymentSettingsVersion() {
+        return paymentSettingsVersion;
+    }
+
+    public void setPaymentSettingsVersion(Long paymentSettingsVersion) {
+        this.paymentSettingsVersion = paymentSettingsVersion;
+    }
+
+    public Long getDoctorSettingsVersion() {
+        return doctorSettingsVersion;
+    }
+
+    public void setDoctorSettingsVersion(Long doctorSettingsVersion) {
+        this.doctorSettingsVersion = doctorSettingsVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorVersionDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", revision=" + getRevision() +
+            ", contactInfoVersion=" + getContactInfoVersion() +
+            ", paymentSettingsVersion=" + getPaymentSettingsVersion() +
+            ", doctorSettingsVersion=" + getDoctorSettingsVersion() +
+            "}";
+    }
+}
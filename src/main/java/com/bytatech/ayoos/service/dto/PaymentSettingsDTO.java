@@ -9,6 +9,8 @@ public class PaymentSettingsDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     private Boolean isPaymentEnabled;
 
     private Double amount;
@@ -34,6 +36,14 @@ public class PaymentSettingsDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Boolean isIsPaymentEnabled() {
         return isPaymentEnabled;
     }
@@ -123,6 +133,7 @@ public class PaymentSettingsDTO implements Serializable {
     public String toString() {
         return "PaymentSettingsDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", isPaymentEnabled='" + isIsPaymentEnabled() + "'" +
             ", amount=" + getAmount() +
             ", paymentMethod='" + getPaymentMethod() + "'" +
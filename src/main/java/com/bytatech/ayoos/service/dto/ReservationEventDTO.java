@@ -0,0 +1,93 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A reservation posted by the activity service. Times are epoch milliseconds.
+ */
+public class ReservationEventDTO implements Serializable {
+
+    private Long doctorId;
+
+    private Long startTime;
+
+    private Long endTime;
+
+    /**
+     * The token number known to the activity service. Stored reservations get their token
+     * from the token counters instead, so this one is not stored.
+     */
+    private Integer tokenNumber;
+
+    private String status;
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Long endTime) {
+        this.endTime = endTime;
+    }
+
+    public Integer getTokenNumber() {
+        return tokenNumber;
+    }
+
+    public void setTokenNumber(Integer tokenNumber) {
+        this.tokenNumber = tokenNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ReservationEventDTO reservationEventDTO = (ReservationEventDTO) o;
+        return Objects.equals(getDoctorId(), reservationEventDTO.getDoctorId())
+            && Objects.equals(getStartTime(), reservationEventDTO.getStartTime());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getDoctorId(), getStartTime());
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationEventDTO{" +
+            "doctorId=" + getDoctorId() +
+            ", startTime=" + getStartTime() +
+            ", endTime=" + getEndTime() +
+            ", tokenNumber=" + getTokenNumber() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
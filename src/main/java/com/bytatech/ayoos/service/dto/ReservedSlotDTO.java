@@ -21,6 +21,18 @@ public class ReservedSlotDTO implements Serializable {
 
     private Long doctorId;
 
+    public ReservedSlotDTO() {
+    }
+
+    public ReservedSlotDTO(Long id, LocalDate date, Double startTime, Double endTime, Integer tokenNumber, Long doctorId) {
+        this.id = id;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.tokenNumber = tokenNumber;
+        this.doctorId = doctorId;
+    }
+
     public Long getId() {
         return id;
     }
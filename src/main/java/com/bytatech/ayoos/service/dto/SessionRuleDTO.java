@@ -0,0 +1,159 @@
+package com.bytatech.ayoos.service.dto;
+import java.time.LocalDate;
+import javax.validation.constraints.*;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A DTO for the SessionRule entity.
+ */
+public class SessionRuleDTO implements Serializable {
+
+    private Long id;
+
+    private String sessionName;
+
+    @NotNull
+    @Min(value = 1)
+    @Max(value = 7)
+    private Integer weekDay;
+
+    @NotNull
+    @DecimalMin(value = "0")
+    private Double fromTime;
+
+    @NotNull
+    @DecimalMax(value = "24")
+    private Double toTime;
+
+    @NotNull
+    private Double interval;
+
+    @NotNull
+    private LocalDate validFrom;
+
+    private LocalDate validTo;
+
+    private Long workPlaceId;
+
+    private Set<LocalDate> exceptionDates = new TreeSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    public void setSessionName(String sessionName) {
+        this.sessionName = sessionName;
+    }
+
+    public Integer getWeekDay() {
+        return weekDay;
+    }
+
+    public void setWeekDay(Integer weekDay) {
+        this.weekDay = weekDay;
+    }
+
+    public Double getFromTime() {
+        return fromTime;
+    }
+
+    public void setFromTime(Double fromTime) {
+        this.fromTime = fromTime;
+    }
+
+    public Double getToTime() {
+        return toTime;
+    }
+
+    public void setToTime(Double toTime) {
+        this.toTime = toTime;
+    }
+
+    public Double getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Double interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    public Long getWorkPlaceId() {
+        return workPlaceId;
+    }
+
+    public void setWorkPlaceId(Long workPlaceId) {
+        this.workPlaceId = workPlaceId;
+    }
+
+    public Set<LocalDate> getExceptionDates() {
+        return exceptionDates;
+    }
+
+    public void setExceptionDates(Set<LocalDate> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SessionRuleDTO sessionRuleDTO = (SessionRuleDTO) o;
+        if (sessionRuleDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), sessionRuleDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "SessionRuleDTO{" +
+            "id=" + getId() +
+            ", sessionName='" + getSessionName() + "'" +
+            ", weekDay=" + getWeekDay() +
+            ", fromTime=" + getFromTime() +
+            ", toTime=" + getToTime() +
+            ", interval=" + getInterval() +
+            ", validFrom='" + getValidFrom() + "'" +
+            ", validTo='" + getValidTo() + "'" +
+            ", workPlace=" + getWorkPlaceId() +
+            ", exceptionDates=" + getExceptionDates() +
+            "}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.bytatech.ayoos.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a bulk session upsert: the sessions inserted, and how many were
+ * skipped because a session of the same workplace, date and start time existed.
+ */
+public class SessionUpsertResultDTO implements Serializable {
+
+    private int inserted;
+
+    private int skipped;
+
+    private List<SessionInfoDTO> sessions = new ArrayList<>();
+
+    public SessionUpsertResultDTO() {
+    }
+
+    public SessionUpsertResultDTO(int inserted, int skipped, List<SessionInfoDTO> sessions) {
+        this.inserted = inserted;
+        this.skipped = skipped;
+        this.sessions = sessions;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public List<SessionInfoDTO> getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(List<SessionInfoDTO> sessions) {
+        this.sessions = sessions;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionUpsertResultDTO{" +
+            "inserted=" + getInserted() +
+            ", skipped=" + getSkipped() +
+            "}";
+    }
+}
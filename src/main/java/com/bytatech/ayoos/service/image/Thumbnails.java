@@ -0,0 +1,145 @@
+package com.bytatech.ayoos.service.image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Square thumbnails of images.
+ * <p>
+ * The largest centered square of the image is scaled down in halving steps, which keeps
+ * bilinear scaling sharp without the cost of area averaging. Opaque images are encoded
+ * as JPEG, images with transparency as PNG.
+ */
+public final class Thumbnails {
+
+    public static final String JPEG_CONTENT_TYPE = "image/jpeg";
+
+    public static final String PNG_CONTENT_TYPE = "image/png";
+
+    public static final String GIF_CONTENT_TYPE = "image/gif";
+
+    public static final String WEBP_CONTENT_TYPE = "image/webp";
+
+    private Thumbnails() {
+    }
+
+    /**
+     * Decode an image. The dimensions are read from the header first, so an image that would
+     * take too much memory once decoded is never decoded.
+     *
+     * @param image the encoded image
+     * @param maxPixels the largest number of pixels to decode
+     * @return the decoded image, or null if no reader supports its format, it has too many pixels
+     * or it cannot be decoded
+     */
+    public static BufferedImage read(byte[] image, long maxPixels) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // readers also fail on malformed images with unchecked exceptions
+            return null;
+        }
+    }
+
+    /**
+     * Find the content type of an image from its header rather than from what its sender claims.
+     * WebP has no ImageIO reader, so it is recognized by its RIFF container signature.
+     *
+     * @param image the encoded image
+     * @return the content type of a JPEG, PNG, GIF or WebP image, or null for anything else
+     */
+    public static String sniffContentType(byte[] image) {
+        if (image.length >= 12 && new String(image, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                && new String(image, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return WEBP_CONTENT_TYPE;
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            switch (readers.next().getFormatName().toLowerCase(Locale.ROOT)) {
+                case "jpeg":
+                case "jpg":
+                    return JPEG_CONTENT_TYPE;
+                case "png":
+                    return PNG_CONTENT_TYPE;
+                case "gif":
+                    return GIF_CONTENT_TYPE;
+                default:
+                    return null;
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Build a square thumbnail.
+     *
+     * @param source the image
+     * @param size the width and height of the thumbnail in pixels
+     * @return the thumbnail
+     */
+    public static BufferedImage square(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage((source.getWidth() - side) / 2,
+            (source.getHeight() - side) / 2, side, side);
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int currentSize = side;
+        do {
+            currentSize = side <= size ? size : Math.max(size, currentSize / 2);
+            BufferedImage next = new BufferedImage(currentSize, currentSize, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, currentSize, currentSize, null);
+            graphics.dispose();
+            current = next;
+        } while (currentSize != size);
+        return current;
+    }
+
+    public static String contentType(BufferedImage thumbnail) {
+        return thumbnail.getColorModel().hasAlpha() ? PNG_CONTENT_TYPE : JPEG_CONTENT_TYPE;
+    }
+
+    /**
+     * Encode a thumbnail in the format given by {@link #contentType(BufferedImage)}.
+     *
+     * @param thumbnail the thumbnail
+     * @return the encoded thumbnail
+     */
+    public static byte[] encode(BufferedImage thumbnail) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(thumbnail, thumbnail.getColorModel().hasAlpha() ? "png" : "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,296 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.domain.Status;
+import com.bytatech.ayoos.repository.search.ReservedSlotSearchRepository;
+import com.bytatech.ayoos.repository.search.SessionInfoSearchRepository;
+import com.bytatech.ayoos.repository.search.StatusSearchRepository;
+import com.bytatech.ayoos.service.ArchivalService;
+import com.bytatech.ayoos.service.dto.ArchivalResultDTO;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation moving past sessions and reservations to history tables.
+ * <p>
+ * Rows are moved with set-based insert-select and delete statements, one chunk of ids
+ * per transaction, so a run never holds locks on more than a chunk of rows. Once a
+ * chunk is committed its documents are removed from the search indices. The history
+ * tables keep the ids of the rows, so archived rows can still be looked up by id.
+ */
+@Service
+public class ArchivalServiceImpl implements ArchivalService {
+
+    private final Logger log = LoggerFactory.getLogger(ArchivalServiceImpl.class);
+
+    static final String ARCHIVAL_LOCKS_MAP = "archival-locks";
+
+    private static final String ARCHIVAL_LOCK = "archival";
+
+    private static final String SELECT_OLD_RESERVED_SLOT_IDS = "select id from reserved_slot"
+        + " where jhi_date < ? order by id limit ?";
+
+    private static final String SELECT_STATUS_IDS = "select id from status where reserved_slot_id in (:ids)";
+
+    private static final String ARCHIVE_STATUSES = "insert into status_history (id, status, reserved_slot_id, archived_date)"
+        + " select id, status, reserved_slot_id, :archivedDate from status where reserved_slot_id in (:ids)";
+
+    private static final String DELETE_STATUSES = "delete from status where reserved_slot_id in (:ids)";
+
+    private static final String ARCHIVE_RESERVED_SLOTS = "insert into reserved_slot_history"
+        + " (id, jhi_date, start_time, end_time, token_number, doctor_id, archived_date)"
+        + " select id, jhi_date, start_time, end_time, token_number, doctor_id, :archivedDate"
+        + " from reserved_slot where id in (:ids)";
+
+    private static final String DELETE_RESERVED_SLOTS = "delete from reserved_slot where id in (:ids)";
+
+    private static final String SELECT_OLD_SESSION_INFO_IDS = "select id from session_info"
+        + " where jhi_date < ? order by id limit ?";
+
+    private static final String ARCHIVE_SESSION_INFOS = "insert into session_info_history"
+        + " (id, session_name, jhi_date, week_day, from_time, to_time, jhi_interval, work_place_id, archived_date)"
+        + " select id, session_name, jhi_date, week_day, from_time, to_time, jhi_interval, work_place_id, :archivedDate"
+        + " from session_info where id in (:ids)";
+
+    private static final String DELETE_SESSION_INFOS = "delete from session_info where id in (:ids)";
+
+    private static final String SELECT_ARCHIVED_RESERVED_SLOT = "select id, jhi_date, start_time, end_time, token_number,"
+        + " doctor_id from reserved_slot_history where id = ?";
+
+    private static final String SELECT_ARCHIVED_RESERVED_SLOTS = "select id, jhi_date, start_time, end_time, token_number,"
+        + " doctor_id from reserved_slot_history where doctor_id = ? and jhi_date between ? and ?"
+        + " order by jhi_date, start_time";
+
+    private static final String SELECT_ARCHIVED_SESSION_INFO = "select id, session_name, jhi_date, week_day, from_time,"
+        + " to_time, jhi_interval, work_place_id from session_info_history where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SessionInfoSearchRepository sessionInfoSearchRepository;
+
+    private final ReservedSlotSearchRepository reservedSlotSearchRepository;
+
+    private final StatusSearchRepository statusSearchRepository;
+
+    private final IMap<String, Boolean> archivalLocks;
+
+    private final ApplicationProperties.Archival properties;
+
+    public ArchivalServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            SessionInfoSearchRepository sessionInfoSearchRepository, ReservedSlotSearchRepository reservedSlotSearchRepository,
+            StatusSearchRepository statusSearchRepository, HazelcastInstance hazelcastInstance,
+            ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sessionInfoSearchRepository = sessionInfoSearchRepository;
+        this.reservedSlotSearchRepository = reservedSlotSearchRepository;
+        this.statusSearchRepository = statusSearchRepository;
+        this.archivalLocks = hazelcastInstance.getMap(ARCHIVAL_LOCKS_MAP);
+        this.properties = applicationProperties.getArchival();
+    }
+
+    @Override
+    @Scheduled(cron = "${application.archival.cron}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!archivalLocks.tryLock(ARCHIVAL_LOCK)) {
+            log.debug("Archival is already running on another member");
+            return;
+        }
+        try {
+            ArchivalResultDTO result = archiveBefore(LocalDate.now().minusDays(properties.getHorizonDays()));
+            log.info("Archived {}", result);
+        } finally {
+            archivalLocks.unlock(ARCHIVAL_LOCK);
+        }
+    }
+
+    @Override
+    public ArchivalResultDTO archiveBefore(LocalDate date) {
+        log.debug("Request to archive sessions and reservations before {}", date);
+        Date before = Date.valueOf(date);
+        Date archivedDate = Date.valueOf(LocalDate.now());
+        ArchivalResultDTO result = new ArchivalResultDTO();
+        // reservations first, their statuses reference them
+        while (archiveReservedSlots(before, archivedDate, result) == properties.getChunkSize()) {
+            log.debug("Archived {} reservations so far", result.getReservedSlots());
+        }
+        while (archiveSessionInfos(before, archivedDate, result) == properties.getChunkSize()) {
+            log.debug("Archived {} sessions so far", result.getSessionInfos());
+        }
+        return result;
+    }
+
+    /**
+     * Move one chunk of reservations, with their statuses, in its own transaction.
+     *
+     * @return the number of reservations moved
+     */
+    private int archiveReservedSlots(Date before, Date archivedDate, ArchivalResultDTO result) {
+        List<Long> statusIds = new ArrayList<>();
+        List<Long> ids = transactionTemplate.execute(transaction -> {
+            List<Long> chunk = jdbcTemplate.queryForList(SELECT_OLD_RESERVED_SLOT_IDS, Long.class, before,
+                properties.getChunkSize());
+            if (chunk.isEmpty()) {
+                return chunk;
+            }
+            MapSqlParameterSource parameters = new MapSqlParameterSource("ids", chunk)
+                .addValue("archivedDate", archivedDate);
+            statusIds.addAll(namedParameterJdbcTemplate.queryForList(SELECT_STATUS_IDS, parameters, Long.class));
+            namedParameterJdbcTemplate.update(ARCHIVE_STATUSES, parameters);
+            namedParameterJdbcTemplate.update(DELETE_STATUSES, parameters);
+            namedParameterJdbcTemplate.update(ARCHIVE_RESERVED_SLOTS, parameters);
+            namedParameterJdbcTemplate.update(DELETE_RESERVED_SLOTS, parameters);
+            return chunk;
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try {
+            if (!statusIds.isEmpty()) {
+                statusSearchRepository.deleteAll(stubs(statusIds, id -> {
+                    Status status = new Status();
+                    status.setId(id);
+                    return status;
+                }));
+            }
+            reservedSlotSearchRepository.deleteAll(stubs(ids, id -> {
+                ReservedSlot reservedSlot = new ReservedSlot();
+                reservedSlot.setId(id);
+                return reservedSlot;
+            }));
+        } catch (RuntimeException e) {
+            // the rows are archived already; the documents are dropped at the next reindex
+            log.warn("Could not remove {} archived reservations from the search index", ids.size(), e);
+        }
+        result.setReservedSlots(result.getReservedSlots() + ids.size());
+        result.setStatuses(result.getStatuses() + statusIds.size());
+        return ids.size();
+    }
+
+    /**
+     * Move one chunk of sessions in its own transaction.
+     *
+     * @return the number of sessions moved
+     */
+    private int archiveSessionInfos(Date before, Date archivedDate, ArchivalResultDTO result) {
+        List<Long> ids = transactionTemplate.execute(transaction -> {
+            List<Long> chunk = jdbcTemplate.queryForList(SELECT_OLD_SESSION_INFO_IDS, Long.class, before,
+                properties.getChunkSize());
+            if (chunk.isEmpty()) {
+                return chunk;
+            }
+            MapSqlParameterSource parameters = new MapSqlParameterSource("ids", chunk)
+                .addValue("archivedDate", archivedDate);
+            namedParameterJdbcTemplate.update(ARCHIVE_SESSION_INFOS, parameters);
+            namedParameterJdbcTemplate.update(DELETE_SESSION_INFOS, parameters);
+            return chunk;
+        });
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        try {
+            sessionInfoSearchRepository.deleteAll(stubs(ids, id -> {
+                SessionInfo sessionInfo = new SessionInfo();
+                sessionInfo.setId(id);
+                return sessionInfo;
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Could not remove {} archived sessions from the search index", ids.size(), e);
+        }
+        result.setSessionInfos(result.getSessionInfos() + ids.size());
+        return ids.size();
+    }
+
+    @Override
+    public Optional<ReservedSlotDTO> findArchivedReservedSlot(Long id) {
+        log.debug("Request to get archived ReservedSlot : {}", id);
+        return jdbcTemplate.query(SELECT_ARCHIVED_RESERVED_SLOT, ArchivalServiceImpl::toReservedSlot, id)
+            .stream().findFirst();
+    }
+
+    @Override
+    public List<ReservedSlotDTO> findArchivedReservedSlots(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        log.debug("Request to get archived ReservedSlots of Doctor : {} from {} to {}", doctorId, fromDate, toDate);
+        return jdbcTemplate.query(SELECT_ARCHIVED_RESERVED_SLOTS, ArchivalServiceImpl::toReservedSlot,
+            doctorId, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+
+    @Override
+    public Optional<SessionInfoDTO> findArchivedSessionInfo(Long id) {
+        log.debug("Request to get archived SessionInfo : {}", id);
+        return jdbcTemplate.query(SELECT_ARCHIVED_SESSION_INFO, ArchivalServiceImpl::toSessionInfo, id)
+            .stream().findFirst();
+    }
+
+    private static <T> List<T> stubs(List<Long> ids, Function<Long, T> stub) {
+        return ids.stream().map(stub).collect(Collectors.toList());
+    }
+
+    private static ReservedSlotDTO toReservedSlot(ResultSet rs, int rowNum) throws SQLException {
+        return new ReservedSlotDTO(rs.getLong("id"), toLocalDate(rs.getDate("jhi_date")),
+            toDouble(rs.getObject("start_time")), toDouble(rs.getObject("end_time")),
+            toInteger(rs.getObject("token_number")), toLong(rs.getObject("doctor_id")));
+    }
+
+    private static SessionInfoDTO toSessionInfo(ResultSet rs, int rowNum) throws SQLException {
+        SessionInfoDTO sessionInfo = new SessionInfoDTO();
+        sessionInfo.setId(rs.getLong("id"));
+        sessionInfo.setSessionName(rs.getString("session_name"));
+        sessionInfo.setDate(toLocalDate(rs.getDate("jhi_date")));
+        sessionInfo.setWeekDay(toInteger(rs.getObject("week_day")));
+        sessionInfo.setFromTime(toDouble(rs.getObject("from_time")));
+        sessionInfo.setToTime(toDouble(rs.getObject("to_time")));
+        sessionInfo.setInterval(toDouble(rs.getObject("jhi_interval")));
+        sessionInfo.setWorkPlaceId(toLong(rs.getObject("work_place_id")));
+        return sessionInfo;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+
+    private static Double toDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
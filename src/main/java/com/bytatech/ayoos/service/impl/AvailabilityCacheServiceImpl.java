@@ -0,0 +1,258 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.repository.ReservedSlotRepository;
+import com.bytatech.ayoos.repository.SessionInfoRepository;
+import com.bytatech.ayoos.repository.SessionRuleRepository;
+import com.bytatech.ayoos.service.AvailabilityCacheService;
+import com.bytatech.ayoos.service.SlotEngineService;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.mapper.SessionInfoMapper;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.service.slot.SessionRules;
+import com.bytatech.ayoos.service.slot.SlotBuffer;
+import com.bytatech.ayoos.service.slot.SlotTime;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.bytatech.ayoos.service.util.TransactionUtil.afterCommit;
+
+/**
+ * Service Implementation keeping per-doctor, per-day availability bitmaps in Hazelcast.
+ * <p>
+ * Missing days are built from the sessions, expanded session rules and reservations of the doctor while their
+ * keys are locked. Reservation changes flip single bits with entry processors, which
+ * wait for those locks, so a flip is never lost to a concurrent build.
+ * <p>
+ * Keys carry a generation of the doctor, so all its days are dropped at once by moving to the
+ * next generation instead of searching the whole map; the days of past generations are no
+ * longer read and go with their time to live.
+ */
+@Service
+public class AvailabilityCacheServiceImpl implements AvailabilityCacheService {
+
+    private final Logger log = LoggerFactory.getLogger(AvailabilityCacheServiceImpl.class);
+
+    private static final long LOCK_LEASE_SECONDS = 30;
+
+    private final IMap<String, DayAvailability> availabilityMap;
+
+    private final IMap<Long, Long> generationMap;
+
+    private final SessionInfoRepository sessionInfoRepository;
+
+    private final ReservedSlotRepository reservedSlotRepository;
+
+    private final SessionRuleRepository sessionRuleRepository;
+
+    private final SessionInfoMapper sessionInfoMapper;
+
+    private final SlotEngineService slotEngineService;
+
+    public AvailabilityCacheServiceImpl(HazelcastInstance hazelcastInstance, SessionInfoRepository sessionInfoRepository,
+            ReservedSlotRepository reservedSlotRepository, SessionRuleRepository sessionRuleRepository,
+            SessionInfoMapper sessionInfoMapper, SlotEngineService slotEngineService) {
+        this.availabilityMap = hazelcastInstance.getMap(AVAILABILITY_MAP);
+        this.generationMap = hazelcastInstance.getMap(AVAILABILITY_GENERATION_MAP);
+        this.sessionInfoRepository = sessionInfoRepository;
+        this.reservedSlotRepository = reservedSlotRepository;
+        this.sessionRuleRepository = sessionRuleRepository;
+        this.sessionInfoMapper = sessionInfoMapper;
+        this.slotEngineService = slotEngineService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DayAvailability> getRange(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        long generation = generation(doctorId);
+        List<String> keys = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            keys.add(key(doctorId, generation, date));
+        }
+        Map<String, DayAvailability> days = new HashMap<>(availabilityMap.getAll(new HashSet<>(keys)));
+        List<LocalDate> missing = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!days.containsKey(keys.get(i))) {
+                missing.add(fromDate.plusDays(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            days.putAll(load(doctorId, generation, missing));
+        }
+        List<DayAvailability> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            result.add(days.get(key));
+        }
+        return result;
+    }
+
+    @Override
+    public void reserve(Long doctorId, LocalDate date, Double startTime) {
+        update(doctorId, date, startTime, true);
+    }
+
+    @Override
+    public void release(Long doctorId, LocalDate date, Double startTime) {
+        update(doctorId, date, startTime, false);
+    }
+
+    @Override
+    public void evict(Long doctorId, LocalDate date) {
+        if (doctorId == null || date == null) {
+            return;
+        }
+        afterCommit(() -> availabilityMap.delete(key(doctorId, generation(doctorId), date)));
+    }
+
+    @Override
+    public void evictDoctor(Long doctorId) {
+        if (doctorId == null) {
+            return;
+        }
+        afterCommit(() -> generationMap.executeOnKey(doctorId, new NextGenerationProcessor()));
+    }
+
+    private void update(Long doctorId, LocalDate date, Double startTime, boolean reserved) {
+        if (doctorId == null || date == null || startTime == null) {
+            return;
+        }
+        SetReservedProcessor processor = new SetReservedProcessor(SlotTime.toMinuteOfDay(startTime), reserved);
+        afterCommit(() -> availabilityMap.executeOnKey(key(doctorId, generation(doctorId), date), processor));
+    }
+
+    /**
+     * Get the current generation of the cached days of a doctor, read again after every commit
+     * so a change never lands on days of a generation dropped meanwhile.
+     */
+    private long generation(Long doctorId) {
+        Long generation = generationMap.get(doctorId);
+        return generation == null ? 0 : generation;
+    }
+
+    /**
+     * Build the given days, sorted by date, with their keys locked, skipping days built meanwhile.
+     */
+    private Map<String, DayAvailability> load(Long doctorId, long generation, List<LocalDate> dates) {
+        List<String> keys = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            keys.add(key(doctorId, generation, date));
+        }
+        List<String> locked = new ArrayList<>(keys.size());
+        try {
+            for (String key : keys) {
+                availabilityMap.lock(key, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+                locked.add(key);
+            }
+            Map<String, DayAvailability> days = new HashMap<>(availabilityMap.getAll(new HashSet<>(keys)));
+            if (days.size() == keys.size()) {
+                return days;
+            }
+            LocalDate first = dates.get(0);
+            LocalDate last = dates.get(dates.size() - 1);
+            log.debug("Building availability of Doctor : {} from {} to {}", doctorId, first, last);
+            Map<Long, DayAvailability> built = build(doctorId, first, last);
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                if (!days.containsKey(key)) {
+                    long epochDay = dates.get(i).toEpochDay();
+                    DayAvailability day = built.getOrDefault(epochDay, DayAvailability.empty(epochDay));
+                    availabilityMap.set(key, day);
+                    days.put(key, day);
+                }
+            }
+            return days;
+        } finally {
+            for (String key : locked) {
+                availabilityMap.unlock(key);
+            }
+        }
+    }
+
+    private Map<Long, DayAvailability> build(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        List<SessionInfoDTO> sessions = new ArrayList<>(
+            sessionInfoMapper.toDto(sessionInfoRepository.findByDoctorIdAndDateBetween(doctorId, fromDate, toDate)));
+        List<SessionInfoDTO> ruleSessions = SessionRules.expand(
+            sessionRuleRepository.findByDoctorIdAndValidBetween(doctorId, fromDate, toDate), fromDate, toDate);
+        if (!ruleSessions.isEmpty()) {
+            sessions.addAll(ruleSessions);
+            sessions.sort(SessionRules.BY_DATE_AND_FROM_TIME);
+        }
+        SlotBuffer buffer = new SlotBuffer();
+        slotEngineService.generate(sessions, buffer);
+        Map<Long, DayAvailability> days = new HashMap<>();
+        int from = 0;
+        for (int i = 1; i <= buffer.size(); i++) {
+            // sessions are ordered by date, so the slots of a day are contiguous in the buffer
+            if (i == buffer.size() || buffer.getEpochDay(i) != buffer.getEpochDay(from)) {
+                days.put(buffer.getEpochDay(from), DayAvailability.of(buffer.getEpochDay(from), buffer, from, i));
+                from = i;
+            }
+        }
+        for (ReservedSlot reservedSlot : reservedSlotRepository.findByDoctorIdAndDateBetween(doctorId, fromDate, toDate)) {
+            DayAvailability day = days.get(reservedSlot.getDate().toEpochDay());
+            if (day != null) {
+                day.setReserved(SlotTime.toMinuteOfDay(reservedSlot.getStartTime()), true);
+            }
+        }
+        return days;
+    }
+
+    private static String key(Long doctorId, long generation, LocalDate date) {
+        return doctorId + ":" + generation + ":" + date;
+    }
+
+    /**
+     * Moves a doctor to the next generation on the member owning its entry and on its backups.
+     */
+    static class NextGenerationProcessor extends AbstractEntryProcessor<Long, Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object process(Map.Entry<Long, Long> entry) {
+            entry.setValue(entry.getValue() == null ? 1 : entry.getValue() + 1);
+            return null;
+        }
+    }
+
+    /**
+     * Flips one slot of a cached day in place on the member owning the key and on its backups.
+     */
+    static class SetReservedProcessor extends AbstractEntryProcessor<String, DayAvailability> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int startMinute;
+
+        private final boolean reserved;
+
+        SetReservedProcessor(int startMinute, boolean reserved) {
+            this.startMinute = startMinute;
+            this.reserved = reserved;
+        }
+
+        @Override
+        public Object process(Map.Entry<String, DayAvailability> entry) {
+            DayAvailability day = entry.getValue();
+            if (day != null && day.setReserved(startMinute, reserved)) {
+                entry.setValue(day);
+            }
+            return null;
+        }
+    }
+}
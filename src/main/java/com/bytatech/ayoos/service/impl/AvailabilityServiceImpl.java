@@ -0,0 +1,98 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.service.AvailabilityCacheService;
+import com.bytatech.ayoos.service.AvailabilityService;
+import com.bytatech.ayoos.service.SlotEngineService;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.service.slot.SlotWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service Implementation computing the free slots of a doctor from the cached
+ * per-day availability bitmaps of the doctor.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final Logger log = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+
+    /**
+     * Number of days loaded from the cache at once while writing slots.
+     */
+    private static final int WRITE_CHUNK_DAYS = 7;
+
+    private final AvailabilityCacheService availabilityCacheService;
+
+    private final SlotEngineService slotEngineService;
+
+    public AvailabilityServiceImpl(AvailabilityCacheService availabilityCacheService, SlotEngineService slotEngineService) {
+        this.availabilityCacheService = availabilityCacheService;
+        this.slotEngineService = slotEngineService;
+    }
+
+    /**
+     * Get the free slots of a doctor between two dates, both inclusive.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @return the free slots ordered by date and start time
+     */
+    @Override
+    public List<ReservedSlotDTO> findAvailableSlots(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        log.debug("Request to get available slots of Doctor : {} from {} to {}", doctorId, fromDate, toDate);
+        List<ReservedSlotDTO> freeSlots = new ArrayList<>();
+        for (DayAvailability day : availabilityCacheService.getRange(doctorId, fromDate, toDate)) {
+            for (int i = 0; i < day.size(); i++) {
+                if (!day.isReserved(i)) {
+                    freeSlots.add(slotEngineService.toDto(day, i, doctorId));
+                }
+            }
+        }
+        return freeSlots;
+    }
+
+    /**
+     * Hand the free slots of a doctor between two dates, both inclusive, to a writer.
+     * <p>
+     * Runs without a surrounding transaction, so a slow client does not hold a
+     * database connection for the whole range.
+     *
+     * @param doctorId the id of the doctor
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @param writer the writer receiving the free slots ordered by date and start time
+     * @throws IOException if the writer fails
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeAvailableSlots(Long doctorId, LocalDate fromDate, LocalDate toDate, SlotWriter writer)
+            throws IOException {
+        log.debug("Request to write available slots of Doctor : {} from {} to {}", doctorId, fromDate, toDate);
+        for (LocalDate chunkStart = fromDate; !chunkStart.isAfter(toDate); chunkStart = chunkStart.plusDays(WRITE_CHUNK_DAYS)) {
+            LocalDate chunkEnd = chunkStart.plusDays(WRITE_CHUNK_DAYS - 1);
+            if (chunkEnd.isAfter(toDate)) {
+                chunkEnd = toDate;
+            }
+            for (DayAvailability day : availabilityCacheService.getRange(doctorId, chunkStart, chunkEnd)) {
+                for (int i = 0; i < day.size(); i++) {
+                    if (!day.isReserved(i)) {
+                        writer.write(day, i);
+                    }
+                }
+            }
+        }
+    }
+}
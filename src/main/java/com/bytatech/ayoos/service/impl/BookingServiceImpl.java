@@ -0,0 +1,149 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.repository.ReservedSlotRepository;
+import com.bytatech.ayoos.service.BookingService;
+import com.bytatech.ayoos.service.ReservedSlotService;
+import com.bytatech.ayoos.service.TokenService;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
+import com.bytatech.ayoos.web.rest.errors.SlotAlreadyReservedException;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Implementation booking slots.
+ * <p>
+ * Bookings and updates of the same doctor and day are serialized by a cluster-wide lock on that
+ * (doctor, date) key only, so bookings of other doctors or days never wait on each other.
+ * The transaction commits before the lock is released, and the unique constraint on
+ * reserved_slot rejects any booking that bypasses this path.
+ */
+@Service
+public class BookingServiceImpl implements BookingService {
+
+    private final Logger log = LoggerFactory.getLogger(BookingServiceImpl.class);
+
+    private static final String ENTITY_NAME = "doctorReservedSlot";
+
+    static final String BOOKING_LOCKS_MAP = "booking-locks";
+
+    static final long LOCK_LEASE_SECONDS = 30;
+
+    private final IMap<String, Boolean> bookingLocks;
+
+    private final ReservedSlotRepository reservedSlotRepository;
+
+    private final ReservedSlotService reservedSlotService;
+
+    private final TokenService tokenService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer bookingTimer;
+
+    private final Timer lockWaitTimer;
+
+    private final Counter reservedCounter;
+
+    private final Counter conflictCounter;
+
+    public BookingServiceImpl(HazelcastInstance hazelcastInstance, ReservedSlotRepository reservedSlotRepository,
+            ReservedSlotService reservedSlotService, TokenService tokenService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.bookingLocks = hazelcastInstance.getMap(BOOKING_LOCKS_MAP);
+        this.reservedSlotRepository = reservedSlotRepository;
+        this.reservedSlotService = reservedSlotService;
+        this.tokenService = tokenService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingTimer = meterRegistry.timer("doctor.booking.duration");
+        this.lockWaitTimer = meterRegistry.timer("doctor.booking.lock.wait");
+        this.reservedCounter = meterRegistry.counter("doctor.booking.reserved");
+        this.conflictCounter = meterRegistry.counter("doctor.booking.conflicts");
+    }
+
+    @Override
+    public ReservedSlotDTO book(ReservedSlotDTO reservedSlotDTO) {
+        log.debug("Request to book ReservedSlot : {}", reservedSlotDTO);
+        return bookingTimer.record(() -> {
+            ReservedSlotDTO result = locked(reservedSlotDTO, status -> reserve(reservedSlotDTO));
+            reservedCounter.increment();
+            return result;
+        });
+    }
+
+    @Override
+    public ReservedSlotDTO update(ReservedSlotDTO reservedSlotDTO) {
+        log.debug("Request to update booked ReservedSlot : {}", reservedSlotDTO);
+        return locked(reservedSlotDTO, status -> move(reservedSlotDTO));
+    }
+
+    /**
+     * Run an action in a transaction with the booking lock of the slot's doctor and date held until it completes.
+     */
+    private ReservedSlotDTO locked(ReservedSlotDTO reservedSlotDTO, TransactionCallback<ReservedSlotDTO> action) {
+        String key = lockKey(reservedSlotDTO.getDoctorId(), reservedSlotDTO.getDate());
+        long lockStart = System.nanoTime();
+        bookingLocks.lock(key, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+        lockWaitTimer.record(System.nanoTime() - lockStart, TimeUnit.NANOSECONDS);
+        try {
+            return transactionTemplate.execute(action);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Slot of ReservedSlot {} was reserved concurrently", reservedSlotDTO, e);
+            conflictCounter.increment();
+            throw new SlotAlreadyReservedException();
+        } finally {
+            bookingLocks.unlock(key);
+        }
+    }
+
+    /**
+     * The key of the booking lock of a doctor on a date, also taken by reservation ingestion.
+     */
+    static String lockKey(Long doctorId, LocalDate date) {
+        return doctorId + ":" + date;
+    }
+
+    private ReservedSlotDTO reserve(ReservedSlotDTO reservedSlotDTO) {
+        if (reservedSlotRepository.existsByDoctorIdAndDateAndStartTime(reservedSlotDTO.getDoctorId(),
+                reservedSlotDTO.getDate(), reservedSlotDTO.getStartTime())) {
+            conflictCounter.increment();
+            throw new SlotAlreadyReservedException();
+        }
+        reservedSlotDTO.setTokenNumber(tokenService.nextToken(reservedSlotDTO.getDoctorId(), reservedSlotDTO.getDate()));
+        return reservedSlotService.save(reservedSlotDTO);
+    }
+
+    private ReservedSlotDTO move(ReservedSlotDTO reservedSlotDTO) {
+        ReservedSlotDTO current = reservedSlotService.findOne(reservedSlotDTO.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        if (reservedSlotRepository.existsByDoctorIdAndDateAndStartTimeAndIdNot(reservedSlotDTO.getDoctorId(),
+                reservedSlotDTO.getDate(), reservedSlotDTO.getStartTime(), reservedSlotDTO.getId())) {
+            conflictCounter.increment();
+            throw new SlotAlreadyReservedException();
+        }
+        if (Objects.equals(current.getDoctorId(), reservedSlotDTO.getDoctorId())
+                && Objects.equals(current.getDate(), reservedSlotDTO.getDate())) {
+            reservedSlotDTO.setTokenNumber(current.getTokenNumber());
+        } else {
+            // tokens count the bookings of one doctor's day
+            reservedSlotDTO.setTokenNumber(tokenService.nextToken(reservedSlotDTO.getDoctorId(), reservedSlotDTO.getDate()));
+        }
+        return reservedSlotService.save(reservedSlotDTO);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.ContactInfoService;
 import com.bytatech.ayoos.domain.ContactInfo;
 import com.bytatech.ayoos.repository.ContactInfoRepository;
@@ -33,10 +34,14 @@ public class ContactInfoServiceImpl implements ContactInfoService {
 
     private final ContactInfoSearchRepository contactInfoSearchRepository;
 
-    public ContactInfoServiceImpl(ContactInfoRepository contactInfoRepository, ContactInfoMapper contactInfoMapper, ContactInfoSearchRepository contactInfoSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    public ContactInfoServiceImpl(ContactInfoRepository contactInfoRepository, ContactInfoMapper contactInfoMapper, ContactInfoSearchRepository contactInfoSearchRepository,
+            DoctorAggregateService doctorAggregateService) {
         this.contactInfoRepository = contactInfoRepository;
         this.contactInfoMapper = contactInfoMapper;
         this.contactInfoSearchRepository = contactInfoSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
     }
 
     /**
@@ -48,8 +53,14 @@ public class ContactInfoServiceImpl implements ContactInfoService {
     @Override
     public ContactInfoDTO save(ContactInfoDTO contactInfoDTO) {
         log.debug("Request to save ContactInfo : {}", contactInfoDTO);
+        doctorAggregateService.evictByContactInfo(contactInfoDTO.getId());
         ContactInfo contactInfo = contactInfoMapper.toEntity(contactInfoDTO);
-        contactInfo = contactInfoRepository.save(contactInfo);
+        if (contactInfoDTO.getId() != null && contactInfoDTO.getVersion() == null) {
+            // clients unaware of versions overwrite the current state, as they always did
+            contactInfoRepository.findVersionById(contactInfoDTO.getId()).ifPresent(contactInfo::setVersion);
+        }
+        // flushed, so the result carries the incremented version
+        contactInfo = contactInfoRepository.saveAndFlush(contactInfo);
         ContactInfoDTO result = contactInfoMapper.toDto(contactInfo);
         contactInfoSearchRepository.save(contactInfo);
         return result;
@@ -91,7 +102,9 @@ public class ContactInfoServiceImpl implements ContactInfoService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete ContactInfo : {}", id);        contactInfoRepository.deleteById(id);
+        log.debug("Request to delete ContactInfo : {}", id);
+        doctorAggregateService.evictByContactInfo(id);
+        contactInfoRepository.deleteById(id);
         contactInfoSearchRepository.deleteById(id);
     }
 
@@ -0,0 +1,191 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.QualificationRepository;
+import com.bytatech.ayoos.repository.ReviewRepository;
+import com.bytatech.ayoos.repository.WorkPlaceRepository;
+import com.bytatech.ayoos.service.DoctorAggregateComposer;
+import com.bytatech.ayoos.service.DoctorAggregateService;
+import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
+import com.bytatech.ayoos.service.dto.QualificationDTO;
+import com.bytatech.ayoos.service.dto.ReviewDTO;
+import com.bytatech.ayoos.service.dto.WorkPlaceDTO;
+import com.bytatech.ayoos.service.mapper.QualificationMapper;
+import com.bytatech.ayoos.service.mapper.ReviewMapper;
+import com.bytatech.ayoos.service.mapper.WorkPlaceMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation composing the doctor aggregate.
+ * <p>
+ * The primary key of the doctor is resolved through the natural id cache, then its work
+ * places, qualifications and recent reviews are read on the bounded aggregate executor
+ * while the doctor and its settings are read on the calling thread. All parts share one
+ * deadline, so composing takes as long as the slowest part rather than the sum of them,
+ * and a part missing the deadline is replaced by an empty list.
+ */
+@Service
+public class DoctorAggregateComposerImpl implements DoctorAggregateComposer {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorAggregateComposerImpl.class);
+
+    private final DoctorRepository doctorRepository;
+
+    private final WorkPlaceRepository workPlaceRepository;
+
+    private final QualificationRepository qualificationRepository;
+
+    private final ReviewRepository reviewRepository;
+
+    private final WorkPlaceMapper workPlaceMapper;
+
+    private final QualificationMapper qualificationMapper;
+
+    private final ReviewMapper reviewMapper;
+
+    private final Executor doctorAggregateExecutor;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public DoctorAggregateComposerImpl(DoctorRepository doctorRepository, WorkPlaceRepository workPlaceRepository,
+            QualificationRepository qualificationRepository, ReviewRepository reviewRepository,
+            WorkPlaceMapper workPlaceMapper, QualificationMapper qualificationMapper, ReviewMapper reviewMapper,
+            @Qualifier("doctorAggregateExecutor") Executor doctorAggregateExecutor,
+            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties) {
+        this.doctorRepository = doctorRepository;
+        this.workPlaceRepository = workPlaceRepository;
+        this.qualificationRepository = qualificationRepository;
+        this.reviewRepository = reviewRepository;
+        this.workPlaceMapper = workPlaceMapper;
+        this.qualificationMapper = qualificationMapper;
+        this.reviewMapper = reviewMapper;
+        this.doctorAggregateExecutor = doctorAggregateExecutor;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public Optional<DoctorAggregateDTO> compose(String doctorId) {
+        log.debug("Request to compose Doctor aggregate : {}", doctorId);
+        Optional<Long> id = doctorRepository.findIdByNaturalId(doctorId);
+        if (!id.isPresent()) {
+            return Optional.empty();
+        }
+        long deadline = System.nanoTime()
+            + TimeUnit.MILLISECONDS.toNanos(applicationProperties.getDoctorAggregate().getPartTimeoutMs());
+        CompletableFuture<List<WorkPlaceDTO>> workPlaces = part(() ->
+            sortedById(workPlaceMapper.toDto(workPlaceRepository.findByDoctorId(id.get())), WorkPlaceDTO::getId));
+        CompletableFuture<List<QualificationDTO>> qualifications = part(() ->
+            sortedById(qualificationMapper.toDto(qualificationRepository.findByDoctorId(id.get())),
+                QualificationDTO::getId));
+        CompletableFuture<List<ReviewDTO>> reviews = part(() -> findRecentReviews(id.get()));
+
+        Optional<DoctorAggregateDTO> profile = readOnlyTransactionTemplate.execute(status ->
+            doctorRepository.findOneWithSettingsById(id.get()).map(this::toProfile));
+        if (!profile.isPresent() || !doctorId.equals(profile.get().getDoctorId())) {
+            // the doctor was removed or renamed since its id was cached
+            workPlaces.cancel(false);
+            qualifications.cancel(false);
+            reviews.cancel(false);
+            doctorRepository.evictNaturalId(doctorId);
+            return readOnlyTransactionTemplate.execute(status ->
+                doctorRepository.findOneWithAggregateByDoctorId(doctorId).map(this::compose));
+        }
+        DoctorAggregateDTO aggregate = profile.get();
+        aggregate.setWorkPlaces(join(workPlaces, deadline, aggregate, "work places"));
+        aggregate.setQualifications(join(qualifications, deadline, aggregate, "qualifications"));
+        aggregate.setReviews(join(reviews, deadline, aggregate, "reviews"));
+        return Optional.of(aggregate);
+    }
+
+    @Override
+    public DoctorAggregateDTO compose(Doctor doctor) {
+        DoctorAggregateDTO aggregate = toProfile(doctor);
+        aggregate.setWorkPlaces(sortedById(doctor.getWorkPlaces().stream()
+            .map(workPlaceMapper::toDto)
+            .collect(Collectors.toList()), WorkPlaceDTO::getId));
+        aggregate.setQualifications(sortedById(doctor.getQualifications().stream()
+            .map(qualificationMapper::toDto)
+            .collect(Collectors.toList()), QualificationDTO::getId));
+        aggregate.setReviews(findRecentReviews(doctor.getId()));
+        return aggregate;
+    }
+
+    private DoctorAggregateDTO toProfile(Doctor doctor) {
+        DoctorAggregateDTO aggregate = new DoctorAggregateDTO();
+        aggregate.setId(doctor.getId());
+        aggregate.setVersion(doctor.getVersion());
+        aggregate.setRevision(doctor.getRevision());
+        aggregate.setDoctorId(doctor.getDoctorId());
+        aggregate.setImageHash(doctor.getImageHash());
+        aggregate.setSpecialization(doctor.getSpecialization());
+        aggregate.setRegisterNumber(doctor.getRegisterNumber());
+        aggregate.setPracticeSince(doctor.getPracticeSince());
+        aggregate.setTotalRating(doctor.getTotalRating());
+        aggregate.setFirstName(doctor.getFirstName());
+        aggregate.setEmail(doctor.getEmail());
+        aggregate.setPhoneNumber(doctor.getPhoneNumber());
+        aggregate.setContactInfo(doctor.getContactInfo());
+        aggregate.setPaymentSettings(doctor.getPaymentSettings());
+        aggregate.setDoctorSettings(doctor.getDoctorSettings());
+        return aggregate;
+    }
+
+    private List<ReviewDTO> findRecentReviews(Long doctorId) {
+        return reviewMapper.toDto(reviewRepository.findByDoctorIdOrderByReviewedOnDescIdDesc(doctorId,
+            PageRequest.of(0, DoctorAggregateService.RECENT_REVIEWS)));
+    }
+
+    private <T> CompletableFuture<T> part(Supplier<T> reader) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransactionTemplate.execute(status -> reader.get()),
+            doctorAggregateExecutor);
+    }
+
+    /**
+     * Wait for a part until the deadline, falling back to an empty list.
+     */
+    private <T> List<T> join(CompletableFuture<List<T>> part, long deadline, DoctorAggregateDTO aggregate,
+            String name) {
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Composing Doctor {} without its {}, not read in time", aggregate.getDoctorId(), name);
+        } catch (ExecutionException e) {
+            log.warn("Composing Doctor {} without its {} : {}", aggregate.getDoctorId(), name, e.getCause().toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        part.cancel(false);
+        aggregate.setPartial(true);
+        return new ArrayList<>();
+    }
+
+    private static <T> List<T> sortedById(Collection<T> dtos, Function<T, Long> id) {
+        return dtos.stream().sorted(Comparator.comparing(id)).collect(Collectors.toList());
+    }
+}
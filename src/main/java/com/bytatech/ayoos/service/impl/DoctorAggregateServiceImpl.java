@@ -0,0 +1,139 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.DoctorAggregateComposer;
+import com.bytatech.ayoos.service.DoctorAggregateService;
+import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.bytatech.ayoos.service.util.TransactionUtil.afterCommit;
+
+/**
+ * Service Implementation reading the doctor aggregate.
+ * <p>
+ * Missing aggregates are read by the {@link DoctorAggregateComposer}, outside of any
+ * transaction of the caller so its parts can be read concurrently. Callers writing in
+ * their own transaction get an aggregate read in that transaction, with one entity
+ * graph query and a limited query for the most recent reviews.
+ * <p>
+ * Aggregates are cached in Hazelcast by doctorId. A missing aggregate is built with
+ * its key locked, and the services writing any part of it evict the key once their
+ * transaction commits. The eviction waits for that lock, so an aggregate read before
+ * a commit never outlives it.
+ * <p>
+ * The versions answering conditional requests are read from the cached aggregate, or
+ * else with one query on the doctorId index, without building the aggregate.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DoctorAggregateServiceImpl implements DoctorAggregateService {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorAggregateServiceImpl.class);
+
+    private static final long LOCK_LEASE_SECONDS = 30;
+
+    private final IMap<String, DoctorAggregateDTO> aggregateMap;
+
+    private final DoctorRepository doctorRepository;
+
+    private final DoctorAggregateComposer doctorAggregateComposer;
+
+    public DoctorAggregateServiceImpl(HazelcastInstance hazelcastInstance, DoctorRepository doctorRepository,
+            DoctorAggregateComposer doctorAggregateComposer) {
+        this.aggregateMap = hazelcastInstance.getMap(DOCTOR_AGGREGATE_MAP);
+        this.doctorRepository = doctorRepository;
+        this.doctorAggregateComposer = doctorAggregateComposer;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<DoctorAggregateDTO> findByDoctorId(String doctorId) {
+        log.debug("Request to get Doctor aggregate : {}", doctorId);
+        DoctorAggregateDTO aggregate = aggregateMap.get(doctorId);
+        if (aggregate != null) {
+            return Optional.of(aggregate);
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // the caller may be writing parts of the aggregate, which could still roll back
+            return doctorRepository.findOneWithAggregateByDoctorId(doctorId).map(doctorAggregateComposer::compose);
+        }
+        aggregateMap.lock(doctorId, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+        try {
+            aggregate = aggregateMap.get(doctorId);
+            if (aggregate == null) {
+                aggregate = doctorAggregateComposer.compose(doctorId).orElse(null);
+                if (aggregate != null && !aggregate.isPartial()) {
+                    aggregateMap.set(doctorId, aggregate);
+                }
+            }
+            return Optional.ofNullable(aggregate);
+        } finally {
+            aggregateMap.unlock(doctorId);
+        }
+    }
+
+    @Override
+    public Optional<DoctorVersionDTO> findVersionsByDoctorId(String doctorId) {
+        log.debug("Request to get the versions of Doctor : {}", doctorId);
+        DoctorAggregateDTO aggregate = aggregateMap.get(doctorId);
+        if (aggregate != null) {
+            return Optional.of(DoctorVersionDTO.of(aggregate));
+        }
+        return doctorRepository.findVersionsByDoctorId(doctorId);
+    }
+
+    @Override
+    @Transactional
+    public void touch(Long id) {
+        if (id != null) {
+            doctorRepository.incrementRevision(id);
+            evict(id);
+        }
+    }
+
+    @Override
+    public void evict(Long id) {
+        if (id != null) {
+            doctorRepository.findDoctorIdById(id).ifPresent(this::evictByDoctorId);
+        }
+    }
+
+    @Override
+    public void evictByDoctorId(String doctorId) {
+        if (doctorId != null) {
+            afterCommit(() -> aggregateMap.delete(doctorId));
+        }
+    }
+
+    @Override
+    public void evictByContactInfo(Long contactInfoId) {
+        if (contactInfoId != null) {
+            doctorRepository.findDoctorIdByContactInfoId(contactInfoId).ifPresent(this::evictByDoctorId);
+        }
+    }
+
+    @Override
+    public void evictByDoctorSettings(Long doctorSettingsId) {
+        if (doctorSettingsId != null) {
+            doctorRepository.findDoctorIdByDoctorSettingsId(doctorSettingsId).ifPresent(this::evictByDoctorId);
+        }
+    }
+
+    @Override
+    public void evictByPaymentSettings(Long paymentSettingsId) {
+        if (paymentSettingsId != null) {
+            doctorRepository.findDoctorIdByPaymentSettingsId(paymentSettingsId).ifPresent(this::evictByDoctorId);
+        }
+    }
+}
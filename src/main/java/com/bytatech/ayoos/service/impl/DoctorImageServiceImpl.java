@@ -0,0 +1,162 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.DoctorImage;
+import com.bytatech.ayoos.repository.DoctorImageRepository;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.search.DoctorSearchRepository;
+import com.bytatech.ayoos.service.DoctorAggregateService;
+import com.bytatech.ayoos.service.DoctorImageService;
+import com.bytatech.ayoos.service.DoctorImageThumbnailService;
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+import static com.bytatech.ayoos.service.util.TransactionUtil.afterCommit;
+
+/**
+ * Service Implementation for managing the images of doctors.
+ * <p>
+ * Images live in their own table, keyed by the doctor, so loading or indexing a doctor
+ * never reads them. The doctor only keeps the SHA-256 hash of its image, which names
+ * the image in URLs and ETags. Thumbnails are generated once the new image is committed.
+ */
+@Service
+@Transactional
+public class DoctorImageServiceImpl implements DoctorImageService {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorImageServiceImpl.class);
+
+    private static final String SELECT_IMAGE = "select image from doctor_image where doctor_id = ?";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final DoctorImageRepository doctorImageRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private final DoctorSearchRepository doctorSearchRepository;
+
+    private final DoctorAggregateService doctorAggregateService;
+
+    private final DoctorImageThumbnailService doctorImageThumbnailService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DoctorImageServiceImpl(DoctorImageRepository doctorImageRepository, DoctorRepository doctorRepository,
+            DoctorSearchRepository doctorSearchRepository, DoctorAggregateService doctorAggregateService,
+            DoctorImageThumbnailService doctorImageThumbnailService, JdbcTemplate jdbcTemplate) {
+        this.doctorImageRepository = doctorImageRepository;
+        this.doctorRepository = doctorRepository;
+        this.doctorSearchRepository = doctorSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
+        this.doctorImageThumbnailService = doctorImageThumbnailService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DoctorImageDTO> findMetadata(Long doctorId) {
+        log.debug("Request to get the image description of Doctor : {}", doctorId);
+        return doctorImageRepository.findMetadata(doctorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean copyImage(Long doctorId, OutputStream out) throws IOException {
+        log.debug("Request to stream the image of Doctor : {}", doctorId);
+        return copyBlob(jdbcTemplate, SELECT_IMAGE, out, doctorId);
+    }
+
+    @Override
+    public Optional<DoctorImageDTO> save(Long doctorId, String imageContentType, byte[] image) {
+        log.debug("Request to save the image of Doctor : {}, {} bytes of {}", doctorId, image.length, imageContentType);
+        Optional<Doctor> doctor = doctorRepository.findById(doctorId);
+        if (!doctor.isPresent()) {
+            return Optional.empty();
+        }
+        String imageHash = hash(image);
+        long imageSize = image.length;
+        if (doctorImageRepository.updateImage(doctorId, image, imageContentType, imageSize) == 0) {
+            doctorImageRepository.save(new DoctorImage()
+                .doctorId(doctorId)
+                .image(image)
+                .imageContentType(imageContentType)
+                .imageSize(imageSize));
+        }
+        updateImageHash(doctor.get(), imageHash);
+        // images are read with plain JDBC, which does not see unflushed changes
+        doctorImageRepository.flush();
+        afterCommit(() -> doctorImageThumbnailService.generateAsync(doctorId));
+        return Optional.of(new DoctorImageDTO(doctorId, imageHash, imageContentType, imageSize));
+    }
+
+    @Override
+    public void delete(Long doctorId) {
+        log.debug("Request to delete the image of Doctor : {}", doctorId);
+        doctorImageRepository.deleteImage(doctorId);
+        doctorImageThumbnailService.delete(doctorId);
+        doctorRepository.findById(doctorId).ifPresent(doctor -> updateImageHash(doctor, null));
+    }
+
+    private void updateImageHash(Doctor doctor, String imageHash) {
+        doctor.setImageHash(imageHash);
+        doctorSearchRepository.save(doctor);
+        doctorAggregateService.evictByDoctorId(doctor.getDoctorId());
+    }
+
+    /**
+     * Copy the first column of the single row selected by a query to a stream, with plain JDBC so
+     * the bytes never end up in the persistence context. The driver may still buffer the whole
+     * row, as MySQL Connector/J does, so this relies on images being bounded in size.
+     *
+     * @return true if the query selected a row
+     */
+    static boolean copyBlob(JdbcTemplate jdbcTemplate, String sql, OutputStream out, Object... args)
+            throws IOException {
+        try {
+            Boolean found = jdbcTemplate.query(sql, rs -> {
+                if (!rs.next()) {
+                    return false;
+                }
+                try (InputStream in = rs.getBinaryStream(1)) {
+                    StreamUtils.copy(in, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }, args);
+            return Boolean.TRUE.equals(found);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static String hash(byte[] image) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(image);
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.DoctorImageThumbnail;
+import com.bytatech.ayoos.repository.DoctorImageThumbnailRepository;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.DoctorImageThumbnailService;
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+import com.bytatech.ayoos.service.image.Thumbnails;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Implementation generating the thumbnails of the images of doctors.
+ * <p>
+ * Thumbnails are generated on the task executor after an image is committed, so uploads
+ * do not wait for decoding and scaling. Each thumbnail remembers the hash of the image it
+ * was generated from and is only served while that image is current. Generations for one
+ * doctor run one at a time across the cluster, with the doctor locked until their transaction
+ * completes, as each replaces the thumbnails the previous one inserted.
+ */
+@Service
+@Transactional
+public class DoctorImageThumbnailServiceImpl implements DoctorImageThumbnailService {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorImageThumbnailServiceImpl.class);
+
+    private static final String SELECT_IMAGE = "select image from doctor_image where doctor_id = ?";
+
+    private static final String SELECT_THUMBNAIL =
+        "select image from doctor_image_thumbnail where doctor_id = ? and thumbnail_size = ?";
+
+    private static final int MAX_REQUESTED_IMAGES = 10000;
+
+    static final String THUMBNAIL_LOCKS_MAP = "doctor-image-thumbnail-locks";
+
+    private static final long LOCK_LEASE_SECONDS = 60;
+
+    private final DoctorImageThumbnailRepository doctorImageThumbnailRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IMap<Long, Boolean> thumbnailLocks;
+
+    private final Executor taskExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    /**
+     * The images, as "doctorId:imageHash", for which a missing thumbnail was requested on this node.
+     */
+    private final Set<String> requestedImages = ConcurrentHashMap.newKeySet();
+
+    public DoctorImageThumbnailServiceImpl(DoctorImageThumbnailRepository doctorImageThumbnailRepository,
+            DoctorRepository doctorRepository, JdbcTemplate jdbcTemplate, HazelcastInstance hazelcastInstance,
+            @Qualifier("taskExecutor") Executor taskExecutor, PlatformTransactionManager transactionManager,
+            ApplicationProperties applicationProperties) {
+        this.doctorImageThumbnailRepository = doctorImageThumbnailRepository;
+        this.doctorRepository = doctorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.thumbnailLocks = hazelcastInstance.getMap(THUMBNAIL_LOCKS_MAP);
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public int generate(Long doctorId) {
+        log.debug("Request to generate the thumbnails of Doctor : {}", doctorId);
+        Optional<String> imageHash = doctorRepository.findImageHashById(doctorId);
+        // read with plain JDBC, as a bulk update may have replaced the image behind a managed DoctorImage
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        try {
+            if (!imageHash.isPresent() || !DoctorImageServiceImpl.copyBlob(jdbcTemplate, SELECT_IMAGE, image, doctorId)) {
+                return 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        BufferedImage source = Thumbnails.read(image.toByteArray(),
+            applicationProperties.getDoctorImage().getThumbnailMaxPixels());
+        if (source == null) {
+            log.warn("Cannot generate thumbnails of the image of Doctor : {}", doctorId);
+            return 0;
+        }
+        doctorImageThumbnailRepository.deleteThumbnails(doctorId);
+        for (Integer size : DoctorImageDTO.THUMBNAIL_SIZES) {
+            BufferedImage thumbnail = Thumbnails.square(source, size);
+            byte[] bytes = Thumbnails.encode(thumbnail);
+            doctorImageThumbnailRepository.save(new DoctorImageThumbnail()
+                .doctorId(doctorId)
+                .size(size)
+                .imageHash(imageHash.get())
+                .image(bytes)
+                .imageContentType(Thumbnails.contentType(thumbnail))
+                .imageSize((long) bytes.length));
+        }
+        // thumbnails are read with plain JDBC, which does not see unflushed changes
+        doctorImageThumbnailRepository.flush();
+        return DoctorImageDTO.THUMBNAIL_SIZES.size();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void generateAsync(Long doctorId) {
+        log.debug("Request to generate the thumbnails of Doctor : {} asynchronously", doctorId);
+        try {
+            taskExecutor.execute(() -> generateLocked(doctorId));
+        } catch (TaskRejectedException e) {
+            log.warn("Cannot generate the thumbnails of Doctor {} now: {}", doctorId, e.getMessage());
+        }
+    }
+
+    /**
+     * Generate the thumbnails of a doctor in a transaction of its own, holding the lock of the
+     * doctor until it completes so no other generation deletes or inserts its thumbnails meanwhile.
+     */
+    private void generateLocked(Long doctorId) {
+        thumbnailLocks.lock(doctorId, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+        try {
+            transactionTemplate.execute(status -> generate(doctorId));
+        } finally {
+            thumbnailLocks.unlock(doctorId);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void generateIfMissing(Long doctorId, String imageHash) {
+        if (requestedImages.size() >= MAX_REQUESTED_IMAGES) {
+            requestedImages.clear();
+        }
+        if (requestedImages.add(doctorId + ":" + imageHash)) {
+            generateAsync(doctorId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DoctorImageDTO> findMetadata(Long doctorId, int size) {
+        log.debug("Request to get the description of the {} pixels thumbnail of Doctor : {}", size, doctorId);
+        return doctorImageThumbnailRepository.findCurrentMetadata(doctorId, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean copyThumbnail(Long doctorId, int size, OutputStream out) throws IOException {
+        log.debug("Request to stream the {} pixels thumbnail of Doctor : {}", size, doctorId);
+        return DoctorImageServiceImpl.copyBlob(jdbcTemplate, SELECT_THUMBNAIL, out, doctorId, size);
+    }
+
+    @Override
+    public void delete(Long doctorId) {
+        log.debug("Request to delete the thumbnails of Doctor : {}", doctorId);
+        doctorImageThumbnailRepository.deleteThumbnails(doctorId);
+    }
+}
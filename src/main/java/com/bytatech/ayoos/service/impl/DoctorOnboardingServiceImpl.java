@@ -0,0 +1,159 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.DoctorSettings;
+import com.bytatech.ayoos.domain.PaymentSettings;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.DoctorSettingsRepository;
+import com.bytatech.ayoos.repository.PaymentSettingsRepository;
+import com.bytatech.ayoos.repository.search.DoctorSearchRepository;
+import com.bytatech.ayoos.repository.search.DoctorSettingsSearchRepository;
+import com.bytatech.ayoos.repository.search.PaymentSettingsSearchRepository;
+import com.bytatech.ayoos.service.DoctorOnboardingService;
+import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.mapper.DoctorMapper;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.bytatech.ayoos.service.util.TransactionUtil.afterCommit;
+
+/**
+ * Service Implementation creating doctors with their default settings.
+ * <p>
+ * The settings and the doctors are inserted in one transaction, in JDBC batches which
+ * their table-generated ids allow. The search index is written once the transaction
+ * commits, with one bulk request per index, so it never holds doctors that were rolled back.
+ */
+@Service
+@Transactional
+public class DoctorOnboardingServiceImpl implements DoctorOnboardingService {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorOnboardingServiceImpl.class);
+
+    private static final String ENTITY_NAME = "doctorDoctor";
+
+    private final DoctorRepository doctorRepository;
+
+    private final DoctorSettingsRepository doctorSettingsRepository;
+
+    private final PaymentSettingsRepository paymentSettingsRepository;
+
+    private final DoctorMapper doctorMapper;
+
+    private final DoctorSearchRepository doctorSearchRepository;
+
+    private final DoctorSettingsSearchRepository doctorSettingsSearchRepository;
+
+    private final PaymentSettingsSearchRepository paymentSettingsSearchRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    public DoctorOnboardingServiceImpl(DoctorRepository doctorRepository, DoctorSettingsRepository doctorSettingsRepository,
+            PaymentSettingsRepository paymentSettingsRepository, DoctorMapper doctorMapper,
+            DoctorSearchRepository doctorSearchRepository, DoctorSettingsSearchRepository doctorSettingsSearchRepository,
+            PaymentSettingsSearchRepository paymentSettingsSearchRepository, ApplicationProperties applicationProperties) {
+        this.doctorRepository = doctorRepository;
+        this.doctorSettingsRepository = doctorSettingsRepository;
+        this.paymentSettingsRepository = paymentSettingsRepository;
+        this.doctorMapper = doctorMapper;
+        this.doctorSearchRepository = doctorSearchRepository;
+        this.doctorSettingsSearchRepository = doctorSettingsSearchRepository;
+        this.paymentSettingsSearchRepository = paymentSettingsSearchRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public DoctorDTO onboard(DoctorDTO doctorDTO) {
+        return onboardAll(Collections.singletonList(doctorDTO)).get(0);
+    }
+
+    @Override
+    public List<DoctorDTO> onboardAll(List<DoctorDTO> doctorDTOs) {
+        log.debug("Request to onboard {} Doctors", doctorDTOs.size());
+        if (doctorDTOs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int maxBatchSize = applicationProperties.getDoctorOnboarding().getMaxBatchSize();
+        if (doctorDTOs.size() > maxBatchSize) {
+            throw new BadRequestAlertException("At most " + maxBatchSize + " doctors can be onboarded at once",
+                ENTITY_NAME, "batchtoolarge");
+        }
+        Set<String> doctorIds = new HashSet<>();
+        for (DoctorDTO doctorDTO : doctorDTOs) {
+            if (doctorDTO.getId() != null) {
+                throw new BadRequestAlertException("A new doctor cannot already have an ID", ENTITY_NAME, "idexists");
+            }
+            if (doctorDTO.getDoctorId() != null && !doctorIds.add(doctorDTO.getDoctorId())) {
+                throw new BadRequestAlertException("Doctor " + doctorDTO.getDoctorId() + " is onboarded twice",
+                    ENTITY_NAME, "doctorexists");
+            }
+        }
+        if (!doctorIds.isEmpty()) {
+            List<String> existing = doctorRepository.findDoctorIdsIn(doctorIds);
+            if (!existing.isEmpty()) {
+                throw new BadRequestAlertException("Doctors " + existing + " already exist", ENTITY_NAME, "doctorexists");
+            }
+        }
+
+        List<DoctorSettings> doctorSettings = new ArrayList<>(doctorDTOs.size());
+        List<PaymentSettings> paymentSettings = new ArrayList<>(doctorDTOs.size());
+        List<Doctor> doctors = new ArrayList<>(doctorDTOs.size());
+        for (DoctorDTO doctorDTO : doctorDTOs) {
+            DoctorSettings settings = defaultDoctorSettings();
+            PaymentSettings payment = defaultPaymentSettings();
+            doctorSettings.add(settings);
+            paymentSettings.add(payment);
+            doctors.add(doctorMapper.toEntity(doctorDTO).doctorSettings(settings).paymentSettings(payment));
+        }
+        try {
+            doctorSettings = doctorSettingsRepository.saveAll(doctorSettings);
+            paymentSettings = paymentSettingsRepository.saveAll(paymentSettings);
+            doctors = doctorRepository.saveAll(doctors);
+            doctorRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent onboarding inserted some of the doctorIds first
+            throw new BadRequestAlertException("Doctors were created concurrently", ENTITY_NAME, "doctorexists");
+        }
+        List<DoctorSettings> indexedDoctorSettings = doctorSettings;
+        List<PaymentSettings> indexedPaymentSettings = paymentSettings;
+        List<Doctor> indexedDoctors = doctors;
+        afterCommit(() -> index(indexedDoctors, indexedDoctorSettings, indexedPaymentSettings));
+        return doctorMapper.toDto(doctors);
+    }
+
+    private void index(List<Doctor> doctors, List<DoctorSettings> doctorSettings, List<PaymentSettings> paymentSettings) {
+        try {
+            doctorSettingsSearchRepository.saveAll(doctorSettings);
+            paymentSettingsSearchRepository.saveAll(paymentSettings);
+            doctorSearchRepository.saveAll(doctors);
+        } catch (RuntimeException e) {
+            // the doctors are committed; they are indexed again with their next change
+            log.warn("Cannot index {} onboarded Doctors : {}", doctors.size(), e.toString());
+        }
+    }
+
+    private static DoctorSettings defaultDoctorSettings() {
+        return new DoctorSettings()
+            .approvalType("automatic")
+            .isMailNotificationsEnabled(true)
+            .isSMSNotificationsEnabled(true);
+    }
+
+    private static PaymentSettings defaultPaymentSettings() {
+        return new PaymentSettings()
+            .amount(100.0)
+            .isPaymentEnabled(false)
+            .currency("INR");
+    }
+}
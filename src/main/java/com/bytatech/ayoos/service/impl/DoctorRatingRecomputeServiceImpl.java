@@ -0,0 +1,161 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.repository.DoctorRatingSummaryRepository;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.DoctorAggregateService;
+import com.bytatech.ayoos.service.DoctorRatingRecomputeService;
+import com.bytatech.ayoos.service.LeaderboardService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.UpdateQueryBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service Implementation coalescing the total rating writes of doctors.
+ * <p>
+ * Rating writes only queue the id of the rated doctor, a set in which a burst of ratings
+ * of one doctor takes a single entry. Every window the queued doctors are drained, their
+ * total rating is read from the rating summary, written with a single column update and
+ * sent to the search index as a partial update, instead of rewriting the whole doctor row
+ * and document, image included, on every rating. The doctor is then moved on the
+ * top rated leaderboards and its cached profile is evicted.
+ */
+@Service
+public class DoctorRatingRecomputeServiceImpl implements DoctorRatingRecomputeService {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorRatingRecomputeServiceImpl.class);
+
+    private final Set<Long> pendingDoctorIds = ConcurrentHashMap.newKeySet();
+
+    private final DoctorRatingSummaryRepository doctorRatingSummaryRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private final LeaderboardService leaderboardService;
+
+    private final DoctorAggregateService doctorAggregateService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+
+    private final Counter writtenCounter;
+
+    public DoctorRatingRecomputeServiceImpl(DoctorRatingSummaryRepository doctorRatingSummaryRepository,
+            DoctorRepository doctorRepository, ElasticsearchOperations elasticsearchOperations,
+            LeaderboardService leaderboardService, DoctorAggregateService doctorAggregateService,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.doctorRatingSummaryRepository = doctorRatingSummaryRepository;
+        this.doctorRepository = doctorRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.leaderboardService = leaderboardService;
+        this.doctorAggregateService = doctorAggregateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = meterRegistry.counter("doctor.rating.recompute.published");
+        this.writtenCounter = meterRegistry.counter("doctor.rating.recompute.written");
+        meterRegistry.gauge("doctor.rating.recompute.queue.depth", pendingDoctorIds, Set::size);
+        meterRegistry.gauge("doctor.rating.recompute.coalescing.ratio", this,
+            DoctorRatingRecomputeServiceImpl::coalescingRatio);
+    }
+
+    @Override
+    public void publish(Long doctorId) {
+        if (doctorId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(doctorId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                enqueue(doctorId);
+            }
+        });
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${application.rating-recompute.window-ms}")
+    public void flush() {
+        int written = 0;
+        List<Long> failedDoctorIds = new ArrayList<>();
+        for (Iterator<Long> it = pendingDoctorIds.iterator(); it.hasNext();) {
+            Long doctorId = it.next();
+            // ratings arriving from now on queue the doctor again for the next window
+            it.remove();
+            try {
+                write(doctorId);
+                written++;
+            } catch (RuntimeException e) {
+                log.warn("Could not write the total rating of Doctor : {}, retrying in the next window", doctorId, e);
+                failedDoctorIds.add(doctorId);
+            }
+        }
+        pendingDoctorIds.addAll(failedDoctorIds);
+        writtenCounter.increment(written);
+    }
+
+    private void enqueue(Long doctorId) {
+        pendingDoctorIds.add(doctorId);
+        publishedCounter.increment();
+    }
+
+    private void write(Long doctorId) {
+        Double totalRating = transactionTemplate.execute(status -> {
+            Double average = doctorRatingSummaryRepository.findAverageRating(doctorId)
+                .map(DoctorRatingRecomputeServiceImpl::round)
+                .orElse(null);
+            doctorRepository.updateTotalRating(doctorId, average);
+            doctorAggregateService.evict(doctorId);
+            return average;
+        });
+        log.debug("Writing total rating {} of Doctor : {}", totalRating, doctorId);
+        try {
+            leaderboardService.updateRating(doctorId);
+        } catch (RuntimeException e) {
+            log.warn("Could not move Doctor {} on the leaderboards", doctorId, e);
+        }
+        try {
+            elasticsearchOperations.update(new UpdateQueryBuilder()
+                .withId(doctorId.toString())
+                .withClass(Doctor.class)
+                .withUpdateRequest(new UpdateRequest().doc(Collections.singletonMap("totalRating", totalRating)))
+                .build());
+        } catch (RuntimeException e) {
+            log.warn("Could not update the total rating of Doctor {} in the search index", doctorId, e);
+        }
+    }
+
+    private double coalescingRatio() {
+        double written = writtenCounter.count();
+        return written == 0 ? 0 : publishedCounter.count() / written;
+    }
+
+    static Double round(Double rating) {
+        return Math.round(rating * 1000) / 1000.0;
+    }
+}
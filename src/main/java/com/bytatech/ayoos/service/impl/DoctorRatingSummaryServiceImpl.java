@@ -0,0 +1,195 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.domain.DoctorRatingSummary;
+import com.bytatech.ayoos.repository.DoctorRatingSummaryRepository;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.DoctorRatingRecomputeService;
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
+import com.bytatech.ayoos.service.dto.DoctorRatingStatsDTO;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.bytatech.ayoos.service.util.TransactionUtil.afterCommit;
+
+/**
+ * Service Implementation maintaining the per-doctor rating summaries.
+ * <p>
+ * A rating write changes the summary of the rated doctor with one relative update,
+ * in the transaction of the write, so the cost of a write does not grow with the
+ * number of ratings. The doctor's total rating is derived from that summary by the
+ * {@link DoctorRatingRecomputeService}, once per window however many ratings arrive.
+ * <p>
+ * Rating breakdowns are cached in Hazelcast per doctor, built with the doctor's key locked,
+ * and evicted once a rating change of the doctor commits.
+ */
+@Service
+@Transactional
+public class DoctorRatingSummaryServiceImpl implements DoctorRatingSummaryService {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorRatingSummaryServiceImpl.class);
+
+    private static final long LOCK_LEASE_SECONDS = 30;
+
+    private static final String DELETE_SUMMARIES = "delete from doctor_rating_summary";
+
+    private static final String INSERT_SUMMARIES = "insert into doctor_rating_summary (doctor_id, one_star_count,"
+        + " two_star_count, three_star_count, four_star_count, five_star_count, rating_count, rating_sum)"
+        + " select doctor_id,"
+        + " sum(case when floor(rating + 0.5) <= 1 then 1 else 0 end),"
+        + " sum(case when floor(rating + 0.5) = 2 then 1 else 0 end),"
+        + " sum(case when floor(rating + 0.5) = 3 then 1 else 0 end),"
+        + " sum(case when floor(rating + 0.5) = 4 then 1 else 0 end),"
+        + " sum(case when floor(rating + 0.5) >= 5 then 1 else 0 end),"
+        + " count(*), sum(rating)"
+        + " from user_rating where doctor_id is not null and rating is not null group by doctor_id";
+
+    private static final String INSERT_EMPTY_SUMMARY = "insert into doctor_rating_summary (doctor_id, one_star_count,"
+        + " two_star_count, three_star_count, four_star_count, five_star_count, rating_count, rating_sum)"
+        + " values (?, 0, 0, 0, 0, 0, 0, 0)";
+
+    private static final String SELECT_DOCTOR_IDS = "select id from doctor";
+
+    private static final String UPDATE_TOTAL_RATINGS = "update doctor set total_rating ="
+        + " (select round(s.rating_sum / s.rating_count, 3) from doctor_rating_summary s"
+        + " where s.doctor_id = doctor.id and s.rating_count > 0)";
+
+    private final IMap<Long, DoctorRatingStatsDTO> ratingStatsMap;
+
+    private final DoctorRatingSummaryRepository doctorRatingSummaryRepository;
+
+    private final DoctorRepository doctorRepository;
+
+    private final DoctorRatingRecomputeService doctorRatingRecomputeService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DoctorRatingSummaryServiceImpl(HazelcastInstance hazelcastInstance,
+            DoctorRatingSummaryRepository doctorRatingSummaryRepository, DoctorRepository doctorRepository,
+            DoctorRatingRecomputeService doctorRatingRecomputeService, JdbcTemplate jdbcTemplate) {
+        this.ratingStatsMap = hazelcastInstance.getMap(RATING_STATS_MAP);
+        this.doctorRatingSummaryRepository = doctorRatingSummaryRepository;
+        this.doctorRepository = doctorRepository;
+        this.doctorRatingRecomputeService = doctorRatingRecomputeService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addRating(Long doctorId, Double rating) {
+        log.debug("Request to add rating {} to Doctor : {}", rating, doctorId);
+        apply(doctorId, rating, 1);
+    }
+
+    @Override
+    public void removeRating(Long doctorId, Double rating) {
+        log.debug("Request to remove rating {} from Doctor : {}", rating, doctorId);
+        apply(doctorId, rating, -1);
+    }
+
+    @Override
+    public int rebuild() {
+        log.debug("Request to rebuild all DoctorRatingSummaries");
+        jdbcTemplate.update(DELETE_SUMMARIES);
+        int summaries = jdbcTemplate.update(INSERT_SUMMARIES);
+        jdbcTemplate.update(UPDATE_TOTAL_RATINGS);
+        jdbcTemplate.queryForList(SELECT_DOCTOR_IDS, Long.class).forEach(doctorRatingRecomputeService::publish);
+        afterCommit(ratingStatsMap::clear);
+        log.info("Rebuilt the rating summaries of {} doctors", summaries);
+        return summaries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DoctorRatingStatsDTO> findStats(Long doctorId) {
+        log.debug("Request to get the rating stats of Doctor : {}", doctorId);
+        DoctorRatingStatsDTO stats = ratingStatsMap.get(doctorId);
+        if (stats != null) {
+            return Optional.of(stats);
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // the caller may be writing ratings of the doctor, which could still roll back
+            return readStats(doctorId);
+        }
+        // evictions wait for the lock, so a breakdown read before a rating commits is never cached after it
+        ratingStatsMap.lock(doctorId, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+        try {
+            stats = ratingStatsMap.get(doctorId);
+            if (stats != null) {
+                return Optional.of(stats);
+            }
+            Optional<DoctorRatingStatsDTO> read = readStats(doctorId);
+            read.ifPresent(built -> ratingStatsMap.set(doctorId, built));
+            return read;
+        } finally {
+            ratingStatsMap.unlock(doctorId);
+        }
+    }
+
+    private Optional<DoctorRatingStatsDTO> readStats(Long doctorId) {
+        Optional<DoctorRatingSummary> summary = doctorRatingSummaryRepository.findById(doctorId);
+        if (!summary.isPresent() && !doctorRepository.existsById(doctorId)) {
+            return Optional.empty();
+        }
+        return Optional.of(toStats(summary.orElseGet(() -> new DoctorRatingSummary().doctorId(doctorId))));
+    }
+
+    private void apply(Long doctorId, Double rating, int count) {
+        if (doctorId == null || rating == null) {
+            return;
+        }
+        int star = toStar(rating);
+        if (addRatings(doctorId, star, count, rating) == 0 && count > 0) {
+            createSummary(doctorId);
+            addRatings(doctorId, star, count, rating);
+        }
+        doctorRatingRecomputeService.publish(doctorId);
+        afterCommit(() -> ratingStatsMap.delete(doctorId));
+    }
+
+    private int addRatings(Long doctorId, int star, int count, double rating) {
+        return doctorRatingSummaryRepository.addRatings(doctorId,
+            star == 1 ? count : 0, star == 2 ? count : 0, star == 3 ? count : 0, star == 4 ? count : 0,
+            star == 5 ? count : 0, count, count * rating);
+    }
+
+    /**
+     * Insert an empty summary for the first rating of a doctor. A concurrent first rating may
+     * insert it first; its insert then fails on the primary key alone, without aborting the
+     * transaction, and both ratings are added by the relative update that follows.
+     */
+    private void createSummary(Long doctorId) {
+        try {
+            jdbcTemplate.update(INSERT_EMPTY_SUMMARY, doctorId);
+        } catch (DuplicateKeyException e) {
+            log.debug("The rating summary of Doctor {} was created concurrently", doctorId);
+        }
+    }
+
+    private static DoctorRatingStatsDTO toStats(DoctorRatingSummary summary) {
+        DoctorRatingStatsDTO stats = new DoctorRatingStatsDTO();
+        stats.setDoctorId(summary.getDoctorId());
+        stats.setOneStarCount(summary.getOneStarCount());
+        stats.setTwoStarCount(summary.getTwoStarCount());
+        stats.setThreeStarCount(summary.getThreeStarCount());
+        stats.setFourStarCount(summary.getFourStarCount());
+        stats.setFiveStarCount(summary.getFiveStarCount());
+        stats.setCount(summary.getRatingCount());
+        stats.setMean(summary.getAverage());
+        return stats;
+    }
+
+    static int toStar(double rating) {
+        return (int) Math.max(1, Math.min(5, Math.round(rating)));
+    }
+}
@@ -1,10 +1,13 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.DoctorService;
+import com.bytatech.ayoos.service.LeaderboardService;
 import com.bytatech.ayoos.domain.Doctor;
 import com.bytatech.ayoos.repository.DoctorRepository;
 import com.bytatech.ayoos.repository.search.DoctorSearchRepository;
 import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
 import com.bytatech.ayoos.service.mapper.DoctorMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +36,17 @@ public class DoctorServiceImpl implements DoctorService {
 
     private final DoctorSearchRepository doctorSearchRepository;
 
-    public DoctorServiceImpl(DoctorRepository doctorRepository, DoctorMapper doctorMapper, DoctorSearchRepository doctorSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    private final LeaderboardService leaderboardService;
+
+    public DoctorServiceImpl(DoctorRepository doctorRepository, DoctorMapper doctorMapper, DoctorSearchRepository doctorSearchRepository,
+            DoctorAggregateService doctorAggregateService, LeaderboardService leaderboardService) {
         this.doctorRepository = doctorRepository;
         this.doctorMapper = doctorMapper;
         this.doctorSearchRepository = doctorSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
@@ -48,8 +58,25 @@ public class DoctorServiceImpl implements DoctorService {
     @Override
     public DoctorDTO save(DoctorDTO doctorDTO) {
         log.debug("Request to save Doctor : {}", doctorDTO);
+        doctorAggregateService.evict(doctorDTO.getId());
         Doctor doctor = doctorMapper.toEntity(doctorDTO);
-        doctor = doctorRepository.save(doctor);
+        if (doctorDTO.getId() != null) {
+            // the image hash is only changed with the image itself
+            doctor.setImageHash(doctorRepository.findImageHashById(doctorDTO.getId()).orElse(null));
+            doctorRepository.findDoctorIdById(doctorDTO.getId())
+                .filter(doctorId -> !doctorId.equals(doctorDTO.getDoctorId()))
+                .ifPresent(doctorRepository::evictNaturalId);
+            if (doctorDTO.getVersion() == null) {
+                // clients unaware of versions overwrite the current state, as they always did
+                doctorRepository.findVersionById(doctorDTO.getId()).ifPresent(doctor::setVersion);
+            }
+            // leaderboard entries carry the name and specialization of the doctor
+            doctorRepository.findLeaderboardEntry(doctorDTO.getId()).ifPresent(listed ->
+                leaderboardService.evictDoctor(listed.getId(), listed.getSpecialization(), doctorDTO.getSpecialization()));
+        }
+        // flushed, so the result carries the incremented version
+        doctor = doctorRepository.saveAndFlush(doctor);
+        doctorAggregateService.evictByDoctorId(doctor.getDoctorId());
         DoctorDTO result = doctorMapper.toDto(doctor);
         doctorSearchRepository.save(doctor);
         return result;
@@ -84,6 +111,19 @@ public class DoctorServiceImpl implements DoctorService {
             .map(doctorMapper::toDto);
     }
 
+    /**
+     * Get the versions of one doctor and its parts by id.
+     *
+     * @param id the id of the entity
+     * @return the versions of the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DoctorVersionDTO> findVersions(Long id) {
+        log.debug("Request to get the versions of Doctor : {}", id);
+        return doctorRepository.findVersionsById(id);
+    }
+
     /**
      * Delete the doctor by id.
      *
@@ -91,7 +131,10 @@ public class DoctorServiceImpl implements DoctorService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete Doctor : {}", id);        doctorRepository.deleteById(id);
+        log.debug("Request to delete Doctor : {}", id);
+        doctorAggregateService.evict(id);
+        doctorRepository.findDoctorIdById(id).ifPresent(doctorRepository::evictNaturalId);
+        doctorRepository.deleteById(id);
         doctorSearchRepository.deleteById(id);
     }
 
@@ -114,9 +157,9 @@ public class DoctorServiceImpl implements DoctorService {
 	 * @see com.bytatech.ayoos.service.DoctorService#findByDoctorId(java.lang.Long)
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public DoctorDTO findByDoctorId(String doctorId) {
 		 log.debug("Request to get Doctor : {}", doctorId);
-		 return   doctorMapper.toDto(doctorRepository.findByDoctorId(doctorId));
-	         
+		 return doctorRepository.findOneByNaturalId(doctorId).map(doctorMapper::toDto).orElse(null);
 	}
 }
@@ -1,5 +1,6 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.DoctorSettingsService;
 import com.bytatech.ayoos.domain.DoctorSettings;
 import com.bytatech.ayoos.repository.DoctorSettingsRepository;
@@ -33,10 +34,14 @@ public class DoctorSettingsServiceImpl implements DoctorSettingsService {
 
     private final DoctorSettingsSearchRepository doctorSettingsSearchRepository;
 
-    public DoctorSettingsServiceImpl(DoctorSettingsRepository doctorSettingsRepository, DoctorSettingsMapper doctorSettingsMapper, DoctorSettingsSearchRepository doctorSettingsSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    public DoctorSettingsServiceImpl(DoctorSettingsRepository doctorSettingsRepository, DoctorSettingsMapper doctorSettingsMapper, DoctorSettingsSearchRepository doctorSettingsSearchRepository,
+            DoctorAggregateService doctorAggregateService) {
         this.doctorSettingsRepository = doctorSettingsRepository;
         this.doctorSettingsMapper = doctorSettingsMapper;
         this.doctorSettingsSearchRepository = doctorSettingsSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
     }
 
     /**
@@ -48,8 +53,14 @@ public class DoctorSettingsServiceImpl implements DoctorSettingsService {
     @Override
     public DoctorSettingsDTO save(DoctorSettingsDTO doctorSettingsDTO) {
         log.debug("Request to save DoctorSettings : {}", doctorSettingsDTO);
+        doctorAggregateService.evictByDoctorSettings(doctorSettingsDTO.getId());
         DoctorSettings doctorSettings = doctorSettingsMapper.toEntity(doctorSettingsDTO);
-        doctorSettings = doctorSettingsRepository.save(doctorSettings);
+        if (doctorSettingsDTO.getId() != null && doctorSettingsDTO.getVersion() == null) {
+            // clients unaware of versions overwrite the current state, as they always did
+            doctorSettingsRepository.findVersionById(doctorSettingsDTO.getId()).ifPresent(doctorSettings::setVersion);
+        }
+        // flushed, so the result carries the incremented version
+        doctorSettings = doctorSettingsRepository.saveAndFlush(doctorSettings);
         DoctorSettingsDTO result = doctorSettingsMapper.toDto(doctorSettings);
         doctorSettingsSearchRepository.save(doctorSettings);
         return result;
@@ -91,7 +102,9 @@ public class DoctorSettingsServiceImpl implements DoctorSettingsService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete DoctorSettings : {}", id);        doctorSettingsRepository.deleteById(id);
+        log.debug("Request to delete DoctorSettings : {}", id);
+        doctorAggregateService.evictByDoctorSettings(id);
+        doctorSettingsRepository.deleteById(id);
         doctorSettingsSearchRepository.deleteById(id);
     }
 
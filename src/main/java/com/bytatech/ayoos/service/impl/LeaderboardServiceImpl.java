@@ -0,0 +1,215 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.UserRatingRepository;
+import com.bytatech.ayoos.service.LeaderboardService;
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+import com.bytatech.ayoos.service.leaderboard.RankedList;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.bytatech.ayoos.service.util.TransactionUtil.afterCommit;
+
+/**
+ * Service Implementation keeping the leaderboards of doctors in Hazelcast.
+ * <p>
+ * Each leaderboard is a {@link RankedList} of the best ranked doctors, read with one indexed
+ * query when missing and served page by page from the map, so a request never touches the
+ * database. Top rated lists follow rating changes in place with entry processors, which wait
+ * for the lock a list is built under, and are only rebuilt when a change leaves a gap.
+ * Trending lists rank doctors by the ratings they got during a sliding window and are
+ * rebuilt once their short time to live expires.
+ * <p>
+ * Lists are only built for specializations some doctor has, so clients cannot fill the map
+ * with arbitrary keys. Saving the profile of a listed doctor drops the lists holding it.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    private static final long LOCK_LEASE_SECONDS = 30;
+
+    private static final String ALL_SPECIALIZATIONS = "*";
+
+    private final IMap<String, RankedList> leaderboardMap;
+
+    private final DoctorRepository doctorRepository;
+
+    private final UserRatingRepository userRatingRepository;
+
+    private final ApplicationProperties.Leaderboard properties;
+
+    public LeaderboardServiceImpl(HazelcastInstance hazelcastInstance, DoctorRepository doctorRepository,
+            UserRatingRepository userRatingRepository, ApplicationProperties applicationProperties) {
+        this.leaderboardMap = hazelcastInstance.getMap(LEADERBOARD_MAP);
+        this.doctorRepository = doctorRepository;
+        this.userRatingRepository = userRatingRepository;
+        this.properties = applicationProperties.getLeaderboard();
+    }
+
+    @Override
+    public Page<DoctorLeaderboardEntryDTO> findTopRated(String specialization, Pageable pageable) {
+        log.debug("Request to get a page of the top rated Doctors of specialization : {}", specialization);
+        PageRequest limit = PageRequest.of(0, properties.getSize());
+        RankedList list = get(topRatedKey(specialization), 0, specialization, () -> specialization == null
+            ? doctorRepository.findTopRated(limit)
+            : doctorRepository.findTopRatedBySpecialization(specialization, limit));
+        return page(list, pageable);
+    }
+
+    @Override
+    public Page<DoctorLeaderboardEntryDTO> findTrending(String specialization, Pageable pageable) {
+        log.debug("Request to get a page of the trending Doctors of specialization : {}", specialization);
+        PageRequest limit = PageRequest.of(0, properties.getSize());
+        LocalDate since = LocalDate.now().minusDays(properties.getTrendingWindowDays());
+        RankedList list = get(trendingKey(specialization), properties.getTrendingTimeToLiveSeconds(), specialization,
+            () -> specialization == null
+                ? userRatingRepository.findTrending(since, limit)
+                : userRatingRepository.findTrendingBySpecialization(specialization, since, limit));
+        return page(list, pageable);
+    }
+
+    @Override
+    public void updateRating(Long doctorId) {
+        doctorRepository.findLeaderboardEntry(doctorId).ifPresent(entry -> {
+            log.debug("Moving Doctor : {} to rating {} on the leaderboards", doctorId, entry.getTotalRating());
+            UpdateRankProcessor processor = new UpdateRankProcessor(entry);
+            leaderboardMap.executeOnKey(topRatedKey(null), processor);
+            if (entry.getSpecialization() != null) {
+                leaderboardMap.executeOnKey(topRatedKey(entry.getSpecialization()), processor);
+            }
+        });
+    }
+
+    @Override
+    public void evictDoctor(Long doctorId, String previousSpecialization, String specialization) {
+        log.debug("Request to evict the leaderboards of Doctor : {}", doctorId);
+        Set<String> listingKeys = new HashSet<>(Arrays.asList(topRatedKey(null), trendingKey(null)));
+        if (previousSpecialization != null) {
+            listingKeys.add(topRatedKey(previousSpecialization));
+            listingKeys.add(trendingKey(previousSpecialization));
+        }
+        afterCommit(() -> {
+            leaderboardMap.executeOnKeys(listingKeys, new EvictListingProcessor(doctorId));
+            if (specialization != null && !specialization.equals(previousSpecialization)) {
+                // the doctor may now rank in the lists of its new specialization
+                leaderboardMap.delete(topRatedKey(specialization));
+                leaderboardMap.delete(trendingKey(specialization));
+            }
+        });
+    }
+
+    /**
+     * Get a list from the map, building it with its key locked if it is missing.
+     */
+    private RankedList get(String key, int timeToLiveSeconds, String specialization,
+            Supplier<List<DoctorLeaderboardEntryDTO>> ranked) {
+        RankedList list = leaderboardMap.get(key);
+        if (list != null) {
+            return list;
+        }
+        if (specialization != null && !doctorRepository.existsBySpecialization(specialization)) {
+            // not cached, so unknown specializations cannot grow the map
+            return RankedList.of(Collections.emptyList(), properties.getSize());
+        }
+        leaderboardMap.lock(key, LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+        try {
+            list = leaderboardMap.get(key);
+            if (list == null) {
+                log.debug("Building leaderboard : {}", key);
+                list = RankedList.of(ranked.get(), properties.getSize());
+                if (timeToLiveSeconds > 0) {
+                    leaderboardMap.set(key, list, timeToLiveSeconds, TimeUnit.SECONDS);
+                } else {
+                    leaderboardMap.set(key, list);
+                }
+            }
+            return list;
+        } finally {
+            leaderboardMap.unlock(key);
+        }
+    }
+
+    private static Page<DoctorLeaderboardEntryDTO> page(RankedList list, Pageable pageable) {
+        return new PageImpl<>(list.page(pageable.getPageNumber(), pageable.getPageSize()), pageable, list.size());
+    }
+
+    private static String topRatedKey(String specialization) {
+        return "top:" + (specialization == null ? ALL_SPECIALIZATIONS : specialization);
+    }
+
+    private static String trendingKey(String specialization) {
+        return "trending:" + (specialization == null ? ALL_SPECIALIZATIONS : specialization);
+    }
+
+    /**
+     * Drops a cached list holding a doctor, on the member owning the list and on its backups.
+     */
+    static class EvictListingProcessor extends AbstractEntryProcessor<String, RankedList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Long doctorId;
+
+        EvictListingProcessor(Long doctorId) {
+            this.doctorId = doctorId;
+        }
+
+        @Override
+        public Object process(Map.Entry<String, RankedList> mapEntry) {
+            RankedList list = mapEntry.getValue();
+            if (list != null && list.contains(doctorId)) {
+                mapEntry.setValue(null);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Moves one doctor in a cached list on the member owning the list and on its backups,
+     * dropping the list if it has to be rebuilt.
+     */
+    static class UpdateRankProcessor extends AbstractEntryProcessor<String, RankedList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DoctorLeaderboardEntryDTO entry;
+
+        UpdateRankProcessor(DoctorLeaderboardEntryDTO entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object process(Map.Entry<String, RankedList> mapEntry) {
+            RankedList list = mapEntry.getValue();
+            if (list != null) {
+                mapEntry.setValue(list.update(entry) ? list : null);
+            }
+            return null;
+        }
+    }
+}
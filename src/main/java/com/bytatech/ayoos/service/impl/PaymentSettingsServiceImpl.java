@@ -1,5 +1,6 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.PaymentSettingsService;
 import com.bytatech.ayoos.domain.PaymentSettings;
 import com.bytatech.ayoos.repository.PaymentSettingsRepository;
@@ -33,10 +34,14 @@ public class PaymentSettingsServiceImpl implements PaymentSettingsService {
 
     private final PaymentSettingsSearchRepository paymentSettingsSearchRepository;
 
-    public PaymentSettingsServiceImpl(PaymentSettingsRepository paymentSettingsRepository, PaymentSettingsMapper paymentSettingsMapper, PaymentSettingsSearchRepository paymentSettingsSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    public PaymentSettingsServiceImpl(PaymentSettingsRepository paymentSettingsRepository, PaymentSettingsMapper paymentSettingsMapper, PaymentSettingsSearchRepository paymentSettingsSearchRepository,
+            DoctorAggregateService doctorAggregateService) {
         this.paymentSettingsRepository = paymentSettingsRepository;
         this.paymentSettingsMapper = paymentSettingsMapper;
         this.paymentSettingsSearchRepository = paymentSettingsSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
     }
 
     /**
@@ -48,8 +53,14 @@ public class PaymentSettingsServiceImpl implements PaymentSettingsService {
     @Override
     public PaymentSettingsDTO save(PaymentSettingsDTO paymentSettingsDTO) {
         log.debug("Request to save PaymentSettings : {}", paymentSettingsDTO);
+        doctorAggregateService.evictByPaymentSettings(paymentSettingsDTO.getId());
         PaymentSettings paymentSettings = paymentSettingsMapper.toEntity(paymentSettingsDTO);
-        paymentSettings = paymentSettingsRepository.save(paymentSettings);
+        if (paymentSettingsDTO.getId() != null && paymentSettingsDTO.getVersion() == null) {
+            // clients unaware of versions overwrite the current state, as they always did
+            paymentSettingsRepository.findVersionById(paymentSettingsDTO.getId()).ifPresent(paymentSettings::setVersion);
+        }
+        // flushed, so the result carries the incremented version
+        paymentSettings = paymentSettingsRepository.saveAndFlush(paymentSettings);
         PaymentSettingsDTO result = paymentSettingsMapper.toDto(paymentSettings);
         paymentSettingsSearchRepository.save(paymentSettings);
         return result;
@@ -91,7 +102,9 @@ public class PaymentSettingsServiceImpl implements PaymentSettingsService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete PaymentSettings : {}", id);        paymentSettingsRepository.deleteById(id);
+        log.debug("Request to delete PaymentSettings : {}", id);
+        doctorAggregateService.evictByPaymentSettings(id);
+        paymentSettingsRepository.deleteById(id);
         paymentSettingsSearchRepository.deleteById(id);
     }
 
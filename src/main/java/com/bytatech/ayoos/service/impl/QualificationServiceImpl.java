@@ -1,5 +1,6 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.QualificationService;
 import com.bytatech.ayoos.domain.Qualification;
 import com.bytatech.ayoos.repository.QualificationRepository;
@@ -34,10 +35,14 @@ public class QualificationServiceImpl implements QualificationService {
 
     private final QualificationSearchRepository qualificationSearchRepository;
 
-    public QualificationServiceImpl(QualificationRepository qualificationRepository, QualificationMapper qualificationMapper, QualificationSearchRepository qualificationSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    public QualificationServiceImpl(QualificationRepository qualificationRepository, QualificationMapper qualificationMapper, QualificationSearchRepository qualificationSearchRepository,
+            DoctorAggregateService doctorAggregateService) {
         this.qualificationRepository = qualificationRepository;
         this.qualificationMapper = qualificationMapper;
         this.qualificationSearchRepository = qualificationSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
     }
 
     /**
@@ -49,6 +54,10 @@ public class QualificationServiceImpl implements QualificationService {
     @Override
     public QualificationDTO save(QualificationDTO qualificationDTO) {
         log.debug("Request to save Qualification : {}", qualificationDTO);
+        if (qualificationDTO.getId() != null) {
+            qualificationRepository.findDoctorIdById(qualificationDTO.getId()).ifPresent(doctorAggregateService::touch);
+        }
+        doctorAggregateService.touch(qualificationDTO.getDoctorId());
         Qualification qualification = qualificationMapper.toEntity(qualificationDTO);
         qualification = qualificationRepository.save(qualification);
         QualificationDTO result = qualificationMapper.toDto(qualification);
@@ -92,7 +101,9 @@ public class QualificationServiceImpl implements QualificationService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete Qualification : {}", id);        qualificationRepository.deleteById(id);
+        log.debug("Request to delete Qualification : {}", id);
+        qualificationRepository.findDoctorIdById(id).ifPresent(doctorAggregateService::touch);
+        qualificationRepository.deleteById(id);
         qualificationSearchRepository.deleteById(id);
     }
 
@@ -0,0 +1,250 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.Status;
+import com.bytatech.ayoos.repository.search.ReservedSlotSearchRepository;
+import com.bytatech.ayoos.repository.search.StatusSearchRepository;
+import com.bytatech.ayoos.service.AvailabilityCacheService;
+import com.bytatech.ayoos.service.ReservationIngestionService;
+import com.bytatech.ayoos.service.TokenService;
+import com.bytatech.ayoos.service.dto.ReservationEventDTO;
+import com.bytatech.ayoos.service.slot.SlotTime;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Implementation storing batches of reservations.
+ * <p>
+ * Epoch times are converted to dates and decimal times once per event. Reservations and
+ * statuses are written with JDBC batch inserts, and their generated ids are read back with
+ * one query per table, so a batch costs a handful of round trips instead of several per
+ * reservation. The stored rows are then indexed with one bulk request per search index.
+ * <p>
+ * Token numbers are handed out by the {@link TokenService}, under the booking locks of
+ * every doctor and day in the batch, taken in key order and held until the batch commits.
+ * Ingested reservations therefore never share a token with booked ones, whatever token
+ * the event carried.
+ */
+@Service
+public class ReservationIngestionServiceImpl implements ReservationIngestionService {
+
+    private final Logger log = LoggerFactory.getLogger(ReservationIngestionServiceImpl.class);
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private static final String INSERT_RESERVED_SLOT = "insert into reserved_slot"
+        + " (jhi_date, start_time, end_time, token_number, doctor_id) values (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STATUS = "insert into status (status, reserved_slot_id) values (?, ?)";
+
+    private static final String SELECT_RESERVED_SLOTS = "select id, doctor_id, jhi_date, start_time from reserved_slot"
+        + " where doctor_id in (:doctorIds) and jhi_date between :fromDate and :toDate";
+
+    private static final String SELECT_STATUSES = "select id, reserved_slot_id from status"
+        + " where reserved_slot_id in (:reservedSlotIds)";
+
+    private final IMap<String, Boolean> bookingLocks;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final ReservedSlotSearchRepository reservedSlotSearchRepository;
+
+    private final StatusSearchRepository statusSearchRepository;
+
+    private final AvailabilityCacheService availabilityCacheService;
+
+    private final TokenService tokenService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int offsetSeconds;
+
+    private final int batchSize;
+
+    public ReservationIngestionServiceImpl(HazelcastInstance hazelcastInstance, JdbcTemplate jdbcTemplate,
+            ReservedSlotSearchRepository reservedSlotSearchRepository, StatusSearchRepository statusSearchRepository,
+            AvailabilityCacheService availabilityCacheService, TokenService tokenService,
+            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties) {
+        this.bookingLocks = hazelcastInstance.getMap(BookingServiceImpl.BOOKING_LOCKS_MAP);
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.reservedSlotSearchRepository = reservedSlotSearchRepository;
+        this.statusSearchRepository = statusSearchRepository;
+        this.availabilityCacheService = availabilityCacheService;
+        this.tokenService = tokenService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationProperties.ReservationIngestion properties = applicationProperties.getReservationIngestion();
+        this.offsetSeconds = ZoneOffset.of(properties.getZoneOffset()).getTotalSeconds();
+        this.batchSize = properties.getBatchSize();
+    }
+
+    /**
+     * Store a batch of reservations, with their status, in one transaction, handing out
+     * their token numbers in the order of the events.
+     *
+     * @param events the reservations to store
+     * @return the number of reservations stored
+     */
+    @Override
+    public int ingest(List<ReservationEventDTO> events) {
+        log.debug("Request to ingest {} reservations", events.size());
+        Map<String, ReservedSlot> reservedSlots = new LinkedHashMap<>();
+        Map<String, String> statuses = new HashMap<>();
+        for (ReservationEventDTO event : events) {
+            if (event.getDoctorId() == null || event.getStartTime() == null) {
+                log.warn("Skipping reservation without doctor or start time : {}", event);
+                continue;
+            }
+            long start = toLocalSeconds(event.getStartTime());
+            long epochDay = Math.floorDiv(start, SECONDS_PER_DAY);
+            int startMinute = toMinuteOfDay(start);
+            Doctor doctor = new Doctor();
+            doctor.setId(event.getDoctorId());
+            ReservedSlot reservedSlot = new ReservedSlot()
+                .date(LocalDate.ofEpochDay(epochDay))
+                .startTime(SlotTime.toDecimalTime(startMinute))
+                .endTime(event.getEndTime() == null ? null
+                    : SlotTime.toDecimalTime(toMinuteOfDay(toLocalSeconds(event.getEndTime()))))
+                .doctor(doctor);
+            String key = key(event.getDoctorId(), reservedSlot.getDate(), startMinute);
+            if (reservedSlots.putIfAbsent(key, reservedSlot) == null && event.getStatus() != null) {
+                statuses.put(key, event.getStatus());
+            }
+        }
+        if (reservedSlots.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> lockKeys = new TreeSet<>();
+        for (ReservedSlot reservedSlot : reservedSlots.values()) {
+            lockKeys.add(BookingServiceImpl.lockKey(reservedSlot.getDoctor().getId(), reservedSlot.getDate()));
+        }
+        List<String> locked = new ArrayList<>(lockKeys.size());
+        try {
+            // always in key order, so two batches sharing days never wait on each other
+            for (String lockKey : lockKeys) {
+                bookingLocks.lock(lockKey, BookingServiceImpl.LOCK_LEASE_SECONDS, TimeUnit.SECONDS);
+                locked.add(lockKey);
+            }
+            return transactionTemplate.execute(status -> store(events.size(), reservedSlots, statuses));
+        } finally {
+            locked.forEach(bookingLocks::unlock);
+        }
+    }
+
+    private int store(int eventCount, Map<String, ReservedSlot> reservedSlots, Map<String, String> statuses) {
+        Set<String> alreadyReserved = findReservedSlotIds(reservedSlots.values()).keySet();
+        reservedSlots.keySet().removeAll(alreadyReserved);
+        if (reservedSlots.isEmpty()) {
+            log.debug("All {} reservations were already stored", eventCount);
+            return 0;
+        }
+        for (ReservedSlot reservedSlot : reservedSlots.values()) {
+            reservedSlot.setTokenNumber(tokenService.nextToken(reservedSlot.getDoctor().getId(), reservedSlot.getDate()));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_RESERVED_SLOT, reservedSlots.values(), batchSize, (ps, reservedSlot) -> {
+            ps.setDate(1, Date.valueOf(reservedSlot.getDate()));
+            ps.setDouble(2, reservedSlot.getStartTime());
+            ps.setObject(3, reservedSlot.getEndTime(), Types.DOUBLE);
+            ps.setObject(4, reservedSlot.getTokenNumber(), Types.INTEGER);
+            ps.setLong(5, reservedSlot.getDoctor().getId());
+        });
+        Map<String, Long> ids = findReservedSlotIds(reservedSlots.values());
+        List<Status> statusList = new ArrayList<>(statuses.size());
+        Map<Long, Status> statusesBySlotId = new HashMap<>();
+        reservedSlots.forEach((key, reservedSlot) -> {
+            reservedSlot.setId(ids.get(key));
+            String status = statuses.get(key);
+            if (status != null) {
+                Status newStatus = new Status().status(status).reservedSlot(reservedSlot);
+                statusList.add(newStatus);
+                statusesBySlotId.put(reservedSlot.getId(), newStatus);
+            }
+        });
+
+        if (!statusList.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STATUS, statusList, batchSize, (ps, status) -> {
+                ps.setString(1, status.getStatus());
+                ps.setLong(2, status.getReservedSlot().getId());
+            });
+            namedParameterJdbcTemplate.query(SELECT_STATUSES,
+                new MapSqlParameterSource("reservedSlotIds", statusesBySlotId.keySet()),
+                rs -> {
+                    statusesBySlotId.get(rs.getLong("reserved_slot_id")).setId(rs.getLong("id"));
+                });
+            statusSearchRepository.saveAll(statusList);
+        }
+        reservedSlotSearchRepository.saveAll(reservedSlots.values());
+        for (ReservedSlot reservedSlot : reservedSlots.values()) {
+            availabilityCacheService.reserve(reservedSlot.getDoctor().getId(), reservedSlot.getDate(),
+                reservedSlot.getStartTime());
+        }
+        log.debug("Ingested {} of {} reservations", reservedSlots.size(), eventCount);
+        return reservedSlots.size();
+    }
+
+    /**
+     * Find the ids of the stored reservations among the given ones, with a single query
+     * over the doctors and dates they span.
+     */
+    private Map<String, Long> findReservedSlotIds(Collection<ReservedSlot> reservedSlots) {
+        Set<Long> doctorIds = new TreeSet<>();
+        LocalDate fromDate = LocalDate.MAX;
+        LocalDate toDate = LocalDate.MIN;
+        for (ReservedSlot reservedSlot : reservedSlots) {
+            doctorIds.add(reservedSlot.getDoctor().getId());
+            fromDate = reservedSlot.getDate().isBefore(fromDate) ? reservedSlot.getDate() : fromDate;
+            toDate = reservedSlot.getDate().isAfter(toDate) ? reservedSlot.getDate() : toDate;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("doctorIds", doctorIds)
+            .addValue("fromDate", Date.valueOf(fromDate))
+            .addValue("toDate", Date.valueOf(toDate));
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_RESERVED_SLOTS, parameters, rs -> {
+            ids.put(key(rs.getLong("doctor_id"), rs.getDate("jhi_date").toLocalDate(),
+                SlotTime.toMinuteOfDay(rs.getDouble("start_time"))), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    private long toLocalSeconds(long epochMilli) {
+        return Math.floorDiv(epochMilli, 1000L) + offsetSeconds;
+    }
+
+    private static int toMinuteOfDay(long localSeconds) {
+        return (int) (Math.floorMod(localSeconds, SECONDS_PER_DAY) / 60);
+    }
+
+    private static String key(Long doctorId, LocalDate date, int startMinute) {
+        return doctorId + ":" + date + ":" + startMinute;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.ArchivalService;
+import com.bytatech.ayoos.service.AvailabilityCacheService;
 import com.bytatech.ayoos.service.ReservedSlotService;
 import com.bytatech.ayoos.domain.ReservedSlot;
 import com.bytatech.ayoos.repository.ReservedSlotRepository;
@@ -14,6 +16,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,10 +39,17 @@ public class ReservedSlotServiceImpl implements ReservedSlotService {
 
     private final ReservedSlotSearchRepository reservedSlotSearchRepository;
 
-    public ReservedSlotServiceImpl(ReservedSlotRepository reservedSlotRepository, ReservedSlotMapper reservedSlotMapper, ReservedSlotSearchRepository reservedSlotSearchRepository) {
+    private final AvailabilityCacheService availabilityCacheService;
+
+    private final ArchivalService archivalService;
+
+    public ReservedSlotServiceImpl(ReservedSlotRepository reservedSlotRepository, ReservedSlotMapper reservedSlotMapper, ReservedSlotSearchRepository reservedSlotSearchRepository,
+            AvailabilityCacheService availabilityCacheService, ArchivalService archivalService) {
         this.reservedSlotRepository = reservedSlotRepository;
         this.reservedSlotMapper = reservedSlotMapper;
         this.reservedSlotSearchRepository = reservedSlotSearchRepository;
+        this.availabilityCacheService = availabilityCacheService;
+        this.archivalService = archivalService;
     }
 
     /**
@@ -49,10 +61,17 @@ public class ReservedSlotServiceImpl implements ReservedSlotService {
     @Override
     public ReservedSlotDTO save(ReservedSlotDTO reservedSlotDTO) {
         log.debug("Request to save ReservedSlot : {}", reservedSlotDTO);
+        if (reservedSlotDTO.getId() != null) {
+            // capture the previous position before the merge overwrites the managed entity
+            reservedSlotRepository.findById(reservedSlotDTO.getId())
+                .map(reservedSlotMapper::toDto)
+                .ifPresent(this::releaseAvailability);
+        }
         ReservedSlot reservedSlot = reservedSlotMapper.toEntity(reservedSlotDTO);
         reservedSlot = reservedSlotRepository.save(reservedSlot);
         ReservedSlotDTO result = reservedSlotMapper.toDto(reservedSlot);
         reservedSlotSearchRepository.save(reservedSlot);
+        availabilityCacheService.reserve(result.getDoctorId(), result.getDate(), result.getStartTime());
         return result;
     }
 
@@ -92,7 +111,11 @@ public class ReservedSlotServiceImpl implements ReservedSlotService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete ReservedSlot : {}", id);        reservedSlotRepository.deleteById(id);
+        log.debug("Request to delete ReservedSlot : {}", id);
+        reservedSlotRepository.findById(id)
+            .map(reservedSlotMapper::toDto)
+            .ifPresent(this::releaseAvailability);
+        reservedSlotRepository.deleteById(id);
         reservedSlotSearchRepository.deleteById(id);
     }
 
@@ -118,4 +141,77 @@ public class ReservedSlotServiceImpl implements ReservedSlotService {
 	public List<ReservedSlotDTO> findByDoctorId(Long doctorId) {
 	return	reservedSlotMapper.toDto(reservedSlotRepository.findByDoctorId(doctorId));
 	}
+
+	/**
+	 * Get the reservedSlots of a doctor between two dates, both inclusive.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the list of entities
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<ReservedSlotDTO> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+		log.debug("Request to get ReservedSlots of Doctor : {} from {} to {}", doctorId, fromDate, toDate);
+		return reservedSlotMapper.toDto(reservedSlotRepository.findByDoctorIdAndDateBetween(doctorId, fromDate, toDate));
+	}
+
+	/**
+	 * Get the reservedSlots of a doctor between two dates, both inclusive, with the
+	 * archived ones if asked to.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @param includeArchived whether to read the history table too
+	 * @return the list of entities, ordered by date and start time
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<ReservedSlotDTO> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate,
+			boolean includeArchived) {
+		List<ReservedSlotDTO> reservedSlots = new ArrayList<>(findByDoctorIdAndDateBetween(doctorId, fromDate, toDate));
+		if (includeArchived) {
+			reservedSlots.addAll(archivalService.findArchivedReservedSlots(doctorId, fromDate, toDate));
+		}
+		reservedSlots.sort(Comparator.comparing(ReservedSlotDTO::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparing(ReservedSlotDTO::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())));
+		return reservedSlots;
+	}
+
+	/**
+	 * Get one reservedSlot by id, falling back to the archived ones if asked to.
+	 *
+	 * @param id the id of the entity
+	 * @param includeArchived whether to read the history table too
+	 * @return the entity
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<ReservedSlotDTO> findOne(Long id, boolean includeArchived) {
+		Optional<ReservedSlotDTO> reservedSlot = findOne(id);
+		if (reservedSlot.isPresent() || !includeArchived) {
+			return reservedSlot;
+		}
+		return archivalService.findArchivedReservedSlot(id);
+	}
+
+	/**
+	 * Get the reservedSlots having a status with the given value.
+	 *
+	 * @param status the status value to match
+	 * @param pageable the pagination information
+	 * @return the list of entities
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Page<ReservedSlotDTO> findAllByStatus(String status, Pageable pageable) {
+		log.debug("Request to get ReservedSlots with status : {}", status);
+		return reservedSlotRepository.findAllWithStatus(status, pageable);
+	}
+
+    private void releaseAvailability(ReservedSlotDTO reservedSlotDTO) {
+        availabilityCacheService.release(reservedSlotDTO.getDoctorId(), reservedSlotDTO.getDate(), reservedSlotDTO.getStartTime());
+    }
 }
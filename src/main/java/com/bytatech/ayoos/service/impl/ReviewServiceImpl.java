@@ -1,5 +1,6 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.ReviewService;
 import com.bytatech.ayoos.domain.Review;
 import com.bytatech.ayoos.repository.ReviewRepository;
@@ -36,10 +37,14 @@ public class ReviewServiceImpl implements ReviewService {
 
     private final ReviewSearchRepository reviewSearchRepository;
 
-    public ReviewServiceImpl(ReviewRepository reviewRepository, ReviewMapper reviewMapper, ReviewSearchRepository reviewSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    public ReviewServiceImpl(ReviewRepository reviewRepository, ReviewMapper reviewMapper, ReviewSearchRepository reviewSearchRepository,
+            DoctorAggregateService doctorAggregateService) {
         this.reviewRepository = reviewRepository;
         this.reviewMapper = reviewMapper;
         this.reviewSearchRepository = reviewSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
     }
 
     /**
@@ -51,6 +56,10 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     public ReviewDTO save(ReviewDTO reviewDTO) {
         log.debug("Request to save Review : {}", reviewDTO);
+        if (reviewDTO.getId() != null) {
+            reviewRepository.findDoctorIdById(reviewDTO.getId()).ifPresent(doctorAggregateService::touch);
+        }
+        doctorAggregateService.touch(reviewDTO.getDoctorId());
         Review review = reviewMapper.toEntity(reviewDTO);
         Optional<String> currentUserLogin = SecurityUtils.getCurrentUserLogin();
         review.setUserName(currentUserLogin.get());
@@ -97,7 +106,9 @@ public class ReviewServiceImpl implements ReviewService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete Review : {}", id);        reviewRepository.deleteById(id);
+        log.debug("Request to delete Review : {}", id);
+        reviewRepository.findDoctorIdById(id).ifPresent(doctorAggregateService::touch);
+        reviewRepository.deleteById(id);
         reviewSearchRepository.deleteById(id);
     }
 
@@ -1,22 +1,38 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.ArchivalService;
+import com.bytatech.ayoos.service.AvailabilityCacheService;
 import com.bytatech.ayoos.service.SessionInfoService;
 import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.domain.WorkPlace;
 import com.bytatech.ayoos.repository.SessionInfoRepository;
+import com.bytatech.ayoos.repository.SessionRuleRepository;
+import com.bytatech.ayoos.repository.WorkPlaceRepository;
 import com.bytatech.ayoos.repository.search.SessionInfoSearchRepository;
 import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.dto.SessionUpsertResultDTO;
 import com.bytatech.ayoos.service.mapper.SessionInfoMapper;
+import com.bytatech.ayoos.service.slot.SessionRules;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
@@ -29,16 +45,32 @@ public class SessionInfoServiceImpl implements SessionInfoService {
 
     private final Logger log = LoggerFactory.getLogger(SessionInfoServiceImpl.class);
 
+    private static final String ENTITY_NAME = "doctorSessionInfo";
+
     private final SessionInfoRepository sessionInfoRepository;
 
     private final SessionInfoMapper sessionInfoMapper;
 
     private final SessionInfoSearchRepository sessionInfoSearchRepository;
 
-    public SessionInfoServiceImpl(SessionInfoRepository sessionInfoRepository, SessionInfoMapper sessionInfoMapper, SessionInfoSearchRepository sessionInfoSearchRepository) {
+    private final WorkPlaceRepository workPlaceRepository;
+
+    private final AvailabilityCacheService availabilityCacheService;
+
+    private final SessionRuleRepository sessionRuleRepository;
+
+    private final ArchivalService archivalService;
+
+    public SessionInfoServiceImpl(SessionInfoRepository sessionInfoRepository, SessionInfoMapper sessionInfoMapper, SessionInfoSearchRepository sessionInfoSearchRepository,
+            WorkPlaceRepository workPlaceRepository, AvailabilityCacheService availabilityCacheService,
+            SessionRuleRepository sessionRuleRepository, ArchivalService archivalService) {
         this.sessionInfoRepository = sessionInfoRepository;
         this.sessionInfoMapper = sessionInfoMapper;
         this.sessionInfoSearchRepository = sessionInfoSearchRepository;
+        this.workPlaceRepository = workPlaceRepository;
+        this.availabilityCacheService = availabilityCacheService;
+        this.sessionRuleRepository = sessionRuleRepository;
+        this.archivalService = archivalService;
     }
 
     /**
@@ -50,10 +82,18 @@ public class SessionInfoServiceImpl implements SessionInfoService {
     @Override
     public SessionInfoDTO save(SessionInfoDTO sessionInfoDTO) {
         log.debug("Request to save SessionInfo : {}", sessionInfoDTO);
+        if (isDuplicate(sessionInfoDTO)) {
+            throw new BadRequestAlertException("A session of this work place already starts at this time", ENTITY_NAME,
+                "sessionexists");
+        }
+        if (sessionInfoDTO.getId() != null) {
+            sessionInfoRepository.findById(sessionInfoDTO.getId()).ifPresent(this::evictAvailability);
+        }
         SessionInfo sessionInfo = sessionInfoMapper.toEntity(sessionInfoDTO);
         sessionInfo = sessionInfoRepository.save(sessionInfo);
         SessionInfoDTO result = sessionInfoMapper.toDto(sessionInfo);
         sessionInfoSearchRepository.save(sessionInfo);
+        evictAvailability(sessionInfo);
         return result;
     }
 
@@ -86,6 +126,23 @@ public class SessionInfoServiceImpl implements SessionInfoService {
             .map(sessionInfoMapper::toDto);
     }
 
+    /**
+     * Get one sessionInfo by id, falling back to the archived ones if asked to.
+     *
+     * @param id the id of the entity
+     * @param includeArchived whether to read the history table too
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SessionInfoDTO> findOne(Long id, boolean includeArchived) {
+        Optional<SessionInfoDTO> sessionInfo = findOne(id);
+        if (sessionInfo.isPresent() || !includeArchived) {
+            return sessionInfo;
+        }
+        return archivalService.findArchivedSessionInfo(id);
+    }
+
     /**
      * Delete the sessionInfo by id.
      *
@@ -93,7 +150,9 @@ public class SessionInfoServiceImpl implements SessionInfoService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete SessionInfo : {}", id);        sessionInfoRepository.deleteById(id);
+        log.debug("Request to delete SessionInfo : {}", id);
+        sessionInfoRepository.findById(id).ifPresent(this::evictAvailability);
+        sessionInfoRepository.deleteById(id);
         sessionInfoSearchRepository.deleteById(id);
     }
 
@@ -112,12 +171,178 @@ public class SessionInfoServiceImpl implements SessionInfoService {
             .map(sessionInfoMapper::toDto);
     }
 
-	/* (non-Javadoc)
-	 * @see com.bytatech.ayoos.service.SessionInfoService#findByDate(java.time.LocalDate)
+	/**
+	 * Get the sessions of a date, stored ones and those expanded from session rules.
+	 *
+	 * @param date the date
+	 * @return the list of sessions ordered by start time
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<SessionInfoDTO> findByDate(LocalDate date) {
-		
-		return sessionInfoMapper.toDto(sessionInfoRepository.findByDate(date));
+		log.debug("Request to get SessionInfos on {}", date);
+		return merge(sessionInfoMapper.toDto(sessionInfoRepository.findByDate(date)), SessionRules.expand(
+			sessionRuleRepository.findActiveOn(date, SessionRules.toWeekDay(date)), date, date));
+	}
+
+	/**
+	 * Get the sessions of a doctor between two dates, both inclusive.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param fromDate the first date of the range
+	 * @param toDate the last date of the range
+	 * @return the list of entities
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<SessionInfoDTO> findByDoctorIdAndDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+		log.debug("Request to get SessionInfos of Doctor : {} from {} to {}", doctorId, fromDate, toDate);
+		return merge(sessionInfoMapper.toDto(sessionInfoRepository.findByDoctorIdAndDateBetween(doctorId, fromDate, toDate)),
+			SessionRules.expand(sessionRuleRepository.findByDoctorIdAndValidBetween(doctorId, fromDate, toDate), fromDate, toDate));
 	}
+
+	private static List<SessionInfoDTO> merge(List<SessionInfoDTO> sessions, List<SessionInfoDTO> ruleSessions) {
+		if (ruleSessions.isEmpty()) {
+			return sessions;
+		}
+		List<SessionInfoDTO> merged = new ArrayList<>(sessions.size() + ruleSessions.size());
+		merged.addAll(sessions);
+		merged.addAll(ruleSessions);
+		merged.sort(SessionRules.BY_DATE_AND_FROM_TIME);
+		return merged;
+	}
+
+	/**
+	 * Create the sessions of the given templates on every date whose week day matches
+	 * the template's week day, skipping those that exist already.
+	 *
+	 * @param templates the sessions to repeat, with a week day and a workplace
+	 * @param dates the dates to create sessions on
+	 * @return the created entities and the number of skipped ones
+	 */
+	@Override
+	public SessionUpsertResultDTO generateSessions(List<SessionInfoDTO> templates, List<LocalDate> dates) {
+		log.debug("Request to generate {} SessionInfos on {} dates", templates.size(), dates.size());
+		List<SessionInfoDTO> sessions = new ArrayList<>();
+		for (LocalDate date : dates) {
+			int weekDay = SessionRules.toWeekDay(date);
+			for (SessionInfoDTO template : templates) {
+				if (template.getWeekDay() != null && template.getWeekDay() == weekDay) {
+					SessionInfoDTO session = new SessionInfoDTO();
+					session.setSessionName(template.getSessionName());
+					session.setDate(date);
+					session.setFromTime(template.getFromTime());
+					session.setToTime(template.getToTime());
+					session.setInterval(template.getInterval());
+					session.setWorkPlaceId(template.getWorkPlaceId());
+					sessions.add(session);
+				}
+			}
+		}
+		return upsertSessions(sessions);
+	}
+
+	/**
+	 * Insert the given sessions, ignoring those whose workplace, date and start time
+	 * match a stored session or an earlier session of the list, in one transaction.
+	 * <p>
+	 * Workplaces and the existing keys of the date range are loaded with one query each,
+	 * the new sessions are inserted in JDBC batches, which their table-generated ids allow,
+	 * and indexed with a single bulk request.
+	 *
+	 * @param sessions the sessions to insert, with a workplace, a date and a start time
+	 * @return the inserted entities and the number of skipped ones
+	 */
+	@Override
+	public SessionUpsertResultDTO upsertSessions(List<SessionInfoDTO> sessions) {
+		log.debug("Request to upsert {} SessionInfos", sessions.size());
+		if (sessions.isEmpty()) {
+			return new SessionUpsertResultDTO(0, 0, new ArrayList<>());
+		}
+		for (SessionInfoDTO session : sessions) {
+			if (session.getWorkPlaceId() == null || session.getDate() == null || session.getFromTime() == null) {
+				throw new BadRequestAlertException("A session needs a work place, a date and a start time", ENTITY_NAME,
+					"sessionkeymissing");
+			}
+		}
+		Set<Long> workPlaceIds = sessions.stream().map(SessionInfoDTO::getWorkPlaceId).collect(Collectors.toSet());
+		Map<Long, WorkPlace> workPlaces = workPlaceRepository.findAllById(workPlaceIds).stream()
+			.collect(Collectors.toMap(WorkPlace::getId, Function.identity()));
+		for (Long workPlaceId : workPlaceIds) {
+			if (!workPlaces.containsKey(workPlaceId)) {
+				throw new BadRequestAlertException("Unknown work place " + workPlaceId, ENTITY_NAME, "workplacenotfound");
+			}
+		}
+		LocalDate fromDate = sessions.stream().map(SessionInfoDTO::getDate).min(LocalDate::compareTo).get();
+		LocalDate toDate = sessions.stream().map(SessionInfoDTO::getDate).max(LocalDate::compareTo).get();
+		Set<String> keys = new HashSet<>();
+		for (SessionInfo existing : sessionInfoRepository.findByWorkPlaceIdInAndDateBetween(workPlaceIds, fromDate, toDate)) {
+			keys.add(sessionKey(existing.getWorkPlace().getId(), existing.getDate(), existing.getFromTime()));
+		}
+		List<SessionInfo> sessionInfos = new ArrayList<>();
+		for (SessionInfoDTO session : sessions) {
+			if (keys.add(sessionKey(session.getWorkPlaceId(), session.getDate(), session.getFromTime()))) {
+				sessionInfos.add(new SessionInfo()
+					.sessionName(session.getSessionName())
+					.date(session.getDate())
+					.weekDay(SessionRules.toWeekDay(session.getDate()))
+					.fromTime(session.getFromTime())
+					.toTime(session.getToTime())
+					.interval(session.getInterval())
+					.workPlace(workPlaces.get(session.getWorkPlaceId())));
+			}
+		}
+		int skipped = sessions.size() - sessionInfos.size();
+		if (sessionInfos.isEmpty()) {
+			return new SessionUpsertResultDTO(0, skipped, new ArrayList<>());
+		}
+		try {
+			sessionInfos = sessionInfoRepository.saveAll(sessionInfos);
+			sessionInfoRepository.flush();
+		} catch (DataIntegrityViolationException e) {
+			// a concurrent upsert inserted some of the sessions first; running this one again skips them
+			throw new BadRequestAlertException("Sessions were created concurrently", ENTITY_NAME, "sessionexists");
+		}
+		sessionInfoSearchRepository.saveAll(sessionInfos);
+		Set<String> evicted = new LinkedHashSet<>();
+		for (SessionInfo sessionInfo : sessionInfos) {
+			if (evicted.add(sessionInfo.getWorkPlace().getId() + ":" + sessionInfo.getDate())) {
+				evictAvailability(sessionInfo);
+			}
+		}
+		return new SessionUpsertResultDTO(sessionInfos.size(), skipped, sessionInfoMapper.toDto(sessionInfos));
+	}
+
+	private static String sessionKey(Long workPlaceId, LocalDate date, Double fromTime) {
+		return workPlaceId + ":" + date + ":" + fromTime;
+	}
+
+    private boolean isDuplicate(SessionInfoDTO sessionInfoDTO) {
+        if (sessionInfoDTO.getWorkPlaceId() == null || sessionInfoDTO.getDate() == null || sessionInfoDTO.getFromTime() == null) {
+            return false;
+        }
+        if (sessionInfoDTO.getId() == null) {
+            return sessionInfoRepository.existsByWorkPlaceIdAndDateAndFromTime(sessionInfoDTO.getWorkPlaceId(),
+                sessionInfoDTO.getDate(), sessionInfoDTO.getFromTime());
+        }
+        return sessionInfoRepository.existsByWorkPlaceIdAndDateAndFromTimeAndIdNot(sessionInfoDTO.getWorkPlaceId(),
+            sessionInfoDTO.getDate(), sessionInfoDTO.getFromTime(), sessionInfoDTO.getId());
+    }
+
+    /**
+     * Drop the cached availability of the session's day, so the slots are rebuilt from the changed sessions.
+     */
+    private void evictAvailability(SessionInfo sessionInfo) {
+        WorkPlace workPlace = sessionInfo.getWorkPlace();
+        if (workPlace == null) {
+            return;
+        }
+        if (workPlace.getDoctor() == null && workPlace.getId() != null) {
+            // new sessions only carry a reference to their workplace
+            workPlace = workPlaceRepository.findById(workPlace.getId()).orElse(workPlace);
+        }
+        if (workPlace.getDoctor() != null) {
+            availabilityCacheService.evict(workPlace.getDoctor().getId(), sessionInfo.getDate());
+        }
+    }
 }
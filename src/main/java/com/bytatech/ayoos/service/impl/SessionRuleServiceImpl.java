@@ -0,0 +1,176 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.service.AvailabilityCacheService;
+import com.bytatech.ayoos.service.SessionRuleService;
+import com.bytatech.ayoos.domain.SessionRule;
+import com.bytatech.ayoos.domain.SessionRuleException;
+import com.bytatech.ayoos.domain.WorkPlace;
+import com.bytatech.ayoos.repository.SessionRuleExceptionRepository;
+import com.bytatech.ayoos.repository.SessionRuleRepository;
+import com.bytatech.ayoos.repository.WorkPlaceRepository;
+import com.bytatech.ayoos.service.dto.SessionRuleDTO;
+import com.bytatech.ayoos.service.mapper.SessionRuleMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Service Implementation for managing SessionRule.
+ * <p>
+ * A rule holds on an open-ended range of dates, so any change drops every cached
+ * day of the doctor owning its workplace.
+ */
+@Service
+@Transactional
+public class SessionRuleServiceImpl implements SessionRuleService {
+
+    private final Logger log = LoggerFactory.getLogger(SessionRuleServiceImpl.class);
+
+    private final SessionRuleRepository sessionRuleRepository;
+
+    private final SessionRuleExceptionRepository sessionRuleExceptionRepository;
+
+    private final SessionRuleMapper sessionRuleMapper;
+
+    private final WorkPlaceRepository workPlaceRepository;
+
+    private final AvailabilityCacheService availabilityCacheService;
+
+    public SessionRuleServiceImpl(SessionRuleRepository sessionRuleRepository,
+            SessionRuleExceptionRepository sessionRuleExceptionRepository, SessionRuleMapper sessionRuleMapper,
+            WorkPlaceRepository workPlaceRepository, AvailabilityCacheService availabilityCacheService) {
+        this.sessionRuleRepository = sessionRuleRepository;
+        this.sessionRuleExceptionRepository = sessionRuleExceptionRepository;
+        this.sessionRuleMapper = sessionRuleMapper;
+        this.workPlaceRepository = workPlaceRepository;
+        this.availabilityCacheService = availabilityCacheService;
+    }
+
+    /**
+     * Save a sessionRule, keeping its exception dates.
+     *
+     * @param sessionRuleDTO the entity to save
+     * @return the persisted entity
+     */
+    @Override
+    public SessionRuleDTO save(SessionRuleDTO sessionRuleDTO) {
+        log.debug("Request to save SessionRule : {}", sessionRuleDTO);
+        SessionRule sessionRule = sessionRuleMapper.toEntity(sessionRuleDTO);
+        if (sessionRuleDTO.getId() != null) {
+            SessionRule existing = sessionRuleRepository.findOneWithExceptions(sessionRuleDTO.getId());
+            if (existing != null) {
+                evictAvailability(existing);
+                sessionRule.setExceptions(existing.getExceptions());
+            }
+        }
+        sessionRule = sessionRuleRepository.save(sessionRule);
+        evictAvailability(sessionRule);
+        return sessionRuleMapper.toDto(sessionRule);
+    }
+
+    /**
+     * Get all the sessionRules.
+     *
+     * @param pageable the pagination information
+     * @return the list of entities
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<SessionRuleDTO> findAll(Pageable pageable) {
+        log.debug("Request to get all SessionRules");
+        return sessionRuleRepository.findAll(pageable)
+            .map(sessionRuleMapper::toDto);
+    }
+
+    /**
+     * Get one sessionRule by id.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SessionRuleDTO> findOne(Long id) {
+        log.debug("Request to get SessionRule : {}", id);
+        return Optional.ofNullable(sessionRuleRepository.findOneWithExceptions(id))
+            .map(sessionRuleMapper::toDto);
+    }
+
+    /**
+     * Delete the sessionRule by id, with its exceptions.
+     *
+     * @param id the id of the entity
+     */
+    @Override
+    public void delete(Long id) {
+        log.debug("Request to delete SessionRule : {}", id);
+        sessionRuleRepository.findById(id).ifPresent(sessionRule -> {
+            evictAvailability(sessionRule);
+            sessionRuleRepository.delete(sessionRule);
+        });
+    }
+
+    @Override
+    public Optional<SessionRuleDTO> addException(Long id, LocalDate date) {
+        log.debug("Request to skip SessionRule : {} on {}", id, date);
+        SessionRule sessionRule = sessionRuleRepository.findOneWithExceptions(id);
+        if (sessionRule == null) {
+            return Optional.empty();
+        }
+        if (!sessionRuleExceptionRepository.findBySessionRuleIdAndDate(id, date).isPresent()) {
+            SessionRuleException exception = new SessionRuleException().date(date);
+            sessionRule.addException(exception);
+            sessionRuleExceptionRepository.save(exception);
+            evictAvailability(sessionRule, date);
+        }
+        return Optional.of(sessionRuleMapper.toDto(sessionRule));
+    }
+
+    @Override
+    public Optional<SessionRuleDTO> removeException(Long id, LocalDate date) {
+        log.debug("Request to stop skipping SessionRule : {} on {}", id, date);
+        SessionRule sessionRule = sessionRuleRepository.findOneWithExceptions(id);
+        if (sessionRule == null) {
+            return Optional.empty();
+        }
+        sessionRuleExceptionRepository.findBySessionRuleIdAndDate(id, date).ifPresent(exception -> {
+            sessionRule.getExceptions().removeIf(e -> e.getId().equals(exception.getId()));
+            sessionRuleExceptionRepository.delete(exception);
+            evictAvailability(sessionRule, date);
+        });
+        return Optional.of(sessionRuleMapper.toDto(sessionRule));
+    }
+
+    private void evictAvailability(SessionRule sessionRule) {
+        Long doctorId = doctorId(sessionRule);
+        if (doctorId != null) {
+            availabilityCacheService.evictDoctor(doctorId);
+        }
+    }
+
+    private void evictAvailability(SessionRule sessionRule, LocalDate date) {
+        Long doctorId = doctorId(sessionRule);
+        if (doctorId != null) {
+            availabilityCacheService.evict(doctorId, date);
+        }
+    }
+
+    private Long doctorId(SessionRule sessionRule) {
+        WorkPlace workPlace = sessionRule.getWorkPlace();
+        if (workPlace == null) {
+            return null;
+        }
+        if (workPlace.getDoctor() == null && workPlace.getId() != null) {
+            // rules mapped from a DTO only carry a reference to their workplace
+            workPlace = workPlaceRepository.findById(workPlace.getId()).orElse(workPlace);
+        }
+        return workPlace.getDoctor() == null ? null : workPlace.getDoctor().getId();
+    }
+}
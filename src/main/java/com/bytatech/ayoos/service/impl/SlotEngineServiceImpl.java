@@ -0,0 +1,110 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.service.SlotEngineService;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.service.slot.ReservationIndex;
+import com.bytatech.ayoos.service.slot.SlotBuffer;
+import com.bytatech.ayoos.service.slot.SlotTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service Implementation splitting sessions into slots.
+ * <p>
+ * Session times are converted to minutes of the day once per session, slots are
+ * generated with integer arithmetic into a {@link SlotBuffer} sized from the number of
+ * sessions, and only converted to {@link ReservedSlotDTO} when they are returned. The buffer
+ * lives for one call, so no request thread keeps the largest buffer it ever needed.
+ */
+@Service
+public class SlotEngineServiceImpl implements SlotEngineService {
+
+    private final Logger log = LoggerFactory.getLogger(SlotEngineServiceImpl.class);
+
+    /**
+     * Slots expected per session, a few hours at the usual intervals, so most calls never grow their buffer.
+     */
+    private static final int SLOTS_PER_SESSION = 16;
+
+    @Override
+    public void generate(List<SessionInfoDTO> sessions, SlotBuffer buffer) {
+        for (SessionInfoDTO session : sessions) {
+            generate(session, buffer);
+        }
+    }
+
+    @Override
+    public void generate(SessionInfoDTO session, SlotBuffer buffer) {
+        int from = SlotTime.toMinuteOfDay(session.getFromTime());
+        int to = SlotTime.toMinuteOfDay(session.getToTime());
+        int interval = SlotTime.toMinuteOfDay(session.getInterval());
+        if (session.getDate() == null || from < 0 || to <= from || interval <= 0) {
+            log.debug("Skipping session that cannot be split into slots : {}", session);
+            return;
+        }
+        long epochDay = session.getDate().toEpochDay();
+        int sequence = 1;
+        for (int start = from; start + interval <= to; start += interval) {
+            buffer.add(epochDay, start, start + interval, sequence++);
+        }
+    }
+
+    @Override
+    public List<ReservedSlotDTO> generateSlots(List<SessionInfoDTO> sessions, Long doctorId) {
+        log.debug("Request to generate slots of {} sessions for Doctor : {}", sessions.size(), doctorId);
+        SlotBuffer buffer = new SlotBuffer(sessions.size() * SLOTS_PER_SESSION);
+        generate(sessions, buffer);
+        List<ReservedSlotDTO> slots = new ArrayList<>(buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            slots.add(toDto(buffer, i, doctorId));
+        }
+        return slots;
+    }
+
+    @Override
+    public List<ReservedSlotDTO> generateFreeSlots(List<SessionInfoDTO> sessions, ReservationIndex reservations,
+            Long doctorId) {
+        log.debug("Request to generate free slots of {} sessions for Doctor : {}", sessions.size(), doctorId);
+        SlotBuffer buffer = new SlotBuffer(sessions.size() * SLOTS_PER_SESSION);
+        generate(sessions, buffer);
+        List<ReservedSlotDTO> slots = new ArrayList<>(buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            if (reservations.claim(buffer.getEpochDay(i), buffer.getStartMinute(i))) {
+                slots.add(toDto(buffer, i, doctorId));
+            }
+        }
+        return slots;
+    }
+
+    @Override
+    public ReservedSlotDTO toDto(SlotBuffer buffer, int index, Long doctorId) {
+        ReservedSlotDTO slot = new ReservedSlotDTO();
+        slot.setId((long) buffer.getSequence(index));
+        slot.setTokenNumber(buffer.getSequence(index));
+        slot.setDate(buffer.getDate(index));
+        slot.setStartTime(SlotTime.toDecimalTime(buffer.getStartMinute(index)));
+        slot.setEndTime(SlotTime.toDecimalTime(buffer.getEndMinute(index)));
+        slot.setDoctorId(doctorId);
+        return slot;
+    }
+
+    @Override
+    public ReservedSlotDTO toDto(DayAvailability day, int index, Long doctorId) {
+        ReservedSlotDTO slot = new ReservedSlotDTO();
+        slot.setId((long) day.getSequence(index));
+        slot.setTokenNumber(day.getSequence(index));
+        slot.setDate(LocalDate.ofEpochDay(day.getEpochDay()));
+        slot.setStartTime(SlotTime.toDecimalTime(day.getStartMinute(index)));
+        slot.setEndTime(SlotTime.toDecimalTime(day.getEndMinute(index)));
+        slot.setDoctorId(doctorId);
+        return slot;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bytatech.ayoos.service.impl;
+
+import com.bytatech.ayoos.domain.TokenCounter;
+import com.bytatech.ayoos.repository.ReservedSlotRepository;
+import com.bytatech.ayoos.repository.TokenCounterRepository;
+import com.bytatech.ayoos.service.TokenService;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service Implementation handing out token numbers from Hazelcast atomic counters.
+ * <p>
+ * Each (doctor, date) has its own cluster-wide counter, so a token costs a single
+ * increment. A counter is seeded from the database only when it is first used after
+ * the cluster started. The counters used on this node are written back periodically
+ * and on shutdown, and the counters of past days are destroyed once written.
+ */
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private final Logger log = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+    static final String COUNTER_PREFIX = "token:";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final TokenCounterRepository tokenCounterRepository;
+
+    private final ReservedSlotRepository reservedSlotRepository;
+
+    private final Map<String, TokenCounter> usedCounters = new ConcurrentHashMap<>();
+
+    public TokenServiceImpl(HazelcastInstance hazelcastInstance, TokenCounterRepository tokenCounterRepository,
+            ReservedSlotRepository reservedSlotRepository) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.tokenCounterRepository = tokenCounterRepository;
+        this.reservedSlotRepository = reservedSlotRepository;
+    }
+
+    @Override
+    public int nextToken(Long doctorId, LocalDate date) {
+        String name = COUNTER_PREFIX + doctorId + ":" + date;
+        IAtomicLong counter = hazelcastInstance.getAtomicLong(name);
+        if (counter.get() == 0) {
+            // only one node wins the seed, the others increment from the seeded value
+            counter.compareAndSet(0, lastToken(doctorId, date));
+        }
+        usedCounters.computeIfAbsent(name, key -> new TokenCounter().doctorId(doctorId).date(date));
+        return (int) counter.incrementAndGet();
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${application.token-counter.persist-interval-ms}")
+    public void persistCounters() {
+        LocalDate today = LocalDate.now();
+        for (Iterator<Map.Entry<String, TokenCounter>> it = usedCounters.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, TokenCounter> entry = it.next();
+            TokenCounter used = entry.getValue();
+            IAtomicLong counter = hazelcastInstance.getAtomicLong(entry.getKey());
+            try {
+                persist(used, counter.get());
+            } catch (DataIntegrityViolationException e) {
+                // another node inserted the same counter first, the next run updates it
+                log.debug("Token counter of Doctor : {} on {} was persisted concurrently", used.getDoctorId(), used.getDate());
+                continue;
+            }
+            if (used.getDate().isBefore(today)) {
+                // past days are not booked any more, stop tracking them once persisted
+                it.remove();
+                counter.destroy();
+            }
+        }
+    }
+
+    private void persist(TokenCounter used, long lastToken) {
+        if (used.getDoctorId() == null || lastToken <= 0) {
+            return;
+        }
+        TokenCounter tokenCounter = tokenCounterRepository.findByDoctorIdAndDate(used.getDoctorId(), used.getDate())
+            .orElseGet(() -> new TokenCounter().doctorId(used.getDoctorId()).date(used.getDate()).lastToken(0L));
+        if (lastToken > tokenCounter.getLastToken()) {
+            log.debug("Persisting token counter of Doctor : {} on {} at {}", used.getDoctorId(), used.getDate(), lastToken);
+            tokenCounterRepository.save(tokenCounter.lastToken(lastToken));
+        }
+    }
+
+    private long lastToken(Long doctorId, LocalDate date) {
+        long persisted = tokenCounterRepository.findByDoctorIdAndDate(doctorId, date)
+            .map(TokenCounter::getLastToken)
+            .orElse(0L);
+        Integer reserved = reservedSlotRepository.findMaxTokenNumber(doctorId, date);
+        log.debug("Seeding token counter of Doctor : {} on {} from {} and {}", doctorId, date, persisted, reserved);
+        return Math.max(persisted, reserved == null ? 0 : reserved);
+    }
+}
@@ -1,28 +1,22 @@
 package com.bytatech.ayoos.service.impl;
 
-import com.bytatech.ayoos.service.DoctorService;
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
 import com.bytatech.ayoos.service.UserRatingService;
 import com.bytatech.ayoos.domain.UserRating;
 import com.bytatech.ayoos.repository.UserRatingRepository;
 import com.bytatech.ayoos.repository.search.UserRatingSearchRepository;
 import com.bytatech.ayoos.security.SecurityUtils;
-import com.bytatech.ayoos.service.dto.DoctorDTO;
 import com.bytatech.ayoos.service.dto.UserRatingDTO;
 import com.bytatech.ayoos.service.mapper.UserRatingMapper;
-import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,76 +37,36 @@ public class UserRatingServiceImpl implements UserRatingService {
 
     private final UserRatingSearchRepository userRatingSearchRepository;
 
-    @Autowired
-    DoctorService doctorService;
-    public UserRatingServiceImpl(UserRatingRepository userRatingRepository, UserRatingMapper userRatingMapper, UserRatingSearchRepository userRatingSearchRepository) {
+    private final DoctorRatingSummaryService doctorRatingSummaryService;
+
+    public UserRatingServiceImpl(UserRatingRepository userRatingRepository, UserRatingMapper userRatingMapper,
+            UserRatingSearchRepository userRatingSearchRepository, DoctorRatingSummaryService doctorRatingSummaryService) {
         this.userRatingRepository = userRatingRepository;
         this.userRatingMapper = userRatingMapper;
         this.userRatingSearchRepository = userRatingSearchRepository;
+        this.doctorRatingSummaryService = doctorRatingSummaryService;
     }
 
     /**
-     * Save a userRating.
+     * Save a userRating, moving it between the rating summaries of the rated doctors.
      *
      * @param userRatingDTO the entity to save
      * @return the persisted entity
-     * 
-     * desc:while saving data the ratting count calculation is added here
      */
     @Override
     public UserRatingDTO save(UserRatingDTO userRatingDTO) {
-    	
-		Integer fiveCount = 0, fourCount = 0, threeCount = 0, twoCount = 0, oneCount = 0;
-    	
         log.debug("Request to save UserRating : {}", userRatingDTO);
+        if (userRatingDTO.getId() != null) {
+            userRatingRepository.findById(userRatingDTO.getId()).ifPresent(previous -> doctorRatingSummaryService
+                .removeRating(previous.getDoctor() == null ? null : previous.getDoctor().getId(), previous.getRating()));
+        }
         UserRating userRating = userRatingMapper.toEntity(userRatingDTO);
-        Optional<String> currentUserLogin = SecurityUtils.getCurrentUserLogin();
-        userRating.setUserName(currentUserLogin.get());
+        SecurityUtils.getCurrentUserLogin().ifPresent(userRating::setUserName);
         userRating.setRatedOn(LocalDate.now());
         userRating = userRatingRepository.save(userRating);
         UserRatingDTO result = userRatingMapper.toDto(userRating);
         userRatingSearchRepository.save(userRating);
-        
-        
-        DoctorDTO doctorDTO = doctorService.findOne(result.getDoctorId()).get();
-        
-        log.info("..............  "+userRatingDTO.getRating()+"   ..................");
-        
-
-
-			fiveCount = userRatingRepository.getCount(5.0);
-			log.debug(">>>>>>>>>>>>>>>>>5>>>>>>>>>>>>>>>>>>" + fiveCount);
-	
-			fourCount = userRatingRepository.getCount(4.0);
-			log.debug(">>>>>>>>>>>>>>>>>4>>>>>>>>>>>>>>>>>>" + fourCount);
-		
-			threeCount = userRatingRepository.getCount(3.0);
-			log.debug(">>>>>>>>>>>>>>>>3>>>>>>>>>>>>>" + threeCount);
-		
-			twoCount = userRatingRepository.getCount(2.0);
-			log.debug(">>>>>>>>>>>>>>2>>>>>>>>>>>>>>>>>" + twoCount);
-	
-			oneCount = userRatingRepository.getCount(1.0);
-			log.debug(">>>>>>>>>>>>>>1>>>>>>>>>>>>>>>>>" + oneCount);
-		
-
-		double rating = (5.0 * fiveCount + 4.0 * fourCount + 3.0 * threeCount + 2.0 * twoCount + 1.0 * oneCount)
-				/ (fiveCount + fourCount + threeCount + twoCount + oneCount);
-		
-		BigDecimal ratingDB = new BigDecimal(rating).setScale(3, RoundingMode.HALF_UP);
-
-		log.debug("                  >>>>>>>>" + ratingDB.doubleValue());
-
-		if (doctorDTO.getId() == null) {
-			throw new BadRequestAlertException("Invalid id", "store", "idnull");
-		}
-
-		doctorDTO.setTotalRating(ratingDB.doubleValue());
-
-		DoctorDTO dto = doctorService.save(doctorDTO);
-
-		log.debug("**************doctor: ********************" + dto);
-        
+        doctorRatingSummaryService.addRating(result.getDoctorId(), result.getRating());
         return result;
     }
 
@@ -152,7 +106,10 @@ public class UserRatingServiceImpl implements UserRatingService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete UserRating : {}", id);        userRatingRepository.deleteById(id);
+        log.debug("Request to delete UserRating : {}", id);
+        userRatingRepository.findById(id).ifPresent(userRating -> doctorRatingSummaryService
+            .removeRating(userRating.getDoctor() == null ? null : userRating.getDoctor().getId(), userRating.getRating()));
+        userRatingRepository.deleteById(id);
         userRatingSearchRepository.deleteById(id);
     }
 
@@ -1,5 +1,6 @@
 package com.bytatech.ayoos.service.impl;
 
+import com.bytatech.ayoos.service.DoctorAggregateService;
 import com.bytatech.ayoos.service.WorkPlaceService;
 import com.bytatech.ayoos.domain.WorkPlace;
 import com.bytatech.ayoos.repository.WorkPlaceRepository;
@@ -34,10 +35,14 @@ public class WorkPlaceServiceImpl implements WorkPlaceService {
 
     private final WorkPlaceSearchRepository workPlaceSearchRepository;
 
-    public WorkPlaceServiceImpl(WorkPlaceRepository workPlaceRepository, WorkPlaceMapper workPlaceMapper, WorkPlaceSearchRepository workPlaceSearchRepository) {
+    private final DoctorAggregateService doctorAggregateService;
+
+    public WorkPlaceServiceImpl(WorkPlaceRepository workPlaceRepository, WorkPlaceMapper workPlaceMapper, WorkPlaceSearchRepository workPlaceSearchRepository,
+            DoctorAggregateService doctorAggregateService) {
         this.workPlaceRepository = workPlaceRepository;
         this.workPlaceMapper = workPlaceMapper;
         this.workPlaceSearchRepository = workPlaceSearchRepository;
+        this.doctorAggregateService = doctorAggregateService;
     }
 
     /**
@@ -49,6 +54,10 @@ public class WorkPlaceServiceImpl implements WorkPlaceService {
     @Override
     public WorkPlaceDTO save(WorkPlaceDTO workPlaceDTO) {
         log.debug("Request to save WorkPlace : {}", workPlaceDTO);
+        if (workPlaceDTO.getId() != null) {
+            workPlaceRepository.findDoctorIdById(workPlaceDTO.getId()).ifPresent(doctorAggregateService::touch);
+        }
+        doctorAggregateService.touch(workPlaceDTO.getDoctorId());
         WorkPlace workPlace = workPlaceMapper.toEntity(workPlaceDTO);
         workPlace = workPlaceRepository.save(workPlace);
         WorkPlaceDTO result = workPlaceMapper.toDto(workPlace);
@@ -92,7 +101,9 @@ public class WorkPlaceServiceImpl implements WorkPlaceService {
      */
     @Override
     public void delete(Long id) {
-        log.debug("Request to delete WorkPlace : {}", id);        workPlaceRepository.deleteById(id);
+        log.debug("Request to delete WorkPlace : {}", id);
+        workPlaceRepository.findDoctorIdById(id).ifPresent(doctorAggregateService::touch);
+        workPlaceRepository.deleteById(id);
         workPlaceSearchRepository.deleteById(id);
     }
 
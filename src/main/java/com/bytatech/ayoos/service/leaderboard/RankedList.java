@@ -0,0 +1,108 @@
+package com.bytatech.ayoos.service.leaderboard;
+
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The best ranked doctors of a leaderboard, at most a fixed number of them.
+ * <p>
+ * A list is either complete, holding every ranked doctor, or full, in which case every
+ * doctor it does not hold ranks below its last entry. Rating changes keep that invariant
+ * in place; a change it cannot be kept for, a listed doctor falling to the end of a full
+ * list or losing its rating, makes the list ask to be rebuilt.
+ */
+public class RankedList implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Best rating first, ties broken by the lowest id.
+     */
+    public static final Comparator<DoctorLeaderboardEntryDTO> BY_RATING = Comparator
+        .comparing(DoctorLeaderboardEntryDTO::getTotalRating, Comparator.reverseOrder())
+        .thenComparing(DoctorLeaderboardEntryDTO::getId);
+
+    private final int capacity;
+
+    private final List<DoctorLeaderboardEntryDTO> entries;
+
+    private boolean complete;
+
+    private RankedList(List<DoctorLeaderboardEntryDTO> entries, int capacity) {
+        this.capacity = capacity;
+        this.entries = new ArrayList<>(entries.subList(0, Math.min(entries.size(), capacity)));
+        this.complete = entries.size() < capacity;
+    }
+
+    /**
+     * Build a list from ranked entries, read with a limit of the capacity.
+     *
+     * @param entries the entries, best ranked first
+     * @param capacity the largest number of entries kept
+     * @return the list
+     */
+    public static RankedList of(List<DoctorLeaderboardEntryDTO> entries, int capacity) {
+        return new RankedList(entries, capacity);
+    }
+
+    /**
+     * Move a doctor to the rank of its new rating, or remove it if it has no rating any more.
+     *
+     * @param entry the doctor with its new rating
+     * @return false if the list cannot tell its best ranked doctors any more and must be rebuilt
+     */
+    public boolean update(DoctorLeaderboardEntryDTO entry) {
+        boolean removed = entries.removeIf(listed -> listed.getId().equals(entry.getId()));
+        if (entry.getTotalRating() == null) {
+            return !removed || complete;
+        }
+        int index = Collections.binarySearch(entries, entry, BY_RATING);
+        index = index < 0 ? -index - 1 : index;
+        if (removed && !complete && index == entries.size()) {
+            // unlisted doctors may rank between the last entry and this one
+            return false;
+        }
+        entries.add(index, entry);
+        if (entries.size() > capacity) {
+            entries.remove(entries.size() - 1);
+            complete = false;
+        }
+        return true;
+    }
+
+    /**
+     * Get one page of the list.
+     *
+     * @param page the number of the page, from 0
+     * @param size the size of the page
+     * @return the entries of the page, empty past the end of the list
+     */
+    public List<DoctorLeaderboardEntryDTO> page(int page, int size) {
+        long from = (long) page * size;
+        if (from >= entries.size()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(entries.subList((int) from, (int) Math.min(entries.size(), from + size)));
+    }
+
+    /**
+     * @param id the id of a doctor
+     * @return true if the doctor is listed
+     */
+    public boolean contains(Long id) {
+        return entries.stream().anyMatch(listed -> listed.getId().equals(id));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -19,6 +19,7 @@ public interface DoctorMapper extends EntityMapper<DoctorDTO, Doctor> {
     @Mapping(source = "contactInfoId", target = "contactInfo")
     @Mapping(source = "paymentSettingsId", target = "paymentSettings")
     @Mapping(source = "doctorSettingsId", target = "doctorSettings")
+    @Mapping(target = "imageHash", ignore = true)
     @Mapping(target = "workPlaces", ignore = true)
     @Mapping(target = "qualifications", ignore = true)
     @Mapping(target = "reviews", ignore = true)
@@ -0,0 +1,36 @@
+package com.bytatech.ayoos.service.mapper;
+
+import com.bytatech.ayoos.domain.*;
+import com.bytatech.ayoos.service.dto.SessionRuleDTO;
+
+import org.mapstruct.*;
+
+import java.time.LocalDate;
+
+/**
+ * Mapper for the entity SessionRule and its DTO SessionRuleDTO.
+ */
+@Mapper(componentModel = "spring", uses = {WorkPlaceMapper.class})
+public interface SessionRuleMapper extends EntityMapper<SessionRuleDTO, SessionRule> {
+
+    @Mapping(source = "workPlace.id", target = "workPlaceId")
+    @Mapping(source = "exceptions", target = "exceptionDates")
+    SessionRuleDTO toDto(SessionRule sessionRule);
+
+    @Mapping(source = "workPlaceId", target = "workPlace")
+    @Mapping(target = "exceptions", ignore = true)
+    SessionRule toEntity(SessionRuleDTO sessionRuleDTO);
+
+    default LocalDate exceptionDate(SessionRuleException exception) {
+        return exception == null ? null : exception.getDate();
+    }
+
+    default SessionRule fromId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        SessionRule sessionRule = new SessionRule();
+        sessionRule.setId(id);
+        return sessionRule;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bytatech.ayoos.service.slot;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The slots of one doctor on one day with a bitmap of the reserved ones.
+ * <p>
+ * Slots are sorted by start minute and unique per start minute, so a reservation
+ * is located with a binary search and flipped in place.
+ */
+public class DayAvailability implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long epochDay;
+
+    private final int[] startMinutes;
+
+    private final int[] endMinutes;
+
+    private final int[] sequences;
+
+    private final long[] reserved;
+
+    private DayAvailability(long epochDay, int[] startMinutes, int[] endMinutes, int[] sequences) {
+        this.epochDay = epochDay;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+        this.sequences = sequences;
+        this.reserved = new long[(startMinutes.length + 63) >>> 6];
+    }
+
+    /**
+     * Build the availability of a day without sessions.
+     *
+     * @param epochDay the day as epoch day
+     * @return the availability of the day, without slots
+     */
+    public static DayAvailability empty(long epochDay) {
+        return new DayAvailability(epochDay, new int[0], new int[0], new int[0]);
+    }
+
+    /**
+     * Build the availability of a day from the buffered slots of that day.
+     * Slots starting at the same minute, from overlapping sessions, are kept once.
+     *
+     * @param epochDay the day as epoch day
+     * @param buffer the buffer holding the slots
+     * @param from the index of the first slot of the day in the buffer
+     * @param to the index after the last slot of the day in the buffer
+     * @return the availability of the day, with no slot reserved
+     */
+    public static DayAvailability of(long epochDay, SlotBuffer buffer, int from, int to) {
+        long[] packed = new long[to - from];
+        for (int i = from; i < to; i++) {
+            packed[i - from] = ((long) buffer.getStartMinute(i) << 40)
+                | ((long) buffer.getEndMinute(i) << 20)
+                | buffer.getSequence(i);
+        }
+        Arrays.sort(packed);
+        int[] starts = new int[packed.length];
+        int[] ends = new int[packed.length];
+        int[] sequences = new int[packed.length];
+        int size = 0;
+        for (long slot : packed) {
+            int start = (int) (slot >>> 40);
+            if (size > 0 && starts[size - 1] == start) {
+                continue;
+            }
+            starts[size] = start;
+            ends[size] = (int) ((slot >>> 20) & 0xFFFFF);
+            sequences[size] = (int) (slot & 0xFFFFF);
+            size++;
+        }
+        return new DayAvailability(epochDay, Arrays.copyOf(starts, size), Arrays.copyOf(ends, size),
+            Arrays.copyOf(sequences, size));
+    }
+
+    /**
+     * Mark the slot starting at the given minute as reserved or free.
+     *
+     * @param startMinute the start of the slot in minutes of the day
+     * @param isReserved the new state of the slot
+     * @return true if a slot starts at that minute and its state changed
+     */
+    public boolean setReserved(int startMinute, boolean isReserved) {
+        int index = Arrays.binarySearch(startMinutes, startMinute);
+        if (index < 0 || isReserved(index) == isReserved) {
+            return false;
+        }
+        reserved[index >>> 6] ^= 1L << index;
+        return true;
+    }
+
+    public boolean isReserved(int index) {
+        return (reserved[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    public int size() {
+        return startMinutes.length;
+    }
+
+    public int getStartMinute(int index) {
+        return startMinutes[index];
+    }
+
+    public int getEndMinute(int index) {
+        return endMinutes[index];
+    }
+
+    public int getSequence(int index) {
+        return sequences[index];
+    }
+}
@@ -0,0 +1,95 @@
+package com.bytatech.ayoos.service.slot;
+
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Bitset index of the reserved slots of a date range, keyed by (date, start minute).
+ * <p>
+ * The index is built once per request, so removing reserved slots from generated
+ * slots is linear in the number of slots plus the number of reservations. It also
+ * remembers which free slots were already handed out, so overlapping sessions do
+ * not produce the same slot twice.
+ */
+public class ReservationIndex {
+
+    private final long firstEpochDay;
+
+    private final long lastEpochDay;
+
+    private final BitSet reserved;
+
+    private final BitSet claimed;
+
+    public ReservationIndex(LocalDate fromDate, LocalDate toDate) {
+        this.firstEpochDay = fromDate.toEpochDay();
+        this.lastEpochDay = toDate.toEpochDay();
+        int bits = (int) (ChronoUnit.DAYS.between(fromDate, toDate) + 1) * SlotTime.MINUTES_PER_DAY;
+        this.reserved = new BitSet(bits);
+        this.claimed = new BitSet(bits);
+    }
+
+    /**
+     * Build the index of the given reservations; reservations outside the range are ignored.
+     *
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @param reservedSlots the reservations
+     * @return the index
+     */
+    public static ReservationIndex of(LocalDate fromDate, LocalDate toDate, Iterable<ReservedSlotDTO> reservedSlots) {
+        ReservationIndex index = new ReservationIndex(fromDate, toDate);
+        for (ReservedSlotDTO reservedSlot : reservedSlots) {
+            index.reserve(reservedSlot.getDate(), reservedSlot.getStartTime());
+        }
+        return index;
+    }
+
+    /**
+     * Mark the slot starting at the given date and decimal time as reserved.
+     *
+     * @param date the date of the slot
+     * @param startTime the decimal start time of the slot
+     */
+    public void reserve(LocalDate date, Double startTime) {
+        if (date == null) {
+            return;
+        }
+        int bit = bit(date.toEpochDay(), SlotTime.toMinuteOfDay(startTime));
+        if (bit >= 0) {
+            reserved.set(bit);
+        }
+    }
+
+    public boolean isReserved(long epochDay, int startMinute) {
+        int bit = bit(epochDay, startMinute);
+        return bit >= 0 && reserved.get(bit);
+    }
+
+    /**
+     * Hand out a free slot.
+     *
+     * @param epochDay the date of the slot as epoch day
+     * @param startMinute the start of the slot in minutes of the day
+     * @return true if the slot lies in the range, is not reserved and was not handed out before
+     */
+    public boolean claim(long epochDay, int startMinute) {
+        int bit = bit(epochDay, startMinute);
+        if (bit < 0 || reserved.get(bit) || claimed.get(bit)) {
+            return false;
+        }
+        claimed.set(bit);
+        return true;
+    }
+
+    private int bit(long epochDay, int minuteOfDay) {
+        if (epochDay < firstEpochDay || epochDay > lastEpochDay
+                || minuteOfDay < 0 || minuteOfDay >= SlotTime.MINUTES_PER_DAY) {
+            return -1;
+        }
+        return (int) (epochDay - firstEpochDay) * SlotTime.MINUTES_PER_DAY + minuteOfDay;
+    }
+}
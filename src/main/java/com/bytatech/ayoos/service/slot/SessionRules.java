@@ -0,0 +1,92 @@
+package com.bytatech.ayoos.service.slot;
+
+import com.bytatech.ayoos.domain.SessionRule;
+import com.bytatech.ayoos.domain.SessionRuleException;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expands recurring {@link SessionRule}s into the sessions they stand for.
+ * <p>
+ * Expanded sessions are not stored: they have no id and are only built for the
+ * dates being read, so a rule costs one row however long it holds.
+ */
+public final class SessionRules {
+
+    /**
+     * Orders sessions by date, then start time, as the slot engine expects them.
+     */
+    public static final Comparator<SessionInfoDTO> BY_DATE_AND_FROM_TIME = Comparator
+        .comparing(SessionInfoDTO::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(SessionInfoDTO::getFromTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private SessionRules() {
+    }
+
+    /**
+     * Build the sessions of the given rules between two dates, both inclusive,
+     * skipping the dates outside each rule's validity and its exception dates.
+     *
+     * @param rules the rules to expand
+     * @param fromDate the first date of the range
+     * @param toDate the last date of the range
+     * @return the sessions ordered by date and start time
+     */
+    public static List<SessionInfoDTO> expand(Collection<SessionRule> rules, LocalDate fromDate, LocalDate toDate) {
+        List<SessionInfoDTO> sessions = new ArrayList<>();
+        for (SessionRule rule : rules) {
+            if (rule.getWeekDay() == null || rule.getValidFrom() == null) {
+                continue;
+            }
+            LocalDate first = rule.getValidFrom().isAfter(fromDate) ? rule.getValidFrom() : fromDate;
+            LocalDate last = rule.getValidTo() != null && rule.getValidTo().isBefore(toDate) ? rule.getValidTo() : toDate;
+            Set<LocalDate> exceptions = new HashSet<>();
+            for (SessionRuleException exception : rule.getExceptions()) {
+                exceptions.add(exception.getDate());
+            }
+            for (LocalDate date = first.with(TemporalAdjusters.nextOrSame(toDayOfWeek(rule.getWeekDay())));
+                    !date.isAfter(last); date = date.plusWeeks(1)) {
+                if (!exceptions.contains(date)) {
+                    sessions.add(toSession(rule, date));
+                }
+            }
+        }
+        sessions.sort(BY_DATE_AND_FROM_TIME);
+        return sessions;
+    }
+
+    /**
+     * Convert a week day numbered as Calendar.DAY_OF_WEEK, Sunday is 1, to a DayOfWeek.
+     */
+    public static DayOfWeek toDayOfWeek(int weekDay) {
+        return DayOfWeek.of((weekDay + 5) % 7 + 1);
+    }
+
+    /**
+     * Convert a date's day of week to the Calendar.DAY_OF_WEEK numbering, Sunday is 1.
+     */
+    public static int toWeekDay(LocalDate date) {
+        return date.getDayOfWeek().getValue() % 7 + 1;
+    }
+
+    private static SessionInfoDTO toSession(SessionRule rule, LocalDate date) {
+        SessionInfoDTO session = new SessionInfoDTO();
+        session.setSessionName(rule.getSessionName());
+        session.setDate(date);
+        session.setWeekDay(rule.getWeekDay());
+        session.setFromTime(rule.getFromTime());
+        session.setToTime(rule.getToTime());
+        session.setInterval(rule.getInterval());
+        session.setWorkPlaceId(rule.getWorkPlace() == null ? null : rule.getWorkPlace().getId());
+        return session;
+    }
+}
@@ -0,0 +1,92 @@
+package com.bytatech.ayoos.service.slot;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * A growable buffer of generated slots held in parallel primitive arrays.
+ * <p>
+ * Slots are only turned into objects when they leave the engine, so filling a buffer
+ * sized for the request does not allocate per slot.
+ */
+public class SlotBuffer {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] epochDays;
+
+    private int[] startMinutes;
+
+    private int[] endMinutes;
+
+    private int[] sequences;
+
+    private int size;
+
+    public SlotBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SlotBuffer(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.epochDays = new long[initial];
+        this.startMinutes = new int[initial];
+        this.endMinutes = new int[initial];
+        this.sequences = new int[initial];
+    }
+
+    /**
+     * Append a slot to the buffer.
+     *
+     * @param epochDay the date of the slot as epoch day
+     * @param startMinute the start of the slot in minutes of the day
+     * @param endMinute the end of the slot in minutes of the day
+     * @param sequence the 1-based position of the slot inside its session
+     */
+    public void add(long epochDay, int startMinute, int endMinute, int sequence) {
+        if (size == startMinutes.length) {
+            grow();
+        }
+        epochDays[size] = epochDay;
+        startMinutes[size] = startMinute;
+        endMinutes[size] = endMinute;
+        sequences[size] = sequence;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(epochDays[index]);
+    }
+
+    public int getStartMinute(int index) {
+        return startMinutes[index];
+    }
+
+    public int getEndMinute(int index) {
+        return endMinutes[index];
+    }
+
+    public int getSequence(int index) {
+        return sequences[index];
+    }
+
+    private void grow() {
+        int capacity = startMinutes.length << 1;
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+    }
+}
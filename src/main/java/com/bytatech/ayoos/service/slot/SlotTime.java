@@ -0,0 +1,38 @@
+package com.bytatech.ayoos.service.slot;
+
+/**
+ * Conversions between the decimal "hours.minutes" times stored on SessionInfo and
+ * ReservedSlot (for example 9.45 for 09:45) and integer minutes of the day.
+ */
+public final class SlotTime {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private SlotTime() {
+    }
+
+    /**
+     * Convert a decimal "hours.minutes" value to minutes of the day.
+     *
+     * @param time the decimal time, e.g. 9.45
+     * @return the minutes of the day, e.g. 585, or -1 if time is null
+     */
+    public static int toMinuteOfDay(Double time) {
+        if (time == null) {
+            return -1;
+        }
+        int hours = (int) Math.floor(time);
+        int minutes = (int) Math.round((time - hours) * 100);
+        return hours * 60 + minutes;
+    }
+
+    /**
+     * Convert minutes of the day back to a decimal "hours.minutes" value.
+     *
+     * @param minuteOfDay the minutes of the day, e.g. 585
+     * @return the decimal time, e.g. 9.45
+     */
+    public static double toDecimalTime(int minuteOfDay) {
+        return minuteOfDay / 60 + (minuteOfDay % 60) / 100.0;
+    }
+}
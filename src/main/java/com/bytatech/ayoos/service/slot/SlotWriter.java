@@ -0,0 +1,19 @@
+package com.bytatech.ayoos.service.slot;
+
+import java.io.IOException;
+
+/**
+ * Receives slots one at a time, straight from the cached availability of a day.
+ */
+@FunctionalInterface
+public interface SlotWriter {
+
+    /**
+     * Write one slot.
+     *
+     * @param day the availability holding the slot
+     * @param index the index of the slot in the day
+     * @throws IOException if the slot cannot be written
+     */
+    void write(DayAvailability day, int index) throws IOException;
+}
@@ -0,0 +1,120 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.service.AvailabilityService;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.service.slot.SlotTime;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * REST controller for querying the free slots of a doctor.
+ */
+@RestController
+@RequestMapping("/api")
+public class AvailabilityResource {
+
+    private final Logger log = LoggerFactory.getLogger(AvailabilityResource.class);
+
+    private static final String ENTITY_NAME = "doctorAvailability";
+
+    /**
+     * The largest range, in days, served by a single availability request.
+     */
+    static final long MAX_RANGE_DAYS = 62;
+
+    /**
+     * The largest range, in days, served by a single streamed availability request.
+     */
+    static final long MAX_STREAM_RANGE_DAYS = 366;
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final AvailabilityService availabilityService;
+
+    private final ObjectMapper objectMapper;
+
+    public AvailabilityResource(AvailabilityService availabilityService, ObjectMapper objectMapper) {
+        this.availabilityService = availabilityService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * GET /availability/:doctorId?from=:from&to=:to : get the free slots of a doctor.
+     *
+     * @param doctorId the id of the doctor
+     * @param from the first date of the range
+     * @param to the last date of the range, defaults to one week from the first date
+     * @return the ResponseEntity with status 200 (OK) and the list of free slots in body,
+     *         or with status 400 (Bad Request) if the range is invalid
+     */
+    @GetMapping("/availability/{doctorId}")
+    public ResponseEntity<List<ReservedSlotDTO>> getAvailability(@PathVariable Long doctorId,
+            @RequestParam LocalDate from, @RequestParam(required = false) LocalDate to) {
+        log.debug("REST request to get availability of Doctor : {} from {} to {}", doctorId, from, to);
+        LocalDate toDate = toDate(from, to, MAX_RANGE_DAYS);
+        return ResponseEntity.ok().body(availabilityService.findAvailableSlots(doctorId, from, toDate));
+    }
+
+    /**
+     * GET /availability/:doctorId?from=:from&to=:to : stream the free slots of a doctor
+     * as newline delimited JSON, one slot per line, written while the days are read.
+     *
+     * @param doctorId the id of the doctor
+     * @param from the first date of the range
+     * @param to the last date of the range, defaults to one week from the first date
+     * @return the ResponseEntity with status 200 (OK) and the streamed free slots in body,
+     *         or with status 400 (Bad Request) if the range is invalid
+     */
+    @GetMapping(value = "/availability/{doctorId}", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailability(@PathVariable Long doctorId,
+            @RequestParam LocalDate from, @RequestParam(required = false) LocalDate to) {
+        log.debug("REST request to stream availability of Doctor : {} from {} to {}", doctorId, from, to);
+        LocalDate toDate = toDate(from, to, MAX_STREAM_RANGE_DAYS);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                availabilityService.writeAvailableSlots(doctorId, from, toDate,
+                    (day, index) -> writeSlot(generator, day, index, doctorId));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+    }
+
+    private void writeSlot(JsonGenerator generator, DayAvailability day, int index, Long doctorId) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", day.getSequence(index));
+        generator.writeNumberField("tokenNumber", day.getSequence(index));
+        generator.writeStringField("date", LocalDate.ofEpochDay(day.getEpochDay()).toString());
+        generator.writeNumberField("startTime", SlotTime.toDecimalTime(day.getStartMinute(index)));
+        generator.writeNumberField("endTime", SlotTime.toDecimalTime(day.getEndMinute(index)));
+        generator.writeNumberField("doctorId", doctorId);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private LocalDate toDate(LocalDate from, LocalDate to, long maxRangeDays) {
+        LocalDate toDate = to != null ? to : from.plusDays(6);
+        if (toDate.isBefore(from)) {
+            throw new BadRequestAlertException("The end of the range is before its start", ENTITY_NAME, "invalidrange");
+        }
+        if (ChronoUnit.DAYS.between(from, toDate) >= maxRangeDays) {
+            throw new BadRequestAlertException("The range is too large", ENTITY_NAME, "rangetoolarge");
+        }
+        return toDate;
+    }
+}
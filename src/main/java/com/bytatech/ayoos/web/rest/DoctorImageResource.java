@@ -0,0 +1,200 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.service.DoctorImageService;
+import com.bytatech.ayoos.service.DoctorImageThumbnailService;
+import com.bytatech.ayoos.service.dto.DoctorImageDTO;
+import com.bytatech.ayoos.service.image.Thumbnails;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller for managing the images of doctors.
+ */
+@RestController
+@RequestMapping("/api")
+public class DoctorImageResource {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorImageResource.class);
+
+    private static final String ENTITY_NAME = "doctorDoctorImage";
+
+    /**
+     * The content types images are accepted and served with, none of which browsers run scripts from.
+     */
+    private static final Set<String> IMAGE_CONTENT_TYPES = new HashSet<>(Arrays.asList(Thumbnails.JPEG_CONTENT_TYPE,
+        Thumbnails.PNG_CONTENT_TYPE, Thumbnails.GIF_CONTENT_TYPE, Thumbnails.WEBP_CONTENT_TYPE));
+
+    private final DoctorImageService doctorImageService;
+
+    private final DoctorImageThumbnailService doctorImageThumbnailService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public DoctorImageResource(DoctorImageService doctorImageService,
+            DoctorImageThumbnailService doctorImageThumbnailService, ApplicationProperties applicationProperties) {
+        this.doctorImageService = doctorImageService;
+        this.doctorImageThumbnailService = doctorImageThumbnailService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * GET  /doctors/:id/image : stream the image of a doctor.
+     * <p>
+     * The ETag is the hash of the image, so a request with a matching If-None-Match
+     * header is answered with 304 (Not Modified) without reading the image.
+     *
+     * @param id the id of the doctor
+     * @param webRequest the request, used for conditional requests and to stream the response
+     * @return the ResponseEntity with status 404 (Not Found) if the doctor has no image,
+     * else nothing, as the response is written directly with status 200 (OK) or 304 (Not Modified)
+     * @throws IOException if the image cannot be written to the response
+     */
+    @GetMapping("/doctors/{id}/image")
+    public ResponseEntity<Void> getDoctorImage(@PathVariable Long id, ServletWebRequest webRequest) throws IOException {
+        log.debug("REST request to get the image of Doctor : {}", id);
+        Optional<DoctorImageDTO> image = doctorImageService.findMetadata(id);
+        if (!image.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        CacheControl cacheControl = CacheControl
+            .maxAge(applicationProperties.getDoctorImage().getMaxAgeSeconds(), TimeUnit.SECONDS)
+            .cachePrivate();
+        return stream(webRequest, image.get(), image.get().getImageHash(), cacheControl,
+            out -> doctorImageService.copyImage(id, out));
+    }
+
+    /**
+     * GET  /doctors/:id/image/thumbnails/:size : stream a square thumbnail of the image of a doctor.
+     * <p>
+     * Thumbnail URLs carry the hash of the image, so thumbnails are cached for long. A thumbnail
+     * that is not generated yet is requested from the generator and replaced by the full image,
+     * which must not be cached.
+     *
+     * @param id the id of the doctor
+     * @param size the size of the thumbnail, one of {@link DoctorImageDTO#THUMBNAIL_SIZES}
+     * @param webRequest the request, used for conditional requests and to stream the response
+     * @return the ResponseEntity with status 400 (Bad Request) if there is no thumbnail of that size,
+     * with status 404 (Not Found) if the doctor has no image,
+     * else nothing, as the response is written directly with status 200 (OK) or 304 (Not Modified)
+     * @throws IOException if the thumbnail cannot be written to the response
+     */
+    @GetMapping("/doctors/{id}/image/thumbnails/{size}")
+    public ResponseEntity<Void> getDoctorImageThumbnail(@PathVariable Long id, @PathVariable int size,
+            ServletWebRequest webRequest) throws IOException {
+        log.debug("REST request to get the {} pixels thumbnail of the image of Doctor : {}", size, id);
+        if (!DoctorImageDTO.THUMBNAIL_SIZES.contains(size)) {
+            throw new BadRequestAlertException("Thumbnails are " + DoctorImageDTO.THUMBNAIL_SIZES + " pixels large",
+                ENTITY_NAME, "thumbnailsize");
+        }
+        Optional<DoctorImageDTO> thumbnail = doctorImageThumbnailService.findMetadata(id, size);
+        if (thumbnail.isPresent()) {
+            CacheControl cacheControl = CacheControl
+                .maxAge(applicationProperties.getDoctorImage().getThumbnailMaxAgeSeconds(), TimeUnit.SECONDS)
+                .cachePrivate();
+            return stream(webRequest, thumbnail.get(), thumbnail.get().getImageHash() + "-" + size, cacheControl,
+                out -> doctorImageThumbnailService.copyThumbnail(id, size, out));
+        }
+        Optional<DoctorImageDTO> image = doctorImageService.findMetadata(id);
+        if (!image.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        doctorImageThumbnailService.generateIfMissing(id, image.get().getImageHash());
+        return stream(webRequest, image.get(), image.get().getImageHash(), CacheControl.noCache(),
+            out -> doctorImageService.copyImage(id, out));
+    }
+
+    private ResponseEntity<Void> stream(ServletWebRequest webRequest, DoctorImageDTO image, String etag,
+            CacheControl cacheControl, ImageCopier copier) throws IOException {
+        HttpServletResponse response = webRequest.getResponse();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // images stored before their content was checked are only offered as downloads
+        response.setContentType(IMAGE_CONTENT_TYPES.contains(image.getImageContentType())
+            ? image.getImageContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(image.getImageSize());
+        if (!copier.copy(response.getOutputStream())) {
+            // the image was removed since its description was read
+            response.reset();
+            return ResponseEntity.notFound().build();
+        }
+        return null;
+    }
+
+    /**
+     * PUT  /doctors/:id/image : replace the image of a doctor with the request body.
+     * <p>
+     * Only JPEG, PNG, GIF and WebP images are accepted, and their bytes must match the content
+     * type they are sent with, so nothing a browser would run is ever served from the API origin.
+     *
+     * @param id the id of the doctor
+     * @param contentType the content type of the image
+     * @param image the bytes of the image
+     * @return the ResponseEntity with status 200 (OK) and with body the description of the image,
+     * with status 400 (Bad Request) if the body is not a JPEG, PNG, GIF or WebP image of that content type or too large,
+     * or with status 404 (Not Found) if there is no such doctor
+     */
+    @PutMapping(value = "/doctors/{id}/image", consumes = "image/*")
+    public ResponseEntity<DoctorImageDTO> updateDoctorImage(@PathVariable Long id,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, @RequestBody byte[] image) {
+        log.debug("REST request to update the image of Doctor : {}", id);
+        if (image.length == 0) {
+            throw new BadRequestAlertException("An image cannot be empty", ENTITY_NAME, "imageempty");
+        }
+        if (image.length > applicationProperties.getDoctorImage().getMaxSizeBytes()) {
+            throw new BadRequestAlertException("An image cannot be larger than "
+                + applicationProperties.getDoctorImage().getMaxSizeBytes() + " bytes", ENTITY_NAME, "imagetoolarge");
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        String imageContentType = (mediaType.getType() + "/" + mediaType.getSubtype()).toLowerCase(Locale.ROOT);
+        if (!IMAGE_CONTENT_TYPES.contains(imageContentType)) {
+            throw new BadRequestAlertException("An image must be a JPEG, PNG, GIF or WebP image", ENTITY_NAME, "imagetype");
+        }
+        if (!imageContentType.equals(Thumbnails.sniffContentType(image))) {
+            throw new BadRequestAlertException("An image must be of the content type it is sent with", ENTITY_NAME,
+                "imagecontent");
+        }
+        return ResponseUtil.wrapOrNotFound(doctorImageService.save(id, imageContentType, image));
+    }
+
+    /**
+     * DELETE  /doctors/:id/image : remove the image of a doctor.
+     *
+     * @param id the id of the doctor
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @DeleteMapping("/doctors/{id}/image")
+    public ResponseEntity<Void> deleteDoctorImage(@PathVariable Long id) {
+        log.debug("REST request to delete the image of Doctor : {}", id);
+        doctorImageService.delete(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @FunctionalInterface
+    private interface ImageCopier {
+
+        boolean copy(OutputStream out) throws IOException;
+    }
+}
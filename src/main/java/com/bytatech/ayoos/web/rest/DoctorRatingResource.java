@@ -0,0 +1,38 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
+import com.bytatech.ayoos.service.dto.DoctorRatingStatsDTO;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reading the rating aggregates of a doctor.
+ */
+@RestController
+@RequestMapping("/api")
+public class DoctorRatingResource {
+
+    private final Logger log = LoggerFactory.getLogger(DoctorRatingResource.class);
+
+    private final DoctorRatingSummaryService doctorRatingSummaryService;
+
+    public DoctorRatingResource(DoctorRatingSummaryService doctorRatingSummaryService) {
+        this.doctorRatingSummaryService = doctorRatingSummaryService;
+    }
+
+    /**
+     * GET  /doctors/:id/rating-stats : get the number of ratings per star, their count and mean.
+     *
+     * @param id the id of the doctor
+     * @return the ResponseEntity with status 200 (OK) and with body the rating stats, or with status 404 (Not Found)
+     */
+    @GetMapping("/doctors/{id}/rating-stats")
+    public ResponseEntity<DoctorRatingStatsDTO> getDoctorRatingStats(@PathVariable Long id) {
+        log.debug("REST request to get the rating stats of Doctor : {}", id);
+        return ResponseUtil.wrapOrNotFound(doctorRatingSummaryService.findStats(id));
+    }
+}
@@ -4,6 +4,8 @@ import com.bytatech.ayoos.domain.Doctor;
 import com.bytatech.ayoos.domain.DoctorSettings;
 import com.bytatech.ayoos.repository.DoctorSettingsRepository;
 import com.bytatech.ayoos.service.ContactInfoService;
+import com.bytatech.ayoos.service.DoctorAggregateService;
+import com.bytatech.ayoos.service.DoctorOnboardingService;
 import com.bytatech.ayoos.service.DoctorService;
 import com.bytatech.ayoos.service.DoctorSettingsService;
 import com.bytatech.ayoos.service.PaymentSettingsService;
@@ -17,8 +19,7 @@ import com.bytatech.ayoos.web.rest.util.HeaderUtil;
 import com.bytatech.ayoos.web.rest.util.PaginationUtil;
 import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
 import com.bytatech.ayoos.service.dto.DoctorDTO;
-import com.bytatech.ayoos.service.dto.DoctorSettingsDTO;
-import com.bytatech.ayoos.service.dto.PaymentSettingsDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
 import com.bytatech.ayoos.service.mapper.DoctorMapper;
 import com.bytatech.ayoos.service.mapper.DoctorSettingsMapper;
 import com.bytatech.ayoos.service.mapper.PaymentSettingsMapper;
@@ -28,16 +29,17 @@ import com.bytatech.ayoos.service.mapper.ReviewMapper;
 import com.bytatech.ayoos.service.mapper.UserRatingMapper;
 import com.bytatech.ayoos.service.mapper.WorkPlaceMapper;
 import com.bytatech.ayoos.service.mapper.ContactInfoMapper;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -61,9 +63,13 @@ public class DoctorResource {
 
 	private final DoctorService doctorService;
 
+	private final DoctorOnboardingService doctorOnboardingService;
+
 	@Autowired
 	private DoctorMapper doctorMapper;
 	@Autowired
+	DoctorAggregateService doctorAggregateService;
+	@Autowired
 	QualificationService qualificationService;
 	@Autowired
 	QualificationMapper qualificationMapper;
@@ -99,69 +105,54 @@ public class DoctorResource {
 	
 
 
-	public DoctorResource(DoctorService doctorService) {
+	public DoctorResource(DoctorService doctorService, DoctorOnboardingService doctorOnboardingService) {
 		this.doctorService = doctorService;
+		this.doctorOnboardingService = doctorOnboardingService;
 	}
 
 	/**
-	 * POST /doctors : Create a new doctor.
+	 * POST /doctors : Create a new doctor with default doctor settings and payment
+	 * settings.
 	 *
 	 * @param doctorDTO
 	 *            the doctorDTO to create
 	 * @return the ResponseEntity with status 201 (Created) and with body the
 	 *         new doctorDTO, or with status 400 (Bad Request) if the doctor has
-	 *         already an ID
+	 *         already an ID or its doctorId is taken
 	 * @throws URISyntaxException
 	 *             if the Location URI syntax is incorrect
 	 */
 	@PostMapping("/doctors")
 	public ResponseEntity<DoctorDTO> createDoctor(@RequestBody DoctorDTO doctorDTO) throws URISyntaxException {
-		
 		log.debug("REST request to save Doctor : {}", doctorDTO);
-		
-		//..................default settings...........................
-		DoctorSettingsDTO doctorSettings=new DoctorSettingsDTO();
-		
-		doctorSettings.setApprovalType("automatic");
-		
-		doctorSettings.setIsMailNotificationsEnabled(true);
-		
-		doctorSettings.setIsSMSNotificationsEnabled(true);
-		
-		DoctorSettingsDTO dto=doctorSettingsService.save(doctorSettings);
-		
-		//..................default paymentsettings...........................
-		
-		PaymentSettingsDTO payment=new PaymentSettingsDTO();
-		
-		payment.setAmount(100.0);
-		
-		payment.setIsPaymentEnabled(false);
-		
-		payment.setCurrency("INR");
-		
-		PaymentSettingsDTO paymentSettings = paymentSettingsService.save(payment);
-		
-
-		doctorDTO.setDoctorSettingsId(dto.getId());
-		
-		doctorDTO.setPaymentSettingsId(paymentSettings.getId());
-		
-		
 		if (doctorDTO.getId() != null) {
 			throw new BadRequestAlertException("A new doctor cannot already have an ID", ENTITY_NAME, "idexists");
 		}
-		DoctorDTO resultDTO = doctorService.save(doctorDTO);
-
-		if (resultDTO.getId() == null) {
-			throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-		}
-		DoctorDTO result = doctorService.save(resultDTO);
-		
+		DoctorDTO result = doctorOnboardingService.onboard(doctorDTO);
 		return ResponseEntity.created(new URI("/api/doctors/" + result.getId()))
 				.headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString())).body(result);
 	}
 
+	/**
+	 * POST /doctors/bulk : Create doctors, for example the staff of a whole hospital,
+	 * each with default doctor settings and payment settings. Either all of them
+	 * are created or none.
+	 *
+	 * @param doctorDTOs
+	 *            the doctors to create
+	 * @return the ResponseEntity with status 201 (Created) and with body the
+	 *         new doctors, or with status 400 (Bad Request) if a doctor has
+	 *         already an ID, a doctorId is taken or there are too many doctors
+	 */
+	@PostMapping("/doctors/bulk")
+	public ResponseEntity<List<DoctorDTO>> createDoctors(@RequestBody List<DoctorDTO> doctorDTOs) {
+		log.debug("REST request to save {} Doctors", doctorDTOs.size());
+		List<DoctorDTO> result = doctorOnboardingService.onboardAll(doctorDTOs);
+		return ResponseEntity.status(HttpStatus.CREATED)
+				.headers(HeaderUtil.createAlert(result.size() + " " + ENTITY_NAME + " created", Integer.toString(result.size())))
+				.body(result);
+	}
+
 	/**
 	 * PUT /doctors : Updates an existing doctor.
 	 *
@@ -203,66 +194,69 @@ public class DoctorResource {
 
 	/**
 	 * GET /doctors/:id : get the "id" doctor.
+	 * <p>
+	 * The ETag is made of the version and revision of the doctor and the
+	 * versions of its settings, so a request with a matching If-None-Match
+	 * header is answered from the versions alone.
 	 *
 	 * @param id
 	 *            the id of the doctorDTO to retrieve
+	 * @param webRequest
+	 *            the request, used for conditional requests
 	 * @return the ResponseEntity with status 200 (OK) and with body the
-	 *         doctorDTO, or with status 404 (Not Found)
+	 *         doctorDTO, with status 304 (Not Modified), or with status 404
+	 *         (Not Found)
 	 */
 	@GetMapping("/doctors/{id}")
-	public ResponseEntity<DoctorDTO> getDoctor(@PathVariable Long id) {
+	public ResponseEntity<DoctorDTO> getDoctor(@PathVariable Long id, ServletWebRequest webRequest) {
 		log.debug("REST request to get Doctor : {}", id);
+		Optional<DoctorVersionDTO> versions = doctorService.findVersions(id);
+		if (!versions.isPresent()) {
+			return ResponseEntity.notFound().build();
+		}
+		if (webRequest.checkNotModified(versions.get().getETag())) {
+			return null;
+		}
+		// the ETag header is set by the check, an older version only makes the client ask again
 		Optional<DoctorDTO> doctorDTO = doctorService.findOne(id);
-		return ResponseUtil.wrapOrNotFound(doctorDTO);
+		return doctorDTO.map(doctor -> ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(doctor))
+			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
 	/**
-	 * This method is an aggregate to get the doctor details completely in single entity
+	 * GET /doctor/:doctorId : get the doctor with its settings, work places,
+	 * qualifications and most recent reviews in a single aggregate.
+	 * <p>
+	 * The ETag is made of the version and revision of the doctor and the
+	 * versions of its settings, so a
+	 * request with a matching If-None-Match header is answered without
+	 * building the aggregate. An aggregate missing parts that were not read
+	 * in time is marked partial and not stored by clients.
+	 *
+	 * @param doctorId
+	 *            the doctorId of the doctor to retrieve
+	 * @param webRequest
+	 *            the request, used for conditional requests
+	 * @return the ResponseEntity with status 200 (OK) and with body the
+	 *         doctorAggregateDTO, with status 304 (Not Modified), or with
+	 *         status 404 (Not Found)
 	 */
 	@GetMapping("/doctor/{doctorId}")
-	public DoctorAggregateDTO getDoctorByDoctorId(@PathVariable String doctorId) {
-		log.debug("REST request to get Doctor : {}", doctorId);
-
-		DoctorDTO doctorDTO = doctorService.findByDoctorId(doctorId);
-
-		DoctorAggregateDTO doctorAggregate = new DoctorAggregateDTO();
-
-		doctorAggregate.setId(doctorDTO.getId());
-		doctorAggregate.setDoctorId(doctorDTO.getDoctorId());
-		doctorAggregate.setEmail(doctorDTO.getEmail());
-		doctorAggregate.setImageContentType(doctorDTO.getImageContentType());
-		doctorAggregate.setImage(doctorDTO.getImage());
-		doctorAggregate.setPhoneNumber(doctorDTO.getPhoneNumber());
-		doctorAggregate.setRegisterNumber(doctorDTO.getRegisterNumber());
-		doctorAggregate.setSpecialization(doctorDTO.getSpecialization());
-		doctorAggregate.setPracticeSince(doctorDTO.getPracticeSince());
-		doctorAggregate.setFirstName(doctorDTO.getFirstName());
-		doctorAggregate.setTotalRating(doctorDTO.getTotalRating());
-		doctorAggregate
-				.setContactInfo(ContactInfoMapper.toEntity(contactInfoService.findOne(doctorDTO.getContactInfoId()).get()));
-		doctorAggregate.setDoctorSettings(
-				doctorSettingsMapper.toEntity(doctorSettingsService.findOne(doctorDTO.getDoctorSettingsId()).get()));
-		doctorAggregate.setPaymentSettings(
-				paymentSettingsMapper.toEntity(paymentSettingsService.findOne(doctorDTO.getPaymentSettingsId()).get()));
-
-		/*
-		 * doctorAggregate.setQualifications(
-		 * qualificationMapper.toEntity(qualificationService.findByDoctorId(
-		 * doctorDTO.getId())));
-		 */
-
-		/*
-		 * doctorAggregate.setReviews(reviewMapper.toEntity(reviewService.
-		 * findByDoctorId(doctorDTO.getId()))); doctorAggregate
-		 * .setReservedSlots(reservedSlotMapper.toEntity(reservedSlotService.
-		 * findByDoctorId(doctorDTO.getId())));
-		 * doctorAggregate.setWorkPlaces(workPlaceMapper.toEntity(
-		 * workPlaceService.findByDoctorId(doctorDTO.getId())));
-		 * doctorAggregate.setUserRatings(userRatingMapper.toEntity(
-		 * userRatingService.findByDoctorId(doctorDTO.getId())));
-		 */
-
-		return doctorAggregate;
+	public ResponseEntity<DoctorAggregateDTO> getDoctorByDoctorId(@PathVariable String doctorId,
+			ServletWebRequest webRequest) {
+		log.debug("REST request to get Doctor aggregate : {}", doctorId);
+		Optional<DoctorVersionDTO> versions = doctorAggregateService.findVersionsByDoctorId(doctorId);
+		if (!versions.isPresent()) {
+			return ResponseEntity.notFound().build();
+		}
+		if (webRequest.checkNotModified(versions.get().getETag())) {
+			return null;
+		}
+		Optional<DoctorAggregateDTO> doctorAggregate = doctorAggregateService.findByDoctorId(doctorId);
+		// a partial aggregate must not be revalidated with the ETag of the complete one
+		return doctorAggregate.map(aggregate -> ResponseEntity.ok()
+				.cacheControl(aggregate.isPartial() ? CacheControl.noStore() : CacheControl.noCache()).body(aggregate))
+			.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
 	/**
@@ -0,0 +1,63 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.service.LeaderboardService;
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+import com.bytatech.ayoos.web.rest.util.PaginationUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the leaderboards of top rated and trending doctors.
+ */
+@RestController
+@RequestMapping("/api")
+public class LeaderboardResource {
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardResource.class);
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardResource(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * GET  /leaderboards/top-rated : get a page of the best rated doctors.
+     *
+     * @param specialization the specialization of the doctors, all doctors if absent
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of doctors in body, best rated first
+     */
+    @GetMapping("/leaderboards/top-rated")
+    public ResponseEntity<List<DoctorLeaderboardEntryDTO>> getTopRatedDoctors(
+            @RequestParam(required = false) String specialization, Pageable pageable) {
+        log.debug("REST request to get a page of the top rated Doctors of specialization : {}", specialization);
+        Page<DoctorLeaderboardEntryDTO> page = leaderboardService.findTopRated(specialization, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/leaderboards/top-rated");
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * GET  /leaderboards/trending : get a page of the doctors rated most often lately.
+     *
+     * @param specialization the specialization of the doctors, all doctors if absent
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of doctors in body, most often rated first
+     */
+    @GetMapping("/leaderboards/trending")
+    public ResponseEntity<List<DoctorLeaderboardEntryDTO>> getTrendingDoctors(
+            @RequestParam(required = false) String specialization, Pageable pageable) {
+        log.debug("REST request to get a page of the trending Doctors of specialization : {}", specialization);
+        Page<DoctorLeaderboardEntryDTO> page = leaderboardService.findTrending(specialization, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/leaderboards/trending");
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
@@ -2,16 +2,19 @@ package com.bytatech.ayoos.web.rest;
 
 import com.bytatech.ayoos.domain.ReservedSlot;
 import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.service.BookingService;
+import com.bytatech.ayoos.service.ReservationIngestionService;
 import com.bytatech.ayoos.service.ReservedSlotService;
 import com.bytatech.ayoos.service.SessionInfoService;
-import com.bytatech.ayoos.service.StatusService;
+import com.bytatech.ayoos.service.SlotEngineService;
 import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
 import com.bytatech.ayoos.web.rest.util.HeaderUtil;
 import com.bytatech.ayoos.web.rest.util.PaginationUtil;
+import com.bytatech.ayoos.service.dto.ReservationEventDTO;
 import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
 import com.bytatech.ayoos.service.dto.SessionInfoDTO;
-import com.bytatech.ayoos.service.dto.StatusDTO;
 import com.bytatech.ayoos.service.mapper.ReservedSlotMapper;
+import com.bytatech.ayoos.service.slot.ReservationIndex;
 
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
@@ -25,16 +28,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -55,15 +52,20 @@ public class ReservedSlotResource {
 	private static final String ENTITY_NAME = "doctorReservedSlot";
 
 	private final ReservedSlotService reservedSlotService;
-	@Autowired
-	private StatusService statusService;
+
+	private final BookingService bookingService;
 	@Autowired
 	private SessionInfoService sessionInfoService;
 	@Autowired
 	private ReservedSlotMapper reservedSlotMapper;
+	@Autowired
+	private SlotEngineService slotEngineService;
+	@Autowired
+	private ReservationIngestionService reservationIngestionService;
 
-	public ReservedSlotResource(ReservedSlotService reservedSlotService) {
+	public ReservedSlotResource(ReservedSlotService reservedSlotService, BookingService bookingService) {
 		this.reservedSlotService = reservedSlotService;
+		this.bookingService = bookingService;
 	}
 
 	/**
@@ -72,7 +74,7 @@ public class ReservedSlotResource {
 	 * @param reservedSlotDTO the reservedSlotDTO to create
 	 * @return the ResponseEntity with status 201 (Created) and with body the new
 	 *         reservedSlotDTO, or with status 400 (Bad Request) if the reservedSlot
-	 *         has already an ID
+	 *         has already an ID or the slot is already reserved
 	 * @throws URISyntaxException if the Location URI syntax is incorrect
 	 */
 	@PostMapping("/reserved-slots")
@@ -82,11 +84,7 @@ public class ReservedSlotResource {
 		if (reservedSlotDTO.getId() != null) {
 			throw new BadRequestAlertException("A new reservedSlot cannot already have an ID", ENTITY_NAME, "idexists");
 		}
-		ReservedSlotDTO resultDTO = reservedSlotService.save(reservedSlotDTO);
-		if (resultDTO.getId() == null) {
-			throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-		}
-		ReservedSlotDTO result = reservedSlotService.save(resultDTO);
+		ReservedSlotDTO result = bookingService.book(reservedSlotDTO);
 		return ResponseEntity.created(new URI("/api/reserved-slots/" + result.getId()))
 				.headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString())).body(result);
 	}
@@ -97,7 +95,7 @@ public class ReservedSlotResource {
 	 * @param reservedSlotDTO the reservedSlotDTO to update
 	 * @return the ResponseEntity with status 200 (OK) and with body the updated
 	 *         reservedSlotDTO, or with status 400 (Bad Request) if the
-	 *         reservedSlotDTO is not valid, or with status 500 (Internal Server
+	 *         reservedSlotDTO is not valid or its slot is already reserved, or with status 500 (Internal Server
 	 *         Error) if the reservedSlotDTO couldn't be updated
 	 * @throws URISyntaxException if the Location URI syntax is incorrect
 	 */
@@ -108,7 +106,7 @@ public class ReservedSlotResource {
 		if (reservedSlotDTO.getId() == null) {
 			throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
 		}
-		ReservedSlotDTO result = reservedSlotService.save(reservedSlotDTO);
+		ReservedSlotDTO result = bookingService.update(reservedSlotDTO);
 		return ResponseEntity.ok()
 				.headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, reservedSlotDTO.getId().toString()))
 				.body(result);
@@ -133,13 +131,15 @@ public class ReservedSlotResource {
 	 * GET /reserved-slots/:id : get the "id" reservedSlot.
 	 *
 	 * @param id the id of the reservedSlotDTO to retrieve
+	 * @param includeArchived whether to look the reservedSlot up among the archived ones too
 	 * @return the ResponseEntity with status 200 (OK) and with body the
 	 *         reservedSlotDTO, or with status 404 (Not Found)
 	 */
 	@GetMapping("/reserved-slots/{id}")
-	public ResponseEntity<ReservedSlotDTO> getReservedSlot(@PathVariable Long id) {
+	public ResponseEntity<ReservedSlotDTO> getReservedSlot(@PathVariable Long id,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
 		log.debug("REST request to get ReservedSlot : {}", id);
-		Optional<ReservedSlotDTO> reservedSlotDTO = reservedSlotService.findOne(id);
+		Optional<ReservedSlotDTO> reservedSlotDTO = reservedSlotService.findOne(id, includeArchived);
 		return ResponseUtil.wrapOrNotFound(reservedSlotDTO);
 	}
 
@@ -183,6 +183,29 @@ public class ReservedSlotResource {
 		return ResponseEntity.ok().body(dtos);
 	}
 
+	/**
+	 * GET /doctors/:doctorId/reserved-slots : get the reservedSlots of a doctor
+	 * between two dates, both inclusive.
+	 *
+	 * @param doctorId the id of the doctor
+	 * @param from the first date of the range
+	 * @param to the last date of the range
+	 * @param includeArchived whether to include the archived reservedSlots
+	 * @return the ResponseEntity with status 200 (OK) and the list of reservedSlots
+	 *         in body, or with status 400 (Bad Request) if the range is invalid
+	 */
+	@GetMapping("/doctors/{doctorId}/reserved-slots")
+	public ResponseEntity<List<ReservedSlotDTO>> getReservedSlotsOfDoctor(@PathVariable Long doctorId,
+			@RequestParam LocalDate from, @RequestParam LocalDate to,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
+		log.debug("REST request to get ReservedSlots of Doctor : {} from {} to {}", doctorId, from, to);
+		if (to.isBefore(from)) {
+			throw new BadRequestAlertException("The range ends before it starts", ENTITY_NAME, "invalidrange");
+		}
+		return ResponseEntity.ok()
+				.body(reservedSlotService.findByDoctorIdAndDateBetween(doctorId, from, to, includeArchived));
+	}
+
 	@GetMapping("reserved-slot/findBydoctorId/{doctorId}")
 	public void findReservedSlotByDoctorId(@PathVariable Long doctorId) {
 
@@ -195,62 +218,10 @@ public class ReservedSlotResource {
 
 		List<SessionInfoDTO> sessionList = sessionInfoService.findByDate(date);
 
-		List<ReservedSlotDTO> slotsDump = new ArrayList<ReservedSlotDTO>();
-		List<ReservedSlotDTO> reservedSlots = reservedSlotService.findByDoctorId(doctorId);
-
-		Double startTime = 0.0;
-		Double endTime = 0.0;
-
-		for (SessionInfoDTO sessionDTO : sessionList) {
-
-			for (int i = 0; startTime <= sessionDTO.getToTime(); i++) {
-
-				ReservedSlotDTO s = new ReservedSlotDTO();
-
-				if (i == 0) {
-					s.setStartTime(sessionDTO.getFromTime());
-
-				} else {
-
-					s.setStartTime(endTime);
-
-				}
-				BigDecimal bd = new BigDecimal(s.getStartTime() + (sessionDTO.getInterval())).setScale(2,
-						RoundingMode.HALF_UP);
-
-				s.setEndTime(bd.doubleValue());
-				s.setDate(sessionDTO.getDate());
-				s.setId(i + 1L);
-				s.setTokenNumber(i + 1);
-				s.setDoctorId(doctorId);
-				// add doctorid
-
-				slotsDump.add(s);
-
-				startTime = s.getStartTime();
-				endTime = s.getEndTime();
-			}
-
-		}
-		List<ReservedSlotDTO> unreservedSlots = new ArrayList<ReservedSlotDTO>();
-		for (ReservedSlotDTO dto1 : slotsDump) {
-			if (!reservedSlots.isEmpty()) {
-				System.out.println("1111111111111111111111111111111" + reservedSlots);
-				for (ReservedSlotDTO dto2 : reservedSlots) {
-					if (!dto1.equals(dto2)) {
-						System.out.println("33333333333333333333333333333333333");
-						unreservedSlots.add(dto1);
-					}
-
-				}
-			} else {
-				System.out.println("2222222222222222222222222222222");
-				unreservedSlots.add(dto1);
-			}
-		}
-
-		return unreservedSlots;
+		ReservationIndex reservations = ReservationIndex.of(date, date,
+				reservedSlotService.findByDoctorIdAndDateBetween(doctorId, date, date));
 
+		return slotEngineService.generateFreeSlots(sessionList, reservations, doctorId);
 	}
 
 	@GetMapping("/test1/{date}/{doctorId}")
@@ -263,158 +234,51 @@ public class ReservedSlotResource {
 	@GetMapping("/test2/{date}/{doctorId}")
 	public List<ReservedSlotDTO> test2(@PathVariable String date, @PathVariable Long doctorId) {
 
-		List<SessionInfoDTO> sessionList = sessionInfoService.findByDate(LocalDate.parse(date));
-
-		List<ReservedSlotDTO> slotsDump = new ArrayList<ReservedSlotDTO>();
-		List<ReservedSlotDTO> reservedSlots = reservedSlotService.findByDoctorId(doctorId);
-
-		Double startTime = 0.0;
-		Double endTime = 0.0;
-
-		for (SessionInfoDTO sessionDTO : sessionList) {
-
-			for (int i = 0; startTime < sessionDTO.getToTime(); i++) {
-				log.debug(startTime + ">>>>>>>>>>>>>>>>>>>>CONDITION>>>>>>>>>>>>>>>>>>>>>>>>" + sessionDTO.getToTime());
-				ReservedSlotDTO s = new ReservedSlotDTO();
-
-				if (i == 0) {
-					s.setStartTime(sessionDTO.getFromTime());
-
-				} else {
-					// endTime = s.getToTime();
-					s.setStartTime(endTime);
-
-				}
-				BigDecimal startTimeBD = new BigDecimal(s.getStartTime()).setScale(2, RoundingMode.HALF_UP);
-				BigDecimal intervalBD = new BigDecimal(sessionDTO.getInterval()).setScale(2, RoundingMode.HALF_UP);
-
-				BigDecimal bd = new BigDecimal(startTimeBD.doubleValue() + intervalBD.doubleValue()).setScale(2,
-						RoundingMode.HALF_UP);
-
-				// point value exceed 60 handling
-				String bdString = bd.toString();
-				
-				int indexOfDecimal = bdString.indexOf(".");
-				
-				String integerPart = bdString.substring(0, indexOfDecimal);
-				
-				String point = bdString.substring(indexOfDecimal);
-				
-				log.debug(bdString + ">>>>>>>>>>>>>>>>>>>>>>>>>" + Double.parseDouble(point));
-				
-				if (Double.parseDouble(point) >= .60) {
-					
-					Double doubleValue = Double.parseDouble(integerPart);
-					
-					doubleValue++;
-					
-					log.debug(",,,,,,,," + doubleValue);
-					
-					s.setEndTime(doubleValue);
-					
-					log.debug("...............................if..................................." + s.getEndTime());
-
-				} else {
-					log.debug(".............................else.....................................");
-					s.setEndTime(bd.doubleValue());
-				}
-				s.setDate(sessionDTO.getDate());
-				
-				s.setId(i + 1L);
-				
-				s.setTokenNumber(i + 1);
-				
-				s.setDoctorId(doctorId);
-
-				slotsDump.add(s);
-
-				startTime = s.getEndTime();
-				
-				endTime = s.getEndTime();
-
-				log.debug(startTime + ".................................................................." + endTime);
-
-			}
+		LocalDate day = LocalDate.parse(date);
 
-		}
-		
-		//comparing reserved and unserved slots so that unreserved slots are splited accordingly
-		
-		List<ReservedSlotDTO> unreservedSlots = new ArrayList<ReservedSlotDTO>();
-		
-		for (ReservedSlotDTO dto1 : slotsDump) {
-			
-			if (!reservedSlots.isEmpty()) {
-				
-				System.out.println("1111111111111111111111111111111" + reservedSlots);
-				
-				for (ReservedSlotDTO dto2 : reservedSlots) {
-					
-					if (!dto1.equals(dto2)) {
-						
-						System.out.println("33333333333333333333333333333333333");
-						
-						unreservedSlots.add(dto1);
-					}
-
-				}
-			} else {
-				
-				System.out.println("2222222222222222222222222222222");
-				
-				unreservedSlots.add(dto1);
-			}
-		}
+		List<SessionInfoDTO> sessionList = sessionInfoService.findByDate(day);
+
+		// index the doctor's reservations of the day once, so that each free slot is kept exactly once
+		ReservationIndex reservations = ReservationIndex.of(day, day,
+				reservedSlotService.findByDoctorIdAndDateBetween(doctorId, day, day));
 
-		return unreservedSlots;
+		return slotEngineService.generateFreeSlots(sessionList, reservations, doctorId);
 	}
 
-	/*
-	 * Get all unreserved slots with status comparison
+	/**
+	 * GET /unReserved-slots : get the reservedSlots having a status with the given
+	 * value, "booked" by default.
+	 *
+	 * @param status the status value to match
+	 * @param pageable the pagination information
+	 * @return the ResponseEntity with status 200 (OK) and the list of reservedSlots
+	 *         in body
 	 */
 	@GetMapping("/unReserved-slots")
-	public List<ReservedSlotDTO> getAllUnReservedSlots(Pageable pageable) {
-		List<ReservedSlotDTO> slots = reservedSlotService.findAll(pageable).getContent();
-		List<ReservedSlotDTO> unreservedSlots = new ArrayList<ReservedSlotDTO>();
-		for (ReservedSlotDTO slot : slots) {
-
-			StatusDTO status = statusService.findByReservedSlotId(slot.getId());
-
-			if (status != null) {
-
-				if ((status.getStatus().equalsIgnoreCase("booked"))) {
-
-					unreservedSlots.add(slot);
-				}
-			}
-		}
-		return unreservedSlots;
+	public ResponseEntity<List<ReservedSlotDTO>> getAllUnReservedSlots(
+			@RequestParam(defaultValue = "booked") String status, Pageable pageable) {
+		log.debug("REST request to get a page of ReservedSlots with status : {}", status);
+		Page<ReservedSlotDTO> page = reservedSlotService.findAllByStatus(status, pageable);
+		HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/unReserved-slots");
+		return ResponseEntity.ok().headers(headers).body(page.getContent());
 	}
+
 	/*
 	 * @GetMapping("/status/{reserveredSlotId}") public StatusDTO
 	 * getStatus(@PathVariable Long reserveredSlotId){ return
 	 * statusService.findByReservedSlotId(reserveredSlotId); }
 	 */
-/*
- * TO-DO
- * Here want to save the reserved slots from kafka posted via  activity
- */
+	/**
+	 * POST /createReservedSlot-kafka : Store a batch of reservations posted by the
+	 * activity service. The same batches are consumed from the reservations topic.
+	 *
+	 * @param events the reservations to store
+	 * @return the ResponseEntity with status 200 (OK) and with body the number of
+	 *         reservations stored
+	 */
 	@PostMapping("/createReservedSlot-kafka")
-	public void createReservedSlot() {
-		// kafka configuration
-		// consume/listen to data save it
-		Long startTime = 1499070300L;
-		;
-		Long endTime;
-		Long dateLong;
-		Integer tokenNumber;
-
-		LocalDate date = Instant.ofEpochMilli(startTime).atZone(ZoneOffset.ofHoursMinutes(5, 30)).toLocalDate();
-
-		LocalTime time = Instant.ofEpochMilli(startTime).atZone(ZoneOffset.ofHoursMinutes(5, 30)).toLocalTime()
-				.truncatedTo(ChronoUnit.MINUTES);
-		String t = time + "";
-		Double d = Double.parseDouble(t.replace(":", "."));
-
+	public ResponseEntity<Integer> ingestReservedSlots(@RequestBody List<ReservationEventDTO> events) {
+		log.debug("REST request to ingest {} ReservedSlots", events.size());
+		return ResponseEntity.ok().body(reservationIngestionService.ingest(events));
 	}
 }
@@ -15,6 +15,7 @@ import com.bytatech.ayoos.web.rest.util.PaginationUtil;
 import com.bytatech.ayoos.service.dto.DoctorDTO;
 import com.bytatech.ayoos.service.dto.ReviewDTO;
 import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.dto.SessionUpsertResultDTO;
 import com.bytatech.ayoos.service.dto.WorkPlaceDTO;
 import com.bytatech.ayoos.service.mapper.DoctorMapper;
 import com.bytatech.ayoos.service.mapper.ReviewMapper;
@@ -35,14 +36,10 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.TreeSet;
@@ -143,13 +140,15 @@ public class SessionInfoResource {
 	 * GET /session-infos/:id : get the "id" sessionInfo.
 	 *
 	 * @param id the id of the sessionInfoDTO to retrieve
+	 * @param includeArchived whether to look the sessionInfo up among the archived ones too
 	 * @return the ResponseEntity with status 200 (OK) and with body the
 	 *         sessionInfoDTO, or with status 404 (Not Found)
 	 */
 	@GetMapping("/session-infos/{id}")
-	public ResponseEntity<SessionInfoDTO> getSessionInfo(@PathVariable Long id) {
+	public ResponseEntity<SessionInfoDTO> getSessionInfo(@PathVariable Long id,
+			@RequestParam(defaultValue = "false") boolean includeArchived) {
 		log.debug("REST request to get SessionInfo : {}", id);
-		Optional<SessionInfoDTO> sessionInfoDTO = sessionInfoService.findOne(id);
+		Optional<SessionInfoDTO> sessionInfoDTO = sessionInfoService.findOne(id, includeArchived);
 		return ResponseUtil.wrapOrNotFound(sessionInfoDTO);
 	}
 
@@ -199,85 +198,17 @@ public class SessionInfoResource {
 	 * releases
 	 */
 	@PostMapping("/createSessionInfo")
-	public List<SessionInfoDTO> setSessionToMonth(@RequestBody List<SessionInfoDTO> sessionList,
-			@RequestParam List<Integer> monthList) throws ParseException {
-		// actually we need two type of session creation one by from date to two date
-		// and another by monthwise
-
-		Date currentdate = new Date();// new SimpleDateFormat("dd-MM-yyyy").parse("01-" + monthList + "-2019");
-
-		Calendar c = Calendar.getInstance();
-
-		c.setTime(currentdate);
-
-		List<SessionInfoDTO> sessionDTO = new ArrayList<SessionInfoDTO>();
-
+	public ResponseEntity<List<SessionInfoDTO>> setSessionToMonth(@RequestBody List<SessionInfoDTO> sessionList,
+			@RequestParam List<Integer> monthList) {
+		// months are numbered from 0 like Calendar.MONTH, and filled from today on
+		List<LocalDate> dates = new ArrayList<>();
+		LocalDate date = LocalDate.now();
 		for (Integer monthReff : monthList) {
-
-			log.info(".................monthList..................." + monthList);
-
-			log.info("..........monthReff in........" + monthReff + ".........c.get(Calendar.MONTH)......."
-					+ c.get(Calendar.MONTH));
-
-			for (int i = 0; monthReff == (c.get(Calendar.MONTH)); i++) {
-
-				int weekRef = c.get(Calendar.DAY_OF_WEEK);
-
-				for (SessionInfoDTO sDTO : sessionList) {
-
-					log.info("..........weekRef............" + weekRef + ".......sDTO.getWeekDay()........"
-							+ sDTO.getWeekDay());
-
-					if (weekRef == sDTO.getWeekDay()) {
-
-						SessionInfo s = new SessionInfo();
-
-						s.setSessionName(sDTO.getSessionName());
-
-						s.setDate(c.getTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
-
-						s.setWeekDay(weekRef);
-
-						s.setFromTime(sDTO.getFromTime());
-
-						s.setToTime(sDTO.getToTime());
-
-						s.setInterval(sDTO.getInterval());
-
-						/*
-						 * if(s.getFromTime()<=11){ s.setSessionName("Morning Session"); }else
-						 * if(s.getFromTime()>11&&s.getFromTime()>=14){
-						 * s.setSessionName("Morning Session"); }else if(s.getFromTime()>14)
-						 */
-						log.info("...............workplaceid.................." + sDTO.getWorkPlaceId());
-						WorkPlaceDTO workplaceDTO = workPlaceService.findOne(sDTO.getWorkPlaceId()).get();
-
-						s.setWorkPlace(workPlaceMapper.toEntity(workplaceDTO));
-
-						if (s.getId() != null) {
-
-							throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-						}
-
-						SessionInfoDTO Sessiondto = sessionInfoMapper.toDto(s);
-
-						SessionInfoDTO dto = sessionInfoService.save(Sessiondto);
-
-						if (dto.getId() == null) {
-							throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-						}
-
-						SessionInfoDTO result = sessionInfoService.save(dto);
-
-						sessionDTO.add(dto);
-					}
-				}
-
-				c.add(Calendar.DAY_OF_MONTH, +1);
-
+			for (; monthReff == date.getMonthValue() - 1; date = date.plusDays(1)) {
+				dates.add(date);
 			}
 		}
-		return sessionDTO;
+		return upserted(sessionInfoService.generateSessions(sessionList, dates));
 	}
 
 	/*
@@ -285,72 +216,40 @@ public class SessionInfoResource {
 	 * method for session creation
 	 */
 	@PostMapping("/sessionInfoByDate/{fromDate}/{toDate}")
-	public List<SessionInfoDTO> setSessionByDates(@RequestBody List<SessionInfoDTO> sessionList,
-			@PathVariable String fromDate, @PathVariable String toDate) throws ParseException {
-
-		Date from_Date = new SimpleDateFormat("dd-MM-yyyy").parse(fromDate);
-		Date to_Date = new SimpleDateFormat("dd-MM-yyyy").parse(toDate);
-
-		Calendar c = Calendar.getInstance();
-
-		c.setTime(from_Date);
-
-		List<SessionInfoDTO> sessionDTO = new ArrayList<SessionInfoDTO>();
-
-		if (from_Date.before(to_Date)) {
-			for (int i = 0; !to_Date.equals(c.getTime()); i++) {
-
-				int weekRef = c.get(Calendar.DAY_OF_WEEK);
-
-				for (SessionInfoDTO sDTO : sessionList) {
-
-					log.info("..........weekRef............" + weekRef + ".......sDTO.getWeekDay()........"
-							+ sDTO.getWeekDay());
-
-					if (weekRef == sDTO.getWeekDay()) {
-
-						SessionInfo s = new SessionInfo();
-
-						s.setSessionName(sDTO.getSessionName());
-
-						s.setDate(c.getTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
-
-						s.setWeekDay(weekRef);
-
-						s.setFromTime(sDTO.getFromTime());
-
-						s.setToTime(sDTO.getToTime());
-
-						s.setInterval(sDTO.getInterval());
-						log.info("...............workplaceid.................." + sDTO.getWorkPlaceId());
-						WorkPlaceDTO workplaceDTO = workPlaceService.findOne(sDTO.getWorkPlaceId()).get();
-
-						s.setWorkPlace(workPlaceMapper.toEntity(workplaceDTO));
-
-						if (s.getId() != null) {
-
-							throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-						}
-
-						SessionInfoDTO Sessiondto = sessionInfoMapper.toDto(s);
-
-						SessionInfoDTO dto = sessionInfoService.save(Sessiondto);
-
-						if (dto.getId() == null) {
-							throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-						}
+	public ResponseEntity<List<SessionInfoDTO>> setSessionByDates(@RequestBody List<SessionInfoDTO> sessionList,
+			@PathVariable String fromDate, @PathVariable String toDate) {
+		// the last date is excluded
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+		LocalDate to = LocalDate.parse(toDate, formatter);
+		List<LocalDate> dates = new ArrayList<>();
+		for (LocalDate date = LocalDate.parse(fromDate, formatter); date.isBefore(to); date = date.plusDays(1)) {
+			dates.add(date);
+		}
+		return upserted(sessionInfoService.generateSessions(sessionList, dates));
+	}
 
-						SessionInfoDTO result = sessionInfoService.save(dto);
+	/**
+	 * POST /session-infos/upsert : Insert sessions, skipping those whose workplace,
+	 * date and start time match an existing session, so a call can safely be repeated.
+	 *
+	 * @param sessionInfoDTOs the sessions to insert
+	 * @return the ResponseEntity with status 200 (OK) and with body the inserted
+	 *         sessions and the inserted and skipped counts, or with status 400 (Bad
+	 *         Request) if a session misses its key or has an unknown workplace
+	 */
+	@PostMapping("/session-infos/upsert")
+	public ResponseEntity<SessionUpsertResultDTO> upsertSessionInfos(@RequestBody List<SessionInfoDTO> sessionInfoDTOs) {
+		log.debug("REST request to upsert {} SessionInfos", sessionInfoDTOs.size());
+		SessionUpsertResultDTO result = sessionInfoService.upsertSessions(sessionInfoDTOs);
+		return ResponseEntity.ok()
+				.headers(HeaderUtil.createUpsertAlert(ENTITY_NAME, result.getInserted(), result.getSkipped()))
+				.body(result);
+	}
 
-						sessionDTO.add(dto);
-					}
-				}
-				// System.out.println(".........to_Date1........"+to_Date+"..............."+".........c.getTime()........"+c.getTime()+".........."+to_Date.equals(c.getTime()));
-				c.add(Calendar.DAY_OF_MONTH, +1);
-				// System.out.println(".........to_Date2........"+to_Date+"..............."+".........c.getTime()........"+c.getTime()+".........."+to_Date.equals(c.getTime()));
-			}
-		}
-		return sessionDTO;
+	private static ResponseEntity<List<SessionInfoDTO>> upserted(SessionUpsertResultDTO result) {
+		return ResponseEntity.ok()
+				.headers(HeaderUtil.createUpsertAlert(ENTITY_NAME, result.getInserted(), result.getSkipped()))
+				.body(result.getSessions());
 	}
 
 	/*
@@ -0,0 +1,155 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.service.SessionRuleService;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
+import com.bytatech.ayoos.web.rest.util.HeaderUtil;
+import com.bytatech.ayoos.web.rest.util.PaginationUtil;
+import com.bytatech.ayoos.service.dto.SessionRuleDTO;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for managing SessionRule, the weekly sessions of a workplace.
+ */
+@RestController
+@RequestMapping("/api")
+public class SessionRuleResource {
+
+    private final Logger log = LoggerFactory.getLogger(SessionRuleResource.class);
+
+    private static final String ENTITY_NAME = "doctorSessionRule";
+
+    private final SessionRuleService sessionRuleService;
+
+    public SessionRuleResource(SessionRuleService sessionRuleService) {
+        this.sessionRuleService = sessionRuleService;
+    }
+
+    /**
+     * POST  /session-rules : Create a new sessionRule.
+     *
+     * @param sessionRuleDTO the sessionRuleDTO to create
+     * @return the ResponseEntity with status 201 (Created) and with body the new sessionRuleDTO, or with status 400 (Bad Request) if the sessionRule has already an ID
+     * @throws URISyntaxException if the Location URI syntax is incorrect
+     */
+    @PostMapping("/session-rules")
+    public ResponseEntity<SessionRuleDTO> createSessionRule(@Valid @RequestBody SessionRuleDTO sessionRuleDTO) throws URISyntaxException {
+        log.debug("REST request to save SessionRule : {}", sessionRuleDTO);
+        if (sessionRuleDTO.getId() != null) {
+            throw new BadRequestAlertException("A new sessionRule cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        validateRange(sessionRuleDTO);
+        SessionRuleDTO result = sessionRuleService.save(sessionRuleDTO);
+        return ResponseEntity.created(new URI("/api/session-rules/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * PUT  /session-rules : Updates an existing sessionRule; its exception dates are kept.
+     *
+     * @param sessionRuleDTO the sessionRuleDTO to update
+     * @return the ResponseEntity with status 200 (OK) and with body the updated sessionRuleDTO,
+     * or with status 400 (Bad Request) if the sessionRuleDTO is not valid
+     */
+    @PutMapping("/session-rules")
+    public ResponseEntity<SessionRuleDTO> updateSessionRule(@Valid @RequestBody SessionRuleDTO sessionRuleDTO) {
+        log.debug("REST request to update SessionRule : {}", sessionRuleDTO);
+        if (sessionRuleDTO.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        validateRange(sessionRuleDTO);
+        SessionRuleDTO result = sessionRuleService.save(sessionRuleDTO);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, sessionRuleDTO.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * GET  /session-rules : get all the sessionRules.
+     *
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of sessionRules in body
+     */
+    @GetMapping("/session-rules")
+    public ResponseEntity<List<SessionRuleDTO>> getAllSessionRules(Pageable pageable) {
+        log.debug("REST request to get a page of SessionRules");
+        Page<SessionRuleDTO> page = sessionRuleService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/session-rules");
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * GET  /session-rules/:id : get the "id" sessionRule.
+     *
+     * @param id the id of the sessionRuleDTO to retrieve
+     * @return the ResponseEntity with status 200 (OK) and with body the sessionRuleDTO, or with status 404 (Not Found)
+     */
+    @GetMapping("/session-rules/{id}")
+    public ResponseEntity<SessionRuleDTO> getSessionRule(@PathVariable Long id) {
+        log.debug("REST request to get SessionRule : {}", id);
+        Optional<SessionRuleDTO> sessionRuleDTO = sessionRuleService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(sessionRuleDTO);
+    }
+
+    /**
+     * DELETE  /session-rules/:id : delete the "id" sessionRule.
+     *
+     * @param id the id of the sessionRuleDTO to delete
+     * @return the ResponseEntity with status 200 (OK)
+     */
+    @DeleteMapping("/session-rules/{id}")
+    public ResponseEntity<Void> deleteSessionRule(@PathVariable Long id) {
+        log.debug("REST request to delete SessionRule : {}", id);
+        sessionRuleService.delete(id);
+        return ResponseEntity.ok().headers(HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id.toString())).build();
+    }
+
+    /**
+     * POST  /session-rules/:id/exceptions/:date : skip the "id" sessionRule on a date.
+     *
+     * @param id the id of the sessionRuleDTO
+     * @param date the date to skip, as yyyy-MM-dd
+     * @return the ResponseEntity with status 200 (OK) and with body the updated sessionRuleDTO, or with status 404 (Not Found)
+     */
+    @PostMapping("/session-rules/{id}/exceptions/{date}")
+    public ResponseEntity<SessionRuleDTO> addSessionRuleException(@PathVariable Long id, @PathVariable LocalDate date) {
+        log.debug("REST request to skip SessionRule : {} on {}", id, date);
+        return ResponseUtil.wrapOrNotFound(sessionRuleService.addException(id, date),
+            HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString()));
+    }
+
+    /**
+     * DELETE  /session-rules/:id/exceptions/:date : hold the "id" sessionRule again on a skipped date.
+     *
+     * @param id the id of the sessionRuleDTO
+     * @param date the skipped date, as yyyy-MM-dd
+     * @return the ResponseEntity with status 200 (OK) and with body the updated sessionRuleDTO, or with status 404 (Not Found)
+     */
+    @DeleteMapping("/session-rules/{id}/exceptions/{date}")
+    public ResponseEntity<SessionRuleDTO> removeSessionRuleException(@PathVariable Long id, @PathVariable LocalDate date) {
+        log.debug("REST request to stop skipping SessionRule : {} on {}", id, date);
+        return ResponseUtil.wrapOrNotFound(sessionRuleService.removeException(id, date),
+            HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString()));
+    }
+
+    private static void validateRange(SessionRuleDTO sessionRuleDTO) {
+        if (sessionRuleDTO.getValidTo() != null && sessionRuleDTO.getValidTo().isBefore(sessionRuleDTO.getValidFrom())) {
+            throw new BadRequestAlertException("A sessionRule cannot end before it starts", ENTITY_NAME, "invalidrange");
+        }
+    }
+}
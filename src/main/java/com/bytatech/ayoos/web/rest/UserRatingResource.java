@@ -1,12 +1,12 @@
 package com.bytatech.ayoos.web.rest;
 
 import com.bytatech.ayoos.domain.UserRating;
-import com.bytatech.ayoos.service.DoctorService;
+import com.bytatech.ayoos.security.AuthoritiesConstants;
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
 import com.bytatech.ayoos.service.UserRatingService;
 import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
 import com.bytatech.ayoos.web.rest.util.HeaderUtil;
 import com.bytatech.ayoos.web.rest.util.PaginationUtil;
-import com.bytatech.ayoos.service.dto.DoctorDTO;
 import com.bytatech.ayoos.service.dto.UserRatingDTO;
 import com.bytatech.ayoos.service.mapper.UserRatingMapper;
 
@@ -19,10 +19,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -46,17 +45,11 @@ public class UserRatingResource {
 	private final UserRatingService userRatingService;
 
 	@Autowired
-	private DoctorService doctorService;
+	private DoctorRatingSummaryService doctorRatingSummaryService;
 	
 	@Autowired
 	UserRatingMapper userRatingMapper;
 
-	private static Integer fiveCount = 0;
-	private static Integer fourCount = 0;
-	private static Integer threeCount = 0;
-	private static Integer twoCount = 0;
-	private static Integer oneCount = 0;
-
 	public UserRatingResource(UserRatingService userRatingService) {
 		this.userRatingService = userRatingService;
 	}
@@ -79,11 +72,7 @@ public class UserRatingResource {
         if (userRatingDTO.getId() != null) {
             throw new BadRequestAlertException("A new userRating cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        UserRatingDTO result1 = userRatingService.save(userRatingDTO);
-        if (result1.getId() == null) {
-            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
-        }
-        UserRatingDTO result = userRatingService.save(result1);
+        UserRatingDTO result = userRatingService.save(userRatingDTO);
 		return ResponseEntity.created(new URI("/api/user-ratings/" + result.getId()))
 				.headers(HeaderUtil.createEntityCreationAlert(ENTITY_NAME, result.getId().toString())).body(result);
 
@@ -178,6 +167,20 @@ public class UserRatingResource {
 		return ResponseEntity.ok().headers(headers).body(page.getContent());
 	}
 
+	/**
+	 * POST /user-ratings/summaries/rebuild : recompute the rating summaries and
+	 * total ratings of all doctors from the stored ratings.
+	 *
+	 * @return the ResponseEntity with status 200 (OK) and the number of rated
+	 *         doctors in body
+	 */
+	@PostMapping("/user-ratings/summaries/rebuild")
+	@PreAuthorize("hasRole(\"" + AuthoritiesConstants.ADMIN + "\")")
+	public ResponseEntity<Integer> rebuildRatingSummaries() {
+		log.debug("REST request to rebuild the rating summaries");
+		return ResponseEntity.ok().body(doctorRatingSummaryService.rebuild());
+	}
+
 	@GetMapping("/user-ratings/findBydoctorId/{doctorId}")
 	public List<UserRatingDTO> getUserRatingBydoctorId(@PathVariable Long doctorId) {
 		return userRatingService.findByDoctorId(doctorId);
@@ -0,0 +1,10 @@
+package com.bytatech.ayoos.web.rest.errors;
+
+public class SlotAlreadyReservedException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SlotAlreadyReservedException() {
+        super(ErrorConstants.SLOT_ALREADY_RESERVED_TYPE, "Slot is already reserved!", "doctorReservedSlot", "slotreserved");
+    }
+}
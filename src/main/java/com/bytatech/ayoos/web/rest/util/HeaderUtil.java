@@ -35,6 +35,14 @@ public final class HeaderUtil {
         return createAlert("A " + entityName + " is deleted with identifier " + param, param);
     }
 
+    public static HttpHeaders createUpsertAlert(String entityName, int inserted, int skipped) {
+        HttpHeaders headers = createAlert(inserted + " " + entityName + " inserted, " + skipped + " already existing skipped",
+            Integer.toString(inserted));
+        headers.add("X-Inserted-Count", Integer.toString(inserted));
+        headers.add("X-Skipped-Count", Integer.toString(skipped));
+        return headers;
+    }
+
     public static HttpHeaders createFailureAlert(String entityName, String errorKey, String defaultMessage) {
         log.error("Entity processing failed, {}", defaultMessage);
         HttpHeaders headers = new HttpHeaders();
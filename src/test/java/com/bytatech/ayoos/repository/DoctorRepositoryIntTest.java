@@ -0,0 +1,108 @@
+package com.bytatech.ayoos.repository;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.service.DoctorService;
+import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.mapper.DoctorMapper;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the natural id lookups of the DoctorRepository.
+ *
+ * @see DoctorRepositoryImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class DoctorRepositoryIntTest {
+
+    private static final String DOCTOR_ID = "NATURAL-ID";
+
+    private static final String RENAMED_DOCTOR_ID = "NATURAL-ID-RENAMED";
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorMapper doctorMapper;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    public void resolvesTheNaturalIdThroughTheCache() {
+        IMap<String, Long> naturalIdMap = hazelcastInstance.getMap(DoctorRepositoryCustom.DOCTOR_NATURAL_ID_MAP);
+        DoctorDTO doctorDTO = doctorService.save(doctorMapper.toDto(
+            DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID)));
+        try {
+            assertThat(doctorRepository.findIdByNaturalId(DOCTOR_ID)).contains(doctorDTO.getId());
+            assertThat(naturalIdMap.get(DOCTOR_ID)).isEqualTo(doctorDTO.getId());
+            assertThat(doctorService.findByDoctorId(DOCTOR_ID).getId()).isEqualTo(doctorDTO.getId());
+
+            doctorDTO.setDoctorId(RENAMED_DOCTOR_ID);
+            doctorService.save(doctorDTO);
+
+            assertThat(naturalIdMap.containsKey(DOCTOR_ID)).isFalse();
+            assertThat(doctorService.findByDoctorId(DOCTOR_ID)).isNull();
+            assertThat(doctorService.findByDoctorId(RENAMED_DOCTOR_ID).getId()).isEqualTo(doctorDTO.getId());
+            assertThat(naturalIdMap.get(RENAMED_DOCTOR_ID)).isEqualTo(doctorDTO.getId());
+
+            doctorService.delete(doctorDTO.getId());
+
+            assertThat(naturalIdMap.containsKey(RENAMED_DOCTOR_ID)).isFalse();
+            assertThat(doctorRepository.findIdByNaturalId(RENAMED_DOCTOR_ID)).isEmpty();
+        } finally {
+            doctorRepository.findById(doctorDTO.getId()).ifPresent(doctorRepository::delete);
+            naturalIdMap.delete(DOCTOR_ID);
+            naturalIdMap.delete(RENAMED_DOCTOR_ID);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void dropsAStaleCachedId() {
+        IMap<String, Long> naturalIdMap = hazelcastInstance.getMap(DoctorRepositoryCustom.DOCTOR_NATURAL_ID_MAP);
+        Doctor doctor = DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID);
+        em.persist(doctor);
+        naturalIdMap.set(DOCTOR_ID, Long.MAX_VALUE);
+        try {
+            assertThat(doctorRepository.findOneByNaturalId(DOCTOR_ID)).contains(doctor);
+            // not cached again from a read-write transaction, which could still roll back
+            assertThat(naturalIdMap.containsKey(DOCTOR_ID)).isFalse();
+        } finally {
+            naturalIdMap.delete(DOCTOR_ID);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void rejectsADuplicateNaturalId() {
+        em.persist(DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID));
+
+        assertThatThrownBy(() -> {
+            em.persist(DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID));
+            em.flush();
+        }).isInstanceOf(PersistenceException.class);
+    }
+}
@@ -0,0 +1,181 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.domain.Status;
+import com.bytatech.ayoos.domain.WorkPlace;
+import com.bytatech.ayoos.repository.ReservedSlotRepository;
+import com.bytatech.ayoos.repository.SessionInfoRepository;
+import com.bytatech.ayoos.repository.StatusRepository;
+import com.bytatech.ayoos.repository.search.ReservedSlotSearchRepository;
+import com.bytatech.ayoos.repository.search.SessionInfoSearchRepository;
+import com.bytatech.ayoos.repository.search.StatusSearchRepository;
+import com.bytatech.ayoos.service.dto.ArchivalResultDTO;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+import com.bytatech.ayoos.web.rest.WorkPlaceResourceIntTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the ArchivalService.
+ *
+ * @see ArchivalService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+@Transactional
+public class ArchivalServiceIntTest {
+
+    private static final LocalDate OLD_DATE = LocalDate.of(2019, 5, 1);
+
+    private static final LocalDate HORIZON = OLD_DATE.plusDays(1);
+
+    @Autowired
+    private ArchivalService archivalService;
+
+    @Autowired
+    private ReservedSlotService reservedSlotService;
+
+    @Autowired
+    private SessionInfoRepository sessionInfoRepository;
+
+    @Autowired
+    private ReservedSlotRepository reservedSlotRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    /**
+     * These repositories are mocked in the com.bytatech.ayoos.repository.search test package.
+     */
+    @Autowired
+    private SessionInfoSearchRepository mockSessionInfoSearchRepository;
+
+    @Autowired
+    private ReservedSlotSearchRepository mockReservedSlotSearchRepository;
+
+    @Autowired
+    private StatusSearchRepository mockStatusSearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Doctor doctor;
+
+    private SessionInfo oldSession;
+
+    private SessionInfo currentSession;
+
+    private ReservedSlot oldReservedSlot;
+
+    private ReservedSlot currentReservedSlot;
+
+    private Status oldStatus;
+
+    @Before
+    public void init() {
+        doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        WorkPlace workPlace = WorkPlaceResourceIntTest.createEntity(em).doctor(doctor);
+        em.persist(workPlace);
+        oldSession = session(workPlace, OLD_DATE);
+        currentSession = session(workPlace, HORIZON);
+        oldReservedSlot = reservedSlot(OLD_DATE);
+        currentReservedSlot = reservedSlot(HORIZON);
+        oldStatus = new Status().status("booked").reservedSlot(oldReservedSlot);
+        em.persist(oldStatus);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void archiveMovesOldRowsToHistory() {
+        ArchivalResultDTO result = archivalService.archiveBefore(HORIZON);
+
+        assertThat(result.getSessionInfos()).isGreaterThanOrEqualTo(1);
+        assertThat(result.getReservedSlots()).isGreaterThanOrEqualTo(1);
+        assertThat(result.getStatuses()).isGreaterThanOrEqualTo(1);
+
+        // the hot tables keep the rows from the horizon on
+        assertThat(sessionInfoRepository.findById(oldSession.getId())).isEmpty();
+        assertThat(sessionInfoRepository.findById(currentSession.getId())).isPresent();
+        assertThat(reservedSlotRepository.findById(oldReservedSlot.getId())).isEmpty();
+        assertThat(reservedSlotRepository.findById(currentReservedSlot.getId())).isPresent();
+        assertThat(statusRepository.findById(oldStatus.getId())).isEmpty();
+
+        // the archived rows are dropped from the search indices
+        verify(mockSessionInfoSearchRepository, atLeastOnce()).deleteAll(anyIterable());
+        verify(mockReservedSlotSearchRepository, atLeastOnce()).deleteAll(anyIterable());
+        verify(mockStatusSearchRepository, atLeastOnce()).deleteAll(anyIterable());
+
+        // a second run finds nothing left to move
+        ArchivalResultDTO again = archivalService.archiveBefore(HORIZON);
+        assertThat(again.getSessionInfos()).isZero();
+        assertThat(again.getReservedSlots()).isZero();
+    }
+
+    @Test
+    public void archivedRowsAreReadOnRequest() {
+        archivalService.archiveBefore(HORIZON);
+
+        SessionInfoDTO archivedSession = archivalService.findArchivedSessionInfo(oldSession.getId()).get();
+        assertThat(archivedSession.getDate()).isEqualTo(OLD_DATE);
+        assertThat(archivedSession.getFromTime()).isEqualTo(9.0);
+        assertThat(archivedSession.getWorkPlaceId()).isEqualTo(oldSession.getWorkPlace().getId());
+
+        assertThat(reservedSlotService.findOne(oldReservedSlot.getId(), false)).isEmpty();
+        ReservedSlotDTO archivedSlot = reservedSlotService.findOne(oldReservedSlot.getId(), true).get();
+        assertThat(archivedSlot.getDoctorId()).isEqualTo(doctor.getId());
+        assertThat(archivedSlot.getStartTime()).isEqualTo(9.0);
+        assertThat(archivedSlot.getTokenNumber()).isEqualTo(1);
+
+        List<ReservedSlotDTO> reservedSlots = reservedSlotService.findByDoctorIdAndDateBetween(doctor.getId(),
+            OLD_DATE, HORIZON, true);
+        assertThat(reservedSlots).extracting(ReservedSlotDTO::getId)
+            .containsExactly(oldReservedSlot.getId(), currentReservedSlot.getId());
+        assertThat(reservedSlotService.findByDoctorIdAndDateBetween(doctor.getId(), OLD_DATE, HORIZON, false))
+            .extracting(ReservedSlotDTO::getId).containsExactly(currentReservedSlot.getId());
+    }
+
+    private SessionInfo session(WorkPlace workPlace, LocalDate date) {
+        SessionInfo sessionInfo = new SessionInfo()
+            .date(date)
+            .weekDay(date.getDayOfWeek().getValue() % 7 + 1)
+            .fromTime(9.0)
+            .toTime(10.0)
+            .interval(0.3)
+            .workPlace(workPlace);
+        em.persist(sessionInfo);
+        return sessionInfo;
+    }
+
+    private ReservedSlot reservedSlot(LocalDate date) {
+        ReservedSlot reservedSlot = new ReservedSlot()
+            .date(date)
+            .startTime(9.0)
+            .endTime(9.3)
+            .tokenNumber(1)
+            .doctor(doctor);
+        em.persist(reservedSlot);
+        return reservedSlot;
+    }
+}
@@ -0,0 +1,177 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.domain.WorkPlace;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.SessionInfoRepository;
+import com.bytatech.ayoos.repository.WorkPlaceRepository;
+import com.bytatech.ayoos.service.impl.AvailabilityCacheServiceImpl;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+import com.bytatech.ayoos.web.rest.WorkPlaceResourceIntTest;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AvailabilityCacheService.
+ * <p>
+ * Not transactional, as the cache is updated after commit; the doctor and its
+ * sessions are removed after each test. No slot is reserved in the database, so a
+ * reserved slot can only come from the cached day.
+ *
+ * @see AvailabilityCacheServiceImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class AvailabilityCacheServiceIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, 5, 1);
+
+    @Autowired
+    private AvailabilityCacheService availabilityCacheService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private WorkPlaceRepository workPlaceRepository;
+
+    @Autowired
+    private SessionInfoRepository sessionInfoRepository;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Doctor doctor;
+
+    private WorkPlace workPlace;
+
+    @Before
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status -> {
+            doctor = DoctorResourceIntTest.createEntity(em);
+            em.persist(doctor);
+            workPlace = WorkPlaceResourceIntTest.createEntity(em).doctor(doctor);
+            em.persist(workPlace);
+            // two slots, at 9:00 and 9:30
+            em.persist(session(9.0, 10.0));
+            return null;
+        });
+    }
+
+    @After
+    public void removeDoctor() {
+        transactionTemplate.execute(status -> {
+            sessionInfoRepository.deleteAll(sessionInfoRepository.findByDoctorIdAndDateBetween(doctor.getId(),
+                DATE, DATE.plusDays(1)));
+            workPlaceRepository.deleteById(workPlace.getId());
+            doctorRepository.deleteById(doctor.getId());
+            return null;
+        });
+        hazelcastInstance.getMap(AvailabilityCacheService.AVAILABILITY_MAP).clear();
+    }
+
+    @Test
+    public void reserveAndReleaseUpdateTheCachedDay() {
+        assertThat(day().isReserved(1)).isFalse();
+
+        transactionTemplate.execute(status -> {
+            availabilityCacheService.reserve(doctor.getId(), DATE, 9.3);
+            return null;
+        });
+        assertThat(day().isReserved(0)).isFalse();
+        assertThat(day().isReserved(1)).isTrue();
+
+        transactionTemplate.execute(status -> {
+            availabilityCacheService.release(doctor.getId(), DATE, 9.3);
+            return null;
+        });
+        assertThat(day().isReserved(1)).isFalse();
+    }
+
+    @Test
+    public void evictRebuildsTheDayAfterCommit() {
+        assertThat(day().size()).isEqualTo(2);
+
+        transactionTemplate.execute(status -> {
+            em.persist(session(10.0, 11.0));
+            availabilityCacheService.evict(doctor.getId(), DATE);
+            // the cached day is only dropped once the new session is committed
+            assertThat(day().size()).isEqualTo(2);
+            return null;
+        });
+
+        DayAvailability day = day();
+        assertThat(day.size()).isEqualTo(4);
+        assertThat(day.getStartMinute(3)).isEqualTo(10 * 60 + 30);
+    }
+
+    @Test
+    public void evictDoctorRebuildsEveryDayAfterCommit() {
+        assertThat(availabilityCacheService.getRange(doctor.getId(), DATE, DATE.plusDays(1)))
+            .extracting(DayAvailability::size).containsExactly(2, 0);
+
+        transactionTemplate.execute(status -> {
+            em.persist(session(10.0, 11.0));
+            em.persist(session(9.0, 10.0).date(DATE.plusDays(1)));
+            availabilityCacheService.evictDoctor(doctor.getId());
+            return null;
+        });
+
+        assertThat(availabilityCacheService.getRange(doctor.getId(), DATE, DATE.plusDays(1)))
+            .extracting(DayAvailability::size).containsExactly(4, 2);
+    }
+
+    @Test
+    public void rolledBackReservationLeavesTheCachedDayUnchanged() {
+        assertThat(day().isReserved(1)).isFalse();
+
+        transactionTemplate.execute(status -> {
+            availabilityCacheService.reserve(doctor.getId(), DATE, 9.3);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(day().isReserved(1)).isFalse();
+    }
+
+    private DayAvailability day() {
+        return availabilityCacheService.getRange(doctor.getId(), DATE, DATE).get(0);
+    }
+
+    private SessionInfo session(Double fromTime, Double toTime) {
+        return new SessionInfo()
+            .sessionName("AAAAAAAAAA")
+            .date(DATE)
+            .weekDay(4)
+            .fromTime(fromTime)
+            .toTime(toTime)
+            .interval(0.3)
+            .workPlace(workPlace);
+    }
+}
@@ -0,0 +1,132 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.ContactInfo;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.QualificationRepository;
+import com.bytatech.ayoos.repository.ReviewRepository;
+import com.bytatech.ayoos.repository.WorkPlaceRepository;
+import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
+import com.bytatech.ayoos.service.dto.QualificationDTO;
+import com.bytatech.ayoos.service.dto.WorkPlaceDTO;
+import com.bytatech.ayoos.service.impl.DoctorAggregateComposerImpl;
+import com.bytatech.ayoos.service.mapper.QualificationMapper;
+import com.bytatech.ayoos.service.mapper.ReviewMapper;
+import com.bytatech.ayoos.service.mapper.WorkPlaceMapper;
+import com.bytatech.ayoos.web.rest.ContactInfoResourceIntTest;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+import com.bytatech.ayoos.web.rest.QualificationResourceIntTest;
+import com.bytatech.ayoos.web.rest.ReviewResourceIntTest;
+import com.bytatech.ayoos.web.rest.WorkPlaceResourceIntTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the DoctorAggregateComposer.
+ *
+ * @see DoctorAggregateComposerImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+@Transactional
+public class DoctorAggregateComposerIntTest {
+
+    private static final String DOCTOR_ID = "COMPOSED";
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private WorkPlaceRepository workPlaceRepository;
+
+    @Autowired
+    private QualificationRepository qualificationRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private WorkPlaceMapper workPlaceMapper;
+
+    @Autowired
+    private QualificationMapper qualificationMapper;
+
+    @Autowired
+    private ReviewMapper reviewMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private Doctor doctor;
+
+    @Before
+    public void initTest() {
+        ContactInfo contactInfo = ContactInfoResourceIntTest.createEntity(em);
+        em.persist(contactInfo);
+        doctor = DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID).contactInfo(contactInfo);
+        em.persist(doctor);
+        em.persist(WorkPlaceResourceIntTest.createEntity(em).doctor(doctor));
+        em.persist(QualificationResourceIntTest.createEntity(em).doctor(doctor));
+        em.persist(ReviewResourceIntTest.createEntity(em).doctor(doctor));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void composesTheDoctorWithItsParts() {
+        // parts run on the calling thread, inside the test transaction
+        DoctorAggregateDTO aggregate = composer(Runnable::run, 10000).compose(DOCTOR_ID).get();
+
+        assertThat(aggregate.isPartial()).isFalse();
+        assertThat(aggregate.getId()).isEqualTo(doctor.getId());
+        assertThat(aggregate.getVersion()).isEqualTo(doctor.getVersion());
+        assertThat(aggregate.getContactInfo().getId()).isEqualTo(doctor.getContactInfo().getId());
+        assertThat(aggregate.getWorkPlaces()).extracting(WorkPlaceDTO::getDoctorId).containsExactly(doctor.getId());
+        assertThat(aggregate.getQualifications()).extracting(QualificationDTO::getDoctorId)
+            .containsExactly(doctor.getId());
+        assertThat(aggregate.getReviews()).hasSize(1);
+    }
+
+    @Test
+    public void leavesOutPartsNotReadInTime() {
+        // parts are never run
+        DoctorAggregateDTO aggregate = composer(command -> { }, 10).compose(DOCTOR_ID).get();
+
+        assertThat(aggregate.isPartial()).isTrue();
+        assertThat(aggregate.getId()).isEqualTo(doctor.getId());
+        assertThat(aggregate.getContactInfo().getId()).isEqualTo(doctor.getContactInfo().getId());
+        assertThat(aggregate.getWorkPlaces()).isEmpty();
+        assertThat(aggregate.getQualifications()).isEmpty();
+        assertThat(aggregate.getReviews()).isEmpty();
+    }
+
+    @Test
+    public void returnsEmptyForAnUnknownDoctor() {
+        assertThat(composer(Runnable::run, 10000).compose("UNKNOWN")).isEmpty();
+    }
+
+    private DoctorAggregateComposer composer(Executor executor, long partTimeoutMs) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDoctorAggregate().setPartTimeoutMs(partTimeoutMs);
+        return new DoctorAggregateComposerImpl(doctorRepository, workPlaceRepository, qualificationRepository,
+            reviewRepository, workPlaceMapper, qualificationMapper, reviewMapper, executor, transactionManager,
+            applicationProperties);
+    }
+}
@@ -0,0 +1,173 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.ContactInfo;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.DoctorSettings;
+import com.bytatech.ayoos.domain.PaymentSettings;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.QualificationRepository;
+import com.bytatech.ayoos.service.dto.DoctorAggregateDTO;
+import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.dto.DoctorVersionDTO;
+import com.bytatech.ayoos.service.dto.QualificationDTO;
+import com.bytatech.ayoos.service.dto.ReviewDTO;
+import com.bytatech.ayoos.service.dto.WorkPlaceDTO;
+import com.bytatech.ayoos.service.mapper.DoctorMapper;
+import com.bytatech.ayoos.web.rest.ContactInfoResourceIntTest;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+import com.bytatech.ayoos.web.rest.DoctorSettingsResourceIntTest;
+import com.bytatech.ayoos.web.rest.PaymentSettingsResourceIntTest;
+import com.bytatech.ayoos.web.rest.QualificationResourceIntTest;
+import com.bytatech.ayoos.web.rest.ReviewResourceIntTest;
+import com.bytatech.ayoos.web.rest.WorkPlaceResourceIntTest;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the DoctorAggregateService.
+ *
+ * @see DoctorAggregateService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class DoctorAggregateServiceIntTest {
+
+    private static final String DOCTOR_ID = "AGGREGATE";
+
+    private static final String CACHED_DOCTOR_ID = "AGGREGATE-CACHED";
+
+    private static final LocalDate REVIEWED_ON = LocalDate.of(2019, 5, 1);
+
+    @Autowired
+    private DoctorAggregateService doctorAggregateService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private QualificationService qualificationService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private QualificationRepository qualificationRepository;
+
+    @Autowired
+    private DoctorMapper doctorMapper;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @Transactional
+    public void readsTheDoctorWithItsDetails() {
+        ContactInfo contactInfo = ContactInfoResourceIntTest.createEntity(em);
+        em.persist(contactInfo);
+        PaymentSettings paymentSettings = PaymentSettingsResourceIntTest.createEntity(em);
+        em.persist(paymentSettings);
+        DoctorSettings doctorSettings = DoctorSettingsResourceIntTest.createEntity(em);
+        em.persist(doctorSettings);
+        Doctor doctor = DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID)
+            .contactInfo(contactInfo).paymentSettings(paymentSettings).doctorSettings(doctorSettings);
+        em.persist(doctor);
+        for (int i = 0; i < 2; i++) {
+            em.persist(WorkPlaceResourceIntTest.createEntity(em).doctor(doctor));
+            em.persist(QualificationResourceIntTest.createEntity(em).doctor(doctor));
+        }
+        for (int i = 0; i <= DoctorAggregateService.RECENT_REVIEWS; i++) {
+            em.persist(ReviewResourceIntTest.createEntity(em).reviewedOn(REVIEWED_ON.plusDays(i)).doctor(doctor));
+        }
+        em.flush();
+        em.clear();
+
+        DoctorAggregateDTO aggregate = doctorAggregateService.findByDoctorId(DOCTOR_ID).get();
+
+        assertThat(aggregate.getId()).isEqualTo(doctor.getId());
+        assertThat(aggregate.getFirstName()).isEqualTo(doctor.getFirstName());
+        assertThat(aggregate.getContactInfo().getId()).isEqualTo(contactInfo.getId());
+        assertThat(aggregate.getContactInfo().getFacebookURL()).isEqualTo(contactInfo.getFacebookURL());
+        assertThat(aggregate.getPaymentSettings().getId()).isEqualTo(paymentSettings.getId());
+        assertThat(aggregate.getDoctorSettings().getId()).isEqualTo(doctorSettings.getId());
+        assertThat(aggregate.getWorkPlaces()).hasSize(2)
+            .extracting(WorkPlaceDTO::getDoctorId).containsOnly(doctor.getId());
+        assertThat(aggregate.getQualifications()).hasSize(2)
+            .extracting(QualificationDTO::getDoctorId).containsOnly(doctor.getId());
+        assertThat(aggregate.getReviews()).hasSize(DoctorAggregateService.RECENT_REVIEWS)
+            .extracting(ReviewDTO::getReviewedOn)
+            .startsWith(REVIEWED_ON.plusDays(DoctorAggregateService.RECENT_REVIEWS))
+            .doesNotContain(REVIEWED_ON);
+    }
+
+    @Test
+    @Transactional
+    public void readsADoctorWithoutDetails() {
+        Doctor doctor = DoctorResourceIntTest.createEntity(em).doctorId(DOCTOR_ID);
+        em.persist(doctor);
+        em.flush();
+        em.clear();
+
+        DoctorAggregateDTO aggregate = doctorAggregateService.findByDoctorId(DOCTOR_ID).get();
+
+        assertThat(aggregate.getContactInfo()).isNull();
+        assertThat(aggregate.getWorkPlaces()).isEmpty();
+        assertThat(aggregate.getQualifications()).isEmpty();
+        assertThat(aggregate.getReviews()).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void returnsEmptyForAnUnknownDoctor() {
+        assertThat(doctorAggregateService.findByDoctorId(DOCTOR_ID)).isEmpty();
+    }
+
+    @Test
+    public void evictsTheCachedAggregateWhenAPartChanges() {
+        IMap<String, DoctorAggregateDTO> aggregateMap = hazelcastInstance.getMap(DoctorAggregateService.DOCTOR_AGGREGATE_MAP);
+        DoctorDTO doctorDTO = doctorService.save(doctorMapper.toDto(
+            DoctorResourceIntTest.createEntity(em).doctorId(CACHED_DOCTOR_ID)));
+        try {
+            assertThat(doctorAggregateService.findByDoctorId(CACHED_DOCTOR_ID).get().getQualifications()).isEmpty();
+            assertThat(aggregateMap.containsKey(CACHED_DOCTOR_ID)).isTrue();
+
+            QualificationDTO qualificationDTO = new QualificationDTO();
+            qualificationDTO.setQualification("MBBS");
+            qualificationDTO.setDoctorId(doctorDTO.getId());
+            qualificationService.save(qualificationDTO);
+
+            assertThat(aggregateMap.containsKey(CACHED_DOCTOR_ID)).isFalse();
+            DoctorVersionDTO versions = doctorAggregateService.findVersionsByDoctorId(CACHED_DOCTOR_ID).get();
+            assertThat(versions.getRevision()).isEqualTo(1L);
+            assertThat(versions.getVersion()).isEqualTo(doctorDTO.getVersion());
+            assertThat(doctorAggregateService.findByDoctorId(CACHED_DOCTOR_ID).get().getQualifications())
+                .extracting(QualificationDTO::getQualification).containsExactly("MBBS");
+
+            // the qualification left the version of the doctor alone, so the profile read before it can be saved
+            doctorDTO.setFirstName("CCCCCCCCCC");
+            doctorService.save(doctorDTO);
+
+            assertThat(doctorAggregateService.findByDoctorId(CACHED_DOCTOR_ID).get().getFirstName())
+                .isEqualTo("CCCCCCCCCC");
+        } finally {
+            qualificationRepository.deleteAll(qualificationRepository.findByDoctorId(doctorDTO.getId()));
+            doctorRepository.deleteById(doctorDTO.getId());
+            aggregateMap.delete(CACHED_DOCTOR_ID);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.service.image.Thumbnails;
+
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the thumbnails of the DoctorImageThumbnailService.
+ *
+ * @see Thumbnails
+ */
+public class DoctorImageThumbnailServiceUnitTest {
+
+    private static final long MAX_PIXELS = 1000 * 1000;
+
+    @Test
+    public void cropsTheCenteredSquare() {
+        // a red landscape image with blue margins of 50 pixels left and right
+        BufferedImage source = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = source.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, 300, 200);
+        graphics.setColor(Color.RED);
+        graphics.fillRect(50, 0, 200, 200);
+        graphics.dispose();
+
+        BufferedImage thumbnail = Thumbnails.square(source, 48);
+
+        assertThat(thumbnail.getWidth()).isEqualTo(48);
+        assertThat(thumbnail.getHeight()).isEqualTo(48);
+        assertThat(new Color(thumbnail.getRGB(0, 24))).isEqualTo(Color.RED);
+        assertThat(new Color(thumbnail.getRGB(47, 24))).isEqualTo(Color.RED);
+    }
+
+    @Test
+    public void scalesSmallImagesUp() {
+        BufferedImage thumbnail = Thumbnails.square(new BufferedImage(20, 30, BufferedImage.TYPE_INT_RGB), 48);
+
+        assertThat(thumbnail.getWidth()).isEqualTo(48);
+        assertThat(thumbnail.getHeight()).isEqualTo(48);
+    }
+
+    @Test
+    public void encodesOpaqueImagesAsJpegAndTransparentOnesAsPng() {
+        BufferedImage opaque = Thumbnails.square(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), 48);
+        BufferedImage transparent = Thumbnails.square(new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB), 48);
+
+        assertThat(Thumbnails.contentType(opaque)).isEqualTo(Thumbnails.JPEG_CONTENT_TYPE);
+        assertThat(Thumbnails.contentType(transparent)).isEqualTo(Thumbnails.PNG_CONTENT_TYPE);
+        assertThat(Thumbnails.read(Thumbnails.encode(opaque), MAX_PIXELS).getWidth()).isEqualTo(48);
+        assertThat(Thumbnails.read(Thumbnails.encode(transparent), MAX_PIXELS).getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    public void sniffsTheContentTypeFromTheBytes() {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(Thumbnails.sniffContentType(Thumbnails.encode(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB))))
+            .isEqualTo(Thumbnails.JPEG_CONTENT_TYPE);
+        assertThat(Thumbnails.sniffContentType(Thumbnails.encode(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB))))
+            .isEqualTo(Thumbnails.PNG_CONTENT_TYPE);
+        assertThat(Thumbnails.sniffContentType(webp)).isEqualTo(Thumbnails.WEBP_CONTENT_TYPE);
+        assertThat(Thumbnails.sniffContentType("<svg/>".getBytes(StandardCharsets.US_ASCII))).isNull();
+    }
+
+    @Test
+    public void ignoresUnreadableAndOversizedImages() {
+        byte[] image = Thumbnails.encode(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB));
+
+        assertThat(Thumbnails.read(new byte[] {1, 2, 3}, MAX_PIXELS)).isNull();
+        assertThat(Thumbnails.read(image, 100 * 100)).isNotNull();
+        assertThat(Thumbnails.read(image, 100 * 100 - 1)).isNull();
+    }
+}
@@ -0,0 +1,122 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.DoctorSettingsRepository;
+import com.bytatech.ayoos.repository.PaymentSettingsRepository;
+import com.bytatech.ayoos.repository.search.DoctorSearchRepository;
+import com.bytatech.ayoos.repository.search.DoctorSettingsSearchRepository;
+import com.bytatech.ayoos.repository.search.PaymentSettingsSearchRepository;
+import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.impl.DoctorOnboardingServiceImpl;
+import com.bytatech.ayoos.service.mapper.DoctorMapper;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+import com.bytatech.ayoos.web.rest.errors.BadRequestAlertException;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the DoctorOnboardingService.
+ * <p>
+ * Not transactional, as the search index is written after commit; the onboarded
+ * doctors are removed after each test.
+ *
+ * @see DoctorOnboardingServiceImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class DoctorOnboardingServiceIntTest {
+
+    @Autowired
+    private DoctorOnboardingService doctorOnboardingService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private DoctorSettingsRepository doctorSettingsRepository;
+
+    @Autowired
+    private PaymentSettingsRepository paymentSettingsRepository;
+
+    @Autowired
+    private DoctorMapper doctorMapper;
+
+    /**
+     * These repositories are mocked in the com.bytatech.ayoos.repository.search test package.
+     */
+    @Autowired
+    private DoctorSearchRepository mockDoctorSearchRepository;
+
+    @Autowired
+    private DoctorSettingsSearchRepository mockDoctorSettingsSearchRepository;
+
+    @Autowired
+    private PaymentSettingsSearchRepository mockPaymentSettingsSearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private final List<DoctorDTO> onboarded = new ArrayList<>();
+
+    @After
+    public void removeOnboarded() {
+        for (DoctorDTO doctorDTO : onboarded) {
+            doctorRepository.deleteById(doctorDTO.getId());
+            doctorSettingsRepository.deleteById(doctorDTO.getDoctorSettingsId());
+            paymentSettingsRepository.deleteById(doctorDTO.getPaymentSettingsId());
+        }
+    }
+
+    @Test
+    public void onboardAllIndexesOnceAfterCommit() {
+        onboarded.addAll(doctorOnboardingService.onboardAll(Arrays.asList(doctor("ONBOARDED-1"), doctor("ONBOARDED-2"))));
+
+        assertThat(onboarded).extracting(DoctorDTO::getDoctorId).containsExactly("ONBOARDED-1", "ONBOARDED-2");
+        for (DoctorDTO doctorDTO : onboarded) {
+            Doctor doctor = doctorRepository.findOneWithSettingsById(doctorDTO.getId()).get();
+            assertThat(doctor.getDoctorSettings().isIsMailNotificationsEnabled()).isTrue();
+            assertThat(doctor.getPaymentSettings().getAmount()).isEqualTo(100.0);
+        }
+
+        // Each index is written with a single bulk request, the doctors only once
+        verify(mockDoctorSearchRepository, times(1)).saveAll(anyIterable());
+        verify(mockDoctorSettingsSearchRepository, times(1)).saveAll(anyIterable());
+        verify(mockPaymentSettingsSearchRepository, times(1)).saveAll(anyIterable());
+        verify(mockDoctorSearchRepository, never()).save(any());
+    }
+
+    @Test
+    public void onboardAllRejectsDuplicateDoctorIds() {
+        int databaseSizeBefore = doctorRepository.findAll().size();
+
+        assertThatThrownBy(() -> doctorOnboardingService.onboardAll(Arrays.asList(doctor("TWICE"), doctor("TWICE"))))
+            .isInstanceOf(BadRequestAlertException.class);
+
+        assertThat(doctorRepository.findAll()).hasSize(databaseSizeBefore);
+        verify(mockDoctorSearchRepository, never()).saveAll(anyIterable());
+    }
+
+    private DoctorDTO doctor(String doctorId) {
+        return doctorMapper.toDto(DoctorResourceIntTest.createEntity(em).doctorId(doctorId));
+    }
+}
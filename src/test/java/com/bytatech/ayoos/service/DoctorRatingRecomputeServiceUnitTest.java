@@ -0,0 +1,95 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.repository.DoctorRatingSummaryRepository;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.impl.DoctorRatingRecomputeServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the DoctorRatingRecomputeService.
+ *
+ * @see DoctorRatingRecomputeServiceImpl
+ */
+public class DoctorRatingRecomputeServiceUnitTest {
+
+    private DoctorRatingSummaryRepository doctorRatingSummaryRepository;
+
+    private DoctorRepository doctorRepository;
+
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private LeaderboardService leaderboardService;
+
+    private DoctorAggregateService doctorAggregateService;
+
+    private MeterRegistry meterRegistry;
+
+    private DoctorRatingRecomputeService doctorRatingRecomputeService;
+
+    @Before
+    public void setup() {
+        doctorRatingSummaryRepository = mock(DoctorRatingSummaryRepository.class);
+        doctorRepository = mock(DoctorRepository.class);
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        leaderboardService = mock(LeaderboardService.class);
+        doctorAggregateService = mock(DoctorAggregateService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        doctorRatingRecomputeService = new DoctorRatingRecomputeServiceImpl(doctorRatingSummaryRepository,
+            doctorRepository, elasticsearchOperations, leaderboardService, doctorAggregateService,
+            mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    @Test
+    public void writesEachDoctorOncePerWindow() {
+        when(doctorRatingSummaryRepository.findAverageRating(1L)).thenReturn(Optional.of(13.0 / 3));
+        when(doctorRatingSummaryRepository.findAverageRating(2L)).thenReturn(Optional.empty());
+
+        doctorRatingRecomputeService.publish(1L);
+        doctorRatingRecomputeService.publish(1L);
+        doctorRatingRecomputeService.publish(2L);
+        doctorRatingRecomputeService.publish(1L);
+        assertThat(meterRegistry.get("doctor.rating.recompute.queue.depth").gauge().value()).isEqualTo(2.0);
+
+        doctorRatingRecomputeService.flush();
+
+        verify(doctorRepository).updateTotalRating(1L, 4.333);
+        verify(doctorRepository).updateTotalRating(2L, null);
+        verify(elasticsearchOperations, times(2)).update(any(UpdateQuery.class));
+        verify(leaderboardService).updateRating(1L);
+        verify(leaderboardService).updateRating(2L);
+        verify(doctorAggregateService).evict(1L);
+        verify(doctorAggregateService).evict(2L);
+        assertThat(meterRegistry.get("doctor.rating.recompute.queue.depth").gauge().value()).isZero();
+        assertThat(meterRegistry.get("doctor.rating.recompute.coalescing.ratio").gauge().value()).isEqualTo(2.0);
+
+        doctorRatingRecomputeService.flush();
+        verifyNoMoreInteractions(doctorRepository);
+    }
+
+    @Test
+    public void retriesDoctorsThatCouldNotBeWritten() {
+        when(doctorRatingSummaryRepository.findAverageRating(1L)).thenReturn(Optional.of(5.0));
+        when(doctorRepository.updateTotalRating(1L, 5.0)).thenThrow(new IllegalStateException()).thenReturn(1);
+
+        doctorRatingRecomputeService.publish(1L);
+        doctorRatingRecomputeService.flush();
+        assertThat(meterRegistry.get("doctor.rating.recompute.queue.depth").gauge().value()).isEqualTo(1.0);
+
+        doctorRatingRecomputeService.flush();
+        verify(doctorRepository, times(2)).updateTotalRating(1L, 5.0);
+        verify(elasticsearchOperations, times(1)).update(any(UpdateQuery.class));
+    }
+}
@@ -0,0 +1,98 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.dto.DoctorDTO;
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+import com.bytatech.ayoos.service.impl.LeaderboardServiceImpl;
+import com.bytatech.ayoos.service.leaderboard.RankedList;
+import com.bytatech.ayoos.service.mapper.DoctorMapper;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the LeaderboardService.
+ * <p>
+ * Not transactional, as the leaderboards are evicted after commit; the saved
+ * doctor is removed after each test.
+ *
+ * @see LeaderboardServiceImpl
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class LeaderboardServiceIntTest {
+
+    private static final String SPECIALIZATION = "leaderboard-eviction";
+
+    private static final String OTHER_SPECIALIZATION = "leaderboard-eviction-other";
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private DoctorMapper doctorMapper;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManager em;
+
+    private IMap<String, RankedList> leaderboardMap;
+
+    private DoctorDTO doctorDTO;
+
+    @Before
+    public void setup() {
+        leaderboardMap = hazelcastInstance.getMap(LeaderboardService.LEADERBOARD_MAP);
+        leaderboardMap.clear();
+    }
+
+    @After
+    public void removeDoctor() {
+        if (doctorDTO != null) {
+            doctorRepository.deleteById(doctorDTO.getId());
+        }
+        leaderboardMap.clear();
+    }
+
+    @Test
+    public void evictsTheListsOfASavedDoctor() {
+        DoctorDTO newDoctorDTO = doctorMapper.toDto(DoctorResourceIntTest.createEntity(em)
+            .doctorId("LEADERBOARD-EVICTION").specialization(SPECIALIZATION).totalRating(4.9));
+        doctorDTO = doctorService.save(newDoctorDTO);
+        assertThat(leaderboardService.findTopRated(SPECIALIZATION, PageRequest.of(0, 10)))
+            .extracting(DoctorLeaderboardEntryDTO::getId).containsExactly(doctorDTO.getId());
+        assertThat(leaderboardService.findTopRated(OTHER_SPECIALIZATION, PageRequest.of(0, 10))).isEmpty();
+        assertThat(leaderboardMap).hasSize(1);
+
+        doctorDTO.setFirstName("CCCCCCCCCC");
+        doctorDTO.setSpecialization(OTHER_SPECIALIZATION);
+        doctorDTO = doctorService.save(doctorDTO);
+
+        assertThat(leaderboardMap).isEmpty();
+        assertThat(leaderboardService.findTopRated(SPECIALIZATION, PageRequest.of(0, 10))).isEmpty();
+        assertThat(leaderboardService.findTopRated(OTHER_SPECIALIZATION, PageRequest.of(0, 10)))
+            .extracting(DoctorLeaderboardEntryDTO::getFirstName).containsExactly("CCCCCCCCCC");
+    }
+}
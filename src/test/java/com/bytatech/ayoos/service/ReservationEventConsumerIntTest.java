@@ -0,0 +1,96 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.repository.ReservedSlotRepository;
+import com.bytatech.ayoos.repository.StatusRepository;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.rule.KafkaEmbedded;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the ReservationEventConsumer, against an embedded broker.
+ *
+ * @see ReservationEventConsumer
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class, properties = {
+    "spring.kafka.bootstrap-servers=${" + KafkaEmbedded.SPRING_EMBEDDED_KAFKA_BROKERS + "}",
+    "spring.kafka.consumer.group-id=doctor-test",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "application.reservation-ingestion.enabled=true",
+    "application.reservation-ingestion.topic=" + ReservationEventConsumerIntTest.TOPIC
+})
+public class ReservationEventConsumerIntTest {
+
+    static final String TOPIC = "reservations-test";
+
+    private static final LocalDate DATE = LocalDate.of(2019, 5, 1);
+
+    @ClassRule
+    public static KafkaEmbedded embeddedKafka = new KafkaEmbedded(1, true, TOPIC);
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private ReservedSlotRepository reservedSlotRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    private Doctor doctor;
+
+    @Before
+    public void init() {
+        doctor = doctorRepository.saveAndFlush(DoctorResourceIntTest.createEntity(null));
+    }
+
+    @After
+    public void cleanup() {
+        List<ReservedSlot> reservedSlots = reservedSlotRepository.findByDoctorIdAndDateBetween(doctor.getId(), DATE, DATE);
+        statusRepository.findAll().stream()
+            .filter(status -> status.getReservedSlot() != null && reservedSlots.contains(status.getReservedSlot()))
+            .forEach(statusRepository::delete);
+        reservedSlotRepository.deleteAll(reservedSlots);
+        doctorRepository.delete(doctor);
+    }
+
+    @Test
+    public void consumeStoresReservations() throws Exception {
+        // 2019-05-01T09:30+05:30 and 09:50+05:30
+        kafkaTemplate.send(TOPIC, "{\"doctorId\":" + doctor.getId()
+            + ",\"startTime\":1556683200000,\"endTime\":1556684400000,\"tokenNumber\":1,\"status\":\"booked\"}").get();
+        kafkaTemplate.send(TOPIC, "not a reservation").get();
+
+        List<ReservedSlot> reservedSlots = reservedSlotRepository.findByDoctorIdAndDateBetween(doctor.getId(), DATE, DATE);
+        for (int attempt = 0; reservedSlots.isEmpty() && attempt < 100; attempt++) {
+            Thread.sleep(100);
+            reservedSlots = reservedSlotRepository.findByDoctorIdAndDateBetween(doctor.getId(), DATE, DATE);
+        }
+
+        assertThat(reservedSlots).hasSize(1);
+        assertThat(reservedSlots.get(0).getStartTime()).isEqualTo(9.3);
+        assertThat(reservedSlots.get(0).getEndTime()).isEqualTo(9.5);
+        assertThat(reservedSlots.get(0).getTokenNumber()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,140 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.Status;
+import com.bytatech.ayoos.repository.ReservedSlotRepository;
+import com.bytatech.ayoos.repository.StatusRepository;
+import com.bytatech.ayoos.repository.search.ReservedSlotSearchRepository;
+import com.bytatech.ayoos.repository.search.StatusSearchRepository;
+import com.bytatech.ayoos.service.dto.ReservationEventDTO;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the ReservationIngestionService.
+ *
+ * @see ReservationIngestionService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+@Transactional
+public class ReservationIngestionServiceIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, 5, 1);
+
+    // 2019-05-01T09:30+05:30
+    private static final long START = 1556683200000L;
+
+    private static final long TWENTY_MINUTES = 20 * 60 * 1000L;
+
+    @Autowired
+    private ReservationIngestionService reservationIngestionService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ReservedSlotRepository reservedSlotRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    /**
+     * These repositories are mocked in the com.bytatech.ayoos.repository.search test package.
+     */
+    @Autowired
+    private ReservedSlotSearchRepository mockReservedSlotSearchRepository;
+
+    @Autowired
+    private StatusSearchRepository mockStatusSearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Doctor doctor;
+
+    @Before
+    public void init() {
+        doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        em.flush();
+    }
+
+    @Test
+    public void ingestStoresEachSlotOnce() {
+        List<ReservationEventDTO> events = Arrays.asList(
+            event(START, 1, "booked"),
+            event(START, 1, "booked"),
+            event(START + TWENTY_MINUTES, 2, null));
+
+        assertThat(reservationIngestionService.ingest(events)).isEqualTo(2);
+
+        List<ReservedSlot> reservedSlots = reservedSlotRepository.findByDoctorIdAndDateBetween(doctor.getId(), DATE, DATE);
+        assertThat(reservedSlots).extracting(ReservedSlot::getStartTime).containsExactlyInAnyOrder(9.3, 9.5);
+        assertThat(reservedSlots).extracting(ReservedSlot::getEndTime).containsExactlyInAnyOrder(9.5, 10.1);
+        List<Long> reservedSlotIds = reservedSlots.stream().map(ReservedSlot::getId).collect(Collectors.toList());
+        List<Status> statuses = statusRepository.findAll().stream()
+            .filter(status -> status.getReservedSlot() != null && reservedSlotIds.contains(status.getReservedSlot().getId()))
+            .collect(Collectors.toList());
+        assertThat(statuses).hasSize(1);
+        assertThat(statuses.get(0).getStatus()).isEqualTo("booked");
+        assertThat(statuses.get(0).getReservedSlot().getStartTime()).isEqualTo(9.3);
+        assertThat(reservedSlots).extracting(ReservedSlot::getTokenNumber).containsExactlyInAnyOrder(1, 2);
+
+        // Both indexes are written with a single bulk request
+        verify(mockReservedSlotSearchRepository, times(1)).saveAll(anyIterable());
+        verify(mockStatusSearchRepository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    public void ingestSkipsReservedSlots() {
+        assertThat(reservationIngestionService.ingest(Collections.singletonList(event(START, 1, "booked")))).isEqualTo(1);
+
+        assertThat(reservationIngestionService.ingest(Collections.singletonList(event(START, 3, "booked")))).isZero();
+
+        List<ReservedSlot> reservedSlots = reservedSlotRepository.findByDoctorIdAndDateBetween(doctor.getId(), DATE, DATE);
+        assertThat(reservedSlots).extracting(ReservedSlot::getTokenNumber).containsExactly(1);
+    }
+
+    @Test
+    public void ingestHandsOutTokensAfterBookedOnes() {
+        // a booking took the first token of the day
+        assertThat(tokenService.nextToken(doctor.getId(), DATE)).isEqualTo(1);
+
+        assertThat(reservationIngestionService.ingest(Collections.singletonList(event(START, 1, "booked")))).isEqualTo(1);
+
+        List<ReservedSlot> reservedSlots = reservedSlotRepository.findByDoctorIdAndDateBetween(doctor.getId(), DATE, DATE);
+        assertThat(reservedSlots).extracting(ReservedSlot::getTokenNumber).containsExactly(2);
+    }
+
+    private ReservationEventDTO event(long startTime, int tokenNumber, String status) {
+        ReservationEventDTO event = new ReservationEventDTO();
+        event.setDoctorId(doctor.getId());
+        event.setStartTime(startTime);
+        event.setEndTime(startTime + TWENTY_MINUTES);
+        event.setTokenNumber(tokenNumber);
+        event.setStatus(status);
+        return event;
+    }
+}
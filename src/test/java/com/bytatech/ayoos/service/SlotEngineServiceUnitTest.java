@@ -0,0 +1,137 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.domain.SessionRule;
+import com.bytatech.ayoos.domain.SessionRuleException;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.impl.SlotEngineServiceImpl;
+import com.bytatech.ayoos.service.slot.DayAvailability;
+import com.bytatech.ayoos.service.slot.ReservationIndex;
+import com.bytatech.ayoos.service.slot.SessionRules;
+import com.bytatech.ayoos.service.slot.SlotBuffer;
+import com.bytatech.ayoos.service.slot.SlotTime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the SlotEngineService.
+ *
+ * @see SlotEngineServiceImpl
+ */
+public class SlotEngineServiceUnitTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, 5, 1);
+
+    private SlotEngineService slotEngineService;
+
+    @Before
+    public void setup() {
+        slotEngineService = new SlotEngineServiceImpl();
+    }
+
+    @Test
+    public void convertsDecimalTimes() {
+        assertThat(SlotTime.toMinuteOfDay(9.45)).isEqualTo(585);
+        assertThat(SlotTime.toMinuteOfDay(0.3)).isEqualTo(30);
+        assertThat(SlotTime.toMinuteOfDay(null)).isEqualTo(-1);
+        assertThat(SlotTime.toDecimalTime(585)).isEqualTo(9.45);
+        assertThat(SlotTime.toDecimalTime(600)).isEqualTo(10.0);
+    }
+
+    @Test
+    public void generatesSlotsAcrossTheHour() {
+        List<ReservedSlotDTO> slots = slotEngineService.generateSlots(
+            Collections.singletonList(session(9.30, 10.30, 0.20)), 7L);
+
+        assertThat(slots).hasSize(3);
+        assertThat(slots).extracting(ReservedSlotDTO::getStartTime).containsExactly(9.30, 9.50, 10.10);
+        assertThat(slots).extracting(ReservedSlotDTO::getEndTime).containsExactly(9.50, 10.10, 10.30);
+        assertThat(slots).extracting(ReservedSlotDTO::getTokenNumber).containsExactly(1, 2, 3);
+        assertThat(slots).allMatch(slot -> DATE.equals(slot.getDate()) && slot.getDoctorId() == 7L);
+    }
+
+    @Test
+    public void keepsSlotsInsideTheSession() {
+        SlotBuffer buffer = new SlotBuffer(1);
+        slotEngineService.generate(Arrays.asList(session(9.0, 9.40, 0.20), session(14.0, 15.0, 0.30)), buffer);
+
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.getEndMinute(1)).isEqualTo(580);
+        assertThat(buffer.getStartMinute(2)).isEqualTo(840);
+        assertThat(buffer.getSequence(2)).isEqualTo(1);
+    }
+
+    @Test
+    public void skipsSessionsWithoutInterval() {
+        SlotBuffer buffer = new SlotBuffer();
+        slotEngineService.generate(session(9.0, 10.0, 0.0), buffer);
+
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    public void removesReservedSlotsOnce() {
+        ReservedSlotDTO reservedSlot = new ReservedSlotDTO();
+        reservedSlot.setDate(DATE);
+        reservedSlot.setStartTime(9.20);
+        ReservedSlotDTO otherDay = new ReservedSlotDTO();
+        otherDay.setDate(DATE.plusDays(1));
+        otherDay.setStartTime(9.0);
+        ReservationIndex reservations = ReservationIndex.of(DATE, DATE, Arrays.asList(reservedSlot, otherDay));
+
+        List<ReservedSlotDTO> slots = slotEngineService.generateFreeSlots(
+            Arrays.asList(session(9.0, 10.0, 0.20), session(9.0, 10.0, 0.20)), reservations, 7L);
+
+        assertThat(slots).extracting(ReservedSlotDTO::getStartTime).containsExactly(9.0, 9.40);
+    }
+
+    @Test
+    public void flipsReservationsInDayAvailability() {
+        SlotBuffer buffer = new SlotBuffer();
+        slotEngineService.generate(Arrays.asList(session(10.0, 11.0, 0.30), session(9.0, 10.30, 0.30)), buffer);
+        DayAvailability day = DayAvailability.of(DATE.toEpochDay(), buffer, 0, buffer.size());
+
+        assertThat(day.size()).isEqualTo(4);
+        assertThat(day.getStartMinute(0)).isEqualTo(540);
+        assertThat(day.setReserved(600, true)).isTrue();
+        assertThat(day.setReserved(600, true)).isFalse();
+        assertThat(day.setReserved(615, true)).isFalse();
+        assertThat(day.isReserved(2)).isTrue();
+        assertThat(day.setReserved(600, false)).isTrue();
+        assertThat(day.isReserved(2)).isFalse();
+    }
+
+    @Test
+    public void expandsSessionRules() {
+        // DATE is a Wednesday, Calendar.WEDNESDAY is 4
+        SessionRule wednesdays = new SessionRule().weekDay(4).fromTime(14.0).toTime(15.0).interval(0.3)
+            .validFrom(DATE.minusWeeks(4)).validTo(DATE.plusWeeks(2));
+        wednesdays.addException(new SessionRuleException().date(DATE.plusWeeks(1)));
+        SessionRule thursdays = new SessionRule().weekDay(5).fromTime(9.0).toTime(10.0).interval(0.3)
+            .validFrom(DATE.plusDays(8));
+
+        List<SessionInfoDTO> sessions = SessionRules.expand(Arrays.asList(wednesdays, thursdays), DATE, DATE.plusWeeks(3));
+
+        assertThat(sessions).extracting(SessionInfoDTO::getDate)
+            .containsExactly(DATE, DATE.plusDays(8), DATE.plusDays(14), DATE.plusDays(15));
+        assertThat(sessions).allMatch(session -> session.getId() == null
+            && session.getWeekDay() == SessionRules.toWeekDay(session.getDate()));
+    }
+
+    private static SessionInfoDTO session(double from, double to, double interval) {
+        SessionInfoDTO session = new SessionInfoDTO();
+        session.setDate(DATE);
+        session.setFromTime(from);
+        session.setToTime(to);
+        session.setInterval(interval);
+        return session;
+    }
+}
@@ -0,0 +1,101 @@
+package com.bytatech.ayoos.service;
+
+import com.bytatech.ayoos.DoctorApp;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.TokenCounter;
+import com.bytatech.ayoos.repository.TokenCounterRepository;
+import com.bytatech.ayoos.web.rest.DoctorResourceIntTest;
+
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the TokenService.
+ *
+ * @see TokenService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+@Transactional
+public class TokenServiceIntTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenCounterRepository tokenCounterRepository;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManager em;
+
+    private Doctor doctor;
+
+    @Before
+    public void init() {
+        doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        em.flush();
+    }
+
+    @Test
+    public void nextTokenContinuesAfterReservedTokens() {
+        em.persist(new ReservedSlot().date(DATE).startTime(9.0).endTime(9.3).tokenNumber(5).doctor(doctor));
+        em.flush();
+
+        assertThat(tokenService.nextToken(doctor.getId(), DATE)).isEqualTo(6);
+        assertThat(tokenService.nextToken(doctor.getId(), DATE)).isEqualTo(7);
+        assertThat(tokenService.nextToken(doctor.getId(), DATE.plusDays(1))).isEqualTo(1);
+    }
+
+    @Test
+    public void persistCountersStoresLastToken() {
+        tokenService.nextToken(doctor.getId(), DATE);
+        tokenService.nextToken(doctor.getId(), DATE);
+
+        tokenService.persistCounters();
+
+        assertThat(tokenCounterRepository.findByDoctorIdAndDate(doctor.getId(), DATE))
+            .map(TokenCounter::getLastToken)
+            .contains(2L);
+    }
+
+    @Test
+    public void persistCountersDestroysPastCounters() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        tokenService.nextToken(doctor.getId(), yesterday);
+
+        tokenService.persistCounters();
+
+        assertThat(tokenCounterRepository.findByDoctorIdAndDate(doctor.getId(), yesterday))
+            .map(TokenCounter::getLastToken)
+            .contains(1L);
+        assertThat(hazelcastInstance.getDistributedObjects())
+            .extracting(DistributedObject::getName)
+            .doesNotContain("token:" + doctor.getId() + ":" + yesterday);
+    }
+
+    @Test
+    public void nextTokenContinuesAfterPersistedCounter() {
+        tokenCounterRepository.saveAndFlush(new TokenCounter().doctorId(doctor.getId()).date(DATE).lastToken(41L));
+
+        assertThat(tokenService.nextToken(doctor.getId(), DATE)).isEqualTo(42);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bytatech.ayoos.service.leaderboard;
+
+import com.bytatech.ayoos.service.dto.DoctorLeaderboardEntryDTO;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the RankedList.
+ *
+ * @see RankedList
+ */
+public class RankedListUnitTest {
+
+    @Test
+    public void keepsTheBestRankedDoctors() {
+        RankedList list = RankedList.of(Arrays.asList(entry(1L, 4.0), entry(2L, 3.0)), 2);
+        assertThat(list.isComplete()).isFalse();
+
+        assertThat(list.update(entry(3L, 4.0))).isTrue();
+        assertThat(list.update(entry(2L, 4.5))).isTrue();
+
+        assertThat(list.page(0, 10)).extracting(DoctorLeaderboardEntryDTO::getId).containsExactly(2L, 1L);
+        assertThat(list.page(1, 1)).extracting(DoctorLeaderboardEntryDTO::getId).containsExactly(1L);
+        assertThat(list.page(2, 1)).isEmpty();
+    }
+
+    @Test
+    public void asksToBeRebuiltWhenADoctorFallsToTheEndOfAFullList() {
+        RankedList list = RankedList.of(Arrays.asList(entry(1L, 4.0), entry(2L, 3.0)), 2);
+
+        assertThat(list.update(entry(1L, 3.5))).isTrue();
+        assertThat(list.update(entry(1L, 2.0))).isFalse();
+        assertThat(RankedList.of(Arrays.asList(entry(1L, 4.0), entry(2L, 3.0)), 2).update(entry(1L, null))).isFalse();
+    }
+
+    @Test
+    public void followsEveryChangeOfACompleteList() {
+        RankedList list = RankedList.of(Collections.singletonList(entry(1L, 4.0)), 2);
+        assertThat(list.isComplete()).isTrue();
+
+        assertThat(list.update(entry(1L, null))).isTrue();
+        assertThat(list.update(entry(2L, 2.0))).isTrue();
+        assertThat(list.update(entry(3L, 3.0))).isTrue();
+        assertThat(list.update(entry(4L, 1.0))).isTrue();
+
+        assertThat(list.isComplete()).isFalse();
+        assertThat(list.page(0, 10)).extracting(DoctorLeaderboardEntryDTO::getId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    public void knowsTheListedDoctors() {
+        RankedList list = RankedList.of(Arrays.asList(entry(1L, 4.0), entry(2L, 3.0)), 2);
+
+        assertThat(list.contains(2L)).isTrue();
+        assertThat(list.contains(3L)).isFalse();
+    }
+
+    private static DoctorLeaderboardEntryDTO entry(Long id, Double totalRating) {
+        return new DoctorLeaderboardEntryDTO(id, "D" + id, null, null, totalRating);
+    }
+}
@@ -0,0 +1,168 @@
+package com.bytatech.ayoos.service.slot;
+
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionInfoDTO;
+import com.bytatech.ayoos.service.impl.SlotEngineServiceImpl;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the minute-of-day slot engine with the previous
+ * Double/BigDecimal slot generation of ReservedSlotResource.
+ * <p>
+ * Run from the IDE, or with the test classpath: {@code java -cp ... com.bytatech.ayoos.service.slot.SlotEngineBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotEngineBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotEngineBenchmark.class);
+
+    @Param({"1", "7", "30"})
+    private int days;
+
+    private List<SessionInfoDTO> sessions;
+
+    private SlotEngineServiceImpl slotEngineService;
+
+    @Setup
+    public void setup() {
+        slotEngineService = new SlotEngineServiceImpl();
+        sessions = new ArrayList<>();
+        LocalDate date = LocalDate.of(2019, 5, 1);
+        for (int day = 0; day < days; day++) {
+            sessions.add(session(date.plusDays(day), 9.0, 13.0, 0.15));
+            sessions.add(session(date.plusDays(day), 14.30, 18.30, 0.10));
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        blackhole.consume(legacyGenerate(sessions, 1L));
+    }
+
+    @Benchmark
+    public void engineDtos(Blackhole blackhole) {
+        blackhole.consume(slotEngineService.generateSlots(sessions, 1L));
+    }
+
+    @Benchmark
+    public void engineBuffer(Blackhole blackhole) {
+        SlotBuffer buffer = new SlotBuffer(sessions.size() * 16);
+        slotEngineService.generate(sessions, buffer);
+        blackhole.consume(buffer.size());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SlotEngineBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+
+    private static SessionInfoDTO session(LocalDate date, double from, double to, double interval) {
+        SessionInfoDTO session = new SessionInfoDTO();
+        session.setDate(date);
+        session.setFromTime(from);
+        session.setToTime(to);
+        session.setInterval(interval);
+        return session;
+    }
+
+    /**
+     * The slot generation previously inlined in ReservedSlotResource.test2, copied as is (start and end
+     * times shared across sessions, debug logging included) so the baseline is the code path that was replaced.
+     */
+    private static List<ReservedSlotDTO> legacyGenerate(List<SessionInfoDTO> sessionList, Long doctorId) {
+        List<ReservedSlotDTO> slotsDump = new ArrayList<ReservedSlotDTO>();
+
+        Double startTime = 0.0;
+        Double endTime = 0.0;
+
+        for (SessionInfoDTO sessionDTO : sessionList) {
+
+            for (int i = 0; startTime < sessionDTO.getToTime(); i++) {
+                log.debug(startTime + ">>>>>>>>>>>>>>>>>>>>CONDITION>>>>>>>>>>>>>>>>>>>>>>>>" + sessionDTO.getToTime());
+                ReservedSlotDTO s = new ReservedSlotDTO();
+
+                if (i == 0) {
+                    s.setStartTime(sessionDTO.getFromTime());
+
+                } else {
+                    // endTime = s.getToTime();
+                    s.setStartTime(endTime);
+
+                }
+                BigDecimal startTimeBD = new BigDecimal(s.getStartTime()).setScale(2, RoundingMode.HALF_UP);
+                BigDecimal intervalBD = new BigDecimal(sessionDTO.getInterval()).setScale(2, RoundingMode.HALF_UP);
+
+                BigDecimal bd = new BigDecimal(startTimeBD.doubleValue() + intervalBD.doubleValue()).setScale(2,
+                        RoundingMode.HALF_UP);
+
+                // point value exceed 60 handling
+                String bdString = bd.toString();
+
+                int indexOfDecimal = bdString.indexOf(".");
+
+                String integerPart = bdString.substring(0, indexOfDecimal);
+
+                String point = bdString.substring(indexOfDecimal);
+
+                log.debug(bdString + ">>>>>>>>>>>>>>>>>>>>>>>>>" + Double.parseDouble(point));
+
+                if (Double.parseDouble(point) >= .60) {
+
+                    Double doubleValue = Double.parseDouble(integerPart);
+
+                    doubleValue++;
+
+                    log.debug(",,,,,,,," + doubleValue);
+
+                    s.setEndTime(doubleValue);
+
+                    log.debug("...............................if..................................." + s.getEndTime());
+
+                } else {
+                    log.debug(".............................else.....................................");
+                    s.setEndTime(bd.doubleValue());
+                }
+                s.setDate(sessionDTO.getDate());
+
+                s.setId(i + 1L);
+
+                s.setTokenNumber(i + 1);
+
+                s.setDoctorId(doctorId);
+
+                slotsDump.add(s);
+
+                startTime = s.getEndTime();
+
+                endTime = s.getEndTime();
+
+                log.debug(startTime + ".................................................................." + endTime);
+
+            }
+
+        }
+        return slotsDump;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.DoctorApp;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.domain.WorkPlace;
+import com.bytatech.ayoos.service.AvailabilityService;
+import com.bytatech.ayoos.web.rest.errors.ExceptionTranslator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+
+import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the AvailabilityResource REST controller.
+ *
+ * @see AvailabilityResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class AvailabilityResourceIntTest {
+
+    private static final LocalDate DATE = LocalDate.of(2019, 5, 1);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restAvailabilityMockMvc;
+
+    private Doctor doctor;
+
+    @Before
+    public void setup() {
+        final AvailabilityResource availabilityResource = new AvailabilityResource(availabilityService, objectMapper);
+        this.restAvailabilityMockMvc = MockMvcBuilders.standaloneSetup(availabilityResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    @Before
+    public void initTest() {
+        doctor = persistDoctorWithSession("AVAILABLE", DATE);
+        persistDoctorWithSession("OTHER", DATE);
+    }
+
+    @Test
+    @Transactional
+    public void getAvailabilityExcludesReservedSlots() throws Exception {
+        ReservedSlot reservedSlot = new ReservedSlot()
+            .date(DATE)
+            .startTime(9.0)
+            .endTime(9.3)
+            .tokenNumber(1)
+            .doctor(doctor);
+        em.persist(reservedSlot);
+        em.flush();
+
+        restAvailabilityMockMvc.perform(get("/api/availability/{doctorId}", doctor.getId())
+            .param("from", DATE.toString())
+            .param("to", DATE.plusDays(6).toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].date").value(DATE.toString()))
+            .andExpect(jsonPath("$.[0].startTime").value(9.3))
+            .andExpect(jsonPath("$.[0].endTime").value(10.0))
+            .andExpect(jsonPath("$.[0].doctorId").value(doctor.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    public void getAvailabilityOutsideRange() throws Exception {
+        restAvailabilityMockMvc.perform(get("/api/availability/{doctorId}", doctor.getId())
+            .param("from", DATE.plusDays(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    public void getAvailabilityWithInvalidRange() throws Exception {
+        restAvailabilityMockMvc.perform(get("/api/availability/{doctorId}", doctor.getId())
+            .param("from", DATE.toString())
+            .param("to", DATE.minusDays(1).toString()))
+            .andExpect(status().isBadRequest());
+
+        restAvailabilityMockMvc.perform(get("/api/availability/{doctorId}", doctor.getId())
+            .param("from", DATE.toString())
+            .param("to", DATE.plusDays(AvailabilityResource.MAX_RANGE_DAYS).toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void streamAvailability() throws Exception {
+        // Load the days through the list endpoint first: the stream is written from another thread,
+        // which does not see the uncommitted test data but reads the days from the cache
+        restAvailabilityMockMvc.perform(get("/api/availability/{doctorId}", doctor.getId())
+            .param("from", DATE.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)));
+
+        MvcResult result = restAvailabilityMockMvc.perform(get("/api/availability/{doctorId}", doctor.getId())
+            .param("from", DATE.toString())
+            .accept(AvailabilityResource.APPLICATION_NDJSON_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restAvailabilityMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(AvailabilityResource.APPLICATION_NDJSON_VALUE))
+            .andExpect(content().string(
+                "{\"id\":1,\"tokenNumber\":1,\"date\":\"2019-05-01\",\"startTime\":9.0,\"endTime\":9.3,\"doctorId\":" + doctor.getId() + "}\n"
+                + "{\"id\":2,\"tokenNumber\":2,\"date\":\"2019-05-01\",\"startTime\":9.3,\"endTime\":10.0,\"doctorId\":" + doctor.getId() + "}\n"));
+    }
+
+    private Doctor persistDoctorWithSession(String doctorId, LocalDate date) {
+        Doctor newDoctor = DoctorResourceIntTest.createEntity(em).doctorId(doctorId);
+        em.persist(newDoctor);
+        WorkPlace workPlace = WorkPlaceResourceIntTest.createEntity(em).doctor(newDoctor);
+        em.persist(workPlace);
+        SessionInfo sessionInfo = SessionInfoResourceIntTest.createEntity(em)
+            .date(date)
+            .fromTime(9.0)
+            .toTime(10.0)
+            .interval(0.3)
+            .workPlace(workPlace);
+        em.persist(sessionInfo);
+        em.flush();
+        return newDoctor;
+    }
+}
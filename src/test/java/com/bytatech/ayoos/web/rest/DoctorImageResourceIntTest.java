@@ -0,0 +1,270 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.DoctorApp;
+
+import com.bytatech.ayoos.config.ApplicationProperties;
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.DoctorImageService;
+import com.bytatech.ayoos.service.DoctorImageThumbnailService;
+import com.bytatech.ayoos.service.DoctorService;
+import com.bytatech.ayoos.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import javax.persistence.EntityManager;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the DoctorImageResource REST controller.
+ *
+ * @see DoctorImageResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class DoctorImageResourceIntTest {
+
+    private static final byte[] IMAGE = TestUtil.createByteArray(64, "1");
+
+    @Autowired
+    private DoctorImageService doctorImageService;
+
+    @Autowired
+    private DoctorImageThumbnailService doctorImageThumbnailService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restDoctorImageMockMvc;
+
+    private Doctor doctor;
+
+    @Before
+    public void setup() {
+        final DoctorImageResource doctorImageResource = new DoctorImageResource(doctorImageService,
+            doctorImageThumbnailService, applicationProperties);
+        this.restDoctorImageMockMvc = MockMvcBuilders.standaloneSetup(doctorImageResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(new ByteArrayHttpMessageConverter(), jacksonMessageConverter).build();
+    }
+
+    @Before
+    public void initTest() {
+        doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+    }
+
+    @Test
+    @Transactional
+    public void updateAndStreamDoctorImage() throws Exception {
+        byte[] photo = createPhoto(10, 10);
+        String hash = sha256(photo);
+
+        restDoctorImageMockMvc.perform(put("/api/doctors/{id}/image", doctor.getId())
+            .contentType(MediaType.IMAGE_PNG)
+            .content(photo))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imageHash").value(hash))
+            .andExpect(jsonPath("$.imageSize").value(photo.length))
+            .andExpect(jsonPath("$.imageUrl").value("/api/doctors/" + doctor.getId() + "/image?v=" + hash));
+
+        assertThat(doctorRepository.findImageHashById(doctor.getId())).contains(hash);
+        assertThat(doctorService.findOne(doctor.getId()).get().getImageUrl()).endsWith("?v=" + hash);
+
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image", doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_PNG))
+            .andExpect(content().bytes(photo))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=")));
+    }
+
+    @Test
+    @Transactional
+    public void getUnchangedDoctorImage() throws Exception {
+        String hash = doctorImageService.save(doctor.getId(), MediaType.IMAGE_PNG_VALUE, IMAGE).get().getImageHash();
+
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image", doctor.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @Transactional
+    public void replaceAndDeleteDoctorImage() throws Exception {
+        doctorImageService.save(doctor.getId(), MediaType.IMAGE_PNG_VALUE, IMAGE);
+        byte[] replacement = TestUtil.createByteArray(16, "0");
+        doctorImageService.save(doctor.getId(), MediaType.IMAGE_JPEG_VALUE, replacement);
+
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image", doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(content().bytes(replacement));
+
+        restDoctorImageMockMvc.perform(delete("/api/doctors/{id}/image", doctor.getId()))
+            .andExpect(status().isOk());
+
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image", doctor.getId()))
+            .andExpect(status().isNotFound());
+        assertThat(doctorRepository.findImageHashById(doctor.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void rejectInvalidDoctorImages() throws Exception {
+        restDoctorImageMockMvc.perform(put("/api/doctors/{id}/image", doctor.getId())
+            .contentType(MediaType.IMAGE_PNG)
+            .content(new byte[0]))
+            .andExpect(status().isBadRequest());
+
+        restDoctorImageMockMvc.perform(put("/api/doctors/{id}/image", Long.MAX_VALUE)
+            .contentType(MediaType.IMAGE_PNG)
+            .content(createPhoto(10, 10)))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void rejectDoctorImagesOfOtherTypes() throws Exception {
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>"
+            .getBytes(StandardCharsets.UTF_8);
+        restDoctorImageMockMvc.perform(put("/api/doctors/{id}/image", doctor.getId())
+            .contentType("image/svg+xml")
+            .content(svg))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.imagetype"));
+
+        // the bytes must match the declared type
+        restDoctorImageMockMvc.perform(put("/api/doctors/{id}/image", doctor.getId())
+            .contentType(MediaType.IMAGE_PNG)
+            .content(svg))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.imagecontent"));
+        restDoctorImageMockMvc.perform(put("/api/doctors/{id}/image", doctor.getId())
+            .contentType(MediaType.IMAGE_JPEG)
+            .content(createPhoto(10, 10)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.imagecontent"));
+
+        assertThat(doctorRepository.findImageHashById(doctor.getId())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    public void serveUncheckedDoctorImagesAsDownloads() throws Exception {
+        doctorImageService.save(doctor.getId(), "image/svg+xml", IMAGE);
+
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image", doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    @Transactional
+    public void getDoctorImageThumbnail() throws Exception {
+        byte[] photo = createPhoto(300, 200);
+        String hash = doctorImageService.save(doctor.getId(), MediaType.IMAGE_PNG_VALUE, photo).get().getImageHash();
+
+        // not generated yet: the full image, not to be cached
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image/thumbnails/{size}", doctor.getId(), 48))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(photo))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        assertThat(doctorImageThumbnailService.generate(doctor.getId())).isEqualTo(3);
+        assertThat(doctorService.findOne(doctor.getId()).get().getThumbnailUrls())
+            .containsEntry(48, "/api/doctors/" + doctor.getId() + "/image/thumbnails/48?v=" + hash);
+
+        byte[] thumbnail = restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image/thumbnails/{size}", doctor.getId(), 48))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "-48\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=31536000")))
+            .andReturn().getResponse().getContentAsByteArray();
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(decoded.getWidth()).isEqualTo(48);
+        assertThat(decoded.getHeight()).isEqualTo(48);
+
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image/thumbnails/{size}", doctor.getId(), 48)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "-48\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    public void getDoctorImageThumbnailOfReplacedImage() throws Exception {
+        doctorImageService.save(doctor.getId(), MediaType.IMAGE_PNG_VALUE, createPhoto(100, 100));
+        doctorImageThumbnailService.generate(doctor.getId());
+        doctorImageService.save(doctor.getId(), MediaType.IMAGE_PNG_VALUE, IMAGE);
+
+        // the thumbnails belong to the previous image, and the new one cannot be decoded
+        assertThat(doctorImageThumbnailService.findMetadata(doctor.getId(), 48)).isEmpty();
+        assertThat(doctorImageThumbnailService.generate(doctor.getId())).isZero();
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image/thumbnails/{size}", doctor.getId(), 48))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(IMAGE));
+
+        restDoctorImageMockMvc.perform(delete("/api/doctors/{id}/image", doctor.getId()))
+            .andExpect(status().isOk());
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image/thumbnails/{size}", doctor.getId(), 48))
+            .andExpect(status().isNotFound());
+        restDoctorImageMockMvc.perform(get("/api/doctors/{id}/image/thumbnails/{size}", doctor.getId(), 50))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] createPhoto(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
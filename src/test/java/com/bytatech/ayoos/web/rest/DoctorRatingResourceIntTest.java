@@ -0,0 +1,105 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.DoctorApp;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
+import com.bytatech.ayoos.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the DoctorRatingResource REST controller.
+ *
+ * @see DoctorRatingResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class DoctorRatingResourceIntTest {
+
+    @Autowired
+    private DoctorRatingSummaryService doctorRatingSummaryService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restDoctorRatingMockMvc;
+
+    private Doctor doctor;
+
+    @Before
+    public void setup() {
+        final DoctorRatingResource doctorRatingResource = new DoctorRatingResource(doctorRatingSummaryService);
+        this.restDoctorRatingMockMvc = MockMvcBuilders.standaloneSetup(doctorRatingResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    @Before
+    public void initTest() {
+        doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+    }
+
+    @Test
+    @Transactional
+    public void getDoctorRatingStats() throws Exception {
+        doctorRatingSummaryService.addRating(doctor.getId(), 5D);
+        doctorRatingSummaryService.addRating(doctor.getId(), 4D);
+        doctorRatingSummaryService.addRating(doctor.getId(), 4D);
+        doctorRatingSummaryService.addRating(doctor.getId(), 1D);
+        em.flush();
+        em.clear();
+
+        restDoctorRatingMockMvc.perform(get("/api/doctors/{id}/rating-stats", doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.doctorId").value(doctor.getId().intValue()))
+            .andExpect(jsonPath("$.fiveStarCount").value(1))
+            .andExpect(jsonPath("$.fourStarCount").value(2))
+            .andExpect(jsonPath("$.threeStarCount").value(0))
+            .andExpect(jsonPath("$.twoStarCount").value(0))
+            .andExpect(jsonPath("$.oneStarCount").value(1))
+            .andExpect(jsonPath("$.count").value(4))
+            .andExpect(jsonPath("$.mean").value(3.5));
+    }
+
+    @Test
+    @Transactional
+    public void getDoctorRatingStatsWithoutRatings() throws Exception {
+        restDoctorRatingMockMvc.perform(get("/api/doctors/{id}/rating-stats", doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(0))
+            .andExpect(jsonPath("$.mean").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingDoctorRatingStats() throws Exception {
+        restDoctorRatingMockMvc.perform(get("/api/doctors/{id}/rating-stats", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+}
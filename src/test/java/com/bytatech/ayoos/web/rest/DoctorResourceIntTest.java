@@ -5,6 +5,7 @@ import com.bytatech.ayoos.DoctorApp;
 import com.bytatech.ayoos.domain.Doctor;
 import com.bytatech.ayoos.repository.DoctorRepository;
 import com.bytatech.ayoos.repository.search.DoctorSearchRepository;
+import com.bytatech.ayoos.service.DoctorOnboardingService;
 import com.bytatech.ayoos.service.DoctorService;
 import com.bytatech.ayoos.service.dto.DoctorDTO;
 import com.bytatech.ayoos.service.mapper.DoctorMapper;
@@ -19,13 +20,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
@@ -33,6 +34,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,7 +43,10 @@ import static com.bytatech.ayoos.web.rest.TestUtil.sameInstant;
 import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,11 +60,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(classes = DoctorApp.class)
 public class DoctorResourceIntTest {
 
-    private static final byte[] DEFAULT_IMAGE = TestUtil.createByteArray(1, "0");
-    private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
-    private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
-    private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
-
     private static final String DEFAULT_DOCTOR_ID = "AAAAAAAAAA";
     private static final String UPDATED_DOCTOR_ID = "BBBBBBBBBB";
 
@@ -93,6 +93,9 @@ public class DoctorResourceIntTest {
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private DoctorOnboardingService doctorOnboardingService;
+
     /**
      * This repository is mocked in the com.bytatech.ayoos.repository.search test package.
      *
@@ -123,7 +126,7 @@ public class DoctorResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final DoctorResource doctorResource = new DoctorResource(doctorService);
+        final DoctorResource doctorResource = new DoctorResource(doctorService, doctorOnboardingService);
         this.restDoctorMockMvc = MockMvcBuilders.standaloneSetup(doctorResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -140,8 +143,6 @@ public class DoctorResourceIntTest {
      */
     public static Doctor createEntity(EntityManager em) {
         Doctor doctor = new Doctor()
-            .image(DEFAULT_IMAGE)
-            .imageContentType(DEFAULT_IMAGE_CONTENT_TYPE)
             .doctorId(DEFAULT_DOCTOR_ID)
             .specialization(DEFAULT_SPECIALIZATION)
             .registerNumber(DEFAULT_REGISTER_NUMBER)
@@ -174,8 +175,6 @@ public class DoctorResourceIntTest {
         List<Doctor> doctorList = doctorRepository.findAll();
         assertThat(doctorList).hasSize(databaseSizeBeforeCreate + 1);
         Doctor testDoctor = doctorList.get(doctorList.size() - 1);
-        assertThat(testDoctor.getImage()).isEqualTo(DEFAULT_IMAGE);
-        assertThat(testDoctor.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
         assertThat(testDoctor.getDoctorId()).isEqualTo(DEFAULT_DOCTOR_ID);
         assertThat(testDoctor.getSpecialization()).isEqualTo(DEFAULT_SPECIALIZATION);
         assertThat(testDoctor.getRegisterNumber()).isEqualTo(DEFAULT_REGISTER_NUMBER);
@@ -184,9 +183,48 @@ public class DoctorResourceIntTest {
         assertThat(testDoctor.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
         assertThat(testDoctor.getEmail()).isEqualTo(DEFAULT_EMAIL);
         assertThat(testDoctor.getPhoneNumber()).isEqualTo(DEFAULT_PHONE_NUMBER);
+        assertThat(testDoctor.getDoctorSettings().getApprovalType()).isEqualTo("automatic");
+        assertThat(testDoctor.getPaymentSettings().getCurrency()).isEqualTo("INR");
 
-        // Validate the Doctor in Elasticsearch
-        verify(mockDoctorSearchRepository, times(1)).save(testDoctor);
+        // The Doctor is indexed once the transaction commits
+        verify(mockDoctorSearchRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    @Transactional
+    public void createDoctors() throws Exception {
+        int databaseSizeBeforeCreate = doctorRepository.findAll().size();
+
+        DoctorDTO first = doctorMapper.toDto(doctor);
+        DoctorDTO second = doctorMapper.toDto(createEntity(em).doctorId(UPDATED_DOCTOR_ID));
+        restDoctorMockMvc.perform(post("/api/doctors/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(first, second))))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.[*].doctorId").value(contains(DEFAULT_DOCTOR_ID, UPDATED_DOCTOR_ID)))
+            .andExpect(jsonPath("$.[*].id").value(everyItem(notNullValue())))
+            .andExpect(jsonPath("$.[*].doctorSettingsId").value(everyItem(notNullValue())))
+            .andExpect(jsonPath("$.[*].paymentSettingsId").value(everyItem(notNullValue())));
+
+        // Validate the Doctors in the database
+        assertThat(doctorRepository.findAll()).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    public void createDoctorsWithExistingDoctorId() throws Exception {
+        doctorRepository.saveAndFlush(doctor);
+        int databaseSizeBeforeCreate = doctorRepository.findAll().size();
+
+        // One taken doctorId fails the whole import
+        DoctorDTO taken = doctorMapper.toDto(createEntity(em));
+        DoctorDTO free = doctorMapper.toDto(createEntity(em).doctorId(UPDATED_DOCTOR_ID));
+        restDoctorMockMvc.perform(post("/api/doctors/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(free, taken))))
+            .andExpect(status().isBadRequest());
+
+        assertThat(doctorRepository.findAll()).hasSize(databaseSizeBeforeCreate);
     }
 
     @Test
@@ -223,8 +261,6 @@ public class DoctorResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(doctor.getId().intValue())))
-            .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE))))
             .andExpect(jsonPath("$.[*].doctorId").value(hasItem(DEFAULT_DOCTOR_ID.toString())))
             .andExpect(jsonPath("$.[*].specialization").value(hasItem(DEFAULT_SPECIALIZATION.toString())))
             .andExpect(jsonPath("$.[*].registerNumber").value(hasItem(DEFAULT_REGISTER_NUMBER.toString())))
@@ -246,8 +282,6 @@ public class DoctorResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.id").value(doctor.getId().intValue()))
-            .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64Utils.encodeToString(DEFAULT_IMAGE)))
             .andExpect(jsonPath("$.doctorId").value(DEFAULT_DOCTOR_ID.toString()))
             .andExpect(jsonPath("$.specialization").value(DEFAULT_SPECIALIZATION.toString()))
             .andExpect(jsonPath("$.registerNumber").value(DEFAULT_REGISTER_NUMBER.toString()))
@@ -266,6 +300,87 @@ public class DoctorResourceIntTest {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    public void getDoctorNotModified() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+        String eTag = "\"" + doctor.getVersion() + ".0.-.-.-\"";
+
+        restDoctorMockMvc.perform(get("/api/doctors/{id}", doctor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        restDoctorMockMvc.perform(get("/api/doctors/{id}", doctor.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Update the doctor
+        DoctorDTO doctorDTO = doctorMapper.toDto(doctor);
+        doctorDTO.setFirstName(UPDATED_FIRST_NAME);
+        DoctorDTO updatedDoctorDTO = doctorService.save(doctorDTO);
+        assertThat(updatedDoctorDTO.getVersion()).isEqualTo(doctorDTO.getVersion() + 1);
+
+        restDoctorMockMvc.perform(get("/api/doctors/{id}", doctor.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + updatedDoctorDTO.getVersion() + ".0.-.-.-\""))
+            .andExpect(jsonPath("$.firstName").value(UPDATED_FIRST_NAME));
+    }
+
+    @Test
+    @Transactional
+    public void getDoctorModifiedByRating() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+        String eTag = "\"" + doctor.getVersion() + ".0.-.-.-\"";
+
+        // A new total rating changes the ETag, but not the version
+        doctorRepository.updateTotalRating(doctor.getId(), UPDATED_TOTAL_RATING);
+
+        restDoctorMockMvc.perform(get("/api/doctors/{id}", doctor.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + doctor.getVersion() + ".1.-.-.-\""));
+        assertThat(doctorRepository.findVersionById(doctor.getId())).contains(doctor.getVersion());
+    }
+
+    @Test
+    @Transactional
+    public void updateDoctorAfterRating() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+        DoctorDTO doctorDTO = doctorMapper.toDto(doctor);
+
+        // Rating the doctor does not make the profile read before it stale
+        doctorRepository.updateTotalRating(doctor.getId(), UPDATED_TOTAL_RATING);
+        doctorDTO.setFirstName(UPDATED_FIRST_NAME);
+
+        restDoctorMockMvc.perform(put("/api/doctors")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(doctorDTO)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.firstName").value(UPDATED_FIRST_NAME));
+    }
+
+    @Test
+    @Transactional
+    public void updateDoctorWithStaleVersion() throws Exception {
+        // Initialize the database
+        doctorRepository.saveAndFlush(doctor);
+
+        DoctorDTO staleDoctorDTO = doctorMapper.toDto(doctor);
+        DoctorDTO doctorDTO = doctorMapper.toDto(doctor);
+        doctorDTO.setFirstName(UPDATED_FIRST_NAME);
+        doctorService.save(doctorDTO);
+
+        // A client saving a doctor it read before the update is rejected
+        restDoctorMockMvc.perform(put("/api/doctors")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(staleDoctorDTO)))
+            .andExpect(status().isConflict());
+
+        assertThat(doctorRepository.findById(doctor.getId()).get().getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+    }
+
     @Test
     @Transactional
     public void updateDoctor() throws Exception {
@@ -279,8 +394,6 @@ public class DoctorResourceIntTest {
         // Disconnect from session so that the updates on updatedDoctor are not directly saved in db
         em.detach(updatedDoctor);
         updatedDoctor
-            .image(UPDATED_IMAGE)
-            .imageContentType(UPDATED_IMAGE_CONTENT_TYPE)
             .doctorId(UPDATED_DOCTOR_ID)
             .specialization(UPDATED_SPECIALIZATION)
             .registerNumber(UPDATED_REGISTER_NUMBER)
@@ -300,8 +413,6 @@ public class DoctorResourceIntTest {
         List<Doctor> doctorList = doctorRepository.findAll();
         assertThat(doctorList).hasSize(databaseSizeBeforeUpdate);
         Doctor testDoctor = doctorList.get(doctorList.size() - 1);
-        assertThat(testDoctor.getImage()).isEqualTo(UPDATED_IMAGE);
-        assertThat(testDoctor.getImageContentType()).isEqualTo(UPDATED_IMAGE_CONTENT_TYPE);
         assertThat(testDoctor.getDoctorId()).isEqualTo(UPDATED_DOCTOR_ID);
         assertThat(testDoctor.getSpecialization()).isEqualTo(UPDATED_SPECIALIZATION);
         assertThat(testDoctor.getRegisterNumber()).isEqualTo(UPDATED_REGISTER_NUMBER);
@@ -370,8 +481,6 @@ public class DoctorResourceIntTest {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(doctor.getId().intValue())))
-            .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE))))
             .andExpect(jsonPath("$.[*].doctorId").value(hasItem(DEFAULT_DOCTOR_ID)))
             .andExpect(jsonPath("$.[*].specialization").value(hasItem(DEFAULT_SPECIALIZATION)))
             .andExpect(jsonPath("$.[*].registerNumber").value(hasItem(DEFAULT_REGISTER_NUMBER)))
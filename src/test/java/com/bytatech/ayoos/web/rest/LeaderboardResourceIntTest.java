@@ -0,0 +1,166 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.DoctorApp;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.UserRating;
+import com.bytatech.ayoos.repository.DoctorRepository;
+import com.bytatech.ayoos.service.LeaderboardService;
+import com.bytatech.ayoos.web.rest.errors.ExceptionTranslator;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+
+import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the LeaderboardResource REST controller.
+ *
+ * @see LeaderboardResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class LeaderboardResourceIntTest {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restLeaderboardMockMvc;
+
+    private Doctor cardiologist;
+
+    private Doctor otherCardiologist;
+
+    private Doctor dermatologist;
+
+    private int persistedDoctors;
+
+    @Before
+    public void setup() {
+        final LeaderboardResource leaderboardResource = new LeaderboardResource(leaderboardService);
+        this.restLeaderboardMockMvc = MockMvcBuilders.standaloneSetup(leaderboardResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+        // lists outlive the rolled back doctors of other tests
+        hazelcastInstance.getMap(LeaderboardService.LEADERBOARD_MAP).clear();
+    }
+
+    @Before
+    public void initTest() {
+        cardiologist = persistDoctor("cardiology", 4.5);
+        otherCardiologist = persistDoctor("cardiology", 3.0);
+        dermatologist = persistDoctor("dermatology", 4.8);
+        persistDoctor("cardiology", null);
+    }
+
+    @Test
+    @Transactional
+    public void getTopRatedDoctors() throws Exception {
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/top-rated?size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.[*].id").value(contains(dermatologist.getId().intValue(), cardiologist.getId().intValue())));
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/top-rated?specialization=cardiology"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(cardiologist.getId().intValue(), otherCardiologist.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    public void moveDoctorsOnRatingChanges() throws Exception {
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/top-rated?specialization=cardiology"))
+            .andExpect(status().isOk());
+
+        doctorRepository.updateTotalRating(otherCardiologist.getId(), 5.0);
+        leaderboardService.updateRating(otherCardiologist.getId());
+
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/top-rated"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(otherCardiologist.getId().intValue(),
+                dermatologist.getId().intValue(), cardiologist.getId().intValue())));
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/top-rated?specialization=cardiology"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(otherCardiologist.getId().intValue(), cardiologist.getId().intValue())))
+            .andExpect(jsonPath("$.[0].totalRating").value(5.0));
+    }
+
+    @Test
+    @Transactional
+    public void getTrendingDoctors() throws Exception {
+        persistRating(otherCardiologist, LocalDate.now());
+        persistRating(otherCardiologist, LocalDate.now().minusDays(1));
+        persistRating(cardiologist, LocalDate.now());
+        persistRating(dermatologist, LocalDate.now().minusDays(30));
+
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/trending"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(otherCardiologist.getId().intValue(), cardiologist.getId().intValue())))
+            .andExpect(jsonPath("$.[0].recentRatingCount").value(2));
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/trending?specialization=dermatology"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+    }
+
+    @Test
+    @Transactional
+    public void getUnknownSpecializationWithoutCachingIt() throws Exception {
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/top-rated?specialization=unknown"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+        restLeaderboardMockMvc.perform(get("/api/leaderboards/trending?specialization=unknown"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+
+        assertThat(hazelcastInstance.getMap(LeaderboardService.LEADERBOARD_MAP)).isEmpty();
+    }
+
+    private Doctor persistDoctor(String specialization, Double totalRating) {
+        Doctor doctor = DoctorResourceIntTest.createEntity(em)
+            .doctorId("LEADERBOARD-" + persistedDoctors++)
+            .specialization(specialization)
+            .totalRating(totalRating);
+        em.persist(doctor);
+        return doctor;
+    }
+
+    private void persistRating(Doctor doctor, LocalDate ratedOn) {
+        em.persist(new UserRating().rating(4.0).ratedOn(ratedOn).doctor(doctor));
+    }
+}
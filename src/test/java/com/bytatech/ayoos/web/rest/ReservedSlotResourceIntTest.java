@@ -2,9 +2,12 @@ package com.bytatech.ayoos.web.rest;
 
 import com.bytatech.ayoos.DoctorApp;
 
+import com.bytatech.ayoos.domain.Doctor;
 import com.bytatech.ayoos.domain.ReservedSlot;
+import com.bytatech.ayoos.domain.Status;
 import com.bytatech.ayoos.repository.ReservedSlotRepository;
 import com.bytatech.ayoos.repository.search.ReservedSlotSearchRepository;
+import com.bytatech.ayoos.service.BookingService;
 import com.bytatech.ayoos.service.ReservedSlotService;
 import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
 import com.bytatech.ayoos.service.mapper.ReservedSlotMapper;
@@ -38,6 +41,7 @@ import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionSer
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -72,6 +76,9 @@ public class ReservedSlotResourceIntTest {
     @Autowired
     private ReservedSlotService reservedSlotService;
 
+    @Autowired
+    private BookingService bookingService;
+
     /**
      * This repository is mocked in the com.bytatech.ayoos.repository.search test package.
      *
@@ -102,7 +109,7 @@ public class ReservedSlotResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final ReservedSlotResource reservedSlotResource = new ReservedSlotResource(reservedSlotService);
+        final ReservedSlotResource reservedSlotResource = new ReservedSlotResource(reservedSlotService, bookingService);
         this.restReservedSlotMockMvc = MockMvcBuilders.standaloneSetup(reservedSlotResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -179,6 +186,27 @@ public class ReservedSlotResourceIntTest {
         verify(mockReservedSlotSearchRepository, times(0)).save(reservedSlot);
     }
 
+    @Test
+    @Transactional
+    public void createReservedSlotAlreadyReserved() throws Exception {
+        // Initialize the database
+        reservedSlotRepository.saveAndFlush(reservedSlot);
+        int databaseSizeBeforeCreate = reservedSlotRepository.findAll().size();
+
+        // Book the same slot again
+        ReservedSlotDTO reservedSlotDTO = reservedSlotMapper.toDto(createEntity(em));
+
+        restReservedSlotMockMvc.perform(post("/api/reserved-slots")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(reservedSlotDTO)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.slotreserved"));
+
+        // Validate the ReservedSlot in the database
+        List<ReservedSlot> reservedSlotList = reservedSlotRepository.findAll();
+        assertThat(reservedSlotList).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     public void getAllReservedSlots() throws Exception {
@@ -196,6 +224,27 @@ public class ReservedSlotResourceIntTest {
             .andExpect(jsonPath("$.[*].tokenNumber").value(hasItem(DEFAULT_TOKEN_NUMBER)));
     }
     
+    @Test
+    @Transactional
+    public void getAllUnReservedSlots() throws Exception {
+        // Initialize the database
+        reservedSlotRepository.saveAndFlush(reservedSlot);
+        em.persist(new Status().status("booked").reservedSlot(reservedSlot));
+        ReservedSlot cancelledSlot = createEntity(em).startTime(UPDATED_START_TIME);
+        reservedSlotRepository.saveAndFlush(cancelledSlot);
+        em.persist(new Status().status("cancelled").reservedSlot(cancelledSlot));
+        em.flush();
+
+        // Get the reservedSlots having a booked status
+        restReservedSlotMockMvc.perform(get("/api/unReserved-slots?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(reservedSlot.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(cancelledSlot.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].startTime").value(hasItem(DEFAULT_START_TIME.doubleValue())));
+    }
+
     @Test
     @Transactional
     public void getReservedSlot() throws Exception {
@@ -225,7 +274,9 @@ public class ReservedSlotResourceIntTest {
     @Transactional
     public void updateReservedSlot() throws Exception {
         // Initialize the database
-        reservedSlotRepository.saveAndFlush(reservedSlot);
+        Doctor doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        reservedSlotRepository.saveAndFlush(reservedSlot.doctor(doctor));
 
         int databaseSizeBeforeUpdate = reservedSlotRepository.findAll().size();
 
@@ -252,12 +303,35 @@ public class ReservedSlotResourceIntTest {
         assertThat(testReservedSlot.getDate()).isEqualTo(UPDATED_DATE);
         assertThat(testReservedSlot.getStartTime()).isEqualTo(UPDATED_START_TIME);
         assertThat(testReservedSlot.getEndTime()).isEqualTo(UPDATED_END_TIME);
-        assertThat(testReservedSlot.getTokenNumber()).isEqualTo(UPDATED_TOKEN_NUMBER);
+        // moved to another day, so it gets the first token of that day
+        assertThat(testReservedSlot.getTokenNumber()).isEqualTo(1);
 
         // Validate the ReservedSlot in Elasticsearch
         verify(mockReservedSlotSearchRepository, times(1)).save(testReservedSlot);
     }
 
+    @Test
+    @Transactional
+    public void updateReservedSlotOntoReservedSlot() throws Exception {
+        // Initialize the database
+        reservedSlotRepository.saveAndFlush(reservedSlot);
+        ReservedSlot otherReservedSlot = createEntity(em).startTime(UPDATED_START_TIME).tokenNumber(UPDATED_TOKEN_NUMBER);
+        reservedSlotRepository.saveAndFlush(otherReservedSlot);
+
+        // Move the other reservation onto the first one's slot
+        ReservedSlotDTO reservedSlotDTO = reservedSlotMapper.toDto(createEntity(em));
+        reservedSlotDTO.setId(otherReservedSlot.getId());
+
+        restReservedSlotMockMvc.perform(put("/api/reserved-slots")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(reservedSlotDTO)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.slotreserved"));
+
+        assertThat(reservedSlotRepository.findById(otherReservedSlot.getId()).get().getStartTime())
+            .isEqualTo(UPDATED_START_TIME);
+    }
+
     @Test
     @Transactional
     public void updateNonExistingReservedSlot() throws Exception {
@@ -3,6 +3,7 @@ package com.bytatech.ayoos.web.rest;
 import com.bytatech.ayoos.DoctorApp;
 
 import com.bytatech.ayoos.domain.SessionInfo;
+import com.bytatech.ayoos.domain.WorkPlace;
 import com.bytatech.ayoos.repository.SessionInfoRepository;
 import com.bytatech.ayoos.repository.search.SessionInfoSearchRepository;
 import com.bytatech.ayoos.service.SessionInfoService;
@@ -30,6 +31,7 @@ import org.springframework.validation.Validator;
 import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -37,7 +39,13 @@ import java.util.List;
 import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -189,6 +197,89 @@ public class SessionInfoResourceIntTest {
         verify(mockSessionInfoSearchRepository, times(0)).save(sessionInfo);
     }
 
+    @Test
+    @Transactional
+    public void createSessionInfosByDates() throws Exception {
+        WorkPlace workPlace = WorkPlaceResourceIntTest.createEntity(em);
+        em.persist(workPlace);
+        em.flush();
+        int databaseSizeBeforeCreate = sessionInfoRepository.findAll().size();
+
+        // Repeat the session every Monday
+        SessionInfoDTO template = sessionInfoMapper.toDto(sessionInfo);
+        template.setWeekDay(2);
+        template.setWorkPlaceId(workPlace.getId());
+
+        restSessionInfoMockMvc.perform(post("/api/sessionInfoByDate/{fromDate}/{toDate}", "06-05-2019", "20-05-2019")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.singletonList(template))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].date").value(contains("2019-05-06", "2019-05-13")))
+            .andExpect(jsonPath("$.[*].workPlaceId").value(everyItem(is(workPlace.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(everyItem(notNullValue())));
+
+        // Validate the SessionInfos in the database
+        assertThat(sessionInfoRepository.findAll()).hasSize(databaseSizeBeforeCreate + 2);
+
+        // Generating the same schedule again creates nothing
+        restSessionInfoMockMvc.perform(post("/api/sessionInfoByDate/{fromDate}/{toDate}", "06-05-2019", "20-05-2019")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Collections.singletonList(template))))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Inserted-Count", "0"))
+            .andExpect(header().string("X-Skipped-Count", "2"))
+            .andExpect(jsonPath("$", hasSize(0)));
+        assertThat(sessionInfoRepository.findAll()).hasSize(databaseSizeBeforeCreate + 2);
+
+        // Validate the SessionInfos are indexed with a single request
+        verify(mockSessionInfoSearchRepository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    @Transactional
+    public void upsertSessionInfos() throws Exception {
+        WorkPlace workPlace = WorkPlaceResourceIntTest.createEntity(em);
+        em.persist(workPlace);
+        sessionInfoRepository.saveAndFlush(sessionInfo.workPlace(workPlace));
+        int databaseSizeBeforeUpsert = sessionInfoRepository.findAll().size();
+
+        SessionInfoDTO existing = sessionInfoMapper.toDto(sessionInfo);
+        existing.setId(null);
+        SessionInfoDTO later = sessionInfoMapper.toDto(sessionInfo);
+        later.setId(null);
+        later.setFromTime(12.0);
+        later.setToTime(13.0);
+
+        restSessionInfoMockMvc.perform(post("/api/session-infos/upsert")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(existing, later, later))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.inserted").value(1))
+            .andExpect(jsonPath("$.skipped").value(2))
+            .andExpect(jsonPath("$.sessions.[*].fromTime").value(contains(12.0)));
+
+        assertThat(sessionInfoRepository.findAll()).hasSize(databaseSizeBeforeUpsert + 1);
+    }
+
+    @Test
+    @Transactional
+    public void createDuplicateSessionInfo() throws Exception {
+        WorkPlace workPlace = WorkPlaceResourceIntTest.createEntity(em);
+        em.persist(workPlace);
+        sessionInfoRepository.saveAndFlush(sessionInfo.workPlace(workPlace));
+        int databaseSizeBeforeCreate = sessionInfoRepository.findAll().size();
+
+        SessionInfoDTO duplicate = sessionInfoMapper.toDto(sessionInfo);
+        duplicate.setId(null);
+        restSessionInfoMockMvc.perform(post("/api/session-infos")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(duplicate)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.sessionexists"));
+
+        assertThat(sessionInfoRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     public void getAllSessionInfos() throws Exception {
@@ -0,0 +1,249 @@
+package com.bytatech.ayoos.web.rest;
+
+import com.bytatech.ayoos.DoctorApp;
+
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.SessionRule;
+import com.bytatech.ayoos.domain.WorkPlace;
+import com.bytatech.ayoos.repository.SessionRuleRepository;
+import com.bytatech.ayoos.service.AvailabilityService;
+import com.bytatech.ayoos.service.SessionRuleService;
+import com.bytatech.ayoos.service.dto.ReservedSlotDTO;
+import com.bytatech.ayoos.service.dto.SessionRuleDTO;
+import com.bytatech.ayoos.service.mapper.SessionRuleMapper;
+import com.bytatech.ayoos.web.rest.errors.ExceptionTranslator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+
+
+import static com.bytatech.ayoos.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the SessionRuleResource REST controller.
+ *
+ * @see SessionRuleResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = DoctorApp.class)
+public class SessionRuleResourceIntTest {
+
+    private static final String DEFAULT_SESSION_NAME = "AAAAAAAAAA";
+
+    // a Wednesday, Calendar.WEDNESDAY is 4
+    private static final LocalDate DEFAULT_VALID_FROM = LocalDate.of(2019, 5, 1);
+    private static final Integer DEFAULT_WEEK_DAY = 4;
+
+    private static final LocalDate DEFAULT_VALID_TO = LocalDate.of(2019, 5, 31);
+
+    private static final Double DEFAULT_FROM_TIME = 9.0;
+
+    private static final Double DEFAULT_TO_TIME = 10.0;
+
+    private static final Double DEFAULT_INTERVAL = 0.3;
+
+    @Autowired
+    private SessionRuleRepository sessionRuleRepository;
+
+    @Autowired
+    private SessionRuleMapper sessionRuleMapper;
+
+    @Autowired
+    private SessionRuleService sessionRuleService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc restSessionRuleMockMvc;
+
+    private SessionRule sessionRule;
+
+    private Doctor doctor;
+
+    @Before
+    public void setup() {
+        final SessionRuleResource sessionRuleResource = new SessionRuleResource(sessionRuleService);
+        this.restSessionRuleMockMvc = MockMvcBuilders.standaloneSetup(sessionRuleResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+    }
+
+    /**
+     * Create an entity for this test.
+     *
+     * This is a static method, as tests for other entities might also need it,
+     * if they test an entity which requires the current entity.
+     */
+    public static SessionRule createEntity(EntityManager em) {
+        SessionRule sessionRule = new SessionRule()
+            .sessionName(DEFAULT_SESSION_NAME)
+            .weekDay(DEFAULT_WEEK_DAY)
+            .fromTime(DEFAULT_FROM_TIME)
+            .toTime(DEFAULT_TO_TIME)
+            .interval(DEFAULT_INTERVAL)
+            .validFrom(DEFAULT_VALID_FROM)
+            .validTo(DEFAULT_VALID_TO);
+        return sessionRule;
+    }
+
+    @Before
+    public void initTest() {
+        doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        WorkPlace workPlace = WorkPlaceResourceIntTest.createEntity(em).doctor(doctor);
+        em.persist(workPlace);
+        sessionRule = createEntity(em).workPlace(workPlace);
+    }
+
+    @Test
+    @Transactional
+    public void createSessionRule() throws Exception {
+        int databaseSizeBeforeCreate = sessionRuleRepository.findAll().size();
+
+        SessionRuleDTO sessionRuleDTO = sessionRuleMapper.toDto(sessionRule);
+        restSessionRuleMockMvc.perform(post("/api/session-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(sessionRuleDTO)))
+            .andExpect(status().isCreated());
+
+        List<SessionRule> sessionRuleList = sessionRuleRepository.findAll();
+        assertThat(sessionRuleList).hasSize(databaseSizeBeforeCreate + 1);
+        SessionRule testSessionRule = sessionRuleList.get(sessionRuleList.size() - 1);
+        assertThat(testSessionRule.getSessionName()).isEqualTo(DEFAULT_SESSION_NAME);
+        assertThat(testSessionRule.getWeekDay()).isEqualTo(DEFAULT_WEEK_DAY);
+        assertThat(testSessionRule.getFromTime()).isEqualTo(DEFAULT_FROM_TIME);
+        assertThat(testSessionRule.getToTime()).isEqualTo(DEFAULT_TO_TIME);
+        assertThat(testSessionRule.getInterval()).isEqualTo(DEFAULT_INTERVAL);
+        assertThat(testSessionRule.getValidFrom()).isEqualTo(DEFAULT_VALID_FROM);
+        assertThat(testSessionRule.getValidTo()).isEqualTo(DEFAULT_VALID_TO);
+    }
+
+    @Test
+    @Transactional
+    public void createSessionRuleEndingAtMidnight() throws Exception {
+        int databaseSizeBeforeCreate = sessionRuleRepository.findAll().size();
+
+        sessionRule.setFromTime(23.0);
+        sessionRule.setToTime(24.0);
+        SessionRuleDTO sessionRuleDTO = sessionRuleMapper.toDto(sessionRule);
+        restSessionRuleMockMvc.perform(post("/api/session-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(sessionRuleDTO)))
+            .andExpect(status().isCreated());
+
+        assertThat(sessionRuleRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+
+        sessionRuleDTO.setToTime(24.3);
+        restSessionRuleMockMvc.perform(post("/api/session-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(sessionRuleDTO)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void createSessionRuleWithInvalidRange() throws Exception {
+        int databaseSizeBeforeCreate = sessionRuleRepository.findAll().size();
+
+        sessionRule.setValidTo(DEFAULT_VALID_FROM.minusDays(1));
+        SessionRuleDTO sessionRuleDTO = sessionRuleMapper.toDto(sessionRule);
+        restSessionRuleMockMvc.perform(post("/api/session-rules")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(sessionRuleDTO)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(sessionRuleRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    public void getSessionRule() throws Exception {
+        sessionRuleRepository.saveAndFlush(sessionRule);
+
+        restSessionRuleMockMvc.perform(get("/api/session-rules/{id}", sessionRule.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(sessionRule.getId().intValue()))
+            .andExpect(jsonPath("$.weekDay").value(DEFAULT_WEEK_DAY))
+            .andExpect(jsonPath("$.validFrom").value(DEFAULT_VALID_FROM.toString()))
+            .andExpect(jsonPath("$.validTo").value(DEFAULT_VALID_TO.toString()))
+            .andExpect(jsonPath("$.exceptionDates", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingSessionRule() throws Exception {
+        restSessionRuleMockMvc.perform(get("/api/session-rules/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void skipSessionRuleOnDate() throws Exception {
+        sessionRuleRepository.saveAndFlush(sessionRule);
+        LocalDate skipped = DEFAULT_VALID_FROM.plusWeeks(1);
+
+        restSessionRuleMockMvc.perform(post("/api/session-rules/{id}/exceptions/{date}", sessionRule.getId(), skipped))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.exceptionDates").value(hasItem(skipped.toString())));
+        em.flush();
+        em.clear();
+
+        // the rule holds on the first and third Wednesday, not on the skipped one nor after validTo
+        List<ReservedSlotDTO> slots = availabilityService.findAvailableSlots(doctor.getId(),
+            DEFAULT_VALID_FROM, DEFAULT_VALID_FROM.plusWeeks(2));
+        assertThat(slots).extracting(ReservedSlotDTO::getDate).containsExactly(
+            DEFAULT_VALID_FROM, DEFAULT_VALID_FROM, DEFAULT_VALID_FROM.plusWeeks(2), DEFAULT_VALID_FROM.plusWeeks(2));
+
+        restSessionRuleMockMvc.perform(delete("/api/session-rules/{id}/exceptions/{date}", sessionRule.getId(), skipped))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.exceptionDates", hasSize(0)));
+    }
+
+    @Test
+    @Transactional
+    public void deleteSessionRule() throws Exception {
+        sessionRuleRepository.saveAndFlush(sessionRule);
+        sessionRuleService.addException(sessionRule.getId(), DEFAULT_VALID_FROM);
+        int databaseSizeBeforeDelete = sessionRuleRepository.findAll().size();
+
+        restSessionRuleMockMvc.perform(delete("/api/session-rules/{id}", sessionRule.getId())
+            .accept(TestUtil.APPLICATION_JSON_UTF8))
+            .andExpect(status().isOk());
+
+        assertThat(sessionRuleRepository.findAll()).hasSize(databaseSizeBeforeDelete - 1);
+    }
+}
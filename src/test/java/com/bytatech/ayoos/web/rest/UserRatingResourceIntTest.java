@@ -2,9 +2,13 @@ package com.bytatech.ayoos.web.rest;
 
 import com.bytatech.ayoos.DoctorApp;
 
+import com.bytatech.ayoos.domain.Doctor;
+import com.bytatech.ayoos.domain.DoctorRatingSummary;
 import com.bytatech.ayoos.domain.UserRating;
+import com.bytatech.ayoos.repository.DoctorRatingSummaryRepository;
 import com.bytatech.ayoos.repository.UserRatingRepository;
 import com.bytatech.ayoos.repository.search.UserRatingSearchRepository;
+import com.bytatech.ayoos.service.DoctorRatingSummaryService;
 import com.bytatech.ayoos.service.UserRatingService;
 import com.bytatech.ayoos.service.dto.UserRatingDTO;
 import com.bytatech.ayoos.service.mapper.UserRatingMapper;
@@ -72,6 +76,12 @@ public class UserRatingResourceIntTest {
     @Autowired
     private UserRatingService userRatingService;
 
+    @Autowired
+    private DoctorRatingSummaryRepository doctorRatingSummaryRepository;
+
+    @Autowired
+    private DoctorRatingSummaryService doctorRatingSummaryService;
+
     /**
      * This repository is mocked in the com.bytatech.ayoos.repository.search test package.
      *
@@ -295,6 +305,55 @@ public class UserRatingResourceIntTest {
         verify(mockUserRatingSearchRepository, times(1)).deleteById(userRating.getId());
     }
 
+    @Test
+    @Transactional
+    public void ratingsUpdateTheSummaryOfTheRatedDoctorOnly() throws Exception {
+        Doctor doctor = DoctorResourceIntTest.createEntity(em);
+        em.persist(doctor);
+        Doctor otherDoctor = DoctorResourceIntTest.createEntity(em).doctorId("OTHER");
+        em.persist(otherDoctor);
+        userRating.setDoctor(otherDoctor);
+        userRatingRepository.saveAndFlush(userRating);
+
+        UserRatingDTO fourStars = userRatingMapper.toDto(new UserRating().rating(4D).doctor(doctor));
+        restUserRatingMockMvc.perform(post("/api/user-ratings")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(fourStars)))
+            .andExpect(status().isCreated());
+        UserRatingDTO fiveStars = userRatingMapper.toDto(new UserRating().rating(5D).doctor(doctor));
+        String created = restUserRatingMockMvc.perform(post("/api/user-ratings")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(fiveStars)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        assertThat(doctorRatingSummaryRepository.findAverageRating(doctor.getId())).contains(4.5);
+
+        // Move the five stars rating to the other doctor
+        UserRatingDTO moved = jacksonMessageConverter.getObjectMapper().readValue(created, UserRatingDTO.class);
+        moved.setRating(2D);
+        moved.setDoctorId(otherDoctor.getId());
+        restUserRatingMockMvc.perform(put("/api/user-ratings")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(moved)))
+            .andExpect(status().isOk());
+        assertThat(doctorRatingSummaryRepository.findAverageRating(doctor.getId())).contains(4.0);
+        assertThat(doctorRatingSummaryRepository.findAverageRating(otherDoctor.getId())).contains(2.0);
+
+        restUserRatingMockMvc.perform(delete("/api/user-ratings/{id}", moved.getId()))
+            .andExpect(status().isOk());
+        assertThat(doctorRatingSummaryRepository.findAverageRating(otherDoctor.getId())).isEmpty();
+
+        // The rebuild derives the same totals, counting the rating saved without the service
+        em.flush();
+        em.clear();
+        assertThat(doctorRatingSummaryService.rebuild()).isEqualTo(2);
+        assertThat(em.find(Doctor.class, doctor.getId()).getTotalRating()).isEqualTo(4.0);
+        assertThat(em.find(Doctor.class, otherDoctor.getId()).getTotalRating()).isEqualTo(1.0);
+        DoctorRatingSummary summary = doctorRatingSummaryRepository.findById(doctor.getId()).get();
+        assertThat(summary.getFourStarCount()).isEqualTo(1);
+        assertThat(summary.getRatingCount()).isEqualTo(1);
+    }
+
     @Test
     @Transactional
     public void searchUserRating() throws Exception {